@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for invoking a method through JDK and CGLIB proxies, with a
+ * frozen configuration (precomputed interceptor chains) or a mutable one.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ProxyInvocationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class ProxyState {
+
+		@Param({"jdk", "cglib"})
+		public String proxyType;
+
+		@Param({"true", "false"})
+		public boolean frozen;
+
+		@Param({"0", "1", "3"})
+		public int interceptors;
+
+		public Calculator proxy;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			ProxyFactory proxyFactory = new ProxyFactory(new SimpleCalculator());
+			proxyFactory.setProxyTargetClass("cglib".equals(this.proxyType));
+			proxyFactory.addInterface(Calculator.class);
+			for (int i = 0; i < this.interceptors; i++) {
+				proxyFactory.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+			}
+			proxyFactory.setFrozen(this.frozen);
+			this.proxy = (Calculator) proxyFactory.getProxy();
+		}
+	}
+
+	@Benchmark
+	public int invoke(ProxyState state) {
+		return state.proxy.add(3, 4);
+	}
+
+	@Benchmark
+	public int invokeTarget() {
+		return SimpleCalculator.INSTANCE.add(3, 4);
+	}
+
+
+	public interface Calculator {
+
+		int add(int a, int b);
+	}
+
+
+	public static class SimpleCalculator implements Calculator {
+
+		static final SimpleCalculator INSTANCE = new SimpleCalculator();
+
+		@Override
+		public int add(int a, int b) {
+			return a + b;
+		}
+	}
+
+}
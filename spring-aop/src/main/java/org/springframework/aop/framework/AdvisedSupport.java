@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -83,6 +83,9 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	/** Cache with Method as key and advisor chain List as value. */
 	private transient Map<MethodCacheKey, List<Object>> methodCache;
 
+	/** Incremented on every advice change, see {@link #getAdviceVersion()}. */
+	private transient volatile int adviceVersion;
+
 	/**
 	 * Interfaces to be implemented by the proxy. Held in List to keep the order
 	 * of registration, to create JDK proxy with specified order of interfaces.
@@ -478,6 +481,17 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 */
 	protected void adviceChanged() {
 		this.methodCache.clear();
+		this.adviceVersion++;
+	}
+
+	/**
+	 * Return a number that changes whenever the advice changes, allowing
+	 * proxies to detect that state derived from this configuration is stale.
+	 * @since 6.0
+	 * @see #adviceChanged()
+	 */
+	int getAdviceVersion() {
+		return this.adviceVersion;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,10 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -80,6 +83,9 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	/** We use a static Log to avoid serialization issues. */
 	private static final Log logger = LogFactory.getLog(JdkDynamicAopProxy.class);
 
+	/** Maximum number of methods to keep in the snapshot of fixed chains. */
+	private static final int MAX_FIXED_CHAINS = 256;
+
 	/** Config used to configure this proxy. */
 	private final AdvisedSupport advised;
 
@@ -95,6 +101,13 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Snapshot of the interceptor chains for a frozen configuration with a
+	 * static target, rebuilt whenever the advice changes in between.
+	 */
+	@Nullable
+	private transient volatile FixedChains fixedChains;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -196,7 +209,9 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			Class<?> targetClass = (target != null ? target.getClass() : null);
 
 			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			List<Object> chain = (this.advised.isFrozen() && targetSource.isStatic() ?
+					getFixedChain(method, targetClass) :
+					this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
 
 			// Check whether we have any advice. If we don't, we can fall back on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -243,6 +258,38 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		}
 	}
 
+	/**
+	 * Return the interceptor chain for the given method from the snapshot for
+	 * a frozen configuration, rebuilding the snapshot if the advice or the
+	 * target class changed since it was taken, e.g. after the configuration
+	 * was unfrozen, modified and frozen again.
+	 * <p>Chains are keyed by {@code Method} equality, so that copies of a
+	 * {@code Method} passed in by callers other than the JDK proxy class share
+	 * an entry. Beyond {@link #MAX_FIXED_CHAINS} methods, further chains are
+	 * obtained from the regular cache in {@link AdvisedSupport} instead.
+	 */
+	private List<Object> getFixedChain(Method method, @Nullable Class<?> targetClass) {
+		int adviceVersion = this.advised.getAdviceVersion();
+		FixedChains fixedChains = this.fixedChains;
+		if (fixedChains == null || fixedChains.adviceVersion != adviceVersion ||
+				fixedChains.targetClass != targetClass) {
+			fixedChains = new FixedChains(adviceVersion, targetClass);
+			this.fixedChains = fixedChains;
+		}
+		Map<Method, List<Object>> chains = fixedChains.chains;
+		List<Object> chain = chains.get(method);
+		if (chain == null) {
+			chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			if (chains.size() < MAX_FIXED_CHAINS) {
+				// Copy on write: the set of proxied methods is small and fixed
+				Map<Method, List<Object>> newChains = new HashMap<>(chains);
+				newChains.put(method, chain);
+				fixedChains.chains = newChains;
+			}
+		}
+		return chain;
+	}
+
 
 	/**
 	 * Equality means interfaces, advisors and TargetSource are equal.
@@ -286,4 +333,23 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		return JdkDynamicAopProxy.class.hashCode() * 13 + this.advised.getTargetSource().hashCode();
 	}
 
+
+	/**
+	 * Interceptor chains for a given advice version and target class.
+	 */
+	private static final class FixedChains {
+
+		final int adviceVersion;
+
+		@Nullable
+		final Class<?> targetClass;
+
+		volatile Map<Method, List<Object>> chains = Collections.emptyMap();
+
+		FixedChains(int adviceVersion, @Nullable Class<?> targetClass) {
+			this.adviceVersion = adviceVersion;
+			this.targetClass = targetClass;
+		}
+	}
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Benchmark for the dispatch of events to {@link EventListener @EventListener}
+ * methods, measuring the events published per second across 100 listeners.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class EventListenerBenchmark {
+
+	private static final int LISTENER_COUNT = 100;
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"plain", "condition"})
+		public String listenerType;
+
+		public AnnotationConfigApplicationContext context;
+
+		public TestEvent event;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.context = new AnnotationConfigApplicationContext();
+			Class<?> listenerClass = ("condition".equals(this.listenerType) ?
+					ConditionalListener.class : PlainListener.class);
+			for (int i = 0; i < LISTENER_COUNT; i++) {
+				this.context.registerBean("listener" + i, listenerClass);
+			}
+			this.context.refresh();
+			this.event = new TestEvent(this, 42);
+		}
+
+		@TearDown(Level.Trial)
+		public void teardown() {
+			this.context.close();
+		}
+	}
+
+
+	@Benchmark
+	public void publishEvent(BenchmarkState state) {
+		state.context.publishEvent(state.event);
+	}
+
+
+	@SuppressWarnings("serial")
+	public static class TestEvent extends ApplicationEvent {
+
+		private final int value;
+
+		public TestEvent(Object source, int value) {
+			super(source);
+			this.value = value;
+		}
+
+		public int getValue() {
+			return this.value;
+		}
+	}
+
+
+	public static class PlainListener {
+
+		public int count;
+
+		@EventListener
+		public void onEvent(TestEvent event) {
+			this.count += event.getValue();
+		}
+	}
+
+
+	public static class ConditionalListener {
+
+		public int count;
+
+		@EventListener(condition = "#a0.value > 0")
+		public void onEvent(TestEvent event) {
+			this.count += event.getValue();
+		}
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package org.springframework.context.event;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -24,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletionStage;
 
@@ -38,6 +42,7 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.NativeDetector;
 import org.springframework.core.Ordered;
 import org.springframework.core.ReactiveAdapter;
 import org.springframework.core.ReactiveAdapterRegistry;
@@ -47,6 +52,7 @@ import org.springframework.core.annotation.Order;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
@@ -61,6 +67,10 @@ import org.springframework.util.StringUtils;
  * to define any arbitrary event type. If a condition is defined, it is
  * evaluated prior to invoking the underlying method.
  *
+ * <p>The dispatch to the method is prepared upfront: the method is invoked through
+ * a {@link MethodHandle} where possible, the condition is parsed once and compiled
+ * where possible, and the event type matching results are cached per event type.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @author Sam Brannen
@@ -84,6 +94,16 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final List<ResolvableType> declaredEventTypes;
 
+	// Whether any declared event type is a payload type rather than an ApplicationEvent
+	private final boolean declaredPayloadType;
+
+	private final Map<ResolvableType, Boolean> supportedEventTypes = new ConcurrentReferenceHashMap<>(16);
+
+	private final Class<?>[] parameterTypes;
+
+	@Nullable
+	private final MethodHandle invoker;
+
 	@Nullable
 	private final String condition;
 
@@ -98,6 +118,9 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	@Nullable
 	private EventExpressionEvaluator evaluator;
 
+	@Nullable
+	private volatile EventExpressionEvaluator.PreparedCondition preparedCondition;
+
 
 	/**
 	 * Construct a new ApplicationListenerMethodAdapter.
@@ -114,6 +137,10 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
 		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
+		this.declaredPayloadType = this.declaredEventTypes.stream()
+				.anyMatch(eventType -> !ApplicationEvent.class.isAssignableFrom(eventType.toClass()));
+		this.parameterTypes = this.method.getParameterTypes();
+		this.invoker = createInvoker(this.method);
 		this.condition = (ann != null ? ann.condition() : null);
 		this.order = resolveOrder(this.targetMethod);
 		String id = (ann != null ? ann.id() : "");
@@ -150,6 +177,27 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return (ann != null ? ann.value() : Ordered.LOWEST_PRECEDENCE);
 	}
 
+	/**
+	 * Create a {@link MethodHandle} of type {@code (Object,Object[])Object} for
+	 * invoking the given method, or {@code null} if reflection has to be used.
+	 */
+	@Nullable
+	private static MethodHandle createInvoker(Method method) {
+		if (NativeDetector.inNativeImage()) {
+			return null;
+		}
+		try {
+			ReflectionUtils.makeAccessible(method);
+			return MethodHandles.lookup().unreflect(method).asFixedArity()
+					.asSpreader(Object[].class, method.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			// E.g. not accessible due to module restrictions: fall back to reflection
+			return null;
+		}
+	}
+
 
 	/**
 	 * Initialize this instance.
@@ -157,6 +205,10 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	void init(ApplicationContext applicationContext, @Nullable EventExpressionEvaluator evaluator) {
 		this.applicationContext = applicationContext;
 		this.evaluator = evaluator;
+		String condition = getCondition();
+		if (evaluator != null && StringUtils.hasText(condition)) {
+			this.preparedCondition = evaluator.prepareCondition(condition, this.targetMethod, applicationContext);
+		}
 	}
 
 
@@ -167,6 +219,15 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	@Override
 	public boolean supportsEventType(ResolvableType eventType) {
+		Boolean supported = this.supportedEventTypes.get(eventType);
+		if (supported == null) {
+			supported = determineSupportedEventType(eventType);
+			this.supportedEventTypes.put(eventType, supported);
+		}
+		return supported;
+	}
+
+	private boolean determineSupportedEventType(ResolvableType eventType) {
 		for (ResolvableType declaredEventType : this.declaredEventTypes) {
 			if (declaredEventType.isAssignableFrom(eventType)) {
 				return true;
@@ -321,8 +382,13 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		String condition = getCondition();
 		if (StringUtils.hasText(condition)) {
 			Assert.notNull(this.evaluator, "EventExpressionEvaluator must not be null");
-			return this.evaluator.condition(
-					condition, event, this.targetMethod, this.methodKey, args, this.applicationContext);
+			EventExpressionEvaluator.PreparedCondition preparedCondition = this.preparedCondition;
+			if (preparedCondition == null || !preparedCondition.isFor(condition)) {
+				preparedCondition = this.evaluator.prepareCondition(
+						condition, this.targetMethod, this.applicationContext);
+				this.preparedCondition = preparedCondition;
+			}
+			return preparedCondition.matches(event, args);
 		}
 		return true;
 	}
@@ -338,6 +404,20 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 			return null;
 		}
 
+		MethodHandle invoker = this.invoker;
+		if (invoker != null && isInvocableWith(bean, args)) {
+			try {
+				return invoker.invokeExact(bean, args);
+			}
+			catch (RuntimeException ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				String msg = getInvocationErrorMessage(bean, "Failed to invoke event listener method", args);
+				throw new UndeclaredThrowableException(ex, msg);
+			}
+		}
+
 		ReflectionUtils.makeAccessible(this.method);
 		try {
 			return this.method.invoke(bean, args);
@@ -362,6 +442,23 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		}
 	}
 
+	/**
+	 * Check whether the method can be invoked with the given target and arguments
+	 * without a type mismatch, otherwise leaving the invocation (and the error
+	 * reporting) to reflection.
+	 */
+	private boolean isInvocableWith(Object bean, Object[] args) {
+		if (!this.method.getDeclaringClass().isInstance(bean) || args.length != this.parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (!ClassUtils.isAssignableValue(this.parameterTypes[i], args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Return the target bean instance to use.
 	 */
@@ -440,7 +537,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	@Nullable
 	private ResolvableType getResolvableType(ApplicationEvent event) {
 		ResolvableType payloadType = null;
-		if (event instanceof PayloadApplicationEvent<?> payloadEvent) {
+		if (this.declaredPayloadType && event instanceof PayloadApplicationEvent<?> payloadEvent) {
 			ResolvableType eventType = payloadEvent.getResolvableType();
 			if (eventType != null) {
 				payloadType = eventType.as(PayloadApplicationEvent.class).getGeneric();
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Variant of the standard {@link ApplicationListener} interface for listeners
+ * that are able to process several events at once.
+ *
+ * <p>A {@link PartitionedApplicationEventMulticaster} passes all matching events
+ * drained from a partition in one go to {@link #onApplicationEvents}, in the order
+ * of publication. Other multicasters pass each event on its own through
+ * {@link #onApplicationEvent}, which delegates to {@link #onApplicationEvents}
+ * with a single-element list by default.
+ *
+ * @since 6.0
+ * @param <E> the specific {@code ApplicationEvent} subclass to listen to
+ * @see PartitionedApplicationEventMulticaster
+ */
+@FunctionalInterface
+public interface BatchApplicationListener<E extends ApplicationEvent> extends ApplicationListener<E> {
+
+	/**
+	 * Handle the given application events, in the order of publication.
+	 * @param events the events to respond to (never empty)
+	 */
+	void onApplicationEvents(List<E> events);
+
+	/**
+	 * Handle a single application event, delegating to {@link #onApplicationEvents}.
+	 * @param event the event to respond to
+	 */
+	@Override
+	default void onApplicationEvent(E event) {
+		onApplicationEvents(List.of(event));
+	}
+
+}
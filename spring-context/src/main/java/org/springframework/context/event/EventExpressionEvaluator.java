@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,9 @@
 package org.springframework.context.event;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -26,7 +29,19 @@ import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
 
 /**
@@ -42,6 +57,22 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
 
 
+	/**
+	 * Create a new instance with a default {@link SpelExpressionParser}.
+	 */
+	public EventExpressionEvaluator() {
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionParser},
+	 * e.g. with a compiler mode for compiling conditions.
+	 * @since 6.0
+	 */
+	public EventExpressionEvaluator(SpelExpressionParser parser) {
+		super(parser);
+	}
+
+
 	/**
 	 * Determine if the condition defined by the specified expression evaluates
 	 * to {@code true}.
@@ -60,4 +91,187 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 				evaluationContext, Boolean.class)));
 	}
 
+	/**
+	 * Prepare the specified condition for repeated evaluation against the events
+	 * of the given listener method, with the same semantics as
+	 * {@link #condition(String, ApplicationEvent, Method, AnnotatedElementKey, Object[], BeanFactory)}.
+	 * <p>The expression is parsed and the parameter names of the method are
+	 * discovered once. The expression is compiled according to the compiler
+	 * mode of the parser, i.e. only if enabled through the
+	 * {@code spring.expression.compiler.mode} property or a parser with a
+	 * custom {@link org.springframework.expression.spel.SpelParserConfiguration}.
+	 * @since 6.0
+	 */
+	PreparedCondition prepareCondition(String conditionExpression, Method targetMethod,
+			@Nullable BeanFactory beanFactory) {
+
+		Expression expression = parseExpression(conditionExpression);
+		String[] parameterNames = getParameterNameDiscoverer().getParameterNames(targetMethod);
+		return new PreparedCondition(conditionExpression, expression, targetMethod.getParameterCount(),
+				parameterNames, (beanFactory != null ? new BeanFactoryResolver(beanFactory) : null));
+	}
+
+
+	/**
+	 * A condition expression prepared for a specific listener method.
+	 * @since 6.0
+	 */
+	static final class PreparedCondition {
+
+		private final String conditionExpression;
+
+		private final Expression expression;
+
+		private final int parameterCount;
+
+		// Variable name (aX, pX or parameter name) to parameter index
+		private final Map<String, Integer> parameterIndexes;
+
+		private final StandardEvaluationContext sharedContext;
+
+		PreparedCondition(String conditionExpression, Expression expression, int parameterCount,
+				@Nullable String[] parameterNames, @Nullable BeanResolver beanResolver) {
+
+			this.conditionExpression = conditionExpression;
+			this.expression = expression;
+			this.parameterCount = (parameterNames != null ? parameterNames.length : parameterCount);
+			this.parameterIndexes = new HashMap<>();
+			for (int i = 0; i < this.parameterCount; i++) {
+				this.parameterIndexes.put("a" + i, i);
+				this.parameterIndexes.put("p" + i, i);
+				if (parameterNames != null && parameterNames[i] != null) {
+					this.parameterIndexes.put(parameterNames[i], i);
+				}
+			}
+			this.sharedContext = new StandardEvaluationContext();
+			if (beanResolver != null) {
+				this.sharedContext.setBeanResolver(beanResolver);
+			}
+			// Initialize the default strategies upfront, for safe use across threads
+			this.sharedContext.getPropertyAccessors();
+			this.sharedContext.getConstructorResolvers();
+			this.sharedContext.getMethodResolvers();
+			this.sharedContext.getTypeLocator();
+			this.sharedContext.getTypeConverter();
+		}
+
+		/**
+		 * Return whether this instance has been prepared for the given condition.
+		 */
+		boolean isFor(String conditionExpression) {
+			return this.conditionExpression.equals(conditionExpression);
+		}
+
+		/**
+		 * Determine if the condition evaluates to {@code true} for the given event
+		 * and the method arguments resolved for it.
+		 */
+		boolean matches(ApplicationEvent event, Object[] args) {
+			EventEvaluationContext evaluationContext =
+					new EventEvaluationContext(this, new EventExpressionRootObject(event, args), args);
+			return Boolean.TRUE.equals(this.expression.getValue(evaluationContext, Boolean.class));
+		}
+
+		@Nullable
+		Object getArgument(Object[] args, String name) {
+			Integer index = this.parameterIndexes.get(name);
+			if (index == null) {
+				return null;
+			}
+			int i = index;
+			if (args.length > this.parameterCount && i == this.parameterCount - 1) {
+				// Expose remaining arguments as vararg array for last parameter
+				return Arrays.copyOfRange(args, i, args.length);
+			}
+			return (args.length > i ? args[i] : null);
+		}
+	}
+
+
+	/**
+	 * Lightweight per-event evaluation context, exposing the method arguments as
+	 * variables like a {@link MethodBasedEvaluationContext} and sharing everything
+	 * else through the prepared condition.
+	 */
+	private static class EventEvaluationContext implements EvaluationContext {
+
+		private final PreparedCondition condition;
+
+		private final TypedValue rootObject;
+
+		private final Object[] args;
+
+		@Nullable
+		private Map<String, Object> variables;
+
+		EventEvaluationContext(PreparedCondition condition, EventExpressionRootObject rootObject, Object[] args) {
+			this.condition = condition;
+			this.rootObject = new TypedValue(rootObject);
+			this.args = args;
+		}
+
+		@Override
+		public TypedValue getRootObject() {
+			return this.rootObject;
+		}
+
+		@Override
+		public List<PropertyAccessor> getPropertyAccessors() {
+			return this.condition.sharedContext.getPropertyAccessors();
+		}
+
+		@Override
+		public List<ConstructorResolver> getConstructorResolvers() {
+			return this.condition.sharedContext.getConstructorResolvers();
+		}
+
+		@Override
+		public List<MethodResolver> getMethodResolvers() {
+			return this.condition.sharedContext.getMethodResolvers();
+		}
+
+		@Override
+		@Nullable
+		public BeanResolver getBeanResolver() {
+			return this.condition.sharedContext.getBeanResolver();
+		}
+
+		@Override
+		public TypeLocator getTypeLocator() {
+			return this.condition.sharedContext.getTypeLocator();
+		}
+
+		@Override
+		public TypeConverter getTypeConverter() {
+			return this.condition.sharedContext.getTypeConverter();
+		}
+
+		@Override
+		public TypeComparator getTypeComparator() {
+			return this.condition.sharedContext.getTypeComparator();
+		}
+
+		@Override
+		public OperatorOverloader getOperatorOverloader() {
+			return this.condition.sharedContext.getOperatorOverloader();
+		}
+
+		@Override
+		public void setVariable(String name, @Nullable Object value) {
+			if (this.variables == null) {
+				this.variables = new HashMap<>();
+			}
+			this.variables.put(name, value);
+		}
+
+		@Override
+		@Nullable
+		public Object lookupVariable(String name) {
+			if (this.variables != null && this.variables.containsKey(name)) {
+				return this.variables.get(name);
+			}
+			return this.condition.getArgument(this.args, name);
+		}
+	}
+
 }
@@ -0,0 +1,665 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link ApplicationEventMulticaster} that delivers events asynchronously through
+ * a fixed number of partitions, each of which processes its events in the order
+ * of publication.
+ *
+ * <p>Each event is routed to a partition by a key extracted from the event, e.g.
+ * the identifier of the aggregate that a domain event refers to: events with the
+ * same key reach each listener in the order of publication, whereas events in
+ * different partitions are processed in parallel. The event source serves as key
+ * by default. Note that payload objects published through an
+ * {@code ApplicationContext} share the context as their source and therefore end
+ * up in the same partition unless a {@link #setPartitionKeyExtractor key extractor}
+ * is specified.
+ *
+ * <p>Each partition holds a bounded number of pending events. Once a partition is
+ * full, publishers block until its listeners catch up, or until the
+ * {@link #setPublishTimeout publish timeout} elapses. Events published by a listener,
+ * i.e. from the thread draining any partition, are always accepted beyond the
+ * capacity, since waiting for partitions to catch up could deadlock.
+ *
+ * <p>{@link ApplicationContextEvent ApplicationContextEvents} such as
+ * {@link ContextRefreshedEvent} are delivered synchronously to all listeners,
+ * as with {@link SimpleApplicationEventMulticaster}, so that the context lifecycle
+ * does not proceed before its listeners have run. The same applies to any event
+ * published after {@link #destroy()}, e.g. from destruction callbacks.
+ *
+ * <p>Partitions are drained in batches through the {@link #setTaskExecutor task
+ * executor}, running at most one task per partition at any time. By default, this
+ * is a fixed thread pool with a daemon thread per partition, shut down on
+ * {@link #destroy()}. A custom executor needs to be able to run as many tasks
+ * concurrently as there are partitions for all partitions to be processed in
+ * parallel. The partition settings and the executor need to be specified before
+ * the first event is published.
+ *
+ * <p>Resolved listeners are reused for consecutive events of the same type within
+ * a batch. {@link BatchApplicationListener BatchApplicationListeners} receive all
+ * of their matching events of a batch in a single invocation, after the events
+ * of the batch have been passed to the other listeners.
+ *
+ * <p>Since listeners are invoked asynchronously, their exceptions are passed to the
+ * {@link #setErrorHandler error handler}, logging and suppressing them by default.
+ * Processing time and latency from publication to completion are recorded per
+ * listener: see {@link #getListenerMetrics()}.
+ *
+ * @since 6.0
+ * @see BatchApplicationListener
+ */
+public class PartitionedApplicationEventMulticaster extends SimpleApplicationEventMulticaster
+		implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(PartitionedApplicationEventMulticaster.class);
+
+	private static final ThreadLocal<Boolean> drainingPartition = new NamedThreadLocal<>("Draining event partition");
+
+
+	private Function<ApplicationEvent, ?> partitionKeyExtractor = ApplicationEvent::getSource;
+
+	private int partitionCount = Runtime.getRuntime().availableProcessors();
+
+	private int partitionCapacity = 1024;
+
+	private int maxBatchSize = 64;
+
+	@Nullable
+	private Duration publishTimeout;
+
+	@Nullable
+	private volatile Partition[] partitions;
+
+	@Nullable
+	private ExecutorService internalExecutor;
+
+	private volatile boolean active = true;
+
+	private final Map<ApplicationListener<?>, ListenerMetrics> listenerMetrics =
+			new ConcurrentReferenceHashMap<>(64, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+
+	/**
+	 * Create a new PartitionedApplicationEventMulticaster.
+	 */
+	public PartitionedApplicationEventMulticaster() {
+		setErrorHandler(TaskUtils.LOG_AND_SUPPRESS_ERROR_HANDLER);
+	}
+
+	/**
+	 * Create a new PartitionedApplicationEventMulticaster for the given BeanFactory.
+	 */
+	public PartitionedApplicationEventMulticaster(BeanFactory beanFactory) {
+		this();
+		setBeanFactory(beanFactory);
+	}
+
+
+	/**
+	 * Set the function that extracts the partition key from an event.
+	 * <p>Events with equal keys are processed in the order of publication.
+	 * A {@code null} key routes the event to the first partition.
+	 * <p>Default is the {@link ApplicationEvent#getSource() event source}.
+	 */
+	public void setPartitionKeyExtractor(Function<ApplicationEvent, ?> partitionKeyExtractor) {
+		Assert.notNull(partitionKeyExtractor, "Partition key extractor must not be null");
+		this.partitionKeyExtractor = partitionKeyExtractor;
+	}
+
+	/**
+	 * Set the number of partitions, i.e. the maximum number of events that are
+	 * processed in parallel.
+	 * <p>Default is the number of available processors.
+	 */
+	public void setPartitionCount(int partitionCount) {
+		Assert.isTrue(partitionCount > 0, "Partition count must be greater than 0");
+		this.partitionCount = partitionCount;
+	}
+
+	/**
+	 * Set the maximum number of pending events per partition, including the
+	 * events that are currently being processed.
+	 * <p>Default is 1024.
+	 */
+	public void setPartitionCapacity(int partitionCapacity) {
+		Assert.isTrue(partitionCapacity > 0, "Partition capacity must be greater than 0");
+		this.partitionCapacity = partitionCapacity;
+	}
+
+	/**
+	 * Set the maximum number of events to take from a partition at once,
+	 * and therefore to pass to a {@link BatchApplicationListener} at once.
+	 * <p>Default is 64.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "Max batch size must be greater than 0");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Set the maximum time to wait for a full partition to accept an event,
+	 * after which a {@link TaskRejectedException} is thrown to the publisher.
+	 * <p>Default is none, waiting until the partition has caught up.
+	 */
+	public void setPublishTimeout(@Nullable Duration publishTimeout) {
+		this.publishTimeout = publishTimeout;
+	}
+
+
+	@Override
+	public void multicastEvent(ApplicationEvent event) {
+		multicastEvent(event, null);
+	}
+
+	@Override
+	public void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType) {
+		if (event instanceof ApplicationContextEvent || !this.active) {
+			ResolvableType type = (eventType != null ? eventType : ResolvableType.forInstance(event));
+			for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+				invokeListener(listener, event);
+			}
+			return;
+		}
+		Partition[] partitions = getPartitions();
+		Object key = this.partitionKeyExtractor.apply(event);
+		partitions[getPartitionIndex(key, partitions.length)].enqueue(event, eventType);
+	}
+
+	private static int getPartitionIndex(@Nullable Object key, int partitionCount) {
+		if (key == null) {
+			return 0;
+		}
+		int hash = key.hashCode();
+		return Math.floorMod(hash ^ (hash >>> 16), partitionCount);
+	}
+
+	private Partition[] getPartitions() {
+		Partition[] partitions = this.partitions;
+		if (partitions == null) {
+			synchronized (this) {
+				partitions = this.partitions;
+				if (partitions == null) {
+					Executor executor = getTaskExecutor();
+					if (executor == null) {
+						CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("event-partition-");
+						threadFactory.setDaemon(true);
+						this.internalExecutor = Executors.newFixedThreadPool(this.partitionCount, threadFactory);
+						executor = this.internalExecutor;
+					}
+					partitions = new Partition[this.partitionCount];
+					for (int i = 0; i < partitions.length; i++) {
+						partitions[i] = new Partition(executor);
+					}
+					this.partitions = partitions;
+				}
+			}
+		}
+		return partitions;
+	}
+
+	/**
+	 * Return the number of events that have been published but not processed yet,
+	 * across all partitions.
+	 */
+	public int getPendingEventCount() {
+		Partition[] partitions = this.partitions;
+		int count = 0;
+		if (partitions != null) {
+			for (Partition partition : partitions) {
+				count += partition.queue.size();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Return a snapshot of the metrics recorded for each listener that has been
+	 * invoked so far.
+	 */
+	public Map<ApplicationListener<?>, ListenerMetrics> getListenerMetrics() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(this.listenerMetrics));
+	}
+
+	private ListenerMetrics getListenerMetrics(ApplicationListener<?> listener) {
+		ListenerMetrics metrics = this.listenerMetrics.get(listener);
+		if (metrics == null) {
+			metrics = new ListenerMetrics();
+			ListenerMetrics existing = this.listenerMetrics.putIfAbsent(listener, metrics);
+			if (existing != null) {
+				metrics = existing;
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * Shut down the internal executor, if any. Events that have been published
+	 * already are still processed; events published from now on are delivered
+	 * synchronously.
+	 */
+	@Override
+	public void destroy() {
+		this.active = false;
+		synchronized (this) {
+			if (this.internalExecutor != null) {
+				this.internalExecutor.shutdown();
+			}
+		}
+	}
+
+
+	/**
+	 * Deliver the given batch of events, taken from a single partition.
+	 */
+	private void processBatch(List<PendingEvent> batch) {
+		Map<BatchApplicationListener<?>, List<PendingEvent>> batchListenerEvents = null;
+		Collection<ApplicationListener<?>> listeners = null;
+		ResolvableType previousEventType = null;
+		Class<?> previousSourceType = null;
+		for (PendingEvent pendingEvent : batch) {
+			ApplicationEvent event = pendingEvent.event;
+			ResolvableType eventType = (pendingEvent.eventType != null ?
+					pendingEvent.eventType : ResolvableType.forInstance(event));
+			Object source = event.getSource();
+			Class<?> sourceType = (source != null ? source.getClass() : null);
+			if (listeners == null || sourceType != previousSourceType || !eventType.equals(previousEventType)) {
+				try {
+					listeners = getApplicationListeners(event, eventType);
+				}
+				catch (Throwable ex) {
+					// Skip this event only, resolving the listeners again for the next one
+					handleListenerResolutionFailure(event, ex);
+					listeners = null;
+					continue;
+				}
+				previousEventType = eventType;
+				previousSourceType = sourceType;
+			}
+			for (ApplicationListener<?> listener : listeners) {
+				if (listener instanceof BatchApplicationListener<?> batchListener) {
+					if (batchListenerEvents == null) {
+						batchListenerEvents = new LinkedHashMap<>();
+					}
+					batchListenerEvents.computeIfAbsent(batchListener, key -> new ArrayList<>()).add(pendingEvent);
+				}
+				else {
+					deliverEvent(listener, pendingEvent);
+				}
+			}
+		}
+		if (batchListenerEvents != null) {
+			batchListenerEvents.forEach(this::deliverEvents);
+		}
+	}
+
+	private void deliverEvent(ApplicationListener<?> listener, PendingEvent pendingEvent) {
+		long startTime = System.nanoTime();
+		try {
+			invokeListener(listener, pendingEvent.event);
+		}
+		catch (Throwable ex) {
+			handleUncaughtListenerException(listener, ex);
+		}
+		finally {
+			long endTime = System.nanoTime();
+			getListenerMetrics(listener).record(endTime - startTime, endTime - pendingEvent.publishTime);
+		}
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private void deliverEvents(BatchApplicationListener listener, List<PendingEvent> pendingEvents) {
+		List<ApplicationEvent> events = new ArrayList<>(pendingEvents.size());
+		for (PendingEvent pendingEvent : pendingEvents) {
+			events.add(pendingEvent.event);
+		}
+		long startTime = System.nanoTime();
+		try {
+			ErrorHandler errorHandler = getErrorHandler();
+			try {
+				listener.onApplicationEvents(events);
+			}
+			catch (Throwable ex) {
+				if (errorHandler == null) {
+					throw ex;
+				}
+				errorHandler.handleError(ex);
+			}
+		}
+		catch (Throwable ex) {
+			handleUncaughtListenerException(listener, ex);
+		}
+		finally {
+			long endTime = System.nanoTime();
+			getListenerMetrics(listener).record(endTime - startTime, endTime, pendingEvents);
+		}
+	}
+
+	private void handleListenerResolutionFailure(ApplicationEvent event, Throwable ex) {
+		ErrorHandler errorHandler = getErrorHandler();
+		if (errorHandler != null) {
+			try {
+				errorHandler.handleError(ex);
+				return;
+			}
+			catch (Throwable handlerEx) {
+				ex = handlerEx;
+			}
+		}
+		if (logger.isErrorEnabled()) {
+			logger.error("Failed to resolve listeners for event " + event, ex);
+		}
+	}
+
+	private void handleUncaughtListenerException(ApplicationListener<?> listener, Throwable ex) {
+		// Not handled or propagated by the error handler: nobody to propagate to
+		if (logger.isErrorEnabled()) {
+			logger.error("Unexpected exception from listener " + listener, ex);
+		}
+	}
+
+
+	/**
+	 * A published event waiting to be processed.
+	 */
+	private static class PendingEvent {
+
+		final ApplicationEvent event;
+
+		@Nullable
+		final ResolvableType eventType;
+
+		final long publishTime = System.nanoTime();
+
+		final boolean acquiredCapacity;
+
+		PendingEvent(ApplicationEvent event, @Nullable ResolvableType eventType, boolean acquiredCapacity) {
+			this.event = event;
+			this.eventType = eventType;
+			this.acquiredCapacity = acquiredCapacity;
+		}
+	}
+
+
+	/**
+	 * A bounded queue of pending events, drained by at most one task at a time.
+	 */
+	private class Partition implements Runnable {
+
+		final Queue<PendingEvent> queue = new ConcurrentLinkedQueue<>();
+
+		private final Semaphore capacity = new Semaphore(partitionCapacity);
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private final Executor executor;
+
+		Partition(Executor executor) {
+			this.executor = executor;
+		}
+
+		void enqueue(ApplicationEvent event, @Nullable ResolvableType eventType) {
+			// Always accept events from listeners: waiting for a partition to catch up
+			// while holding up another one (or this one) may block forever
+			boolean acquireCapacity = (drainingPartition.get() == null);
+			if (acquireCapacity) {
+				acquireCapacity();
+			}
+			PendingEvent pendingEvent = new PendingEvent(event, eventType, acquireCapacity);
+			this.queue.offer(pendingEvent);
+			try {
+				schedule();
+			}
+			catch (RuntimeException ex) {
+				// Unless already taken by a running drain, the event will not be processed
+				if (this.queue.remove(pendingEvent)) {
+					if (acquireCapacity) {
+						this.capacity.release();
+					}
+					throw ex;
+				}
+			}
+		}
+
+		private void acquireCapacity() {
+			Duration timeout = publishTimeout;
+			try {
+				if (timeout == null) {
+					this.capacity.acquire();
+				}
+				else if (!this.capacity.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+					throw new TaskRejectedException(
+							"Event partition did not accept event within " + timeout.toMillis() + " ms");
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new TaskRejectedException("Interrupted while waiting for event partition capacity", ex);
+			}
+		}
+
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				try {
+					this.executor.execute(this);
+				}
+				catch (RuntimeException ex) {
+					this.scheduled.set(false);
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			// May be run inline by a synchronous executor while draining another partition
+			boolean nested = (drainingPartition.get() != null);
+			drainingPartition.set(Boolean.TRUE);
+			try {
+				while (true) {
+					try {
+						drain();
+					}
+					finally {
+						this.scheduled.set(false);
+					}
+					// An event may have been enqueued after the last poll but before the reset
+					if (this.queue.isEmpty() || !this.scheduled.compareAndSet(false, true)) {
+						break;
+					}
+					try {
+						this.executor.execute(this);
+						break;
+					}
+					catch (RuntimeException ex) {
+						// Keep draining on this thread rather than stranding the events
+						if (logger.isDebugEnabled()) {
+							logger.debug("Executor rejected event partition - draining it on the current thread", ex);
+						}
+					}
+				}
+			}
+			finally {
+				if (!nested) {
+					drainingPartition.remove();
+				}
+			}
+		}
+
+		private void drain() {
+			List<PendingEvent> batch = new ArrayList<>();
+			while (true) {
+				PendingEvent pendingEvent;
+				while (batch.size() < maxBatchSize && (pendingEvent = this.queue.poll()) != null) {
+					batch.add(pendingEvent);
+				}
+				if (batch.isEmpty()) {
+					break;
+				}
+				try {
+					processBatch(batch);
+				}
+				finally {
+					int permits = 0;
+					for (PendingEvent processed : batch) {
+						if (processed.acquiredCapacity) {
+							permits++;
+						}
+					}
+					this.capacity.release(permits);
+					batch.clear();
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Metrics recorded for a listener: the number of invocations and events,
+	 * the time spent in the listener, and the latency from the publication of
+	 * an event to the completion of its processing by the listener.
+	 */
+	public static final class ListenerMetrics {
+
+		private final LongAdder invocationCount = new LongAdder();
+
+		private final LongAdder eventCount = new LongAdder();
+
+		private final LongAdder totalProcessingTime = new LongAdder();
+
+		private final LongAccumulator maxProcessingTime = new LongAccumulator(Math::max, 0);
+
+		private final LongAdder totalLatency = new LongAdder();
+
+		private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+		ListenerMetrics() {
+		}
+
+		void record(long processingTime, long latency) {
+			this.invocationCount.increment();
+			this.eventCount.increment();
+			this.totalProcessingTime.add(processingTime);
+			this.maxProcessingTime.accumulate(processingTime);
+			this.totalLatency.add(latency);
+			this.maxLatency.accumulate(latency);
+		}
+
+		void record(long processingTime, long endTime, List<PendingEvent> pendingEvents) {
+			this.invocationCount.increment();
+			this.eventCount.add(pendingEvents.size());
+			this.totalProcessingTime.add(processingTime);
+			this.maxProcessingTime.accumulate(processingTime);
+			for (PendingEvent pendingEvent : pendingEvents) {
+				long latency = endTime - pendingEvent.publishTime;
+				this.totalLatency.add(latency);
+				this.maxLatency.accumulate(latency);
+			}
+		}
+
+		/**
+		 * Return the number of times the listener has been invoked.
+		 */
+		public long getInvocationCount() {
+			return this.invocationCount.sum();
+		}
+
+		/**
+		 * Return the number of events passed to the listener, which is higher
+		 * than the number of invocations for a {@link BatchApplicationListener}.
+		 */
+		public long getEventCount() {
+			return this.eventCount.sum();
+		}
+
+		/**
+		 * Return the total time spent in the listener.
+		 */
+		public Duration getTotalProcessingTime() {
+			return Duration.ofNanos(this.totalProcessingTime.sum());
+		}
+
+		/**
+		 * Return the longest time spent in a single invocation of the listener.
+		 */
+		public Duration getMaxProcessingTime() {
+			return Duration.ofNanos(this.maxProcessingTime.get());
+		}
+
+		/**
+		 * Return the average time from the publication of an event
+		 * to the completion of its processing by the listener.
+		 */
+		public Duration getAverageLatency() {
+			long eventCount = this.eventCount.sum();
+			return Duration.ofNanos(eventCount > 0 ? this.totalLatency.sum() / eventCount : 0);
+		}
+
+		/**
+		 * Return the longest time from the publication of an event
+		 * to the completion of its processing by the listener.
+		 */
+		public Duration getMaxLatency() {
+			return Duration.ofNanos(this.maxLatency.get());
+		}
+
+		@Override
+		public String toString() {
+			return "ListenerMetrics [invocations=" + getInvocationCount() + ", events=" + getEventCount() +
+					", totalProcessingTime=" + getTotalProcessingTime() + ", maxProcessingTime=" +
+					getMaxProcessingTime() + ", averageLatency=" + getAverageLatency() +
+					", maxLatency=" + getMaxLatency() + "]";
+		}
+	}
+
+}
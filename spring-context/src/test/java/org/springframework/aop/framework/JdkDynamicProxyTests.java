@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@
 package org.springframework.aop.framework;
 
 import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -24,6 +26,7 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.testfixture.interceptor.NopInterceptor;
 import org.springframework.beans.testfixture.beans.IOther;
 import org.springframework.beans.testfixture.beans.ITestBean;
 import org.springframework.beans.testfixture.beans.TestBean;
@@ -117,6 +120,70 @@ public class JdkDynamicProxyTests extends AbstractAopProxyTests implements Seria
 		tb.getName();
 	}
 
+	@Test
+	public void testFrozenProxyWithStaticTarget() {
+		TestBean raw = new TestBean();
+		raw.setAge(32);
+		NopInterceptor nop = new NopInterceptor();
+		ProxyFactory pc = new ProxyFactory(ITestBean.class);
+		pc.setTarget(raw);
+		pc.addAdvice(nop);
+		pc.setFrozen(true);
+
+		ITestBean tb = (ITestBean) createProxy(pc);
+		assertThat(tb.getAge()).isEqualTo(32);
+		assertThat(nop.getCount()).isEqualTo(1);
+
+		pc.setFrozen(false);
+		pc.removeAdvice(nop);
+		assertThat(tb.getAge()).isEqualTo(32);
+		assertThat(nop.getCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testFrozenProxyAfterUnfreezeModifyAndRefreeze() {
+		TestBean raw = new TestBean();
+		raw.setAge(32);
+		NopInterceptor nop = new NopInterceptor();
+		ProxyFactory pc = new ProxyFactory(ITestBean.class);
+		pc.setTarget(raw);
+		pc.setFrozen(true);
+
+		ITestBean tb = (ITestBean) createProxy(pc);
+		assertThat(tb.getAge()).isEqualTo(32);
+
+		pc.setFrozen(false);
+		pc.addAdvice(nop);
+		pc.setFrozen(true);
+		assertThat(tb.getAge()).isEqualTo(32);
+		assertThat(nop.getCount()).isEqualTo(1);
+
+		pc.setFrozen(false);
+		pc.removeAdvice(nop);
+		pc.setFrozen(true);
+		assertThat(tb.getAge()).isEqualTo(32);
+		assertThat(nop.getCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testFrozenProxyInvokedWithMethodCopies() throws Throwable {
+		TestBean raw = new TestBean();
+		raw.setAge(32);
+		NopInterceptor nop = new NopInterceptor();
+		ProxyFactory pc = new ProxyFactory(ITestBean.class);
+		pc.setTarget(raw);
+		pc.addAdvice(nop);
+		pc.setFrozen(true);
+
+		ITestBean tb = (ITestBean) createProxy(pc);
+		InvocationHandler handler = Proxy.getInvocationHandler(tb);
+		for (int i = 0; i < 1000; i++) {
+			// getMethod returns a new copy of the Method on every call
+			assertThat(handler.invoke(tb, ITestBean.class.getMethod("getAge"), null)).isEqualTo(32);
+		}
+		assertThat(nop.getCount()).isEqualTo(1000);
+	}
+
 	@Test
 	public void testProxyNotWrappedIfIncompatible() {
 		FooBar bean = new FooBar();
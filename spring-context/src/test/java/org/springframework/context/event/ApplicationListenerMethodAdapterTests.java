@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@ package org.springframework.context.event;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -26,10 +28,16 @@ import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.Ordered;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.ResolvableTypeProvider;
 import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -325,6 +333,45 @@ public class ApplicationListenerMethodAdapterTests extends AbstractApplicationEv
 		verify(this.context, times(2)).getBean("testBean");
 	}
 
+	@Test
+	public void conditionEvaluatedAtEveryInvocation() {
+		Method method = ReflectionUtils.findMethod(SampleEvents.class, "handleStringWithCondition", String.class);
+		String condition = method.getAnnotation(EventListener.class).condition();
+		List<SpelExpression> expressions = new ArrayList<>();
+		// Compiled after the first evaluation, propagating failures instead of falling back to the interpreter
+		SpelParserConfiguration configuration =
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader());
+		SpelExpressionParser parser = new SpelExpressionParser(configuration) {
+			@Override
+			public Expression parseExpression(String expressionString) {
+				Expression expression = super.parseExpression(expressionString);
+				expressions.add((SpelExpression) expression);
+				return expression;
+			}
+		};
+		ApplicationListenerMethodAdapter listener = createTestInstance(method);
+		listener.init(this.context, new EventExpressionEvaluator(parser));
+		EventExpressionEvaluator interpreter = new EventExpressionEvaluator();
+		AnnotatedElementKey methodKey = new AnnotatedElementKey(method, SampleEvents.class);
+
+		int expectedInvocations = 0;
+		for (int i = 0; i < 300; i++) {
+			String payload = (i % 2 == 0 ? "OK" : "NOT OK");
+			PayloadApplicationEvent<String> event = new PayloadApplicationEvent<>(this, payload);
+			listener.onApplicationEvent(event);
+			if (i == 0) {
+				assertThat(expressions).hasSize(1);
+				assertThat(expressions.get(0).compileExpression()).isTrue();
+			}
+			if (interpreter.condition(condition, event, method, methodKey, new Object[] {payload}, null)) {
+				expectedInvocations++;
+			}
+			verify(this.sampleEvents, times(expectedInvocations)).handleStringWithCondition(anyString());
+		}
+		assertThat(expectedInvocations).isEqualTo(150);
+		assertThat(expressions.get(0).getCompilationFailureReason()).isNull();
+	}
+
 
 	private void supportsEventType(boolean match, Method method, ResolvableType eventType) {
 		ApplicationListenerMethodAdapter adapter = createTestInstance(method);
@@ -373,6 +420,10 @@ public class ApplicationListenerMethodAdapterTests extends AbstractApplicationEv
 		public void handleGenericString(GenericTestEvent<String> event) {
 		}
 
+		@EventListener(condition = "#p0.equals('OK') and #a0.length() == 2")
+		public void handleStringWithCondition(String payload) {
+		}
+
 		@EventListener
 		public void handleString(String payload) {
 		}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link PartitionedApplicationEventMulticaster}.
+ */
+class PartitionedApplicationEventMulticasterTests {
+
+	private static final List<String> KEYS = List.of("a", "b", "c", "d");
+
+	private final PartitionedApplicationEventMulticaster multicaster = new PartitionedApplicationEventMulticaster();
+
+
+	@AfterEach
+	void destroy() {
+		this.multicaster.destroy();
+	}
+
+
+	@Test
+	void deliverEventsInOrderPerKey() throws InterruptedException {
+		this.multicaster.setPartitionCount(4);
+		this.multicaster.setPartitionCapacity(16);
+		CountDownLatch latch = new CountDownLatch(400);
+		Map<Object, List<Integer>> received = new ConcurrentHashMap<>();
+		this.multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+			received.computeIfAbsent(event.getSource(), key -> Collections.synchronizedList(new ArrayList<>()))
+					.add(event.sequence);
+			latch.countDown();
+		});
+
+		publishEvents(100);
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		for (String key : KEYS) {
+			assertThat(received.get(key)).isEqualTo(sequence(100));
+		}
+	}
+
+	@Test
+	void deliverEventsInBatches() throws InterruptedException {
+		this.multicaster.setPartitionCount(2);
+		this.multicaster.setMaxBatchSize(10);
+		CountDownLatch latch = new CountDownLatch(400);
+		Map<Object, List<Integer>> received = new ConcurrentHashMap<>();
+		List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		this.multicaster.addApplicationListener((BatchApplicationListener<SequenceEvent>) events -> {
+			batchSizes.add(events.size());
+			for (SequenceEvent event : events) {
+				received.computeIfAbsent(event.getSource(), key -> new ArrayList<>()).add(event.sequence);
+				latch.countDown();
+			}
+		});
+
+		publishEvents(100);
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		for (String key : KEYS) {
+			assertThat(received.get(key)).isEqualTo(sequence(100));
+		}
+		assertThat(batchSizes).allSatisfy(size -> assertThat(size).isBetween(1, 10));
+	}
+
+	@Test
+	void rejectEventWhenPartitionIsFull() throws InterruptedException {
+		this.multicaster.setPartitionCount(1);
+		this.multicaster.setPartitionCapacity(2);
+		this.multicaster.setPublishTimeout(Duration.ofMillis(50));
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch processed = new CountDownLatch(3);
+		this.multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			processed.countDown();
+		});
+
+		this.multicaster.multicastEvent(new SequenceEvent("a", 0));
+		this.multicaster.multicastEvent(new SequenceEvent("a", 1));
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+				this.multicaster.multicastEvent(new SequenceEvent("a", 2)));
+
+		release.countDown();
+		this.multicaster.multicastEvent(new SequenceEvent("a", 3));
+		assertThat(processed.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void acceptEventFromListenerWhenPartitionIsFull() throws InterruptedException {
+		this.multicaster.setPartitionCount(1);
+		this.multicaster.setPartitionCapacity(1);
+		CountDownLatch latch = new CountDownLatch(10);
+		this.multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+			if (event.sequence < 9) {
+				this.multicaster.multicastEvent(new SequenceEvent("a", event.sequence + 1));
+			}
+			latch.countDown();
+		});
+
+		this.multicaster.multicastEvent(new SequenceEvent("a", 0));
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void acceptEventFromListenerOfOtherPartitionWhenFull() {
+		List<Runnable> tasks = new ArrayList<>();
+		this.multicaster.setTaskExecutor(tasks::add);
+		this.multicaster.setPartitionCount(2);
+		this.multicaster.setPartitionCapacity(1);
+		this.multicaster.setPublishTimeout(Duration.ofSeconds(1));
+		this.multicaster.setPartitionKeyExtractor(event -> ((SequenceEvent) event).sequence % 2);
+		List<Integer> received = new ArrayList<>();
+		this.multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+			received.add(event.sequence);
+			if (event.sequence == 0) {
+				// Into the other partition, which is full
+				this.multicaster.multicastEvent(new SequenceEvent("a", 3));
+			}
+		});
+
+		this.multicaster.multicastEvent(new SequenceEvent("a", 0));
+		this.multicaster.multicastEvent(new SequenceEvent("a", 1));
+		assertThat(tasks).hasSize(2);
+		tasks.forEach(Runnable::run);
+
+		assertThat(received).containsExactly(0, 1, 3);
+	}
+
+	@Test
+	void releaseCapacityWhenExecutorRejects() throws InterruptedException {
+		AtomicBoolean reject = new AtomicBoolean(true);
+		this.multicaster.setTaskExecutor(task -> {
+			if (reject.get()) {
+				throw new RejectedExecutionException("Expected rejection");
+			}
+			new Thread(task).start();
+		});
+		this.multicaster.setPartitionCount(1);
+		this.multicaster.setPartitionCapacity(1);
+		this.multicaster.setPublishTimeout(Duration.ofMillis(100));
+		CountDownLatch latch = new CountDownLatch(1);
+		this.multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> latch.countDown());
+
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() ->
+				this.multicaster.multicastEvent(new SequenceEvent("a", 0)));
+		assertThat(this.multicaster.getPendingEventCount()).isZero();
+
+		reject.set(false);
+		this.multicaster.multicastEvent(new SequenceEvent("a", 1));
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void continueBatchWhenListenerResolutionFails() {
+		List<Runnable> tasks = new ArrayList<>();
+		this.multicaster.setTaskExecutor(tasks::add);
+		this.multicaster.setPartitionCount(1);
+		List<Integer> received = new ArrayList<>();
+		this.multicaster.addApplicationListener(new GenericApplicationListener() {
+			@Override
+			public boolean supportsEventType(ResolvableType eventType) {
+				Assert.state(!FailingEvent.class.isAssignableFrom(eventType.toClass()), "Expected failure");
+				return SequenceEvent.class.isAssignableFrom(eventType.toClass());
+			}
+			@Override
+			public void onApplicationEvent(ApplicationEvent event) {
+				received.add(((SequenceEvent) event).sequence);
+			}
+		});
+
+		this.multicaster.multicastEvent(new SequenceEvent("a", 0));
+		this.multicaster.multicastEvent(new FailingEvent("a"));
+		this.multicaster.multicastEvent(new SequenceEvent("a", 1));
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+
+		assertThat(received).containsExactly(0, 1);
+		assertThat(this.multicaster.getPendingEventCount()).isZero();
+	}
+
+	@Test
+	void deliverContextEventsSynchronously() {
+		List<Thread> threads = new ArrayList<>();
+		this.multicaster.addApplicationListener((ApplicationListener<ContextRefreshedEvent>) event ->
+				threads.add(Thread.currentThread()));
+
+		this.multicaster.multicastEvent(new ContextRefreshedEvent(new StaticApplicationContext()));
+
+		assertThat(threads).containsExactly(Thread.currentThread());
+	}
+
+	@Test
+	void recordListenerMetrics() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(400);
+		ApplicationListener<SequenceEvent> listener = event -> {
+			latch.countDown();
+			if (event.sequence == 0) {
+				throw new IllegalStateException("Expected failure");
+			}
+		};
+		this.multicaster.addApplicationListener(listener);
+
+		publishEvents(100);
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		// Metrics are recorded once the listener has returned
+		Thread.sleep(100);
+		PartitionedApplicationEventMulticaster.ListenerMetrics metrics =
+				this.multicaster.getListenerMetrics().get(listener);
+		assertThat(metrics.getInvocationCount()).isEqualTo(400);
+		assertThat(metrics.getEventCount()).isEqualTo(400);
+		assertThat(metrics.getMaxLatency()).isGreaterThanOrEqualTo(metrics.getAverageLatency());
+		assertThat(this.multicaster.getPendingEventCount()).isZero();
+	}
+
+	@Test
+	void deliverEventSynchronouslyAfterDestroy() {
+		List<Thread> threads = new ArrayList<>();
+		this.multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event ->
+				threads.add(Thread.currentThread()));
+
+		this.multicaster.destroy();
+		this.multicaster.multicastEvent(new SequenceEvent("a", 0));
+
+		assertThat(threads).containsExactly(Thread.currentThread());
+	}
+
+
+	private void publishEvents(int count) {
+		for (int i = 0; i < count; i++) {
+			for (String key : KEYS) {
+				this.multicaster.multicastEvent(new SequenceEvent(key, i));
+			}
+		}
+	}
+
+	private static List<Integer> sequence(int count) {
+		List<Integer> sequence = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			sequence.add(i);
+		}
+		return sequence;
+	}
+
+
+	@SuppressWarnings("serial")
+	static class SequenceEvent extends ApplicationEvent {
+
+		final int sequence;
+
+		SequenceEvent(String key, int sequence) {
+			super(key);
+			this.sequence = sequence;
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class FailingEvent extends SequenceEvent {
+
+		FailingEvent(String key) {
+			super(key, -1);
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Benchmarks for {@link TaskExecutor} implementations running I/O-bound tasks,
+ * simulated with a short blocking sleep, comparing a fixed thread pool with a
+ * thread-per-task {@link SimpleAsyncTaskExecutor} and, on JDK 21+, a
+ * {@link VirtualThreadTaskExecutor}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskExecutorBenchmark {
+
+	@Benchmark
+	public void blockingTasks(ExecutorState state) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(state.taskCount);
+		for (int i = 0; i < state.taskCount; i++) {
+			state.executor.execute(() -> {
+				try {
+					Thread.sleep(state.blockingMillis);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					latch.countDown();
+				}
+			});
+		}
+		latch.await();
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ExecutorState {
+
+		@Param({"pool", "simple", "virtual"})
+		String executorType;
+
+		@Param("200")
+		int poolSize;
+
+		@Param("1000")
+		int taskCount;
+
+		@Param("10")
+		long blockingMillis;
+
+		TaskExecutor executor;
+
+		ExecutorService executorService;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			switch (this.executorType) {
+				case "pool" -> {
+					this.executorService = Executors.newFixedThreadPool(this.poolSize);
+					this.executor = new TaskExecutorAdapter(this.executorService);
+				}
+				case "simple" -> this.executor = new SimpleAsyncTaskExecutor();
+				case "virtual" -> this.executor = new VirtualThreadTaskExecutor();
+				default -> throw new IllegalStateException("Unknown executor type: " + this.executorType);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			if (this.executorService != null) {
+				this.executorService.shutdownNow();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.Method;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Internal delegate for virtual thread handling on JDK 21+, accessing the
+ * {@code Thread.ofVirtual()} builder API reflectively so that this code
+ * compiles against the Java 17 baseline.
+ *
+ * @since 6.0
+ * @see VirtualThreadTaskExecutor
+ */
+final class VirtualThreadDelegate {
+
+	@Nullable
+	private static final Method ofVirtualMethod;
+
+	@Nullable
+	private static final Method nameMethod;
+
+	@Nullable
+	private static final Method unstartedMethod;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method unstarted = null;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			name = builderClass.getMethod("name", String.class);
+			unstarted = builderClass.getMethod("unstarted", Runnable.class);
+			// Virtual threads may still be a preview feature on JDK 19/20
+			ofVirtual.invoke(null);
+		}
+		catch (Throwable ex) {
+			ofVirtual = null;
+		}
+		ofVirtualMethod = ofVirtual;
+		nameMethod = name;
+		unstartedMethod = unstarted;
+	}
+
+
+	private VirtualThreadDelegate() {
+	}
+
+
+	/**
+	 * Return whether virtual threads are available on the current JVM.
+	 */
+	static boolean isSupported() {
+		return (ofVirtualMethod != null);
+	}
+
+	/**
+	 * Create a new unstarted virtual thread with the given name.
+	 * @param name the name of the thread
+	 * @param task the task to run on the thread
+	 * @return the new thread
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	static Thread newVirtualThread(String name, Runnable task) {
+		if (ofVirtualMethod == null || nameMethod == null || unstartedMethod == null) {
+			throw new IllegalStateException("Virtual threads not supported on this JVM - requires JDK 21+");
+		}
+		Object builder = ReflectionUtils.invokeMethod(ofVirtualMethod, null);
+		builder = ReflectionUtils.invokeMethod(nameMethod, builder, name);
+		Thread thread = (Thread) ReflectionUtils.invokeMethod(unstartedMethod, builder, task);
+		if (thread == null) {
+			throw new IllegalStateException("No virtual thread returned for " + task);
+		}
+		return thread;
+	}
+
+}
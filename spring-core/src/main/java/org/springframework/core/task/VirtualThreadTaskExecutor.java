@@ -0,0 +1,140 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link AsyncTaskExecutor} implementation that fires up a new virtual thread
+ * for each task, as supported on JDK 21 and higher. The virtual thread API is
+ * detected reflectively, so this class may be compiled and deployed on the
+ * Java 17 baseline; use {@link #isSupported()} to check for availability.
+ *
+ * <p>Inherits the concurrency throttle and {@link TaskDecorator} support of
+ * {@link SimpleAsyncTaskExecutor}: a {@link #setConcurrencyLimit concurrency
+ * limit} may be used to protect downstream resources, and a task decorator
+ * to propagate thread-bound context to the virtual thread running the task.
+ * Settings that do not apply to virtual threads, i.e. an external thread
+ * factory, daemon flag, thread priority and thread group, are rejected
+ * with an {@link UnsupportedOperationException}.
+ *
+ * <p>Typical uses include blocking Spring MVC controller code returning a
+ * {@code Callable}, configured through the MVC async support, as well as
+ * {@code @Async} methods, with this executor exposed as the "taskExecutor" bean.
+ *
+ * @since 6.0
+ * @see SimpleAsyncTaskExecutor
+ */
+@SuppressWarnings("serial")
+public class VirtualThreadTaskExecutor extends SimpleAsyncTaskExecutor {
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with default thread name prefix.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public VirtualThreadTaskExecutor() {
+		super();
+		assertSupported();
+	}
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with the given thread name prefix.
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		super(threadNamePrefix);
+		assertSupported();
+	}
+
+	private static void assertSupported() {
+		Assert.state(VirtualThreadDelegate.isSupported(),
+				"Virtual threads not supported on this JVM - requires JDK 21+");
+	}
+
+
+	/**
+	 * Not supported: threads are always created as virtual threads.
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setThreadFactory(@Nullable ThreadFactory threadFactory) {
+		throw new UnsupportedOperationException(
+				"VirtualThreadTaskExecutor does not support an external ThreadFactory");
+	}
+
+	/**
+	 * Not supported: virtual threads are always daemon threads.
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setDaemon(boolean daemon) {
+		throw new UnsupportedOperationException(
+				"VirtualThreadTaskExecutor does not support setting the daemon flag: virtual threads are always daemon threads");
+	}
+
+	/**
+	 * Not supported: virtual threads always run with normal priority.
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setThreadPriority(int threadPriority) {
+		throw new UnsupportedOperationException(
+				"VirtualThreadTaskExecutor does not support a thread priority: virtual threads always have normal priority");
+	}
+
+	/**
+	 * Not supported: virtual threads cannot be assigned a thread group.
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setThreadGroupName(String name) {
+		throw new UnsupportedOperationException(
+				"VirtualThreadTaskExecutor does not support a thread group");
+	}
+
+	/**
+	 * Not supported: virtual threads cannot be assigned a thread group.
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setThreadGroup(@Nullable ThreadGroup threadGroup) {
+		throw new UnsupportedOperationException(
+				"VirtualThreadTaskExecutor does not support a thread group");
+	}
+
+	/**
+	 * Create a new virtual thread for the given task, named according to
+	 * the configured thread name prefix.
+	 */
+	@Override
+	public Thread createThread(Runnable runnable) {
+		return VirtualThreadDelegate.newVirtualThread(nextThreadName(), runnable);
+	}
+
+
+	/**
+	 * Return whether virtual threads are available on the current JVM.
+	 */
+	public static boolean isSupported() {
+		return VirtualThreadDelegate.isSupported();
+	}
+
+}
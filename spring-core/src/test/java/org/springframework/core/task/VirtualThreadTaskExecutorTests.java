@@ -0,0 +1,100 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.ConcurrencyThrottleSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for {@link VirtualThreadTaskExecutor}.
+ */
+class VirtualThreadTaskExecutorTests {
+
+	@Test
+	void notSupportedOnCurrentJvm() {
+		assumeFalse(VirtualThreadTaskExecutor.isSupported());
+		assertThatIllegalStateException().isThrownBy(VirtualThreadTaskExecutor::new);
+	}
+
+	@Test
+	void executeOnVirtualThread() throws Exception {
+		assumeTrue(VirtualThreadTaskExecutor.isSupported());
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("virtual#");
+		Future<Thread> future = executor.submit(Thread::currentThread);
+		Thread thread = future.get(5, TimeUnit.SECONDS);
+		assertThat(thread.getName()).startsWith("virtual#");
+		assertThat(thread.isDaemon()).isTrue();
+		assertThat(thread.getClass().getName()).contains("Virtual");
+	}
+
+	@Test
+	void taskDecoratorApplied() throws Exception {
+		assumeTrue(VirtualThreadTaskExecutor.isSupported());
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		ThreadLocal<String> context = new ThreadLocal<>();
+		executor.setTaskDecorator(task -> {
+			String value = "decorated";
+			return () -> {
+				context.set(value);
+				try {
+					task.run();
+				}
+				finally {
+					context.remove();
+				}
+			};
+		});
+		Future<String> future = executor.submit(context::get);
+		assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("decorated");
+	}
+
+	@Test
+	void cannotExecuteWhenConcurrencyIsSwitchedOff() {
+		assumeTrue(VirtualThreadTaskExecutor.isSupported());
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setConcurrencyLimit(ConcurrencyThrottleSupport.NO_CONCURRENCY);
+		assertThat(executor.isThrottleActive()).isTrue();
+		assertThatIllegalStateException().isThrownBy(() -> executor.execute(() -> {}));
+	}
+
+	@Test
+	void platformThreadSettingsRejected() {
+		assumeTrue(VirtualThreadTaskExecutor.isSupported());
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> executor.setThreadFactory(Thread::new));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> executor.setDaemon(false));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> executor.setThreadPriority(Thread.MAX_PRIORITY));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> executor.setThreadGroupName("group"));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> executor.setThreadGroup(new ThreadGroup("group")));
+	}
+
+}
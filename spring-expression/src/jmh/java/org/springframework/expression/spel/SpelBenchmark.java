@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,19 @@
 
 package org.springframework.expression.spel;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
@@ -103,4 +108,167 @@ public class SpelBenchmark {
 		return data.expression.getValue(data.context);
 	}
 
+	/**
+	 * Expressions that are only compilable as of 6.0, evaluated in interpreted
+	 * and in compiled mode.
+	 */
+	@State(Scope.Benchmark)
+	public static class CompilationBenchmarkData {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		public Basket basket = new Basket();
+
+		public Expression selection;
+
+		public Expression firstSelection;
+
+		public Expression projection;
+
+		public Expression stringIndex;
+
+		public Expression wideningMethodCall;
+
+		public Expression interfaceMethodCall;
+
+		@Setup
+		public void setup() {
+			ExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(this.compilerMode, null));
+			this.selection = parser.parseExpression("items.?[price > 10]");
+			this.firstSelection = parser.parseExpression("items.^[price > 10]");
+			this.projection = parser.parseExpression("items.![name]");
+			this.stringIndex = parser.parseExpression("items[0].name[0]");
+			this.wideningMethodCall = parser.parseExpression("total(items.size())");
+			this.interfaceMethodCall = parser.parseExpression("names.size()");
+			// Interpret once so that the expressions can be compiled on the next evaluation
+			for (Expression expression : List.of(this.selection, this.firstSelection, this.projection,
+					this.stringIndex, this.wideningMethodCall, this.interfaceMethodCall)) {
+				expression.getValue(this.basket);
+			}
+		}
+	}
+
+	@Benchmark
+	public Object selection(CompilationBenchmarkData data) {
+		return data.selection.getValue(data.basket);
+	}
+
+	@Benchmark
+	public Object firstSelection(CompilationBenchmarkData data) {
+		return data.firstSelection.getValue(data.basket);
+	}
+
+	@Benchmark
+	public Object projection(CompilationBenchmarkData data) {
+		return data.projection.getValue(data.basket);
+	}
+
+	@Benchmark
+	public Object stringIndex(CompilationBenchmarkData data) {
+		return data.stringIndex.getValue(data.basket);
+	}
+
+	@Benchmark
+	public Object wideningMethodCall(CompilationBenchmarkData data) {
+		return data.wideningMethodCall.getValue(data.basket);
+	}
+
+	@Benchmark
+	public Object interfaceMethodCall(CompilationBenchmarkData data) {
+		return data.interfaceMethodCall.getValue(data.basket);
+	}
+
+
+	/**
+	 * Interpreted expressions evaluated against targets of different types.
+	 */
+	@State(Scope.Benchmark)
+	public static class PolymorphicBenchmarkData {
+
+		public Object[] targets = {new Item("apple", 5), new Tag("fruit"), new Item("pear", 15), new Tag("green")};
+
+		public Expression propertyAccess;
+
+		public Expression methodCall;
+
+		@Setup
+		public void setup() {
+			ExpressionParser parser = new SpelExpressionParser();
+			this.propertyAccess = parser.parseExpression("name");
+			this.methodCall = parser.parseExpression("name.concat('!')");
+		}
+	}
+
+	@Benchmark
+	public void polymorphicPropertyAccess(PolymorphicBenchmarkData data, Blackhole bh) {
+		for (Object target : data.targets) {
+			bh.consume(data.propertyAccess.getValue(target));
+		}
+	}
+
+	@Benchmark
+	public void polymorphicMethodCall(PolymorphicBenchmarkData data, Blackhole bh) {
+		for (Object target : data.targets) {
+			bh.consume(data.methodCall.getValue(target));
+		}
+	}
+
+
+	public static class Basket {
+
+		private final List<Item> items = List.of(new Item("apple", 5), new Item("pear", 15),
+				new Item("plum", 25), new Item("cherry", 8), new Item("melon", 30));
+
+		private final List<String> names =
+				Collections.unmodifiableList(this.items.stream().map(Item::getName).toList());
+
+		public List<Item> getItems() {
+			return this.items;
+		}
+
+		public List<String> getNames() {
+			return this.names;
+		}
+
+		public long total(long factor) {
+			return factor * 10;
+		}
+	}
+
+
+	public static class Item {
+
+		private final String name;
+
+		private final int price;
+
+		public Item(String name, int price) {
+			this.name = name;
+			this.price = price;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getPrice() {
+			return this.price;
+		}
+	}
+
+
+	public static class Tag {
+
+		private final String name;
+
+		public Tag(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+	}
+
 }
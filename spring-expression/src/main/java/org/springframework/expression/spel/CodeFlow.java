@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -83,11 +83,26 @@ public class CodeFlow implements Opcodes {
 	 */
 	private int nextFieldId = 1;
 
+	/**
+	 * Local variables holding the current target, if different from the target
+	 * passed into the compiled expression: e.g. the current element while code
+	 * for the criteria of a selection or projection is being generated.
+	 */
+	private final Deque<Integer> targetVariables = new ArrayDeque<>();
+
+	/**
+	 * Local variables holding the scope root, i.e. the object that method arguments
+	 * are evaluated against: the current element within a selection or projection,
+	 * the target passed into the compiled expression otherwise.
+	 */
+	private final Deque<Integer> scopeRootVariables = new ArrayDeque<>();
+
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and evaluation context parameters).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
 
 
 	/**
@@ -105,11 +120,68 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context), unless a different target has
+	 * been established through {@link #enterScope(int)} or another target scope)
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer targetVariable = this.targetVariables.peek();
+		mv.visitVarInsn(ALOAD, (targetVariable != null ? targetVariable : 1));
+	}
+
+	/**
+	 * Enter a new evaluation scope for the element held in the given local variable,
+	 * e.g. while code for the criteria of a selection or projection is generated: the
+	 * element becomes both the target loaded by {@link #loadTarget(MethodVisitor)} and
+	 * the scope root, in line with {@code ExpressionState#enterScope}.
+	 * @param variableId the local variable holding the element
+	 * @since 6.0
+	 * @see #nextFreeVariableId()
+	 * @see #exitScope()
+	 */
+	public void enterScope(int variableId) {
+		this.targetVariables.push(variableId);
+		this.scopeRootVariables.push(variableId);
+	}
+
+	/**
+	 * Exit an evaluation scope entered through {@link #enterScope(int)}.
+	 * @since 6.0
+	 */
+	public void exitScope() {
+		this.scopeRootVariables.pop();
+		this.targetVariables.pop();
+	}
+
+	/**
+	 * Enter a new target scope in which {@link #loadTarget(MethodVisitor)} loads the
+	 * original target passed to the compiled expression again, e.g. for an indexer key
+	 * that is always evaluated against the root object.
+	 * @since 6.0
+	 */
+	public void enterRootTargetScope() {
+		this.targetVariables.push(1);
+	}
+
+	/**
+	 * Enter a new target scope in which {@link #loadTarget(MethodVisitor)} loads the
+	 * current scope root, e.g. for method arguments which are always evaluated against
+	 * the scope root, in line with {@code ExpressionState#getScopeRootContextObject()}.
+	 * @since 6.0
+	 * @see #enterScope(int)
+	 */
+	public void enterScopeRootTargetScope() {
+		Integer scopeRootVariable = this.scopeRootVariables.peek();
+		this.targetVariables.push(scopeRootVariable != null ? scopeRootVariable : 1);
+	}
+
+	/**
+	 * Exit a target scope entered through {@link #enterRootTargetScope()} or
+	 * {@link #enterScopeRootTargetScope()}.
+	 * @since 6.0
+	 */
+	public void exitTargetScope() {
+		this.targetVariables.pop();
 	}
 
 	/**
@@ -654,6 +726,26 @@ public class CodeFlow implements Opcodes {
 		return false;
 	}
 
+	/**
+	 * Determine whether a (possibly boxed) number of the type described by the given
+	 * stack descriptor can be passed where the given primitive type is expected through
+	 * a widening primitive conversion, e.g. an {@code Integer} where a {@code long} is
+	 * expected. Only the number types supported by the compilation process are considered.
+	 * @param stackDescriptor the descriptor of the operand on top of the stack
+	 * @param targetDescriptor the descriptor of the expected type
+	 * @return {@code true} if a widening conversion is possible (and required)
+	 * @since 6.0
+	 * @see #insertNumericUnboxOrPrimitiveTypeCoercion(MethodVisitor, String, char)
+	 */
+	public static boolean isWideningNumericConversion(@Nullable String stackDescriptor, String targetDescriptor) {
+		if (!isPrimitiveOrUnboxableSupportedNumber(stackDescriptor) ||
+				targetDescriptor.length() != 1 || !isPrimitiveOrUnboxableSupportedNumber(targetDescriptor)) {
+			return false;
+		}
+		String ranking = "IJFD";
+		return (ranking.indexOf(toPrimitiveTargetDesc(stackDescriptor)) < ranking.indexOf(targetDescriptor.charAt(0)));
+	}
+
 	/**
 	 * Determine whether the given number is to be considered as an integer
 	 * for the purposes of a numeric operation at the bytecode level.
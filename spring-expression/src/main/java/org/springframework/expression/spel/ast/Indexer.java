@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -200,6 +200,9 @@ public class Indexer extends SpelNodeImpl {
 		else if (this.indexedType == IndexedType.LIST) {
 			return this.children[0].isCompilable();
 		}
+		else if (this.indexedType == IndexedType.STRING) {
+			return (this.exitTypeDescriptor != null && this.children[0].isCompilable());
+		}
 		else if (this.indexedType == IndexedType.MAP) {
 			return (this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable());
 		}
@@ -256,21 +259,23 @@ public class Indexer extends SpelNodeImpl {
 						//depthPlusOne(exitTypeDescriptor)+"Ljava/lang/Object;");
 				insn = AALOAD;
 			}
-			SpelNodeImpl index = this.children[0];
-			cf.enterCompilationScope();
-			index.generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateIndexCode(mv, cf, 'I');
 			mv.visitInsn(insn);
 		}
 
 		else if (this.indexedType == IndexedType.LIST) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
-			cf.enterCompilationScope();
-			this.children[0].generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateIndexCode(mv, cf, 'I');
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
 
+		else if (this.indexedType == IndexedType.STRING) {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/String");
+			generateIndexCode(mv, cf, 'I');
+			mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "charAt", "(I)C", false);
+			mv.visitMethodInsn(INVOKESTATIC, "java/lang/String", "valueOf", "(C)Ljava/lang/String;", false);
+		}
+
 		else if (this.indexedType == IndexedType.MAP) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
 			// Special case when the key is an unquoted string literal that will be parsed as
@@ -280,9 +285,7 @@ public class Indexer extends SpelNodeImpl {
 				mv.visitLdcInsn(mapKeyName);
 			}
 			else {
-				cf.enterCompilationScope();
-				this.children[0].generateCode(mv, cf);
-				cf.exitCompilationScope();
+				generateIndexCode(mv, cf, null);
 			}
 			mv.visitMethodInsn(
 					INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
@@ -318,6 +321,23 @@ public class Indexer extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	/**
+	 * Generate the code for the index, evaluated against the root object just like
+	 * in {@link #getValueRef(ExpressionState)}, optionally coerced to the given
+	 * primitive type.
+	 */
+	private void generateIndexCode(MethodVisitor mv, CodeFlow cf, @Nullable Character primitiveType) {
+		cf.enterCompilationScope();
+		cf.enterRootTargetScope();
+		this.children[0].generateCode(mv, cf);
+		String indexDescriptor = cf.lastDescriptor();
+		if (primitiveType != null && !String.valueOf(primitiveType).equals(indexDescriptor)) {
+			CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, indexDescriptor, primitiveType);
+		}
+		cf.exitTargetScope();
+		cf.exitCompilationScope();
+	}
+
 	@Override
 	public String toStringAST() {
 		StringJoiner sj = new StringJoiner(",", "[", "]");
@@ -759,6 +779,7 @@ public class Indexer extends SpelNodeImpl {
 				throw new SpelEvaluationException(getStartPosition(), SpelMessage.STRING_INDEX_OUT_OF_BOUNDS,
 						this.target.length(), this.index);
 			}
+			exitTypeDescriptor = "Ljava/lang/String";
 			return new TypedValue(String.valueOf(this.target.charAt(this.index)));
 		}
 
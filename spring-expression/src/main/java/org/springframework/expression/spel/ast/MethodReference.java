@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -54,6 +54,13 @@ import org.springframework.util.ObjectUtils;
  */
 public class MethodReference extends SpelNodeImpl {
 
+	/**
+	 * Maximum number of target and argument type combinations held in the inline
+	 * cache of method executors.
+	 */
+	private static final int MAX_CACHED_EXECUTORS = 4;
+
+
 	private final String name;
 
 	private final boolean nullSafe;
@@ -61,9 +68,15 @@ public class MethodReference extends SpelNodeImpl {
 	@Nullable
 	private String originalPrimitiveExitTypeDescriptor;
 
+	// The most recently used executor, driving the exit type descriptor and compilation
 	@Nullable
 	private volatile CachedMethodExecutor cachedExecutor;
 
+	// Polymorphic inline cache: the executors for the most recently resolved
+	// target and argument types, most recent first
+	@Nullable
+	private volatile CachedMethodExecutor[] cachedExecutors;
+
 
 	public MethodReference(boolean nullSafe, String methodName, int startPos, int endPos, SpelNodeImpl... arguments) {
 		super(startPos, endPos, arguments);
@@ -100,16 +113,18 @@ public class MethodReference extends SpelNodeImpl {
 	private TypedValue getValueInternal(EvaluationContext evaluationContext,
 			@Nullable Object value, @Nullable TypeDescriptor targetType, Object[] arguments) {
 
-		List<TypeDescriptor> argumentTypes = getArgumentTypes(arguments);
 		if (value == null) {
-			throwIfNotNullSafe(argumentTypes);
+			throwIfNotNullSafe(getArgumentTypes(arguments));
 			return TypedValue.NULL;
 		}
 
-		MethodExecutor executorToUse = getCachedExecutor(evaluationContext, value, targetType, argumentTypes);
-		if (executorToUse != null) {
+		CachedMethodExecutor cachedExecutor = getCachedExecutor(evaluationContext, value, targetType, arguments);
+		if (cachedExecutor != null) {
+			if (this.cachedExecutor != cachedExecutor) {
+				this.cachedExecutor = cachedExecutor;
+			}
 			try {
-				return executorToUse.execute(evaluationContext, value, arguments);
+				return cachedExecutor.get().execute(evaluationContext, value, arguments);
 			}
 			catch (AccessException ex) {
 				// Two reasons this can occur:
@@ -127,14 +142,18 @@ public class MethodReference extends SpelNodeImpl {
 
 				// At this point we know it wasn't a user problem so worth a retry if a
 				// better candidate can be found.
-				this.cachedExecutor = null;
+				removeCachedExecutor(cachedExecutor);
 			}
 		}
+		this.cachedExecutor = null;
 
 		// either there was no accessor or it no longer existed
-		executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
-		this.cachedExecutor = new CachedMethodExecutor(
-				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes);
+		List<TypeDescriptor> argumentTypes = getArgumentTypes(arguments);
+		MethodExecutor executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
+		cachedExecutor = new CachedMethodExecutor(
+				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, arguments);
+		addCachedExecutor(cachedExecutor);
+		this.cachedExecutor = cachedExecutor;
 		try {
 			return executorToUse.execute(evaluationContext, value, arguments);
 		}
@@ -179,8 +198,8 @@ public class MethodReference extends SpelNodeImpl {
 	}
 
 	@Nullable
-	private MethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
-			@Nullable TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
+	private CachedMethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
+			@Nullable TypeDescriptor target, Object[] arguments) {
 
 		List<MethodResolver> methodResolvers = evaluationContext.getMethodResolvers();
 		if (methodResolvers.size() != 1 || !(methodResolvers.get(0) instanceof ReflectiveMethodResolver)) {
@@ -189,13 +208,47 @@ public class MethodReference extends SpelNodeImpl {
 		}
 
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
-		if (executorToCheck != null && executorToCheck.isSuitable(value, target, argumentTypes)) {
-			return executorToCheck.get();
+		if (executorToCheck != null && executorToCheck.isSuitable(value, target, arguments)) {
+			return executorToCheck;
+		}
+		CachedMethodExecutor[] executorsToCheck = this.cachedExecutors;
+		if (executorsToCheck != null) {
+			for (CachedMethodExecutor candidate : executorsToCheck) {
+				if (candidate != executorToCheck && candidate.isSuitable(value, target, arguments)) {
+					return candidate;
+				}
+			}
 		}
-		this.cachedExecutor = null;
 		return null;
 	}
 
+	private void addCachedExecutor(CachedMethodExecutor cachedExecutor) {
+		CachedMethodExecutor[] cachedExecutors = this.cachedExecutors;
+		if (cachedExecutors == null) {
+			this.cachedExecutors = new CachedMethodExecutor[] {cachedExecutor};
+			return;
+		}
+		// Most recent first, evicting the oldest entry if full
+		int length = Math.min(cachedExecutors.length + 1, MAX_CACHED_EXECUTORS);
+		CachedMethodExecutor[] newExecutors = new CachedMethodExecutor[length];
+		newExecutors[0] = cachedExecutor;
+		System.arraycopy(cachedExecutors, 0, newExecutors, 1, length - 1);
+		this.cachedExecutors = newExecutors;
+	}
+
+	private void removeCachedExecutor(CachedMethodExecutor cachedExecutor) {
+		CachedMethodExecutor[] cachedExecutors = this.cachedExecutors;
+		if (cachedExecutors != null) {
+			List<CachedMethodExecutor> remaining = new ArrayList<>(cachedExecutors.length);
+			for (CachedMethodExecutor existing : cachedExecutors) {
+				if (existing != cachedExecutor) {
+					remaining.add(existing);
+				}
+			}
+			this.cachedExecutors = (remaining.isEmpty() ? null : remaining.toArray(new CachedMethodExecutor[0]));
+		}
+	}
+
 	private MethodExecutor findAccessorForMethod(List<TypeDescriptor> argumentTypes, Object targetObject,
 			EvaluationContext evaluationContext) throws SpelEvaluationException {
 
@@ -285,7 +338,7 @@ public class MethodReference extends SpelNodeImpl {
 		}
 
 		ReflectiveMethodExecutor executor = (ReflectiveMethodExecutor) executorToCheck.get();
-		if (executor.didArgumentConversionOccur()) {
+		if (executor.didArgumentConversionOccur() && !isNumericWideningOnly(executor.getMethod())) {
 			return false;
 		}
 		Class<?> clazz = executor.getMethod().getDeclaringClass();
@@ -296,6 +349,28 @@ public class MethodReference extends SpelNodeImpl {
 		return true;
 	}
 
+	/**
+	 * Determine whether the argument conversion for the given (possibly overloaded)
+	 * method consists of widening numeric conversions only, e.g. an {@code int}
+	 * argument passed to a {@code long} parameter, which the generated code can
+	 * perform itself.
+	 */
+	private boolean isNumericWideningOnly(Method method) {
+		if (method.isVarArgs() || method.getParameterCount() != this.children.length) {
+			return false;
+		}
+		String[] paramDescriptors = CodeFlow.toParamDescriptors(method);
+		for (int i = 0; i < paramDescriptors.length; i++) {
+			String paramDesc = paramDescriptors[i];
+			String argDesc = this.children[i].exitTypeDescriptor;
+			if (argDesc == null || !(paramDesc.equals(argDesc) || CodeFlow.areBoxingCompatible(paramDesc, argDesc) ||
+					CodeFlow.isWideningNumericConversion(argDesc, paramDesc))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
@@ -331,24 +406,24 @@ public class MethodReference extends SpelNodeImpl {
 			CodeFlow.insertBoxIfNecessary(mv, descriptor.charAt(0));
 		}
 
-		String classDesc;
-		if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
-			classDesc = method.getDeclaringClass().getName().replace('.', '/');
-		}
-		else {
-			Class<?> publicDeclaringClass = methodExecutor.getPublicDeclaringClass();
-			Assert.state(publicDeclaringClass != null, "No public declaring class");
-			classDesc = publicDeclaringClass.getName().replace('.', '/');
+		Class<?> declaringClass = method.getDeclaringClass();
+		if (!Modifier.isPublic(declaringClass.getModifiers())) {
+			declaringClass = methodExecutor.getPublicDeclaringClass();
+			Assert.state(declaringClass != null, "No public declaring class");
 		}
+		String classDesc = declaringClass.getName().replace('.', '/');
 
 		if (!isStaticMethod && (descriptor == null || !descriptor.substring(1).equals(classDesc))) {
 			CodeFlow.insertCheckCast(mv, "L" + classDesc);
 		}
 
+		// Arguments are evaluated against the scope root, just like in getArguments(ExpressionState)
+		cf.enterScopeRootTargetScope();
 		generateCodeForArguments(mv, cf, method, this.children);
-		mv.visitMethodInsn((isStaticMethod ? INVOKESTATIC : (method.isDefault() ? INVOKEINTERFACE : INVOKEVIRTUAL)),
+		cf.exitTargetScope();
+		mv.visitMethodInsn((isStaticMethod ? INVOKESTATIC : (declaringClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL)),
 				classDesc, method.getName(), CodeFlow.createSignatureDescriptor(method),
-				method.getDeclaringClass().isInterface());
+				declaringClass.isInterface());
 		cf.pushDescriptor(this.exitTypeDescriptor);
 
 		if (this.originalPrimitiveExitTypeDescriptor != null) {
@@ -411,20 +486,34 @@ public class MethodReference extends SpelNodeImpl {
 		@Nullable
 		private final TypeDescriptor target;
 
-		private final List<TypeDescriptor> argumentTypes;
+		// The argument classes, with null for a null argument: equivalent to comparing
+		// TypeDescriptor.forObject for each argument, without creating the descriptors
+		private final Class<?>[] argumentClasses;
 
 		public CachedMethodExecutor(MethodExecutor methodExecutor, @Nullable Class<?> staticClass,
-				@Nullable TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
+				@Nullable TypeDescriptor target, Object[] arguments) {
 
 			this.methodExecutor = methodExecutor;
 			this.staticClass = staticClass;
 			this.target = target;
-			this.argumentTypes = argumentTypes;
+			this.argumentClasses = new Class<?>[arguments.length];
+			for (int i = 0; i < arguments.length; i++) {
+				this.argumentClasses[i] = (arguments[i] != null ? arguments[i].getClass() : null);
+			}
 		}
 
-		public boolean isSuitable(Object value, @Nullable TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
-			return ((this.staticClass == null || this.staticClass == value) &&
-					ObjectUtils.nullSafeEquals(this.target, target) && this.argumentTypes.equals(argumentTypes));
+		public boolean isSuitable(Object value, @Nullable TypeDescriptor target, Object[] arguments) {
+			if ((this.staticClass != null && this.staticClass != value) ||
+					this.argumentClasses.length != arguments.length) {
+				return false;
+			}
+			for (int i = 0; i < arguments.length; i++) {
+				Object argument = arguments[i];
+				if (this.argumentClasses[i] != (argument != null ? argument.getClass() : null)) {
+					return false;
+				}
+			}
+			return ObjectUtils.nullSafeEquals(this.target, target);
 		}
 
 		public boolean hasProxyTarget() {
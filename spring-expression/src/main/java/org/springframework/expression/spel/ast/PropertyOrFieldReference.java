@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.expression.spel.ast;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,12 @@ import org.springframework.util.ReflectionUtils;
  */
 public class PropertyOrFieldReference extends SpelNodeImpl {
 
+	/**
+	 * Maximum number of target types held in the inline cache of read accessors.
+	 */
+	private static final int MAX_CACHED_READ_ACCESSORS = 4;
+
+
 	private final boolean nullSafe;
 
 	private final String name;
@@ -64,6 +71,11 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	@Nullable
 	private volatile PropertyAccessor cachedWriteAccessor;
 
+	// Polymorphic inline cache: the optimal read accessors for the most recently
+	// resolved target types, most recent first
+	@Nullable
+	private volatile CachedReadAccessor[] cachedReadAccessors;
+
 
 	public PropertyOrFieldReference(boolean nullSafe, String propertyOrFieldName, int startPos, int endPos) {
 		super(startPos, endPos);
@@ -174,6 +186,20 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			return TypedValue.NULL;
 		}
 
+		CachedReadAccessor cachedAccessor = getCachedReadAccessor(targetObject, evalContext);
+		if (cachedAccessor != null) {
+			// Target type seen before: no need to go through the property accessors again
+			if (this.cachedReadAccessor != cachedAccessor.accessor) {
+				this.cachedReadAccessor = cachedAccessor.accessor;
+			}
+			try {
+				return cachedAccessor.accessor.read(evalContext, targetObject, name);
+			}
+			catch (AccessException ex) {
+				throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, name, ex.getMessage());
+			}
+		}
+
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
 		if (accessorToUse != null) {
 			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
@@ -197,8 +223,15 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			for (PropertyAccessor accessor : accessorsToTry) {
 				if (accessor.canRead(evalContext, contextObject.getValue(), name)) {
 					if (accessor instanceof ReflectivePropertyAccessor reflectivePropertyAccessor) {
-						accessor = reflectivePropertyAccessor.createOptimalAccessor(
+						PropertyAccessor optimalAccessor = reflectivePropertyAccessor.createOptimalAccessor(
 								evalContext, contextObject.getValue(), name);
+						// Only cache the accessor per target type if no other accessor had a chance
+						// to read the property, since the latter might depend on the target value
+						if (targetObject != null && accessor == accessorsToTry.get(0) &&
+								optimalAccessor instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor) {
+							addCachedReadAccessor(new CachedReadAccessor(targetObject, reflectivePropertyAccessor, optimalAccessor));
+						}
+						accessor = optimalAccessor;
 					}
 					this.cachedReadAccessor = accessor;
 					return accessor.read(evalContext, contextObject.getValue(), name);
@@ -218,6 +251,45 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+	@Nullable
+	private CachedReadAccessor getCachedReadAccessor(@Nullable Object targetObject, EvaluationContext evalContext) {
+		CachedReadAccessor[] cachedAccessors = this.cachedReadAccessors;
+		if (cachedAccessors == null || targetObject == null) {
+			return null;
+		}
+		for (CachedReadAccessor cachedAccessor : cachedAccessors) {
+			if (cachedAccessor.isFor(targetObject)) {
+				// Still valid if the property would be resolved through the same kind of accessor
+				PropertyAccessor firstAccessor =
+						getFirstPropertyAccessorToTry(targetObject.getClass(), evalContext.getPropertyAccessors());
+				return (cachedAccessor.isResolvedBy(firstAccessor) ? cachedAccessor : null);
+			}
+		}
+		return null;
+	}
+
+	private void addCachedReadAccessor(CachedReadAccessor cachedAccessor) {
+		CachedReadAccessor[] cachedAccessors = this.cachedReadAccessors;
+		if (cachedAccessors == null) {
+			this.cachedReadAccessors = new CachedReadAccessor[] {cachedAccessor};
+			return;
+		}
+		// Replace any entry for the same target type, evicting the oldest entry if full
+		int length = Math.min(cachedAccessors.length + 1, MAX_CACHED_READ_ACCESSORS);
+		CachedReadAccessor[] newAccessors = new CachedReadAccessor[length];
+		newAccessors[0] = cachedAccessor;
+		int count = 1;
+		for (CachedReadAccessor existing : cachedAccessors) {
+			if (count == length) {
+				break;
+			}
+			if (!existing.isSameTargetAs(cachedAccessor)) {
+				newAccessors[count++] = existing;
+			}
+		}
+		this.cachedReadAccessors = (count < length ? Arrays.copyOf(newAccessors, count) : newAccessors);
+	}
+
 	private void writeProperty(
 			TypedValue contextObject, EvaluationContext evalContext, String name, @Nullable Object newValue)
 			throws EvaluationException {
@@ -328,6 +400,36 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		return resolvers;
 	}
 
+	/**
+	 * Determine the property accessor that {@link #getPropertyAccessorsToTry} would
+	 * return first for the given target type, without building the list.
+	 */
+	@Nullable
+	private static PropertyAccessor getFirstPropertyAccessorToTry(
+			Class<?> targetType, List<PropertyAccessor> propertyAccessors) {
+
+		PropertyAccessor firstGeneralAccessor = null;
+		for (PropertyAccessor resolver : propertyAccessors) {
+			Class<?>[] targets = resolver.getSpecificTargetClasses();
+			if (targets == null) {
+				if (firstGeneralAccessor == null) {
+					firstGeneralAccessor = resolver;
+				}
+			}
+			else {
+				for (Class<?> clazz : targets) {
+					if (clazz == targetType) {
+						return resolver;
+					}
+					else if (firstGeneralAccessor == null && clazz.isAssignableFrom(targetType)) {
+						firstGeneralAccessor = resolver;
+					}
+				}
+			}
+		}
+		return firstGeneralAccessor;
+	}
+
 	@Override
 	public boolean isCompilable() {
 		return (this.cachedReadAccessor instanceof CompilablePropertyAccessor compilablePropertyAccessor &&
@@ -420,4 +522,42 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+
+	/**
+	 * An optimal read accessor resolved for a specific target type.
+	 */
+	private static class CachedReadAccessor {
+
+		private final Class<?> targetType;
+
+		private final boolean targetIsClass;
+
+		private final ReflectivePropertyAccessor resolver;
+
+		final PropertyAccessor accessor;
+
+		CachedReadAccessor(Object targetObject, ReflectivePropertyAccessor resolver, PropertyAccessor accessor) {
+			this.targetIsClass = (targetObject instanceof Class);
+			this.targetType = (targetObject instanceof Class<?> clazz ? clazz : targetObject.getClass());
+			this.resolver = resolver;
+			this.accessor = accessor;
+		}
+
+		boolean isFor(Object targetObject) {
+			if (targetObject instanceof Class<?> clazz) {
+				return (this.targetIsClass && this.targetType == clazz);
+			}
+			return (!this.targetIsClass && this.targetType == targetObject.getClass());
+		}
+
+		boolean isSameTargetAs(CachedReadAccessor other) {
+			return (this.targetType == other.targetType && this.targetIsClass == other.targetIsClass);
+		}
+
+		boolean isResolvedBy(@Nullable PropertyAccessor resolver) {
+			// The same accessor, or an equivalent one from another evaluation context
+			return (resolver == this.resolver || (resolver != null && resolver.getClass() == this.resolver.getClass()));
+		}
+	}
+
 }
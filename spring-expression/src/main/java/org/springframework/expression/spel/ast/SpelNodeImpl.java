@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -268,8 +268,12 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		String lastDesc = cf.lastDescriptor();
 		Assert.state(lastDesc != null, "No last descriptor");
 		boolean primitiveOnStack = CodeFlow.isPrimitive(lastDesc);
+		// Check if need to widen it for the method reference?
+		if (CodeFlow.isWideningNumericConversion(lastDesc, paramDesc)) {
+			CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, lastDesc, paramDesc.charAt(0));
+		}
 		// Check if need to box it for the method reference?
-		if (primitiveOnStack && paramDesc.charAt(0) == 'L') {
+		else if (primitiveOnStack && paramDesc.charAt(0) == 'L') {
 			CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
 		}
 		else if (paramDesc.length() == 1 && !primitiveOnStack) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,7 +66,9 @@ public class VariableReference extends SpelNodeImpl {
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
 		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
+			TypedValue result = state.getActiveContextObject();
+			this.exitTypeDescriptor = toExitTypeDescriptor(result.getValue());
+			return result;
 		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
@@ -74,19 +76,20 @@ public class VariableReference extends SpelNodeImpl {
 			return result;
 		}
 		TypedValue result = state.lookupVariable(this.name);
-		Object value = result.getValue();
+		this.exitTypeDescriptor = toExitTypeDescriptor(result.getValue());
+		// a null value will mean either the value was null or the variable was not found
+		return result;
+	}
+
+	private static String toExitTypeDescriptor(@Nullable Object value) {
 		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
 			// If the type is not public then when generateCode produces a checkcast to it
 			// then an IllegalAccessError will occur.
 			// If resorting to Object isn't sufficient, the hierarchy could be traversed for
 			// the first public type.
-			this.exitTypeDescriptor = "Ljava/lang/Object";
-		}
-		else {
-			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(value);
+			return "Ljava/lang/Object";
 		}
-		// a null value will mean either the value was null or the variable was not found
-		return result;
+		return CodeFlow.toDescriptorFromObject(value);
 	}
 
 	@Override
@@ -114,6 +117,18 @@ public class VariableReference extends SpelNodeImpl {
 		if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
+		else if (this.name.equals(THIS)) {
+			// The currently active context object: either the result of the preceding
+			// element of a compound expression or the current target (e.g. the current
+			// element of a selection or projection)
+			String descriptor = cf.lastDescriptor();
+			if (descriptor == null) {
+				cf.loadTarget(mv);
+			}
+			else {
+				CodeFlow.insertBoxIfNecessary(mv, descriptor);
+			}
+		}
 		else {
 			mv.visitVarInsn(ALOAD, 2);
 			mv.visitLdcInsn(this.name);
@@ -124,6 +139,27 @@ public class VariableReference extends SpelNodeImpl {
 	}
 
 
+	/**
+	 * Determine whether the given expression node or any of its descendants
+	 * references the variable with the given name.
+	 * @param node the expression node to check
+	 * @param variableName the name of the variable
+	 * @return {@code true} if the variable is referenced, {@code false} otherwise
+	 * @since 6.0
+	 */
+	static boolean isReferenced(SpelNodeImpl node, String variableName) {
+		if (node instanceof VariableReference variableReference && variableReference.name.equals(variableName)) {
+			return true;
+		}
+		for (SpelNodeImpl child : node.children) {
+			if (isReferenced(child, variableName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
 	private static class VariableRef implements ValueRef {
 
 		private final String name;
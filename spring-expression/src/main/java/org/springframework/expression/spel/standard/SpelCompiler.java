@@ -20,6 +20,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -100,11 +101,27 @@ public final class SpelCompiler implements Opcodes {
 	 */
 	@Nullable
 	public CompiledExpression compile(SpelNodeImpl expression) {
-		if (expression.isCompilable()) {
+		return compile(expression, reason -> {});
+	}
+
+	/**
+	 * Attempt compilation of the supplied expression, reporting why the expression
+	 * could not be compiled to the given consumer if compilation is not possible.
+	 * @param expression the expression to compile
+	 * @param failureReporter the consumer for the reason why compilation was not possible
+	 * @return an instance of the class implementing the compiled expression,
+	 * or {@code null} if compilation is not possible
+	 * @since 6.0
+	 * @see #getNonCompilableReason(SpelNodeImpl)
+	 */
+	@Nullable
+	CompiledExpression compile(SpelNodeImpl expression, Consumer<String> failureReporter) {
+		String reason = getNonCompilableReason(expression);
+		if (reason == null) {
 			if (logger.isDebugEnabled()) {
 				logger.debug("SpEL: compiling " + expression.toStringAST());
 			}
-			Class<? extends CompiledExpression> clazz = createExpressionClass(expression);
+			Class<? extends CompiledExpression> clazz = createExpressionClass(expression, failureReporter);
 			if (clazz != null) {
 				try {
 					return ReflectionUtils.accessibleConstructor(clazz).newInstance();
@@ -115,9 +132,11 @@ public final class SpelCompiler implements Opcodes {
 				}
 			}
 		}
-
-		if (logger.isDebugEnabled()) {
-			logger.debug("SpEL: unable to compile " + expression.toStringAST());
+		else {
+			if (logger.isDebugEnabled()) {
+				logger.debug("SpEL: unable to compile " + expression.toStringAST() + ": " + reason);
+			}
+			failureReporter.accept(reason);
 		}
 		return null;
 	}
@@ -130,11 +149,14 @@ public final class SpelCompiler implements Opcodes {
 	 * Generate the class that encapsulates the compiled expression and define it.
 	 * The generated class will be a subtype of CompiledExpression.
 	 * @param expressionToCompile the expression to be compiled
+	 * @param failureReporter the consumer for the reason to opt out of compilation
 	 * @return the expression call, or {@code null} if the decision was to opt out of
 	 * compilation during code generation
 	 */
 	@Nullable
-	private Class<? extends CompiledExpression> createExpressionClass(SpelNodeImpl expressionToCompile) {
+	private Class<? extends CompiledExpression> createExpressionClass(
+			SpelNodeImpl expressionToCompile, Consumer<String> failureReporter) {
+
 		// Create class outline 'spel/ExNNN extends org.springframework.expression.spel.CompiledExpression'
 		String className = "spel/Ex" + getNextSuffix();
 		String evaluationContextClass = "org/springframework/expression/EvaluationContext";
@@ -164,10 +186,12 @@ public final class SpelCompiler implements Opcodes {
 			expressionToCompile.generateCode(mv, cf);
 		}
 		catch (IllegalStateException ex) {
+			String reason = expressionToCompile.getClass().getSimpleName() +
+					".generateCode opted out of compilation: " + ex.getMessage();
 			if (logger.isDebugEnabled()) {
-				logger.debug(expressionToCompile.getClass().getSimpleName() +
-						".generateCode opted out of compilation: " + ex.getMessage());
+				logger.debug(reason);
 			}
+			failureReporter.accept(reason);
 			return null;
 		}
 
@@ -243,6 +267,47 @@ public final class SpelCompiler implements Opcodes {
 		return compiler;
 	}
 
+	/**
+	 * Describe why the given expression is not compilable in its current state,
+	 * pointing at the innermost AST node that prevents compilation: e.g. a node
+	 * that has not been evaluated yet or whose operand types are not supported
+	 * by the compiler.
+	 * @param expression the expression AST to check
+	 * @return the reason why the expression is not compilable,
+	 * or {@code null} if it is compilable
+	 * @since 6.0
+	 */
+	@Nullable
+	public static String getNonCompilableReason(SpelNodeImpl expression) {
+		if (expression.isCompilable()) {
+			return null;
+		}
+		SpelNodeImpl node = expression;
+		SpelNodeImpl nonCompilableChild = findNonCompilableChild(node);
+		while (nonCompilableChild != null) {
+			node = nonCompilableChild;
+			nonCompilableChild = findNonCompilableChild(node);
+		}
+		StringBuilder reason = new StringBuilder(node.getClass().getSimpleName())
+				.append(" '").append(node.toStringAST()).append("' at position ")
+				.append(node.getStartPosition()).append(" is not compilable");
+		if (node.getExitDescriptor() == null) {
+			reason.append(": its result type has not been determined by a previous evaluation");
+		}
+		return reason.toString();
+	}
+
+	@Nullable
+	private static SpelNodeImpl findNonCompilableChild(SpelNodeImpl node) {
+		for (int i = 0; i < node.getChildCount(); i++) {
+			SpelNodeImpl child = (SpelNodeImpl) node.getChild(i);
+			if (!child.isCompilable()) {
+				return child;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Request that an attempt is made to compile the specified expression.
 	 * It may fail if components of the expression are not suitable for compilation
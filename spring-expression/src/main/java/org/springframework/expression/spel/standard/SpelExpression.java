@@ -78,6 +78,10 @@ public class SpelExpression implements Expression {
 	// give up trying to compile it when it just doesn't seem to be possible.
 	private final AtomicInteger failedAttempts = new AtomicInteger();
 
+	// The reason why the last compilation attempt failed, if any
+	@Nullable
+	private volatile String compilationFailureReason;
+
 
 	/**
 	 * Construct an expression, only used by the parser.
@@ -525,10 +529,11 @@ public class SpelExpression implements Expression {
 			}
 			try {
 				SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
-				compiledAst = compiler.compile(this.ast);
+				compiledAst = compiler.compile(this.ast, reason -> this.compilationFailureReason = reason);
 				if (compiledAst != null) {
 					// Successfully compiled
 					this.compiledAst = compiledAst;
+					this.compilationFailureReason = null;
 					return true;
 				}
 				else {
@@ -540,6 +545,7 @@ public class SpelExpression implements Expression {
 			catch (Exception ex) {
 				// Failed to compile
 				this.failedAttempts.incrementAndGet();
+				this.compilationFailureReason = "Exception during compilation: " + ex;
 
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
@@ -555,6 +561,20 @@ public class SpelExpression implements Expression {
 		}
 	}
 
+	/**
+	 * Return the reason why the most recent attempt to compile this expression
+	 * failed: e.g. the AST node that is not compilable in its current state.
+	 * @return the reason, or {@code null} if the expression has been compiled
+	 * or no compilation attempt has failed yet
+	 * @since 6.0
+	 * @see #compileExpression()
+	 * @see SpelCompiler#getNonCompilableReason(SpelNodeImpl)
+	 */
+	@Nullable
+	public String getCompilationFailureReason() {
+		return this.compilationFailureReason;
+	}
+
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
@@ -564,6 +584,7 @@ public class SpelExpression implements Expression {
 		this.compiledAst = null;
 		this.interpretedCount.set(0);
 		this.failedAttempts.set(0);
+		this.compilationFailureReason = null;
 	}
 
 	/**
@@ -16,6 +16,10 @@
 
 package org.springframework.expression.spel.support;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
@@ -32,6 +36,9 @@ import org.springframework.util.ReflectionUtils;
 /**
  * {@link MethodExecutor} that works via reflection.
  *
+ * <p>Once the executor has been used more than once, the method is invoked
+ * through a {@link MethodHandle} where possible.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
  * @since 3.0
@@ -45,6 +52,17 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 	@Nullable
 	private final Integer varargsPosition;
 
+	private final TypeDescriptor returnTypeDescriptor;
+
+	private final Class<?>[] parameterTypes;
+
+	private volatile boolean invoked;
+
+	@Nullable
+	private volatile MethodHandle invocationHandle;
+
+	private volatile boolean invocationHandleResolved;
+
 	private boolean computedPublicDeclaringClass = false;
 
 	@Nullable
@@ -76,6 +94,8 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 		else {
 			this.varargsPosition = null;
 		}
+		this.returnTypeDescriptor = new TypeDescriptor(new MethodParameter(method, -1));
+		this.parameterTypes = this.methodToInvoke.getParameterTypes();
 	}
 
 
@@ -92,13 +112,19 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 	 * called via reflection but cannot be called from generated code when compiling the expression
 	 * because of visibility restrictions. For example if a non-public class overrides toString(),
 	 * this helper method will walk up the type hierarchy to find the first public type that declares
-	 * the method (if there is one!). For toString() it may walk as far as Object.
+	 * the method (if there is one!). For toString() it may walk as far as Object. If no public class
+	 * declares the method, a public interface implemented by the declaring class is used instead:
+	 * e.g. {@code List} for the {@code size()} method of an unmodifiable list.
 	 */
 	@Nullable
 	public Class<?> getPublicDeclaringClass() {
 		if (!this.computedPublicDeclaringClass) {
-			this.publicDeclaringClass =
-					discoverPublicDeclaringClass(this.originalMethod, this.originalMethod.getDeclaringClass());
+			Class<?> declaringClass = this.originalMethod.getDeclaringClass();
+			Class<?> publicDeclaringClass = discoverPublicDeclaringClass(this.originalMethod, declaringClass);
+			if (publicDeclaringClass == null && !Modifier.isStatic(this.originalMethod.getModifiers())) {
+				publicDeclaringClass = discoverPublicDeclaringInterface(this.originalMethod, declaringClass);
+			}
+			this.publicDeclaringClass = publicDeclaringClass;
 			this.computedPublicDeclaringClass = true;
 		}
 		return this.publicDeclaringClass;
@@ -121,6 +147,24 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 		return null;
 	}
 
+	@Nullable
+	private Class<?> discoverPublicDeclaringInterface(Method method, Class<?> clazz) {
+		for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(clazz)) {
+			if (Modifier.isPublic(ifc.getModifiers())) {
+				try {
+					Method ifcMethod = ifc.getMethod(method.getName(), method.getParameterTypes());
+					if (!Modifier.isStatic(ifcMethod.getModifiers()) && ifcMethod.getReturnType() == method.getReturnType()) {
+						return ifc;
+					}
+				}
+				catch (NoSuchMethodException ex) {
+					// Continue with next interface...
+				}
+			}
+		}
+		return null;
+	}
+
 	public boolean didArgumentConversionOccur() {
 		return this.argumentConversionOccurred;
 	}
@@ -135,13 +179,85 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 				arguments = ReflectionHelper.setupArgumentsForVarargsInvocation(
 						this.originalMethod.getParameterTypes(), arguments);
 			}
-			ReflectionUtils.makeAccessible(this.methodToInvoke);
-			Object value = this.methodToInvoke.invoke(target, arguments);
-			return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.originalMethod, -1)).narrow(value));
+			Object value;
+			MethodHandle invocationHandle = getInvocationHandle();
+			if (invocationHandle != null) {
+				checkInvocationTypes(target, arguments);
+				try {
+					value = invocationHandle.invokeExact(target, arguments);
+				}
+				catch (Throwable ex) {
+					// Same exception structure as for a reflective invocation
+					throw new InvocationTargetException(ex);
+				}
+			}
+			else {
+				ReflectionUtils.makeAccessible(this.methodToInvoke);
+				value = this.methodToInvoke.invoke(target, arguments);
+			}
+			return new TypedValue(value, this.returnTypeDescriptor.narrow(value));
 		}
 		catch (Exception ex) {
 			throw new AccessException("Problem invoking method: " + this.methodToInvoke, ex);
 		}
 	}
 
+	/**
+	 * Return a {@link MethodHandle} of type {@code (Object,Object[])Object} for
+	 * invoking the method, or {@code null} for the first invocation (not worth
+	 * the cost of creating the handle) or if reflection has to be used instead.
+	 */
+	@Nullable
+	private MethodHandle getInvocationHandle() {
+		if (!this.invocationHandleResolved) {
+			if (!this.invoked) {
+				this.invoked = true;
+				return null;
+			}
+			this.invocationHandle = createInvocationHandle();
+			this.invocationHandleResolved = true;
+		}
+		return this.invocationHandle;
+	}
+
+	@Nullable
+	private MethodHandle createInvocationHandle() {
+		try {
+			ReflectionUtils.makeAccessible(this.methodToInvoke);
+			MethodHandle handle = MethodHandles.lookup().unreflect(this.methodToInvoke).asFixedArity();
+			boolean isStatic = Modifier.isStatic(this.methodToInvoke.getModifiers());
+			handle = handle.asSpreader(Object[].class, this.parameterTypes.length);
+			if (isStatic) {
+				// The target is ignored for a static method, as for Method.invoke
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			return handle.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			// E.g. not accessible due to module restrictions: fall back to reflection
+			return null;
+		}
+	}
+
+	/**
+	 * Check the target and arguments the way {@link Method#invoke} does, so that
+	 * a mismatch (e.g. for a stale cached executor) is reported the same way
+	 * rather than as a failure of the invoked method.
+	 */
+	private void checkInvocationTypes(@Nullable Object target, Object[] arguments) {
+		if (!Modifier.isStatic(this.methodToInvoke.getModifiers()) &&
+				!this.methodToInvoke.getDeclaringClass().isInstance(target)) {
+			throw new IllegalArgumentException("Object is not an instance of declaring class");
+		}
+		if (arguments.length != this.parameterTypes.length) {
+			throw new IllegalArgumentException("Wrong number of arguments: " + arguments.length +
+					" (expected " + this.parameterTypes.length + ")");
+		}
+		for (int i = 0; i < arguments.length; i++) {
+			if (!ClassUtils.isAssignableValue(this.parameterTypes[i], arguments[i])) {
+				throw new IllegalArgumentException("Argument type mismatch");
+			}
+		}
+	}
+
 }
@@ -16,8 +16,12 @@
 
 package org.springframework.expression.spel.support;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -567,10 +571,54 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		final TypeDescriptor typeDescriptor;
 
+		@Nullable
+		private volatile MethodHandle readHandle;
+
+		private volatile boolean readHandleResolved;
+
 		public InvokerPair(Member member, TypeDescriptor typeDescriptor) {
 			this.member = member;
 			this.typeDescriptor = typeDescriptor;
 		}
+
+		/**
+		 * Return a {@link MethodHandle} of type {@code (Object)Object} for reading
+		 * the member from a given target, or {@code null} if none can be created
+		 * and reflection has to be used instead.
+		 */
+		@Nullable
+		MethodHandle getReadHandle() {
+			if (!this.readHandleResolved) {
+				this.readHandle = createReadHandle();
+				this.readHandleResolved = true;
+			}
+			return this.readHandle;
+		}
+
+		@Nullable
+		private MethodHandle createReadHandle() {
+			try {
+				MethodHandle handle;
+				if (this.member instanceof Method method) {
+					ReflectionUtils.makeAccessible(method);
+					handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+				}
+				else {
+					Field field = (Field) this.member;
+					ReflectionUtils.makeAccessible(field);
+					handle = MethodHandles.lookup().unreflectGetter(field);
+				}
+				if (Modifier.isStatic(this.member.getModifiers())) {
+					// The target is the Class itself for a static member
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+				return handle.asType(MethodType.methodType(Object.class, Object.class));
+			}
+			catch (IllegalAccessException | RuntimeException ex) {
+				// E.g. not accessible due to module restrictions: fall back to reflection
+				return null;
+			}
+		}
 	}
 
 
@@ -628,7 +676,8 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 	 * general ReflectivePropertyResolver which manages a cache of methods/fields that
 	 * may be invoked to access different properties on different classes. This optimal
 	 * accessor exists because looking up the appropriate reflective object by class/name
-	 * on each read is not cheap.
+	 * on each read is not cheap. Reads go through a {@link MethodHandle} for the member
+	 * where possible.
 	 */
 	public static class OptimalPropertyAccessor implements CompilablePropertyAccessor {
 
@@ -639,9 +688,13 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		private final TypeDescriptor typeDescriptor;
 
+		@Nullable
+		private final MethodHandle readHandle;
+
 		OptimalPropertyAccessor(InvokerPair target) {
 			this.member = target.member;
 			this.typeDescriptor = target.typeDescriptor;
+			this.readHandle = target.getReadHandle();
 		}
 
 		@Override
@@ -675,6 +728,26 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		@Override
 		public TypedValue read(EvaluationContext context, @Nullable Object target, String name) throws AccessException {
+			MethodHandle readHandle = this.readHandle;
+			if (readHandle != null && (Modifier.isStatic(this.member.getModifiers()) ||
+					this.member.getDeclaringClass().isInstance(target))) {
+				Object value;
+				try {
+					value = readHandle.invokeExact(target);
+				}
+				catch (Throwable ex) {
+					if (this.member instanceof Method) {
+						// Same exception structure as for a reflective invocation of the getter
+						throw new AccessException("Unable to access property '" + name + "' through getter method",
+								new InvocationTargetException(ex));
+					}
+					if (ex instanceof Error error) {
+						throw error;
+					}
+					throw new AccessException("Unable to access field '" + name + "'", (Exception) ex);
+				}
+				return new TypedValue(value, this.typeDescriptor.narrow(value));
+			}
 			if (this.member instanceof Method method) {
 				try {
 					ReflectionUtils.makeAccessible(method);
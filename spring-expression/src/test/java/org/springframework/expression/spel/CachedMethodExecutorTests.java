@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,6 +58,17 @@ public class CachedMethodExecutorTests {
 		assertMethodExecution(expression, new RootObject(), "int: 42");
 	}
 
+	@Test
+	public void testCachedExecutionForPolymorphicTargets() {
+		Expression expression = this.parser.parseExpression("#var.echo('x')");
+
+		for (int i = 0; i < 3; i++) {
+			assertMethodExecution(expression, new BaseObject(), "String: x");
+			assertMethodExecution(expression, new RootObject(), "String: x");
+			assertMethodExecution(expression, new OtherObject(), "Other: x");
+		}
+	}
+
 	private void assertMethodExecution(Expression expression, Object var, String expected) {
 		this.context.setVariable("var", var);
 		assertThat(expression.getValue(this.context)).isEqualTo(expected);
@@ -78,4 +89,11 @@ public class CachedMethodExecutorTests {
 		}
 	}
 
+	public static class OtherObject {
+
+		public String echo(String value) {
+			return "Other: " + value;
+		}
+	}
+
 }
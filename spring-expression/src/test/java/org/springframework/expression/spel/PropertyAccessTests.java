@@ -165,6 +165,22 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 		assertThat(expression.getValue(context)).isEqualTo("Jens");
 	}
 
+	@Test
+	void polymorphicPropertyAccess() {
+		Expression expression = parser.parseExpression("name");
+		for (int i = 0; i < 3; i++) {
+			assertThat(expression.getValue(new Person("Ollie"))).isEqualTo("Ollie");
+			assertThat(expression.getValue(new RecordPerson("Jens"))).isEqualTo("Jens");
+			assertThat(expression.getValue(new Inventor("Nikola Tesla", null, "Serbian"))).isEqualTo("Nikola Tesla");
+			assertThat(expression.getValue((Object) String.class)).isEqualTo("java.lang.String");
+		}
+
+		// A resolved accessor must not be reused once another accessor takes precedence
+		StandardEvaluationContext context = new StandardEvaluationContext(new Person("Ollie"));
+		context.addPropertyAccessor(new ConfigurablePropertyAccessor(Collections.singletonMap("name", "Juergen")));
+		assertThat(expression.getValue(context)).isEqualTo("Juergen");
+	}
+
 	@Test
 	void standardGetClassAccess() {
 		assertThat(parser.parseExpression("'a'.class.name").getValue()).isEqualTo(String.class.getName());
@@ -1030,7 +1030,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		expression = parser.parseExpression("#negate(#ints.?[#this<2][0])");
 		assertThat(expression.getValue(context, Integer.class).toString()).isEqualTo("-1");
-		// Selection isn't compilable.
+		// Selection over an array isn't compilable.
 		assertThat(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable()).isFalse();
 	}
 
@@ -5098,6 +5098,174 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(classloadersUsed.size() > 1).isTrue();
 	}
 
+	@Test
+	void selection() {
+		Basket basket = new Basket();
+		expression = parse("items.?[price > 10]");
+		assertCantCompile(expression);
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("bb ccc");
+		assertCanCompile(expression);
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("bb ccc");
+
+		expression = parse("items.^[price > 10]");
+		assertThat(expression.getValue(basket)).hasToString("bb");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(basket)).hasToString("bb");
+
+		expression = parse("items.$[price > 10]");
+		assertThat(expression.getValue(basket)).hasToString("ccc");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(basket)).hasToString("ccc");
+
+		expression = parse("items.$[price > 100]");
+		assertThat(expression.getValue(basket)).isNull();
+		assertCanCompile(expression);
+		assertThat(expression.getValue(basket)).isNull();
+
+		expression = parse("items.?[#this.price > 10].size()");
+		assertThat(expression.getValue(basket)).isEqualTo(2);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(basket)).isEqualTo(2);
+
+		// Nested selection against the root object
+		expression = parse("items.?[#root.items.?[price > 10].size() > 1]");
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("a bb ccc");
+		assertCanCompile(expression);
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("a bb ccc");
+
+		expression = parse("items?.?[price > 10]");
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("bb ccc");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(new Basket(null))).isNull();
+
+		// Selection over a map isn't compilable
+		expression = parse("?[value > 1]");
+		assertThat(expression.getValue(Map.of("a", 1, "b", 2))).isEqualTo(Map.of("b", 2));
+		assertCantCompile(expression);
+	}
+
+	@Test
+	void projection() {
+		Basket basket = new Basket();
+		expression = parse("items.![name]");
+		assertCantCompile(expression);
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("a bb ccc");
+		assertCanCompile(expression);
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("a bb ccc");
+
+		expression = parse("items.![name.length() + price]");
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("6 17 28");
+		assertCanCompile(expression);
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("6 17 28");
+
+		expression = parse("items.?[price > 10].![name]");
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("bb ccc");
+		assertCanCompile(expression);
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("bb ccc");
+
+		expression = parse("items?.![name]");
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("a bb ccc");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(new Basket(null))).isNull();
+	}
+
+	@Test
+	void indexerWithinProjection() {
+		Basket basket = new Basket();
+		// The index is evaluated against the root object, its method arguments against the element
+		expression = parse("items.![#root.discounts[discountKey(name)]]");
+		Object interpreted = expression.getValue(basket);
+		assertThat(stringify(interpreted)).isEqualTo("1 2 3");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(basket)).isEqualTo(interpreted);
+
+		expression = parse("items.![name + #root.names[discountKey('ccc').length() - 1]]");
+		interpreted = expression.getValue(basket);
+		assertThat(stringify(interpreted)).isEqualTo("accc bbccc cccccc");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(basket)).isEqualTo(interpreted);
+	}
+
+	@Test
+	void indexerWithinSelection() {
+		Basket basket = new Basket();
+		expression = parse("items.?[#root.discounts[discountKey(name)] > 1]");
+		Object interpreted = expression.getValue(basket);
+		assertThat(stringify(interpreted)).isEqualTo("bb ccc");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(basket)).isEqualTo(interpreted);
+
+		expression = parse("items.^[#root.discounts[discountKey(name)] == price / 5]");
+		interpreted = expression.getValue(basket);
+		assertThat(interpreted).hasToString("a");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(basket)).isSameAs(interpreted);
+	}
+
+	@Test
+	void selectionWithNullCriteriaResult() {
+		expression = parse("items.?[#root.isDiscounted(name)]");
+		Basket basket = new Basket(List.of(new Item("bb", 15)));
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("bb");
+		assertCanCompile(expression);
+		assertThat(stringify(expression.getValue(basket))).isEqualTo("bb");
+
+		// Same error as in interpreted mode, wrapped as for any failure of a compiled expression
+		assertThatExceptionOfType(SpelEvaluationException.class)
+				.isThrownBy(() -> expression.getValue(new Basket()))
+				.withCauseInstanceOf(SpelEvaluationException.class)
+				.satisfies(ex -> assertThat(((SpelEvaluationException) ex.getCause()).getMessageCode())
+						.isEqualTo(SpelMessage.RESULT_OF_SELECTION_CRITERIA_IS_NOT_BOOLEAN));
+	}
+
+	@Test
+	void stringIndexing() {
+		expression = parse("name[1]");
+		assertThat(expression.getValue(new Item("abc", 1))).isEqualTo("b");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(new Item("abc", 1))).isEqualTo("b");
+		assertThat(expression.getValue(new Item("xyz", 1))).isEqualTo("y");
+	}
+
+	@Test
+	void methodReferenceWithWideningArgumentConversion() {
+		expression = parse("total(items.size())");
+		assertThat(expression.getValue(new Basket())).isEqualTo(30L);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(new Basket())).isEqualTo(30L);
+
+		expression = parse("total(items[0].price)");
+		assertThat(expression.getValue(new Basket())).isEqualTo(50L);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(new Basket())).isEqualTo(50L);
+	}
+
+	@Test
+	void methodReferenceOnNonPublicClassThroughPublicInterface() {
+		expression = parse("names.size()");
+		assertThat(expression.getValue(new Basket())).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(new Basket())).isEqualTo(3);
+	}
+
+	@Test
+	void compilationFailureReason() {
+		SpelExpression expression = (SpelExpression) parse("items?.?[price > 10]");
+		assertThat(SpelCompiler.compile(expression)).isFalse();
+		assertThat(expression.getCompilationFailureReason())
+				.isEqualTo("PropertyOrFieldReference 'items' at position 0 is not compilable: " +
+						"its result type has not been determined by a previous evaluation");
+
+		// The selection criteria are not evaluated for a null operand
+		expression.getValue(new Basket(null));
+		assertThat(SpelCompiler.compile(expression)).isFalse();
+		assertThat(expression.getCompilationFailureReason()).startsWith("PropertyOrFieldReference 'price' at position 9");
+
+		expression.getValue(new Basket());
+		assertThat(SpelCompiler.compile(expression)).isTrue();
+		assertThat(expression.getCompilationFailureReason()).isNull();
+	}
+
 
 	// Helper methods
 
@@ -6255,4 +6423,66 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		}
 	}
 
+	public static class Basket {
+
+		private final List<Item> items;
+
+		public Basket() {
+			this(List.of(new Item("a", 5), new Item("bb", 15), new Item("ccc", 25)));
+		}
+
+		public Basket(List<Item> items) {
+			this.items = items;
+		}
+
+		public List<Item> getItems() {
+			return this.items;
+		}
+
+		public List<String> getNames() {
+			return Collections.unmodifiableList(this.items.stream().map(Item::getName).toList());
+		}
+
+		public long total(long factor) {
+			return factor * 10;
+		}
+
+		public Map<String, Integer> getDiscounts() {
+			return Map.of("a", 1, "bb", 2, "ccc", 3);
+		}
+
+		public String discountKey(String name) {
+			return name;
+		}
+
+		public Boolean isDiscounted(String name) {
+			return (name.length() > 1 ? Boolean.TRUE : null);
+		}
+	}
+
+	public static class Item {
+
+		private final String name;
+
+		private final int price;
+
+		public Item(String name, int price) {
+			this.name = name;
+			this.price = price;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getPrice() {
+			return this.price;
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+	}
+
 }
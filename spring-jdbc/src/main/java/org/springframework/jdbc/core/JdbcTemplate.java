@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -47,6 +48,7 @@ import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.InvalidResultSetAccessException;
 import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.ConnectionHolder;
 import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.jdbc.support.JdbcAccessor;
@@ -54,6 +56,8 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
@@ -153,6 +157,12 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 */
 	private boolean resultsMapCaseInsensitive = false;
 
+	/**
+	 * The maximum number of updates that {@link #deferUpdate} collects
+	 * into a single JDBC batch.
+	 */
+	private int deferredUpdateBatchSize = 100;
+
 
 	/**
 	 * Construct a new JdbcTemplate for bean usage.
@@ -317,6 +327,27 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return this.resultsMapCaseInsensitive;
 	}
 
+	/**
+	 * Set the maximum number of consecutive updates for the same SQL that
+	 * {@link #deferUpdate} collects into a single JDBC batch before executing it.
+	 * <p>Default is 100.
+	 * @since 6.0
+	 * @see #deferUpdate(String, PreparedStatementSetter)
+	 */
+	public void setDeferredUpdateBatchSize(int deferredUpdateBatchSize) {
+		Assert.isTrue(deferredUpdateBatchSize > 0, "'deferredUpdateBatchSize' must be positive");
+		this.deferredUpdateBatchSize = deferredUpdateBatchSize;
+	}
+
+	/**
+	 * Return the maximum number of updates that {@link #deferUpdate} collects
+	 * into a single JDBC batch.
+	 * @since 6.0
+	 */
+	public int getDeferredUpdateBatchSize() {
+		return this.deferredUpdateBatchSize;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with a plain java.sql.Connection
@@ -326,6 +357,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Nullable
 	public <T> T execute(ConnectionCallback<T> action) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
+		flushDeferredUpdatesIfNecessary();
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		try {
@@ -372,6 +404,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Nullable
 	private <T> T execute(StatementCallback<T> action, boolean closeResources) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
+		flushDeferredUpdatesIfNecessary();
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		Statement stmt = null;
@@ -638,6 +671,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 		Assert.notNull(psc, "PreparedStatementCreator must not be null");
 		Assert.notNull(action, "Callback object must not be null");
+		flushDeferredUpdatesIfNecessary();
 		if (logger.isDebugEnabled()) {
 			String sql = getSql(psc);
 			logger.debug("Executing prepared SQL statement" + (sql != null ? " [" + sql + "]" : ""));
@@ -1176,6 +1210,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 		Assert.notNull(csc, "CallableStatementCreator must not be null");
 		Assert.notNull(action, "Callback object must not be null");
+		flushDeferredUpdatesIfNecessary();
 		if (logger.isDebugEnabled()) {
 			String sql = getSql(csc);
 			logger.debug("Calling stored procedure" + (sql != null ? " [" + sql  + "]" : ""));
@@ -1405,6 +1440,109 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	//-------------------------------------------------------------------------
+	// Methods dealing with deferred updates
+	//-------------------------------------------------------------------------
+
+	/**
+	 * Issue a single SQL update operation via a prepared statement, binding
+	 * the given arguments, deferred within the current transaction.
+	 * @param sql the SQL containing bind parameters
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @return a supplier for the number of rows affected
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 6.0
+	 * @see #deferUpdate(String, PreparedStatementSetter)
+	 */
+	public IntSupplier deferUpdate(String sql, @Nullable Object... args) throws DataAccessException {
+		return deferUpdate(sql, newArgPreparedStatementSetter(args));
+	}
+
+	/**
+	 * Issue a single SQL update operation via a prepared statement, deferred
+	 * within the current transaction, so that consecutive updates for the same
+	 * SQL are sent to the database as a single JDBC batch.
+	 * <p>Deferred updates are held with the transactional Connection of the
+	 * DataSource and are executed in order: when an update with different SQL
+	 * is deferred, when the {@link #setDeferredUpdateBatchSize batch size} is
+	 * reached, before any other statement is executed through a JdbcTemplate
+	 * for the same DataSource (including other template instances and
+	 * {@link org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate}),
+	 * before a savepoint is created, on a transaction flush or suspension,
+	 * and before the transaction commits. They are discarded on rollback,
+	 * including a rollback to a savepoint.
+	 * <p>Without an actual transaction, the update is executed immediately.
+	 * <p>Arguments must not be modified after they have been passed in, and
+	 * errors surface from the operation that triggers the execution.
+	 * @param sql the SQL containing bind parameters
+	 * @param pss helper that sets bind parameters (may be {@code null})
+	 * @return a supplier for the number of rows affected, executing pending
+	 * deferred updates first if necessary. It throws an IllegalStateException
+	 * if the update has been discarded or its batch failed. Note that some
+	 * JDBC drivers report {@link Statement#SUCCESS_NO_INFO} for batched updates.
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 6.0
+	 * @see #flushDeferredUpdates()
+	 */
+	public IntSupplier deferUpdate(String sql, @Nullable PreparedStatementSetter pss) throws DataAccessException {
+		ConnectionHolder conHolder = obtainTransactionalConnectionHolder();
+		if (conHolder == null || (conHolder.getDeferredStatements() != null &&
+				!(conHolder.getDeferredStatements() instanceof DeferredUpdates))) {
+			int rows = update(sql, pss);
+			return () -> rows;
+		}
+		DeferredUpdates deferredUpdates = (DeferredUpdates) conHolder.getDeferredStatements();
+		if (deferredUpdates == null) {
+			deferredUpdates = new DeferredUpdates(conHolder);
+			conHolder.setDeferredStatements(deferredUpdates);
+			TransactionSynchronizationManager.registerSynchronization(deferredUpdates);
+		}
+		return deferredUpdates.add(sql, pss, this.deferredUpdateBatchSize);
+	}
+
+	/**
+	 * Execute the updates deferred within the current transaction for this
+	 * template's DataSource, if any, whichever template deferred them.
+	 * Their update counts are available from the suppliers returned by
+	 * {@link #deferUpdate}.
+	 * @throws DataAccessException if there is any problem executing the updates
+	 * @since 6.0
+	 */
+	public void flushDeferredUpdates() throws DataAccessException {
+		flushDeferredUpdatesIfNecessary();
+	}
+
+	private void flushDeferredUpdatesIfNecessary() {
+		if (TransactionSynchronizationManager.isSynchronizationActive() &&
+				TransactionSynchronizationManager.getResource(obtainDataSource()) instanceof ConnectionHolder conHolder) {
+			conHolder.flushDeferredStatements();
+		}
+	}
+
+	/**
+	 * Return the ConnectionHolder for this template's DataSource in the
+	 * current transaction, binding one if necessary, or {@code null} if
+	 * there is no actual transaction.
+	 */
+	@Nullable
+	private ConnectionHolder obtainTransactionalConnectionHolder() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive() ||
+				!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return null;
+		}
+		DataSource dataSource = obtainDataSource();
+		if (!(TransactionSynchronizationManager.getResource(dataSource) instanceof ConnectionHolder)) {
+			// Bind a Connection to the transaction, as any other operation would
+			DataSourceUtils.releaseConnection(DataSourceUtils.getConnection(dataSource), dataSource);
+		}
+		return (TransactionSynchronizationManager.getResource(dataSource) instanceof ConnectionHolder conHolder &&
+				conHolder.isSynchronizedWithTransaction() ? conHolder : null);
+	}
+
+
 	//-------------------------------------------------------------------------
 	// Implementation hooks and helper methods
 	//-------------------------------------------------------------------------
@@ -1568,6 +1706,150 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	/**
+	 * Updates deferred on a transactional Connection: consecutive updates for
+	 * the same SQL, executed as a single batch through the template that created
+	 * this instance. Registered as synchronization for execution before the
+	 * transaction is suspended or committed.
+	 */
+	private class DeferredUpdates implements ConnectionHolder.DeferredStatements, TransactionSynchronization {
+
+		private final ConnectionHolder connectionHolder;
+
+		@Nullable
+		private DeferredBatch batch;
+
+		DeferredUpdates(ConnectionHolder connectionHolder) {
+			this.connectionHolder = connectionHolder;
+		}
+
+		IntSupplier add(String sql, @Nullable PreparedStatementSetter pss, int batchSize) {
+			DeferredBatch batch = this.batch;
+			if (batch != null && !batch.sql.equals(sql)) {
+				flush();
+				batch = null;
+			}
+			if (batch == null) {
+				batch = new DeferredBatch(sql);
+				this.batch = batch;
+			}
+			DeferredBatch batchToUse = batch;
+			int index = batch.setters.size();
+			batch.setters.add(pss != null ? pss : ps -> {});
+			if (batch.setters.size() >= batchSize) {
+				flush();
+			}
+			return () -> getUpdateCount(batchToUse, index);
+		}
+
+		private int getUpdateCount(DeferredBatch batch, int index) {
+			if (batch == this.batch) {
+				flush();
+			}
+			if (batch.updateCounts != null) {
+				return batch.updateCounts[index];
+			}
+			throw new IllegalStateException(batch.failure != null ?
+					"Deferred update failed: " + batch.failure : "Deferred update has been discarded");
+		}
+
+		@Override
+		public void flush() {
+			DeferredBatch batch = this.batch;
+			if (batch == null) {
+				return;
+			}
+			// Reset first: the batch update below flushes again before execution
+			this.batch = null;
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing " + batch.setters.size() + " deferred updates [" + batch.sql + "]");
+			}
+			try {
+				batch.updateCounts = batchUpdate(batch.sql, new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						batch.setters.get(i).setValues(ps);
+					}
+					@Override
+					public int getBatchSize() {
+						return batch.setters.size();
+					}
+				});
+			}
+			catch (RuntimeException ex) {
+				batch.failure = ex;
+				throw ex;
+			}
+			finally {
+				batch.cleanup();
+			}
+		}
+
+		@Override
+		public void discard() {
+			DeferredBatch batch = this.batch;
+			if (batch != null) {
+				this.batch = null;
+				batch.cleanup();
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			// Before the Connection synchronization, which unbinds the Connection on suspend
+			return DataSourceUtils.CONNECTION_SYNCHRONIZATION_ORDER - 100;
+		}
+
+		@Override
+		public void suspend() {
+			flush();
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			flush();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			discard();
+			if (this.connectionHolder.getDeferredStatements() == this) {
+				this.connectionHolder.setDeferredStatements(null);
+			}
+		}
+	}
+
+
+	/**
+	 * Consecutive deferred updates for the same SQL, with their update counts
+	 * once executed.
+	 */
+	private static final class DeferredBatch {
+
+		final String sql;
+
+		final List<PreparedStatementSetter> setters = new ArrayList<>();
+
+		@Nullable
+		int[] updateCounts;
+
+		@Nullable
+		RuntimeException failure;
+
+		DeferredBatch(String sql) {
+			this.sql = sql;
+		}
+
+		void cleanup() {
+			for (PreparedStatementSetter pss : this.setters) {
+				if (pss instanceof ParameterDisposer parameterDisposer) {
+					parameterDisposer.cleanupParameters();
+				}
+			}
+		}
+	}
+
+
 	/**
 	 * Invocation handler that suppresses close calls on JDBC Connections.
 	 * Also prepares returned Statement (Prepared/CallbackStatement) objects.
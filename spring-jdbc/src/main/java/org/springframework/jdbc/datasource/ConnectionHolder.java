@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,6 +60,9 @@ public class ConnectionHolder extends ResourceHolderSupport {
 
 	private int savepointCounter = 0;
 
+	@Nullable
+	private DeferredStatements deferredStatements;
+
 
 	/**
 	 * Create a new ConnectionHolder for the given ConnectionHandle.
@@ -183,10 +186,53 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	 * @throws SQLException if thrown by the JDBC driver
 	 */
 	public Savepoint createSavepoint() throws SQLException {
+		// Deferred statements belong before the savepoint
+		flushDeferredStatements();
 		this.savepointCounter++;
 		return getConnection().setSavepoint(SAVEPOINT_NAME_PREFIX + this.savepointCounter);
 	}
 
+	/**
+	 * Set the statements deferred on the held Connection, if any.
+	 * <p>These are flushed before a savepoint is created, and discarded when
+	 * rolling back to a savepoint or when this holder is cleared.
+	 * @since 6.0
+	 * @see #flushDeferredStatements()
+	 */
+	public void setDeferredStatements(@Nullable DeferredStatements deferredStatements) {
+		this.deferredStatements = deferredStatements;
+	}
+
+	/**
+	 * Return the statements deferred on the held Connection, if any.
+	 * @since 6.0
+	 */
+	@Nullable
+	public DeferredStatements getDeferredStatements() {
+		return this.deferredStatements;
+	}
+
+	/**
+	 * Execute the statements deferred on the held Connection, if any.
+	 * @since 6.0
+	 */
+	public void flushDeferredStatements() {
+		if (this.deferredStatements != null) {
+			this.deferredStatements.flush();
+		}
+	}
+
+	/**
+	 * Drop the statements deferred on the held Connection, if any,
+	 * without executing them.
+	 * @since 6.0
+	 */
+	public void discardDeferredStatements() {
+		if (this.deferredStatements != null) {
+			this.deferredStatements.discard();
+		}
+	}
+
 	/**
 	 * Releases the current Connection held by this ConnectionHolder.
 	 * <p>This is necessary for ConnectionHandles that expect "Connection borrowing",
@@ -212,6 +258,28 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		this.transactionActive = false;
 		this.savepointsSupported = null;
 		this.savepointCounter = 0;
+		discardDeferredStatements();
+		this.deferredStatements = null;
+	}
+
+
+	/**
+	 * Callback for statements that data access code defers on the held
+	 * Connection, such as updates collected into a batch by
+	 * {@link org.springframework.jdbc.core.JdbcTemplate#deferUpdate}.
+	 * @since 6.0
+	 */
+	public interface DeferredStatements {
+
+		/**
+		 * Execute the deferred statements now.
+		 */
+		void flush();
+
+		/**
+		 * Drop the deferred statements without executing them.
+		 */
+		void discard();
 	}
 
 }
@@ -0,0 +1,551 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link javax.sql.DataSource} implementation that routes Connections for
+ * read-only transactions to one of a set of replica DataSources, and all
+ * other Connections to a primary DataSource.
+ *
+ * <p>The routing decision is based on
+ * {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()}.
+ * Since a transaction manager such as
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager}
+ * fetches its Connection before exposing the read-only flag, this DataSource
+ * needs to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * which in turn is passed to the transaction manager: the target Connection
+ * will then only be fetched on first actual use, within the read-only scope.
+ *
+ * <p>Among all replicas currently considered available, the one with the
+ * fewest outstanding Connections is chosen. A replica from which a Connection
+ * could not be obtained is skipped for the {@link #setRetryInterval retry interval},
+ * doubled on each consecutive failure up to the {@link #setMaxRetryInterval maximum
+ * retry interval}; after that, the next Connection request tries it again.
+ * A replica is also considered unavailable when a health check found it invalid
+ * or lagging behind the primary by more than the configured
+ * {@link #setMaxReplicationLag maximum replication lag}, until a later health
+ * check succeeds. Health checks run periodically when a
+ * {@link #setHealthCheckInterval health check interval} has been specified, and
+ * may also be triggered through {@link #checkReplicas()}; a successful health
+ * check also ends the retry interval of a replica.
+ * If no replica is available, read-only transactions use the primary DataSource.
+ *
+ * @since 6.0
+ * @see #setPrimaryDataSource
+ * @see #setReplicaDataSources
+ * @see org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy
+ * @see org.springframework.transaction.annotation.Transactional#readOnly()
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+	@Nullable
+	private DataSource primaryDataSource;
+
+	private List<Replica> replicas = Collections.emptyList();
+
+	@Nullable
+	private Duration healthCheckInterval;
+
+	private int validationTimeout = 5;
+
+	private Duration retryInterval = Duration.ofSeconds(1);
+
+	private Duration maxRetryInterval = Duration.ofMinutes(1);
+
+	@Nullable
+	private ReplicationLagProbe replicationLagProbe;
+
+	@Nullable
+	private Duration maxReplicationLag;
+
+	private final AtomicInteger selectionCounter = new AtomicInteger();
+
+	@Nullable
+	private volatile Credentials lastCredentials;
+
+	@Nullable
+	private ScheduledExecutorService healthCheckExecutor;
+
+
+	/**
+	 * Create a new ReplicaRoutingDataSource.
+	 * @see #setPrimaryDataSource
+	 * @see #setReplicaDataSources
+	 */
+	public ReplicaRoutingDataSource() {
+	}
+
+	/**
+	 * Create a new ReplicaRoutingDataSource.
+	 * @param primaryDataSource the DataSource for read-write access
+	 * @param replicaDataSources the DataSources for read-only transactions
+	 */
+	public ReplicaRoutingDataSource(DataSource primaryDataSource, List<DataSource> replicaDataSources) {
+		setPrimaryDataSource(primaryDataSource);
+		setReplicaDataSources(replicaDataSources);
+		afterPropertiesSet();
+	}
+
+
+	/**
+	 * Set the primary DataSource, used for all Connections outside of
+	 * read-only transactions and as a fallback when no replica is available.
+	 */
+	public void setPrimaryDataSource(DataSource primaryDataSource) {
+		this.primaryDataSource = primaryDataSource;
+	}
+
+	/**
+	 * Return the primary DataSource, if any.
+	 */
+	@Nullable
+	public DataSource getPrimaryDataSource() {
+		return this.primaryDataSource;
+	}
+
+	/**
+	 * Set the replica DataSources to route read-only transactions to.
+	 */
+	public void setReplicaDataSources(List<DataSource> replicaDataSources) {
+		Assert.notNull(replicaDataSources, "Replica DataSources must not be null");
+		List<Replica> replicas = new ArrayList<>(replicaDataSources.size());
+		for (DataSource dataSource : replicaDataSources) {
+			Assert.notNull(dataSource, "Replica DataSource must not be null");
+			replicas.add(new Replica(dataSource));
+		}
+		this.replicas = Collections.unmodifiableList(replicas);
+	}
+
+	/**
+	 * Specify the interval between health checks of all replicas.
+	 * <p>Default is none, in which case health checks only happen on explicit
+	 * calls to {@link #checkReplicas()}. Otherwise, a daemon thread running the
+	 * checks is started on {@link #afterPropertiesSet()} and stopped on
+	 * {@link #destroy()}.
+	 */
+	public void setHealthCheckInterval(@Nullable Duration healthCheckInterval) {
+		Assert.isTrue(healthCheckInterval == null || !healthCheckInterval.isNegative() && !healthCheckInterval.isZero(),
+				"Health check interval must be positive");
+		this.healthCheckInterval = healthCheckInterval;
+	}
+
+	/**
+	 * Specify the timeout in seconds to pass to {@link Connection#isValid(int)}
+	 * when checking a replica. Default is 5.
+	 */
+	public void setValidationTimeout(int validationTimeout) {
+		Assert.isTrue(validationTimeout >= 0, "Validation timeout must not be negative");
+		this.validationTimeout = validationTimeout;
+	}
+
+	/**
+	 * Specify for how long to skip a replica after failing to obtain a Connection
+	 * from it. The interval is doubled on each consecutive failure, up to the
+	 * {@link #setMaxRetryInterval maximum retry interval}. Default is 1 second.
+	 */
+	public void setRetryInterval(Duration retryInterval) {
+		Assert.isTrue(retryInterval != null && !retryInterval.isNegative(), "Retry interval must not be negative");
+		this.retryInterval = retryInterval;
+	}
+
+	/**
+	 * Specify the maximum interval for which to skip a replica after consecutive
+	 * failures to obtain a Connection from it. Default is 1 minute.
+	 * @see #setRetryInterval
+	 */
+	public void setMaxRetryInterval(Duration maxRetryInterval) {
+		Assert.isTrue(maxRetryInterval != null && !maxRetryInterval.isNegative(),
+				"Maximum retry interval must not be negative");
+		this.maxRetryInterval = maxRetryInterval;
+	}
+
+	/**
+	 * Set a strategy for determining how far a replica lags behind the primary,
+	 * for use in combination with {@link #setMaxReplicationLag}.
+	 */
+	public void setReplicationLagProbe(@Nullable ReplicationLagProbe replicationLagProbe) {
+		this.replicationLagProbe = replicationLagProbe;
+	}
+
+	/**
+	 * Specify the maximum replication lag that a replica may report through the
+	 * {@link #setReplicationLagProbe ReplicationLagProbe} in a health check
+	 * before it is considered unavailable. Default is none.
+	 */
+	public void setMaxReplicationLag(@Nullable Duration maxReplicationLag) {
+		this.maxReplicationLag = maxReplicationLag;
+	}
+
+
+	@Override
+	public void afterPropertiesSet() {
+		if (getPrimaryDataSource() == null) {
+			throw new IllegalArgumentException("Property 'primaryDataSource' is required");
+		}
+		if (this.healthCheckInterval != null && !this.replicas.isEmpty() && this.healthCheckExecutor == null) {
+			ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "ReplicaHealthCheck-" + getClass().getSimpleName());
+				thread.setDaemon(true);
+				return thread;
+			});
+			long interval = this.healthCheckInterval.toMillis();
+			executor.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+			this.healthCheckExecutor = executor;
+		}
+	}
+
+	/**
+	 * Stop the health check thread, if any.
+	 */
+	@Override
+	public void destroy() {
+		ScheduledExecutorService executor = this.healthCheckExecutor;
+		if (executor != null) {
+			this.healthCheckExecutor = null;
+			executor.shutdownNow();
+		}
+	}
+
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return determineConnection(null, null);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return determineConnection(username, password);
+	}
+
+	private Connection determineConnection(@Nullable String username, @Nullable String password) throws SQLException {
+		if (username != null) {
+			Credentials credentials = this.lastCredentials;
+			if (credentials == null || !credentials.matches(username, password)) {
+				this.lastCredentials = new Credentials(username, password);
+			}
+		}
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			Connection con = getReplicaConnection(username, password);
+			if (con != null) {
+				return con;
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("No replica available for read-only transaction - using primary DataSource");
+			}
+		}
+		DataSource primary = obtainPrimaryDataSource();
+		return (username != null ? primary.getConnection(username, password) : primary.getConnection());
+	}
+
+	@Nullable
+	private Connection getReplicaConnection(@Nullable String username, @Nullable String password) {
+		for (int attempt = 0; attempt < this.replicas.size(); attempt++) {
+			Replica replica = selectReplica();
+			if (replica == null) {
+				return null;
+			}
+			replica.outstanding.incrementAndGet();
+			try {
+				Connection con = (username != null ?
+						replica.dataSource.getConnection(username, password) : replica.dataSource.getConnection());
+				replica.connectionObtained();
+				return (Connection) Proxy.newProxyInstance(
+						ConnectionProxy.class.getClassLoader(),
+						new Class<?>[] {ConnectionProxy.class},
+						new ReplicaConnectionInvocationHandler(con, replica));
+			}
+			catch (SQLException | RuntimeException ex) {
+				replica.outstanding.decrementAndGet();
+				Duration retryAfter = replica.connectionFailed(this.retryInterval, this.maxRetryInterval);
+				if (logger.isWarnEnabled()) {
+					logger.warn("Skipping replica DataSource [" + replica.dataSource + "] for " + retryAfter +
+							" after failure to obtain Connection", ex);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Select the available replica with the fewest outstanding Connections,
+	 * starting from a rotating position so that ties are spread evenly.
+	 */
+	@Nullable
+	private Replica selectReplica() {
+		List<Replica> replicas = this.replicas;
+		int size = replicas.size();
+		if (size == 0) {
+			return null;
+		}
+		int offset = Math.floorMod(this.selectionCounter.getAndIncrement(), size);
+		Replica selected = null;
+		int minOutstanding = Integer.MAX_VALUE;
+		long now = System.nanoTime();
+		for (int i = 0; i < size; i++) {
+			Replica replica = replicas.get((offset + i) % size);
+			if (replica.isAvailable(now)) {
+				int outstanding = replica.outstanding.get();
+				if (outstanding < minOutstanding) {
+					selected = replica;
+					minOutstanding = outstanding;
+				}
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Check all replicas, marking each as available or unavailable depending on
+	 * whether a Connection can be obtained and validated and, if configured,
+	 * whether its replication lag is within the allowed maximum. Connections
+	 * are obtained with the credentials most recently passed to
+	 * {@link #getConnection(String, String)}, if any.
+	 * <p>Called periodically if a {@link #setHealthCheckInterval health check interval}
+	 * has been specified; may also be invoked explicitly.
+	 */
+	public void checkReplicas() {
+		for (Replica replica : this.replicas) {
+			boolean available = isHealthy(replica.dataSource);
+			if (available) {
+				replica.connectionObtained();
+			}
+			if (available != replica.available) {
+				replica.available = available;
+				if (logger.isInfoEnabled()) {
+					logger.info("Marking replica DataSource [" + replica.dataSource + "] as " +
+							(available ? "available" : "unavailable") + " after health check");
+				}
+			}
+		}
+	}
+
+	private boolean isHealthy(DataSource dataSource) {
+		Credentials credentials = this.lastCredentials;
+		try (Connection con = (credentials != null ?
+				dataSource.getConnection(credentials.username(), credentials.password()) : dataSource.getConnection())) {
+			if (!con.isValid(this.validationTimeout)) {
+				return false;
+			}
+			ReplicationLagProbe probe = this.replicationLagProbe;
+			Duration maxLag = this.maxReplicationLag;
+			if (probe != null && maxLag != null) {
+				Duration lag = probe.getReplicationLag(con);
+				if (lag == null || lag.compareTo(maxLag) > 0) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Replica DataSource [" + dataSource + "] reports replication lag " +
+								lag + " exceeding maximum of " + maxLag);
+					}
+					return false;
+				}
+			}
+			return true;
+		}
+		catch (SQLException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Health check failed for replica DataSource [" + dataSource + "]", ex);
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Return the number of replicas currently considered available,
+	 * i.e. neither found unhealthy nor within their retry interval.
+	 */
+	public int getAvailableReplicaCount() {
+		int count = 0;
+		long now = System.nanoTime();
+		for (Replica replica : this.replicas) {
+			if (replica.isAvailable(now)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private DataSource obtainPrimaryDataSource() {
+		DataSource primary = getPrimaryDataSource();
+		Assert.state(primary != null, "No primary DataSource set");
+		return primary;
+	}
+
+
+	/**
+	 * Strategy for determining the replication lag of a replica, typically
+	 * through a vendor-specific query on the given Connection.
+	 * @see #setReplicationLagProbe
+	 */
+	@FunctionalInterface
+	public interface ReplicationLagProbe {
+
+		/**
+		 * Determine how far the replica behind the given Connection lags
+		 * behind the primary.
+		 * @param con a Connection to the replica
+		 * @return the replication lag, or {@code null} if not determinable
+		 * (in which case the replica is considered unavailable)
+		 * @throws SQLException if thrown by JDBC methods
+		 */
+		@Nullable
+		Duration getReplicationLag(Connection con) throws SQLException;
+	}
+
+
+	/**
+	 * Runtime state for a replica DataSource.
+	 */
+	private static class Replica {
+
+		final DataSource dataSource;
+
+		final AtomicInteger outstanding = new AtomicInteger();
+
+		volatile boolean available = true;
+
+		private int consecutiveFailures;
+
+		private volatile long retryTime;
+
+		private volatile boolean retryPending;
+
+		Replica(DataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		boolean isAvailable(long now) {
+			return (this.available && (!this.retryPending || now - this.retryTime >= 0));
+		}
+
+		synchronized void connectionObtained() {
+			if (this.retryPending) {
+				this.retryPending = false;
+				this.consecutiveFailures = 0;
+			}
+		}
+
+		/**
+		 * Record a failure to obtain a Connection, returning the interval
+		 * for which to skip this replica.
+		 */
+		synchronized Duration connectionFailed(Duration retryInterval, Duration maxRetryInterval) {
+			int shift = Math.min(this.consecutiveFailures, 30);
+			this.consecutiveFailures++;
+			long nanos = retryInterval.toNanos();
+			long maxNanos = maxRetryInterval.toNanos();
+			long backoff = (nanos > (maxNanos >> shift) ? maxNanos : Math.min(nanos << shift, maxNanos));
+			this.retryTime = System.nanoTime() + backoff;
+			this.retryPending = true;
+			return Duration.ofNanos(backoff);
+		}
+	}
+
+
+	/**
+	 * Credentials passed to {@link #getConnection(String, String)}, used for health checks.
+	 */
+	private record Credentials(String username, @Nullable String password) {
+
+		boolean matches(String username, @Nullable String password) {
+			return (this.username.equals(username) && ObjectUtils.nullSafeEquals(this.password, password));
+		}
+	}
+
+
+	/**
+	 * Invocation handler that releases the outstanding request count of a
+	 * replica when the Connection obtained from it gets closed.
+	 */
+	private static class ReplicaConnectionInvocationHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private final Replica replica;
+
+		private boolean closed;
+
+		public ReplicaConnectionInvocationHandler(Connection target, Replica replica) {
+			this.target = target;
+			this.replica = replica;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			// Invocation on ConnectionProxy interface coming in...
+
+			switch (method.getName()) {
+				case "equals":
+					// Only consider equal when proxies are identical.
+					return (proxy == args[0]);
+				case "hashCode":
+					// Use hashCode of Connection proxy.
+					return System.identityHashCode(proxy);
+				case "close":
+					synchronized (this) {
+						if (!this.closed) {
+							this.closed = true;
+							this.replica.outstanding.decrementAndGet();
+						}
+					}
+					break;
+				case "getTargetConnection":
+					// Handle getTargetConnection method: return underlying Connection.
+					return this.target;
+				case "unwrap":
+					return (((Class<?>) args[0]).isInstance(proxy) ? proxy : this.target.unwrap((Class<?>) args[0]));
+				case "isWrapperFor":
+					return (((Class<?>) args[0]).isInstance(proxy) || this.target.isWrapperFor((Class<?>) args[0]));
+			}
+
+			// Invoke method on target Connection.
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.function.IntSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Integration tests for {@link JdbcTemplate#deferUpdate} against an embedded database.
+ */
+class JdbcTemplateDeferredUpdateTests {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate transactionTemplate;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(50))");
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.database));
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void deferredUpdatesExecutedOnCommit() {
+		IntSupplier rows = this.transactionTemplate.execute(status -> {
+			this.jdbcTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 1, "one");
+			return this.jdbcTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 2, "two");
+		});
+
+		assertThat(rows.getAsInt()).isEqualTo(1);
+		assertThat(countItems()).isEqualTo(2);
+	}
+
+	@Test
+	void deferredUpdatesDiscardedOnRollback() {
+		IntSupplier rows = this.transactionTemplate.execute(status -> {
+			IntSupplier result = this.jdbcTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 1, "one");
+			status.setRollbackOnly();
+			return result;
+		});
+
+		assertThatIllegalStateException().isThrownBy(rows::getAsInt);
+		assertThat(countItems()).isEqualTo(0);
+	}
+
+	@Test
+	void deferredUpdatesVisibleToQueries() {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.jdbcTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 1, "one");
+			assertThat(countItems()).isEqualTo(1);
+			this.jdbcTemplate.deferUpdate("UPDATE item SET name = ? WHERE id = ?", "uno", 1);
+			assertThat(this.jdbcTemplate.queryForObject("SELECT name FROM item WHERE id = 1", String.class))
+					.isEqualTo("uno");
+		});
+	}
+
+	@Test
+	void deferredUpdatesVisibleToOtherTemplates() {
+		NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(this.database);
+		JdbcTemplate otherTemplate = new JdbcTemplate(this.database);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			IntSupplier inserted = this.jdbcTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 1, "one");
+			assertThat(namedTemplate.update("UPDATE item SET name = :name WHERE id = :id",
+					new MapSqlParameterSource("name", "uno").addValue("id", 1)))
+					.isEqualTo(1);
+			assertThat(inserted.getAsInt()).isEqualTo(1);
+
+			otherTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 2, "two");
+			assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class)).isEqualTo(2);
+		});
+
+		assertThat(this.jdbcTemplate.queryForObject("SELECT name FROM item WHERE id = 1", String.class))
+				.isEqualTo("uno");
+		assertThat(countItems()).isEqualTo(2);
+	}
+
+	@Test
+	void deferredUpdatesDiscardedOnRollbackToSavepoint() {
+		TransactionTemplate nestedTemplate = new TransactionTemplate(this.transactionTemplate.getTransactionManager());
+		nestedTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			IntSupplier outer = this.jdbcTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 1, "one");
+			IntSupplier nested = nestedTemplate.execute(nestedStatus -> {
+				IntSupplier result = this.jdbcTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 2, "two");
+				nestedStatus.setRollbackOnly();
+				return result;
+			});
+			assertThat(outer.getAsInt()).isEqualTo(1);
+			assertThatIllegalStateException().isThrownBy(nested::getAsInt);
+			this.jdbcTemplate.deferUpdate("INSERT INTO item VALUES (?, ?)", 3, "three");
+		});
+
+		assertThat(this.jdbcTemplate.queryForList("SELECT id FROM item ORDER BY id", Integer.class))
+				.containsExactly(1, 3);
+	}
+
+
+	private int countItems() {
+		return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+	}
+
+}
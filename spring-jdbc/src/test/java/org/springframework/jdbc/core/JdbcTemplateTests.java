@@ -32,6 +32,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntSupplier;
 
 import javax.sql.DataSource;
 
@@ -49,11 +50,15 @@ import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
 import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.assertThatRuntimeException;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -776,6 +781,92 @@ public class JdbcTemplateTests {
 		verify(this.connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testDeferredUpdatesFlushedBeforeCommit() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final String otherSql = "DELETE FROM NOSUCHTABLE WHERE ID = ?";
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 0}, new int[] {1});
+		mockDatabaseMetaData(true);
+
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		IntSupplier first;
+		IntSupplier second;
+		IntSupplier third;
+
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			first = template.deferUpdate(sql, ps -> ps.setInt(1, 100));
+			second = template.deferUpdate(sql, ps -> ps.setInt(1, 200));
+			verify(this.preparedStatement, never()).executeBatch();
+
+			// A different statement flushes the pending batch first
+			third = template.deferUpdate(otherSql, ps -> ps.setInt(1, 300));
+			verify(this.preparedStatement, times(1)).executeBatch();
+			assertThat(first.getAsInt()).isEqualTo(1);
+			assertThat(second.getAsInt()).isEqualTo(0);
+
+			TransactionSynchronizationUtils.triggerBeforeCommit(false);
+			TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		}
+		finally {
+			TransactionSynchronizationManager.clear();
+		}
+
+		assertThat(third.getAsInt()).isEqualTo(1);
+		verify(this.connection).prepareStatement(sql);
+		verify(this.connection).prepareStatement(otherSql);
+		verify(this.preparedStatement, times(3)).addBatch();
+		verify(this.preparedStatement, times(2)).executeBatch();
+		verify(this.preparedStatement).setInt(1, 100);
+		verify(this.preparedStatement).setInt(1, 200);
+		verify(this.preparedStatement).setInt(1, 300);
+		verify(this.preparedStatement, never()).executeUpdate();
+	}
+
+	@Test
+	public void testDeferredUpdatesFlushedBeforeQueryAndDiscardedOnRollback() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1});
+		mockDatabaseMetaData(true);
+
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		IntSupplier discarded;
+
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			IntSupplier flushed = template.deferUpdate(sql, ps -> ps.setInt(1, 100));
+			// Another template instance for the same DataSource flushes as well
+			new JdbcTemplate(this.dataSource, false).query(
+					"SELECT ID FROM NOSUCHTABLE WHERE ID > ?", (RowCallbackHandler) rs -> {}, 0);
+			verify(this.preparedStatement).executeBatch();
+			assertThat(flushed.getAsInt()).isEqualTo(1);
+
+			discarded = template.deferUpdate(sql, ps -> ps.setInt(1, 200));
+			TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		}
+		finally {
+			TransactionSynchronizationManager.clear();
+		}
+
+		assertThatIllegalStateException().isThrownBy(discarded::getAsInt);
+		verify(this.preparedStatement).executeBatch();
+		verify(this.preparedStatement).setInt(1, 100);
+		verify(this.preparedStatement, never()).setInt(1, 200);
+	}
+
+	@Test
+	public void testDeferredUpdateWithoutTransactionExecutedImmediately() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+
+		IntSupplier rows = this.template.deferUpdate(sql, 100);
+
+		verify(this.preparedStatement).executeUpdate();
+		assertThat(rows.getAsInt()).isEqualTo(1);
+	}
+
 	@Test
 	public void testCouldNotGetConnectionForOperationOrExceptionTranslator() throws SQLException {
 		SQLException sqlException = new SQLException("foo", "07xxx");
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ReplicaRoutingDataSource}.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private final DataSource primary = mock(DataSource.class);
+
+	private final DataSource replica1 = mock(DataSource.class);
+
+	private final DataSource replica2 = mock(DataSource.class);
+
+	private final Connection primaryCon = mock(Connection.class);
+
+	private final Connection replicaCon1 = mock(Connection.class);
+
+	private final Connection replicaCon2 = mock(Connection.class);
+
+
+	@BeforeEach
+	void setup() throws SQLException {
+		given(this.primary.getConnection()).willReturn(this.primaryCon);
+		given(this.replica1.getConnection()).willReturn(this.replicaCon1);
+		given(this.replica2.getConnection()).willReturn(this.replicaCon2);
+		given(this.replicaCon1.isValid(anyInt())).willReturn(true);
+		given(this.replicaCon2.isValid(anyInt())).willReturn(true);
+	}
+
+	@AfterEach
+	void verifyTransactionSynchronizationManagerState() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		assertThat(TransactionSynchronizationManager.getResourceMap().isEmpty()).isTrue();
+	}
+
+
+	@Test
+	void primaryDataSourceRequired() {
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource();
+		dataSource.setReplicaDataSources(List.of(this.replica1));
+		assertThatIllegalArgumentException().isThrownBy(dataSource::afterPropertiesSet);
+	}
+
+	@Test
+	void usePrimaryOutsideOfReadOnlyTransaction() throws SQLException {
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(this.primary, List.of(this.replica1));
+		assertThat(dataSource.getConnection()).isSameAs(this.primaryCon);
+	}
+
+	@Test
+	void useReplicaWithFewestOutstandingConnections() throws SQLException {
+		ReplicaRoutingDataSource dataSource =
+				new ReplicaRoutingDataSource(this.primary, List.of(this.replica1, this.replica2));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Connection con1 = dataSource.getConnection();
+		Connection con2 = dataSource.getConnection();
+		assertThat(List.of(targetOf(con1), targetOf(con2))).containsExactlyInAnyOrder(this.replicaCon1, this.replicaCon2);
+
+		con1.close();
+		verify(targetOf(con1)).close();
+		Connection con3 = dataSource.getConnection();
+		assertThat(targetOf(con3)).isSameAs(targetOf(con1));
+		con2.close();
+		con3.close();
+	}
+
+	@Test
+	void fallBackToPrimaryWhenReplicasUnavailable() throws SQLException {
+		given(this.replica1.getConnection()).willThrow(new SQLException("down"));
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(this.primary, List.of(this.replica1));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(dataSource.getConnection()).isSameAs(this.primaryCon);
+		assertThat(dataSource.getAvailableReplicaCount()).isEqualTo(0);
+
+		given(this.replica1.getConnection()).willReturn(this.replicaCon1);
+		dataSource.checkReplicas();
+		assertThat(dataSource.getAvailableReplicaCount()).isEqualTo(1);
+		assertThat(targetOf(dataSource.getConnection())).isSameAs(this.replicaCon1);
+	}
+
+	@Test
+	void retryReplicaAfterTransientFailure() throws Exception {
+		given(this.replica1.getConnection()).willThrow(new SQLException("down")).willReturn(this.replicaCon1);
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(this.primary, List.of(this.replica1));
+		dataSource.setRetryInterval(Duration.ofMillis(50));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(dataSource.getConnection()).isSameAs(this.primaryCon);
+		assertThat(dataSource.getConnection()).isSameAs(this.primaryCon);
+		verify(this.replica1, times(1)).getConnection();
+
+		Thread.sleep(100);
+		assertThat(dataSource.getAvailableReplicaCount()).isEqualTo(1);
+		assertThat(targetOf(dataSource.getConnection())).isSameAs(this.replicaCon1);
+	}
+
+	@Test
+	void retryIntervalDoubledOnConsecutiveFailures() throws Exception {
+		given(this.replica1.getConnection()).willThrow(new SQLException("down"));
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(this.primary, List.of(this.replica1));
+		dataSource.setRetryInterval(Duration.ofMillis(200));
+		dataSource.setMaxRetryInterval(Duration.ofMinutes(1));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		dataSource.getConnection();
+		Thread.sleep(300);
+		dataSource.getConnection();
+		verify(this.replica1, times(2)).getConnection();
+
+		Thread.sleep(200);
+		assertThat(dataSource.getAvailableReplicaCount()).isEqualTo(0);
+		assertThat(dataSource.getConnection()).isSameAs(this.primaryCon);
+		verify(this.replica1, times(2)).getConnection();
+	}
+
+	@Test
+	void healthCheckUsesCredentialsFromGetConnection() throws SQLException {
+		given(this.primary.getConnection("user", "secret")).willReturn(this.primaryCon);
+		given(this.replica1.getConnection()).willThrow(new SQLException("no credentials"));
+		given(this.replica1.getConnection("user", "secret")).willReturn(this.replicaCon1);
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(this.primary, List.of(this.replica1));
+
+		assertThat(dataSource.getConnection("user", "secret")).isSameAs(this.primaryCon);
+		dataSource.checkReplicas();
+
+		verify(this.replica1).getConnection("user", "secret");
+		assertThat(dataSource.getAvailableReplicaCount()).isEqualTo(1);
+	}
+
+	@Test
+	void ejectReplicaExceedingMaxReplicationLag() throws SQLException {
+		ReplicaRoutingDataSource dataSource =
+				new ReplicaRoutingDataSource(this.primary, List.of(this.replica1, this.replica2));
+		dataSource.setReplicationLagProbe(con -> (con == this.replicaCon1 ? Duration.ofMinutes(1) : Duration.ZERO));
+		dataSource.setMaxReplicationLag(Duration.ofSeconds(10));
+		dataSource.checkReplicas();
+		assertThat(dataSource.getAvailableReplicaCount()).isEqualTo(1);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(targetOf(dataSource.getConnection())).isSameAs(this.replicaCon2);
+		assertThat(targetOf(dataSource.getConnection())).isSameAs(this.replicaCon2);
+	}
+
+	@Test
+	void routeReadOnlyTransactionThroughLazyConnectionDataSourceProxy() throws SQLException {
+		Statement statement = mock(Statement.class);
+		given(this.primaryCon.createStatement()).willReturn(statement);
+		given(this.replicaCon1.createStatement()).willReturn(statement);
+		ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(this.primary, List.of(this.replica1));
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+		dataSource.setTargetDataSource(routingDataSource);
+		dataSource.setDefaultAutoCommit(true);
+		dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+		dataSource.afterPropertiesSet();
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+		tt.setReadOnly(true);
+		tt.executeWithoutResult(status -> executeStatement(dataSource));
+		verify(this.replicaCon1).createStatement();
+		verify(this.replicaCon1).commit();
+		verify(this.replicaCon1).close();
+
+		tt.setReadOnly(false);
+		tt.executeWithoutResult(status -> executeStatement(dataSource));
+		verify(this.primaryCon).createStatement();
+		verify(this.primaryCon).commit();
+		verify(this.primaryCon).close();
+	}
+
+
+	private static Connection targetOf(Connection con) {
+		return ((ConnectionProxy) con).getTargetConnection();
+	}
+
+	private static void executeStatement(DataSource dataSource) {
+		try {
+			DataSourceUtils.getConnection(dataSource).createStatement().execute("SELECT 1");
+		}
+		catch (SQLException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -301,6 +301,12 @@ public class CachingConnectionFactory extends SingleConnectionFactory {
 
 		private final Map<DestinationCacheKey, MessageProducer> cachedProducers = new HashMap<>();
 
+		@Nullable
+		private Destination lastProducerDestination;
+
+		@Nullable
+		private MessageProducer lastProducer;
+
 		private final Map<ConsumerCacheKey, MessageConsumer> cachedConsumers = new HashMap<>();
 
 		private boolean transactionOpen = false;
@@ -417,20 +423,28 @@ public class CachingConnectionFactory extends SingleConnectionFactory {
 		}
 
 		private MessageProducer getCachedProducer(@Nullable Destination dest) throws JMSException {
-			DestinationCacheKey cacheKey = (dest != null ? new DestinationCacheKey(dest) : null);
-			MessageProducer producer = this.cachedProducers.get(cacheKey);
-			if (producer != null) {
-				if (logger.isTraceEnabled()) {
-					logger.trace("Found cached JMS MessageProducer for destination [" + dest + "]: " + producer);
+			MessageProducer producer = this.lastProducer;
+			if (producer == null || dest != this.lastProducerDestination) {
+				// Not the same destination as last time -> look up by destination key.
+				DestinationCacheKey cacheKey = (dest != null ? new DestinationCacheKey(dest) : null);
+				producer = this.cachedProducers.get(cacheKey);
+				if (producer != null) {
+					if (logger.isTraceEnabled()) {
+						logger.trace("Found cached JMS MessageProducer for destination [" + dest + "]: " + producer);
+					}
 				}
-			}
-			else {
-				producer = this.target.createProducer(dest);
-				if (logger.isDebugEnabled()) {
-					logger.debug("Registering cached JMS MessageProducer for destination [" + dest + "]: " + producer);
+				else {
+					producer = this.target.createProducer(dest);
+					if (logger.isDebugEnabled()) {
+						logger.debug("Registering cached JMS MessageProducer for destination [" + dest + "]: " + producer);
+					}
+					this.cachedProducers.put(cacheKey, producer);
 				}
-				this.cachedProducers.put(cacheKey, producer);
+				this.lastProducerDestination = dest;
+				this.lastProducer = producer;
 			}
+			// A separate decorator per caller, so that a late close() cannot reset
+			// the settings of whoever uses the cached producer at that point
 			return new CachedMessageProducer(producer);
 		}
 
@@ -512,6 +526,8 @@ public class CachingConnectionFactory extends SingleConnectionFactory {
 			}
 			finally {
 				this.cachedProducers.clear();
+				this.lastProducerDestination = null;
+				this.lastProducer = null;
 				this.cachedConsumers.clear();
 				// Now actually close the Session.
 				this.target.close();
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jms.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.util.Assert;
+
+/**
+ * Pipelined sender that groups individual send operations into batches, each
+ * sent and committed within a single transacted JMS Session obtained from the
+ * given {@link JmsTemplate}. This amortizes the cost of a commit, which
+ * typically involves a synchronous round trip to the JMS provider, across
+ * many messages.
+ *
+ * <p>Send operations are queued and return immediately. Queued sends are
+ * drained on the given {@link Executor}, taking up to
+ * {@link #setBatchSize batchSize} messages per transaction and task. The
+ * returned future completes once the transaction containing the message has
+ * been committed, or completes exceptionally if the batch has been rolled
+ * back or the executor rejects the task to send it.
+ * Within a batch, messages for the same destination are sent with the same
+ * MessageProducer.
+ *
+ * <p>The given JmsTemplate must be configured with
+ * {@link JmsTemplate#setSessionTransacted "sessionTransacted"} set to
+ * {@code true}, and should use a
+ * {@link org.springframework.jms.connection.CachingConnectionFactory}
+ * so that Sessions and MessageProducers are reused across batches.
+ * Message order is preserved as long as sends are only drained on the
+ * executor, i.e. unless {@link #flush()} is invoked concurrently.
+ *
+ * @since 6.0
+ * @see JmsTemplate#sendAsync(Destination, MessageCreator)
+ */
+public class BatchingMessageSender implements DisposableBean {
+
+	/**
+	 * The default maximum number of messages sent within one transaction.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+
+	private final JmsTemplate jmsTemplate;
+
+	private final Executor executor;
+
+	private final Queue<PendingSend> pendingSends = new ConcurrentLinkedQueue<>();
+
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	private volatile int batchSize = DEFAULT_BATCH_SIZE;
+
+
+	/**
+	 * Create a new {@code BatchingMessageSender}.
+	 * @param jmsTemplate the template to obtain transacted Sessions from
+	 * @param executor the executor to send queued messages on
+	 */
+	public BatchingMessageSender(JmsTemplate jmsTemplate, Executor executor) {
+		Assert.notNull(jmsTemplate, "JmsTemplate must not be null");
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(jmsTemplate.isSessionTransacted(), "JmsTemplate must be configured for transacted Sessions");
+		this.jmsTemplate = jmsTemplate;
+		this.executor = executor;
+	}
+
+
+	/**
+	 * Set the maximum number of messages to send within one transaction.
+	 * <p>By default this is set to {@link #DEFAULT_BATCH_SIZE}.
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "'batchSize' must be positive");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Return the maximum number of messages to send within one transaction.
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Return the number of queued messages that have not been sent yet.
+	 */
+	public int getPendingCount() {
+		return this.pendingSends.size();
+	}
+
+
+	/**
+	 * Queue a message for the given destination.
+	 * @param destination the destination to send the message to
+	 * @param messageCreator callback to create the message
+	 * @return a future that completes once the message has been committed
+	 */
+	public CompletableFuture<Void> send(Destination destination, MessageCreator messageCreator) {
+		Assert.notNull(destination, "Destination must not be null");
+		return enqueue(destination, messageCreator);
+	}
+
+	/**
+	 * Queue a message for the given destination.
+	 * @param destinationName the name of the destination to send the message to
+	 * (to be resolved to an actual destination by the template's DestinationResolver)
+	 * @param messageCreator callback to create the message
+	 * @return a future that completes once the message has been committed
+	 */
+	public CompletableFuture<Void> send(String destinationName, MessageCreator messageCreator) {
+		Assert.notNull(destinationName, "Destination name must not be null");
+		return enqueue(destinationName, messageCreator);
+	}
+
+	/**
+	 * Queue the given object for the given destination, converting it to a
+	 * JMS message with the template's MessageConverter.
+	 * @param destination the destination to send the message to
+	 * @param message the object to convert to a message
+	 * @return a future that completes once the message has been committed
+	 */
+	public CompletableFuture<Void> convertAndSend(Destination destination, Object message) {
+		return send(destination, session -> toMessage(message, session));
+	}
+
+	/**
+	 * Queue the given object for the given destination, converting it to a
+	 * JMS message with the template's MessageConverter.
+	 * @param destinationName the name of the destination to send the message to
+	 * (to be resolved to an actual destination by the template's DestinationResolver)
+	 * @param message the object to convert to a message
+	 * @return a future that completes once the message has been committed
+	 */
+	public CompletableFuture<Void> convertAndSend(String destinationName, Object message) {
+		return send(destinationName, session -> toMessage(message, session));
+	}
+
+	/**
+	 * Send all queued messages on the calling thread.
+	 */
+	public void flush() {
+		while (sendBatch()) {
+			// Keep draining until the queue is empty
+		}
+	}
+
+	/**
+	 * Send all queued messages before shutdown.
+	 */
+	@Override
+	public void destroy() {
+		flush();
+	}
+
+
+	private CompletableFuture<Void> enqueue(Object destination, MessageCreator messageCreator) {
+		Assert.notNull(messageCreator, "MessageCreator must not be null");
+		PendingSend pendingSend = new PendingSend(destination, messageCreator, new CompletableFuture<>());
+		this.pendingSends.add(pendingSend);
+		try {
+			scheduleFlush();
+		}
+		catch (RejectedExecutionException ex) {
+			this.pendingSends.remove(pendingSend);
+			throw ex;
+		}
+		return pendingSend.future();
+	}
+
+	private void scheduleFlush() {
+		if (this.flushScheduled.compareAndSet(false, true)) {
+			try {
+				this.executor.execute(this::drain);
+			}
+			catch (RejectedExecutionException ex) {
+				this.flushScheduled.set(false);
+				throw ex;
+			}
+		}
+	}
+
+	private void drain() {
+		try {
+			sendBatch();
+		}
+		finally {
+			this.flushScheduled.set(false);
+			// Re-check for remaining sends, and for sends queued after the last poll
+			if (!this.pendingSends.isEmpty()) {
+				try {
+					scheduleFlush();
+				}
+				catch (RejectedExecutionException ex) {
+					// Nobody else is going to send these...
+					failPendingSends(ex);
+				}
+			}
+		}
+	}
+
+	private void failPendingSends(Throwable ex) {
+		PendingSend pendingSend;
+		while ((pendingSend = this.pendingSends.poll()) != null) {
+			pendingSend.future().completeExceptionally(ex);
+		}
+	}
+
+	/**
+	 * Send up to {@code batchSize} queued messages within one transaction.
+	 * @return {@code false} if there were no queued messages
+	 */
+	private boolean sendBatch() {
+		int batchSize = this.batchSize;
+		List<PendingSend> batch = new ArrayList<>(Math.min(batchSize, this.pendingSends.size() + 1));
+		PendingSend pendingSend;
+		while (batch.size() < batchSize && (pendingSend = this.pendingSends.poll()) != null) {
+			batch.add(pendingSend);
+		}
+		if (batch.isEmpty()) {
+			return false;
+		}
+		try {
+			this.jmsTemplate.execute(session -> {
+				doSendBatch(session, batch);
+				return null;
+			}, false);
+		}
+		catch (Throwable ex) {
+			for (PendingSend failed : batch) {
+				failed.future().completeExceptionally(ex);
+			}
+			return true;
+		}
+		for (PendingSend sent : batch) {
+			sent.future().complete(null);
+		}
+		return true;
+	}
+
+	private void doSendBatch(Session session, List<PendingSend> batch) throws JMSException {
+		boolean locallyTransacted = (session.getTransacted() && this.jmsTemplate.isSessionLocallyTransacted(session));
+		Map<Object, MessageProducer> producers = new HashMap<>();
+		try {
+			for (PendingSend pendingSend : batch) {
+				MessageProducer producer = producers.get(pendingSend.destination());
+				if (producer == null) {
+					producer = this.jmsTemplate.createProducer(session, resolveDestination(session, pendingSend));
+					producers.put(pendingSend.destination(), producer);
+				}
+				Message message = pendingSend.messageCreator().createMessage(session);
+				this.jmsTemplate.doSend(producer, message);
+			}
+			if (locallyTransacted) {
+				JmsUtils.commitIfNecessary(session);
+			}
+		}
+		catch (JMSException | RuntimeException ex) {
+			if (locallyTransacted) {
+				JmsUtils.rollbackIfNecessary(session);
+			}
+			throw ex;
+		}
+		finally {
+			for (MessageProducer producer : producers.values()) {
+				JmsUtils.closeMessageProducer(producer);
+			}
+		}
+	}
+
+	private Message toMessage(Object message, Session session) throws JMSException {
+		MessageConverter converter = this.jmsTemplate.getMessageConverter();
+		Assert.state(converter != null, "No 'messageConverter' specified. Check configuration of JmsTemplate.");
+		return converter.toMessage(message, session);
+	}
+
+	private Destination resolveDestination(Session session, PendingSend pendingSend) throws JMSException {
+		if (pendingSend.destination() instanceof Destination destination) {
+			return destination;
+		}
+		return this.jmsTemplate.getDestinationResolver().resolveDestinationName(
+				session, (String) pendingSend.destination(), this.jmsTemplate.isPubSubDomain());
+	}
+
+
+	private record PendingSend(Object destination, MessageCreator messageCreator, CompletableFuture<Void> future) {
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.jms.core;
 
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.jms.CompletionListener;
 import jakarta.jms.Connection;
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.DeliveryMode;
@@ -636,6 +639,159 @@ public class JmsTemplate extends JmsDestinationAccessor implements JmsOperations
 	}
 
 
+	//---------------------------------------------------------------------------------------
+	// Convenience methods for sending messages asynchronously
+	//---------------------------------------------------------------------------------------
+
+	/**
+	 * Send a message to the specified destination asynchronously, based on the
+	 * JMS 2.0 {@link CompletionListener} contract. The returned future completes
+	 * once the JMS provider has acknowledged the message.
+	 * <p>Note that the JMS Session and MessageProducer used for the send operation
+	 * are closed or released when this method returns, and closing a physical
+	 * Session or MessageProducer blocks until all pending sends have completed.
+	 * Hence, the send is only effectively asynchronous with a
+	 * {@link org.springframework.jms.connection.CachingConnectionFactory} that
+	 * caches Sessions and MessageProducers. Also note that asynchronous sends are
+	 * not permitted within a Jakarta EE web or EJB container.
+	 * @param destination the destination to send this message to
+	 * @param messageCreator callback to create a message
+	 * @return a future for the message as sent
+	 * @throws JmsException checked JMSException converted to unchecked,
+	 * if the message could not be handed to the JMS provider
+	 * @since 6.0
+	 * @see MessageProducer#send(Message, CompletionListener)
+	 */
+	public CompletableFuture<Message> sendAsync(Destination destination, MessageCreator messageCreator)
+			throws JmsException {
+
+		CompletableFuture<Message> future = execute(session -> doSendAsync(session, destination, messageCreator), false);
+		Assert.state(future != null, "No CompletableFuture returned");
+		return future;
+	}
+
+	/**
+	 * Send a message to the specified destination asynchronously.
+	 * @param destinationName the name of the destination to send this message to
+	 * (to be resolved to an actual destination by a DestinationResolver)
+	 * @param messageCreator callback to create a message
+	 * @return a future for the message as sent
+	 * @throws JmsException checked JMSException converted to unchecked,
+	 * if the message could not be handed to the JMS provider
+	 * @since 6.0
+	 * @see #sendAsync(Destination, MessageCreator)
+	 */
+	public CompletableFuture<Message> sendAsync(String destinationName, MessageCreator messageCreator)
+			throws JmsException {
+
+		CompletableFuture<Message> future = execute(session -> {
+			Destination destination = resolveDestinationName(session, destinationName);
+			return doSendAsync(session, destination, messageCreator);
+		}, false);
+		Assert.state(future != null, "No CompletableFuture returned");
+		return future;
+	}
+
+	/**
+	 * Send the given object to the specified destination asynchronously,
+	 * converting the object to a JMS message with the configured MessageConverter.
+	 * @param destination the destination to send this message to
+	 * @param message the object to convert to a message
+	 * @return a future for the message as sent
+	 * @throws JmsException converted checked JMSException to unchecked
+	 * @since 6.0
+	 * @see #sendAsync(Destination, MessageCreator)
+	 */
+	public CompletableFuture<Message> convertAndSendAsync(Destination destination, Object message)
+			throws JmsException {
+
+		return sendAsync(destination, session -> getRequiredMessageConverter().toMessage(message, session));
+	}
+
+	/**
+	 * Send the given object to the specified destination asynchronously,
+	 * converting the object to a JMS message with the configured MessageConverter.
+	 * @param destinationName the name of the destination to send this message to
+	 * (to be resolved to an actual destination by a DestinationResolver)
+	 * @param message the object to convert to a message
+	 * @return a future for the message as sent
+	 * @throws JmsException converted checked JMSException to unchecked
+	 * @since 6.0
+	 * @see #sendAsync(String, MessageCreator)
+	 */
+	public CompletableFuture<Message> convertAndSendAsync(String destinationName, Object message)
+			throws JmsException {
+
+		return sendAsync(destinationName, session -> getRequiredMessageConverter().toMessage(message, session));
+	}
+
+	/**
+	 * Send the given JMS message asynchronously.
+	 * @param session the JMS Session to operate on
+	 * @param destination the JMS Destination to send to
+	 * @param messageCreator callback to create a JMS Message
+	 * @return a future for the message as sent
+	 * @throws JMSException if thrown by JMS API methods
+	 * @since 6.0
+	 */
+	protected CompletableFuture<Message> doSendAsync(Session session, Destination destination,
+			MessageCreator messageCreator) throws JMSException {
+
+		Assert.notNull(messageCreator, "MessageCreator must not be null");
+		CompletableFuture<Message> future = new CompletableFuture<>();
+		MessageProducer producer = createProducer(session, destination);
+		try {
+			Message message = messageCreator.createMessage(session);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Sending created message asynchronously: " + message);
+			}
+			doSend(producer, message, new CompletionListener() {
+				@Override
+				public void onCompletion(Message message) {
+					future.complete(message);
+				}
+				@Override
+				public void onException(Message message, Exception ex) {
+					future.completeExceptionally(ex instanceof JMSException jmsException ?
+							convertJmsAccessException(jmsException) : ex);
+				}
+			});
+			// Check commit - avoid commit call within a JTA transaction.
+			if (session.getTransacted() && isSessionLocallyTransacted(session)) {
+				// Transacted session created by this template -> commit.
+				JmsUtils.commitIfNecessary(session);
+			}
+		}
+		finally {
+			JmsUtils.closeMessageProducer(producer);
+		}
+		return future;
+	}
+
+	/**
+	 * Actually send the given JMS message asynchronously, notifying the given
+	 * listener once the JMS provider has acknowledged the message.
+	 * @param producer the JMS MessageProducer to send with
+	 * @param message the JMS Message to send
+	 * @param completionListener the listener to notify on completion
+	 * @throws JMSException if thrown by JMS API methods
+	 * @since 6.0
+	 */
+	protected void doSend(MessageProducer producer, Message message, CompletionListener completionListener)
+			throws JMSException {
+
+		if (this.deliveryDelay >= 0) {
+			producer.setDeliveryDelay(this.deliveryDelay);
+		}
+		if (isExplicitQosEnabled()) {
+			producer.send(message, getDeliveryMode(), getPriority(), getTimeToLive(), completionListener);
+		}
+		else {
+			producer.send(message, completionListener);
+		}
+	}
+
+
 	//---------------------------------------------------------------------------------------
 	// Convenience methods for sending auto-converted messages
 	//---------------------------------------------------------------------------------------
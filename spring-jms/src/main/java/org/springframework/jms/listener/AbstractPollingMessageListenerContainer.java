@@ -16,6 +16,10 @@
 
 package org.springframework.jms.listener;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import jakarta.jms.Connection;
 import jakarta.jms.Destination;
 import jakarta.jms.JMSException;
@@ -48,6 +52,11 @@ import org.springframework.util.Assert;
  * to the concrete implementation. The receive timeout for each attempt can be
  * configured through the {@link #setReceiveTimeout "receiveTimeout"} property.
  *
+ * <p>Each attempt may also receive a batch of messages through the
+ * {@link #setBatchSize "batchSize"} and {@link #setBatchReceiveTimeout
+ * "batchReceiveTimeout"} properties, invoking a {@link BatchMessageListener}
+ * once per batch and committing or acknowledging the entire batch at once.
+ *
  * <p>The underlying mechanism is based on standard JMS MessageConsumer handling,
  * which is perfectly compatible with both native JMS and JMS in a Jakarta EE environment.
  * Neither the JMS {@code MessageConsumer.setMessageListener} facility  nor the JMS
@@ -95,6 +104,10 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 
 	private long receiveTimeout = DEFAULT_RECEIVE_TIMEOUT;
 
+	private int batchSize = 1;
+
+	private long batchReceiveTimeout = 0;
+
 
 	@Override
 	public void setSessionTransacted(boolean sessionTransacted) {
@@ -183,6 +196,60 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 		return this.receiveTimeout;
 	}
 
+	/**
+	 * Specify the maximum number of messages to receive in a single attempt,
+	 * processing them within the same transaction or acknowledgement scope.
+	 * <p>Default is 1, receiving and processing one message at a time. With a
+	 * higher value, further messages are received right after the first one, up
+	 * to the given number or until the {@link #setBatchReceiveTimeout "batchReceiveTimeout"}
+	 * elapses. A {@link BatchMessageListener} is then invoked once for the entire
+	 * batch, whereas any other listener is invoked for each message in turn.
+	 * The batch is committed (or acknowledged) once after processing and rolled
+	 * back (or recovered) as a whole if the listener throws an exception, for
+	 * local JMS transactions as well as for an external
+	 * {@link #setTransactionManager "transactionManager"}.
+	 * <p><b>NOTE:</b> The receive time for a batch adds up to the
+	 * {@link #setReceiveTimeout "receiveTimeout"} plus the batch receive timeout,
+	 * which needs to be smaller than the transaction timeout, if any.
+	 * @since 6.0
+	 * @see #setBatchReceiveTimeout
+	 * @see BatchMessageListener
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "'batchSize' must be positive");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Return the maximum number of messages to receive in a single attempt.
+	 * @since 6.0
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Set the maximum time to wait for further messages once the first message
+	 * of a batch has been received, in <b>milliseconds</b>.
+	 * <p>Default is 0, only adding messages to the batch that can be received
+	 * without waiting. Only applies if the {@link #setBatchSize "batchSize"} is
+	 * greater than 1.
+	 * @since 6.0
+	 * @see #setBatchSize
+	 */
+	public void setBatchReceiveTimeout(long batchReceiveTimeout) {
+		Assert.isTrue(batchReceiveTimeout >= 0, "'batchReceiveTimeout' must not be negative");
+		this.batchReceiveTimeout = batchReceiveTimeout;
+	}
+
+	/**
+	 * Return the maximum time (ms) to wait for further messages of a batch.
+	 * @since 6.0
+	 */
+	public long getBatchReceiveTimeout() {
+		return this.batchReceiveTimeout;
+	}
+
 
 	@Override
 	public void initialize() {
@@ -315,8 +382,10 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 			}
 			Message message = receiveMessage(consumerToUse);
 			if (message != null) {
+				List<Message> batch = (this.batchSize > 1 ? receiveBatch(consumerToUse, message) : null);
 				if (logger.isDebugEnabled()) {
-					logger.debug("Received message of type [" + message.getClass() + "] from consumer [" +
+					logger.debug("Received " + (batch != null ? "batch of " + batch.size() + " messages" :
+							"message of type [" + message.getClass() + "]") + " from consumer [" +
 							consumerToUse + "] of " + (transactional ? "transactional " : "") + "session [" +
 							sessionToUse + "]");
 				}
@@ -328,7 +397,12 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 							obtainConnectionFactory(), new LocallyExposedJmsResourceHolder(sessionToUse));
 				}
 				try {
-					doExecuteListener(sessionToUse, message);
+					if (batch != null) {
+						doExecuteListener(sessionToUse, batch);
+					}
+					else {
+						doExecuteListener(sessionToUse, message);
+					}
 				}
 				catch (Throwable ex) {
 					if (status != null) {
@@ -431,6 +505,38 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 		return receiveFromConsumer(consumer, getReceiveTimeout());
 	}
 
+	/**
+	 * Receive further messages from the given consumer, completing a batch
+	 * that starts with the given message.
+	 * @param consumer the MessageConsumer to use
+	 * @param firstMessage the first message of the batch, already received
+	 * @return the batch of messages, in receive order
+	 * @throws JMSException if thrown by JMS methods
+	 * @since 6.0
+	 * @see #setBatchSize
+	 * @see #setBatchReceiveTimeout
+	 */
+	protected List<Message> receiveBatch(MessageConsumer consumer, Message firstMessage) throws JMSException {
+		List<Message> messages = new ArrayList<>(Math.min(this.batchSize, 64));
+		messages.add(firstMessage);
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.batchReceiveTimeout);
+		while (messages.size() < this.batchSize && isRunning()) {
+			long timeout = -1;
+			if (this.batchReceiveTimeout > 0) {
+				timeout = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (timeout <= 0) {
+					break;
+				}
+			}
+			Message message = receiveFromConsumer(consumer, timeout);
+			if (message == null) {
+				break;
+			}
+			messages.add(message);
+		}
+		return messages;
+	}
+
 	/**
 	 * Template method that gets called right when a new message has been received,
 	 * before attempting to process it. Allows subclasses to react to the event
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jms.listener;
+
+import java.util.List;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+
+/**
+ * Variant of {@link SessionAwareMessageListener} that processes a batch of
+ * messages received from the same JMS Session in a single invocation.
+ *
+ * <p>Supported by Spring's {@link DefaultMessageListenerContainer} in
+ * combination with a {@link AbstractPollingMessageListenerContainer#setBatchSize
+ * "batchSize"} greater than 1, in which case the entire batch is committed or
+ * acknowledged once after the listener returns. Other listener containers
+ * invoke such a listener with one message at a time.
+ *
+ * @since 6.0
+ * @see AbstractPollingMessageListenerContainer#setBatchSize
+ * @see AbstractPollingMessageListenerContainer#setBatchReceiveTimeout
+ */
+@FunctionalInterface
+public interface BatchMessageListener {
+
+	/**
+	 * Callback for processing a batch of received JMS messages.
+	 * <p>Implementors are supposed to process all given messages; an exception
+	 * thrown for any of them rolls back (or recovers) the entire batch.
+	 * @param messages the received JMS messages, in receive order (never empty)
+	 * @param session the underlying JMS Session (never {@code null})
+	 * @throws JMSException if thrown by JMS methods
+	 */
+	void onMessages(List<Message> messages, Session session) throws JMSException;
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.jms.listener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The load of the consumers of a message listener container over a
+ * sampling interval, as passed to a {@link ConsumerScalingPolicy}.
+ *
+ * @since 6.0
+ * @see ConsumerScalingPolicy
+ */
+public final class ConsumerLoad {
+
+	private final int consumerCount;
+
+	private final long intervalNanos;
+
+	private final long receiveCount;
+
+	private final long messageCount;
+
+	private final long idleReceiveCount;
+
+	private final long busyTimeNanos;
+
+
+	/**
+	 * Create a new {@code ConsumerLoad}.
+	 * @param consumerCount the number of consumers at the end of the interval
+	 * @param intervalNanos the length of the interval in nanoseconds
+	 * @param receiveCount the number of receive attempts that returned messages
+	 * @param messageCount the number of messages received
+	 * @param idleReceiveCount the number of receive attempts that returned no message
+	 * @param busyTimeNanos the time spent processing and committing messages
+	 */
+	public ConsumerLoad(int consumerCount, long intervalNanos, long receiveCount,
+			long messageCount, long idleReceiveCount, long busyTimeNanos) {
+
+		this.consumerCount = consumerCount;
+		this.intervalNanos = intervalNanos;
+		this.receiveCount = receiveCount;
+		this.messageCount = messageCount;
+		this.idleReceiveCount = idleReceiveCount;
+		this.busyTimeNanos = busyTimeNanos;
+	}
+
+
+	/**
+	 * Return the number of consumers at the end of the interval.
+	 */
+	public int getConsumerCount() {
+		return this.consumerCount;
+	}
+
+	/**
+	 * Return the length of the interval in nanoseconds.
+	 */
+	public long getIntervalNanos() {
+		return this.intervalNanos;
+	}
+
+	/**
+	 * Return the number of receive attempts that returned messages.
+	 */
+	public long getReceiveCount() {
+		return this.receiveCount;
+	}
+
+	/**
+	 * Return the number of messages received.
+	 */
+	public long getMessageCount() {
+		return this.messageCount;
+	}
+
+	/**
+	 * Return the number of receive attempts that returned no message.
+	 */
+	public long getIdleReceiveCount() {
+		return this.idleReceiveCount;
+	}
+
+	/**
+	 * Return the time spent processing and committing messages, summed up
+	 * across consumers, in nanoseconds.
+	 */
+	public long getBusyTimeNanos() {
+		return this.busyTimeNanos;
+	}
+
+	/**
+	 * Return the number of messages received per second.
+	 */
+	public double getMessageRate() {
+		return (this.intervalNanos > 0 ?
+				(double) this.messageCount * TimeUnit.SECONDS.toNanos(1) / this.intervalNanos : 0);
+	}
+
+	/**
+	 * Return the average time spent processing and committing the messages
+	 * of a receive attempt, in nanoseconds.
+	 */
+	public long getAverageLatencyNanos() {
+		return (this.receiveCount > 0 ? this.busyTimeNanos / this.receiveCount : 0);
+	}
+
+	/**
+	 * Return the ratio of receive attempts that returned no message,
+	 * between 0 and 1.
+	 */
+	public double getIdleRatio() {
+		long attempts = this.receiveCount + this.idleReceiveCount;
+		return (attempts > 0 ? (double) this.idleReceiveCount / attempts : 0);
+	}
+
+	/**
+	 * Return the ratio of the available consumer time spent processing and
+	 * committing messages, between 0 and 1.
+	 */
+	public double getUtilization() {
+		if (this.consumerCount <= 0 || this.intervalNanos <= 0) {
+			return 0;
+		}
+		return Math.min(1, (double) this.busyTimeNanos / ((double) this.consumerCount * this.intervalNanos));
+	}
+
+	@Override
+	public String toString() {
+		return "ConsumerLoad[consumers=" + this.consumerCount + ", messages=" + this.messageCount +
+				", idleReceives=" + this.idleReceiveCount + ", utilization=" + getUtilization() + "]";
+	}
+
+}
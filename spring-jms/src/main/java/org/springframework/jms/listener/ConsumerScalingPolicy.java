@@ -0,0 +1,46 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.jms.listener;
+
+/**
+ * Strategy for dynamically adapting the number of consumers of a
+ * {@link DefaultMessageListenerContainer} to the measured load, as an
+ * alternative to the container's built-in idle-based heuristics.
+ *
+ * <p>The container periodically samples the activity of its consumers and
+ * passes the {@link ConsumerLoad} of the last interval to the policy, which
+ * decides how many consumers to add or to retire. The container keeps the
+ * number of consumers within the configured "concurrentConsumers" and
+ * "maxConcurrentConsumers" bounds in any case.
+ *
+ * @since 6.0
+ * @see DefaultMessageListenerContainer#setConsumerScalingPolicy
+ * @see UtilizationConsumerScalingPolicy
+ */
+@FunctionalInterface
+public interface ConsumerScalingPolicy {
+
+	/**
+	 * Determine the change in the number of consumers for the given load.
+	 * @param load the load measured over the last sampling interval
+	 * @param minConsumers the minimum number of consumers to keep
+	 * @param maxConsumers the maximum number of consumers allowed
+	 * @return the number of consumers to add if positive, the number of
+	 * consumers to retire if negative, or 0 to keep the current number
+	 */
+	int determineConsumerDelta(ConsumerLoad load, int minConsumers, int maxConsumers);
+
+}
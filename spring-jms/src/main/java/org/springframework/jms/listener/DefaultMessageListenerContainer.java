@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,23 @@
 
 package org.springframework.jms.listener;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.jms.Connection;
 import jakarta.jms.JMSException;
+import jakarta.jms.Message;
 import jakarta.jms.MessageConsumer;
 import jakarta.jms.Session;
 
 import org.springframework.core.Constants;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.jms.JmsException;
@@ -98,6 +105,13 @@ import org.springframework.util.backoff.FixedBackOff;
  * number of 1 consumer, otherwise you'd receive the same message multiple times on
  * the same node.
  *
+ * <p>Alternatively, dynamic scaling can be driven by a pluggable
+ * {@link #setConsumerScalingPolicy "consumerScalingPolicy"} such as
+ * {@link UtilizationConsumerScalingPolicy}, which periodically decides on the
+ * number of consumers to add or retire based on the measured receive rates,
+ * processing times and idle receives. Those measurements are available
+ * through the {@link ListenerContainerMetrics} interface in any case.
+ *
  * <p><b>Note: Don't use Spring's {@link org.springframework.jms.connection.CachingConnectionFactory}
  * in combination with dynamic scaling.</b> Ideally, don't use it with a message
  * listener container at all, since it is generally preferable to let the
@@ -122,7 +136,8 @@ import org.springframework.util.backoff.FixedBackOff;
  * @see SimpleMessageListenerContainer
  * @see org.springframework.jms.listener.endpoint.JmsMessageEndpointManager
  */
-public class DefaultMessageListenerContainer extends AbstractPollingMessageListenerContainer {
+public class DefaultMessageListenerContainer extends AbstractPollingMessageListenerContainer
+		implements ListenerContainerMetrics {
 
 	/**
 	 * Default thread name prefix: "DefaultMessageListenerContainer-".
@@ -136,6 +151,13 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	public static final long DEFAULT_RECOVERY_INTERVAL = 5000;
 
 
+	/**
+	 * The default interval between scaling decisions: 1000 ms = 1 second.
+	 * @since 6.0
+	 * @see #setScalingInterval
+	 */
+	public static final long DEFAULT_SCALING_INTERVAL = 1000;
+
 	/**
 	 * Constant that indicates to cache no JMS resources at all.
 	 * @see #setCacheLevel
@@ -210,6 +232,22 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 
 	private final Object recoveryMonitor = new Object();
 
+	@Nullable
+	private ConsumerScalingPolicy consumerScalingPolicy;
+
+	private long scalingInterval = DEFAULT_SCALING_INTERVAL;
+
+	private final AtomicLong lastScalingTime = new AtomicLong(System.nanoTime());
+
+	private int pendingRetirements = 0;
+
+	private final ConsumerStats totalConsumerStats = new ConsumerStats();
+
+	private ConsumerStats lastScalingStats = new ConsumerStats();
+
+	private final ThreadLocal<AsyncMessageListenerInvoker> currentInvoker =
+			new NamedThreadLocal<>("Current JMS message listener invoker");
+
 
 	/**
 	 * Set the Spring {@code TaskExecutor} to use for running the listener threads.
@@ -551,6 +589,54 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 		}
 	}
 
+	/**
+	 * Specify a {@link ConsumerScalingPolicy} to decide on the number of consumers
+	 * between "concurrentConsumers" and "maxConcurrentConsumers", replacing the
+	 * built-in scaling based on the "idleConsumerLimit" and "idleTaskExecutionLimit"
+	 * settings.
+	 * <p>The policy is consulted once per {@link #setScalingInterval "scalingInterval"}
+	 * with the load measured since its previous invocation. Consumers to be retired
+	 * finish their current receive attempt and then shut down.
+	 * <p>Default is none, applying the built-in scaling heuristics.
+	 * @since 6.0
+	 * @see UtilizationConsumerScalingPolicy
+	 * @see #setMaxConcurrentConsumers
+	 */
+	public void setConsumerScalingPolicy(@Nullable ConsumerScalingPolicy consumerScalingPolicy) {
+		this.consumerScalingPolicy = consumerScalingPolicy;
+	}
+
+	/**
+	 * Return the {@link ConsumerScalingPolicy} to use, if any.
+	 * @since 6.0
+	 */
+	@Nullable
+	public ConsumerScalingPolicy getConsumerScalingPolicy() {
+		return this.consumerScalingPolicy;
+	}
+
+	/**
+	 * Specify the interval between invocations of the
+	 * {@link #setConsumerScalingPolicy "consumerScalingPolicy"}, in <b>milliseconds</b>.
+	 * The default is 1000 ms, that is, 1 second.
+	 * <p>Note that the policy is invoked from consumer threads once their current
+	 * receive attempt is complete, so the effective interval may be as long as
+	 * the {@link #setReceiveTimeout "receiveTimeout"} if no messages arrive.
+	 * @since 6.0
+	 */
+	public void setScalingInterval(long scalingInterval) {
+		Assert.isTrue(scalingInterval > 0, "'scalingInterval' must be positive");
+		this.scalingInterval = scalingInterval;
+	}
+
+	/**
+	 * Return the interval (ms) between invocations of the scaling policy.
+	 * @since 6.0
+	 */
+	public long getScalingInterval() {
+		return this.scalingInterval;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Implementation of AbstractMessageListenerContainer's template methods
@@ -691,6 +777,7 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	 * @see #getMaxConcurrentConsumers()
 	 * @see #getActiveConsumerCount()
 	 */
+	@Override
 	public final int getScheduledConsumerCount() {
 		synchronized (this.lifecycleMonitor) {
 			return this.scheduledInvokers.size();
@@ -706,12 +793,29 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	 * @see #getMaxConcurrentConsumers()
 	 * @see #getActiveConsumerCount()
 	 */
+	@Override
 	public final int getActiveConsumerCount() {
 		synchronized (this.lifecycleMonitor) {
 			return this.activeInvokerCount;
 		}
 	}
 
+	@Override
+	public List<ConsumerMetrics> getConsumerMetrics() {
+		synchronized (this.lifecycleMonitor) {
+			List<ConsumerMetrics> metrics = new ArrayList<>(this.scheduledInvokers.size());
+			for (AsyncMessageListenerInvoker invoker : this.scheduledInvokers) {
+				metrics.add(invoker.stats.snapshot());
+			}
+			return metrics;
+		}
+	}
+
+	@Override
+	public ConsumerMetrics getTotalConsumerMetrics() {
+		return this.totalConsumerStats.snapshot();
+	}
+
 	/**
 	 * Return whether at least one consumer has entered a fixed registration with the
 	 * target destination. This is particularly interesting for the pub-sub case where
@@ -784,8 +888,12 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	 */
 	@Override
 	protected void messageReceived(Object invoker, Session session) {
-		((AsyncMessageListenerInvoker) invoker).setIdle(false);
-		scheduleNewInvokerIfAppropriate();
+		AsyncMessageListenerInvoker asyncInvoker = (AsyncMessageListenerInvoker) invoker;
+		asyncInvoker.setIdle(false);
+		asyncInvoker.attempt.received();
+		if (this.consumerScalingPolicy == null) {
+			scheduleNewInvokerIfAppropriate();
+		}
 	}
 
 	/**
@@ -796,6 +904,31 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 		((AsyncMessageListenerInvoker) invoker).setIdle(true);
 	}
 
+	/**
+	 * Records the size of the batch for the consumer metrics.
+	 */
+	@Override
+	protected List<Message> receiveBatch(MessageConsumer consumer, Message firstMessage) throws JMSException {
+		List<Message> messages = super.receiveBatch(consumer, firstMessage);
+		AsyncMessageListenerInvoker invoker = this.currentInvoker.get();
+		if (invoker != null) {
+			invoker.attempt.messageCount = messages.size();
+		}
+		return messages;
+	}
+
+	/**
+	 * Records the end of listener processing for the consumer metrics.
+	 */
+	@Override
+	protected void commitIfNecessary(Session session, @Nullable Message message) throws JMSException {
+		AsyncMessageListenerInvoker invoker = this.currentInvoker.get();
+		if (invoker != null) {
+			invoker.attempt.processed();
+		}
+		super.commitIfNecessary(session, message);
+	}
+
 	/**
 	 * Schedule a new invoker, increasing the total number of scheduled
 	 * invokers for this listener container, but only if the specified
@@ -829,12 +962,84 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	 * that this invoker task has already accumulated (in a row)
 	 */
 	private boolean shouldRescheduleInvoker(int idleTaskExecutionCount) {
+		if (this.consumerScalingPolicy != null) {
+			// Consumers are retired by the scaling policy instead
+			return (this.scheduledInvokers.size() <= this.maxConcurrentConsumers);
+		}
 		boolean superfluous =
 				(idleTaskExecutionCount >= this.idleTaskExecutionLimit && getIdleInvokerCount() > 1);
 		return (this.scheduledInvokers.size() <=
 				(superfluous ? this.concurrentConsumers : this.maxConcurrentConsumers));
 	}
 
+	/**
+	 * Consult the scaling policy if the scaling interval has elapsed,
+	 * scheduling new invokers or marking invokers for retirement.
+	 * @see #setConsumerScalingPolicy
+	 */
+	private void applyScalingPolicyIfNecessary() {
+		ConsumerScalingPolicy policy = this.consumerScalingPolicy;
+		if (policy == null || !isRunning()) {
+			return;
+		}
+		long now = System.nanoTime();
+		long lastScalingTime = this.lastScalingTime.get();
+		long interval = now - lastScalingTime;
+		if (interval < TimeUnit.MILLISECONDS.toNanos(this.scalingInterval) ||
+				!this.lastScalingTime.compareAndSet(lastScalingTime, now)) {
+			return;
+		}
+		ConsumerLoad load;
+		synchronized (this.lifecycleMonitor) {
+			ConsumerStats stats = this.totalConsumerStats.snapshot();
+			ConsumerStats last = this.lastScalingStats;
+			this.lastScalingStats = stats;
+			load = new ConsumerLoad(this.scheduledInvokers.size(), interval,
+					stats.getReceiveCount() - last.getReceiveCount(),
+					stats.getMessageCount() - last.getMessageCount(),
+					stats.getIdleReceiveCount() - last.getIdleReceiveCount(),
+					stats.getBusyTimeNanos() - last.getBusyTimeNanos());
+		}
+		int delta = policy.determineConsumerDelta(load, this.concurrentConsumers, this.maxConcurrentConsumers);
+		if (delta == 0) {
+			return;
+		}
+		synchronized (this.lifecycleMonitor) {
+			int scheduled = this.scheduledInvokers.size();
+			if (delta > 0) {
+				this.pendingRetirements = 0;
+				int count = Math.min(delta, this.maxConcurrentConsumers - scheduled);
+				for (int i = 0; i < count && isRunning(); i++) {
+					scheduleNewInvoker();
+				}
+			}
+			else {
+				this.pendingRetirements = Math.max(0, Math.min(-delta, scheduled - this.concurrentConsumers));
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Scaling policy decided on consumer delta " + delta + " for " + load +
+						": " + this.scheduledInvokers.size() + " scheduled invokers, " +
+						this.pendingRetirements + " pending retirements");
+			}
+		}
+	}
+
+	/**
+	 * Retire the given invoker if demanded by the last decision of the scaling
+	 * policy, removing it from the scheduled invokers right away.
+	 * @return whether the invoker has been retired
+	 */
+	private boolean retireInvokerIfNecessary(AsyncMessageListenerInvoker invoker) {
+		synchronized (this.lifecycleMonitor) {
+			if (this.pendingRetirements > 0 && this.scheduledInvokers.size() > this.concurrentConsumers) {
+				this.pendingRetirements--;
+				this.scheduledInvokers.remove(invoker);
+				return true;
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * Determine whether this listener container currently has more
 	 * than one idle instance among its scheduled invokers.
@@ -1101,9 +1306,15 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 
 		private volatile boolean idle = true;
 
+		private boolean retired;
+
 		@Nullable
 		private volatile Thread currentReceiveThread;
 
+		private final ConsumerStats stats = new ConsumerStats();
+
+		private final ReceiveAttempt attempt = new ReceiveAttempt();
+
 		@Override
 		public void run() {
 			synchronized (lifecycleMonitor) {
@@ -1120,7 +1331,7 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 				else {
 					int messageCount = 0;
 					int idleCount = 0;
-					while (isRunning() && (messageLimit < 0 || messageCount < messageLimit) &&
+					while (isRunning() && !this.retired && (messageLimit < 0 || messageCount < messageLimit) &&
 							(idleLimit < 0 || idleCount < idleLimit)) {
 						boolean currentReceived = invokeListener();
 						messageReceived |= currentReceived;
@@ -1164,7 +1375,8 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 					this.idleTaskExecutionCount = 0;
 				}
 				synchronized (lifecycleMonitor) {
-					if (!shouldRescheduleInvoker(this.idleTaskExecutionCount) || !rescheduleTaskIfNecessary(this)) {
+					if (this.retired || !shouldRescheduleInvoker(this.idleTaskExecutionCount) ||
+							!rescheduleTaskIfNecessary(this)) {
 						// We're shutting down completely.
 						scheduledInvokers.remove(this);
 						if (logger.isDebugEnabled()) {
@@ -1217,7 +1429,7 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 					if (wasWaiting) {
 						activeInvokerCount++;
 					}
-					if (scheduledInvokers.size() > maxConcurrentConsumers) {
+					if (scheduledInvokers.size() > maxConcurrentConsumers || this.retired) {
 						active = false;
 					}
 				}
@@ -1230,15 +1442,24 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 
 		private boolean invokeListener() throws JMSException {
 			this.currentReceiveThread = Thread.currentThread();
+			currentInvoker.set(this);
+			boolean messageReceived;
 			try {
 				initResourcesIfNecessary();
-				boolean messageReceived = receiveAndExecute(this, this.session, this.consumer);
+				this.attempt.start();
+				messageReceived = receiveAndExecute(this, this.session, this.consumer);
 				this.lastMessageSucceeded = true;
-				return messageReceived;
 			}
 			finally {
+				this.attempt.finish(this.stats, totalConsumerStats);
+				currentInvoker.remove();
 				this.currentReceiveThread = null;
 			}
+			applyScalingPolicyIfNecessary();
+			if (consumerScalingPolicy != null && retireInvokerIfNecessary(this)) {
+				this.retired = true;
+			}
+			return messageReceived;
 		}
 
 		private void decreaseActiveInvokerCount() {
@@ -1325,4 +1546,139 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 		}
 	}
 
+
+	/**
+	 * Timestamps of the current receive attempt of an invoker.
+	 */
+	private static class ReceiveAttempt {
+
+		private long startTime;
+
+		private long receivedTime;
+
+		private long processedTime;
+
+		private int messageCount;
+
+		public void start() {
+			this.startTime = System.nanoTime();
+			this.receivedTime = 0;
+			this.processedTime = 0;
+			this.messageCount = 1;
+		}
+
+		public void received() {
+			this.receivedTime = System.nanoTime();
+		}
+
+		public void processed() {
+			if (this.receivedTime != 0 && this.processedTime == 0) {
+				this.processedTime = System.nanoTime();
+			}
+		}
+
+		public void finish(ConsumerStats stats, ConsumerStats totalStats) {
+			if (this.startTime == 0) {
+				return;
+			}
+			long endTime = System.nanoTime();
+			record(stats, endTime);
+			record(totalStats, endTime);
+			this.startTime = 0;
+		}
+
+		private void record(ConsumerStats stats, long endTime) {
+			if (this.receivedTime != 0) {
+				long processedTime = (this.processedTime != 0 ? this.processedTime : endTime);
+				stats.recordReceive(this.messageCount, this.receivedTime - this.startTime,
+						processedTime - this.receivedTime, endTime - processedTime);
+			}
+			else {
+				stats.recordIdleReceive();
+			}
+		}
+	}
+
+
+	/**
+	 * Cumulative metrics of a consumer, or of all consumers of the container.
+	 */
+	private static class ConsumerStats implements ConsumerMetrics {
+
+		private final LongAdder receiveCount = new LongAdder();
+
+		private final LongAdder messageCount = new LongAdder();
+
+		private final LongAdder idleReceiveCount = new LongAdder();
+
+		private final LongAdder receiveTime = new LongAdder();
+
+		private final LongAdder processingTime = new LongAdder();
+
+		private final LongAdder commitTime = new LongAdder();
+
+		public void recordReceive(int messages, long receiveNanos, long processingNanos, long commitNanos) {
+			this.receiveCount.increment();
+			this.messageCount.add(messages);
+			this.receiveTime.add(receiveNanos);
+			this.processingTime.add(processingNanos);
+			this.commitTime.add(commitNanos);
+		}
+
+		public void recordIdleReceive() {
+			this.idleReceiveCount.increment();
+		}
+
+		@Override
+		public long getReceiveCount() {
+			return this.receiveCount.sum();
+		}
+
+		@Override
+		public long getMessageCount() {
+			return this.messageCount.sum();
+		}
+
+		@Override
+		public long getIdleReceiveCount() {
+			return this.idleReceiveCount.sum();
+		}
+
+		@Override
+		public long getTotalReceiveTimeNanos() {
+			return this.receiveTime.sum();
+		}
+
+		@Override
+		public long getTotalProcessingTimeNanos() {
+			return this.processingTime.sum();
+		}
+
+		@Override
+		public long getTotalCommitTimeNanos() {
+			return this.commitTime.sum();
+		}
+
+		public long getBusyTimeNanos() {
+			return getTotalProcessingTimeNanos() + getTotalCommitTimeNanos();
+		}
+
+		public ConsumerStats snapshot() {
+			ConsumerStats snapshot = new ConsumerStats();
+			snapshot.receiveCount.add(getReceiveCount());
+			snapshot.messageCount.add(getMessageCount());
+			snapshot.idleReceiveCount.add(getIdleReceiveCount());
+			snapshot.receiveTime.add(getTotalReceiveTimeNanos());
+			snapshot.processingTime.add(getTotalProcessingTimeNanos());
+			snapshot.commitTime.add(getTotalCommitTimeNanos());
+			return snapshot;
+		}
+
+		@Override
+		public String toString() {
+			return "ConsumerMetrics[receives=" + getReceiveCount() + ", messages=" + getMessageCount() +
+					", idleReceives=" + getIdleReceiveCount() + "]";
+		}
+	}
+
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.jms.listener;
+
+import java.util.List;
+
+/**
+ * Metrics exposed by a polling message listener container, both for the
+ * container as a whole and for each of its currently scheduled consumers.
+ *
+ * <p>All timings are cumulative since the start of the respective consumer,
+ * measured in nanoseconds. Callers interested in rates or averages over a
+ * period of time are expected to compute differences between snapshots.
+ *
+ * @since 6.0
+ * @see DefaultMessageListenerContainer
+ * @see ConsumerScalingPolicy
+ */
+public interface ListenerContainerMetrics {
+
+	/**
+	 * Return the number of currently scheduled consumers.
+	 */
+	int getScheduledConsumerCount();
+
+	/**
+	 * Return the number of currently active consumers.
+	 */
+	int getActiveConsumerCount();
+
+	/**
+	 * Return a snapshot of the metrics of each currently scheduled consumer.
+	 */
+	List<ConsumerMetrics> getConsumerMetrics();
+
+	/**
+	 * Return the metrics accumulated by all consumers of the container,
+	 * including consumers that have been retired in the meantime.
+	 */
+	ConsumerMetrics getTotalConsumerMetrics();
+
+
+	/**
+	 * Receive, processing and commit metrics of a single consumer,
+	 * or aggregated across consumers.
+	 */
+	interface ConsumerMetrics {
+
+		/**
+		 * Return the number of receive attempts that returned at least one message.
+		 */
+		long getReceiveCount();
+
+		/**
+		 * Return the number of messages received, which is higher than the
+		 * {@link #getReceiveCount() receive count} when receiving batches.
+		 */
+		long getMessageCount();
+
+		/**
+		 * Return the number of receive attempts that returned no message
+		 * within the receive timeout.
+		 */
+		long getIdleReceiveCount();
+
+		/**
+		 * Return the total time spent waiting for messages in successful
+		 * receive attempts, in nanoseconds.
+		 */
+		long getTotalReceiveTimeNanos();
+
+		/**
+		 * Return the total time spent in the message listener, in nanoseconds.
+		 */
+		long getTotalProcessingTimeNanos();
+
+		/**
+		 * Return the total time spent committing or acknowledging received
+		 * messages and releasing resources afterwards, in nanoseconds.
+		 */
+		long getTotalCommitTimeNanos();
+	}
+
+}
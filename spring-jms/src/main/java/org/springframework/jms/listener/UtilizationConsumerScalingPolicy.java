@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.jms.listener;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link ConsumerScalingPolicy} that aims for a target utilization of the
+ * consumers, i.e. the share of their time spent processing messages rather
+ * than waiting for them.
+ *
+ * <p>If the measured utilization exceeds the target plus a tolerance, the
+ * number of consumers is raised in proportion to the excess load at once.
+ * If it falls below the target minus the tolerance while consumers run
+ * into empty receives, consumers are retired one at a time, which avoids
+ * oscillation under bursty load.
+ *
+ * @since 6.0
+ * @see DefaultMessageListenerContainer#setConsumerScalingPolicy
+ */
+public class UtilizationConsumerScalingPolicy implements ConsumerScalingPolicy {
+
+	/**
+	 * The default target utilization: 0.75.
+	 */
+	public static final double DEFAULT_TARGET_UTILIZATION = 0.75;
+
+	/**
+	 * The default tolerance around the target utilization: 0.1.
+	 */
+	public static final double DEFAULT_TOLERANCE = 0.1;
+
+
+	private double targetUtilization = DEFAULT_TARGET_UTILIZATION;
+
+	private double tolerance = DEFAULT_TOLERANCE;
+
+
+	/**
+	 * Set the target utilization of the consumers, between 0 (exclusive)
+	 * and 1 (inclusive).
+	 * <p>Default is {@link #DEFAULT_TARGET_UTILIZATION}.
+	 */
+	public void setTargetUtilization(double targetUtilization) {
+		Assert.isTrue(targetUtilization > 0 && targetUtilization <= 1,
+				"'targetUtilization' must be greater than 0 and at most 1");
+		this.targetUtilization = targetUtilization;
+	}
+
+	/**
+	 * Return the target utilization of the consumers.
+	 */
+	public double getTargetUtilization() {
+		return this.targetUtilization;
+	}
+
+	/**
+	 * Set the tolerance around the target utilization within which the
+	 * number of consumers is left unchanged.
+	 * <p>Default is {@link #DEFAULT_TOLERANCE}.
+	 */
+	public void setTolerance(double tolerance) {
+		Assert.isTrue(tolerance >= 0 && tolerance < 1, "'tolerance' must be between 0 and 1");
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Return the tolerance around the target utilization.
+	 */
+	public double getTolerance() {
+		return this.tolerance;
+	}
+
+
+	@Override
+	public int determineConsumerDelta(ConsumerLoad load, int minConsumers, int maxConsumers) {
+		int consumers = load.getConsumerCount();
+		if (consumers <= 0) {
+			return 0;
+		}
+		double utilization = load.getUtilization();
+		if (utilization > this.targetUtilization + this.tolerance && consumers < maxConsumers) {
+			int desired = (int) Math.ceil(consumers * utilization / this.targetUtilization);
+			return Math.min(desired, maxConsumers) - consumers;
+		}
+		if (utilization < this.targetUtilization - this.tolerance && consumers > minConsumers &&
+				load.getIdleReceiveCount() > 0) {
+			return -1;
+		}
+		return 0;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,16 @@
 
 package org.springframework.jms.listener.adapter;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import jakarta.jms.JMSException;
 import jakarta.jms.Session;
 
 import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.jms.listener.BatchMessageListener;
 import org.springframework.jms.support.JmsHeaderMapper;
 import org.springframework.jms.support.converter.MessageConversionException;
 import org.springframework.lang.Nullable;
@@ -42,24 +48,65 @@ import org.springframework.util.Assert;
  * are provided as additional arguments so that these can be injected as
  * method arguments if necessary.
  *
+ * <p>As of 6.0, this adapter is also a {@link BatchMessageListener}: a method
+ * declaring a {@code List<Message<?>>} parameter is invoked once per batch of
+ * messages received by the listener container, with the converted messages
+ * as payload. Other methods are invoked for each message of a batch in turn.
+ * Besides the list, a batch method may only declare a {@link Session}
+ * parameter. Headers and the original {@link jakarta.jms.Message} are
+ * available per element of the list rather than as method arguments, so
+ * such a method is rejected with an {@link IllegalStateException} when
+ * {@link #setHandlerMethod set}.
+ *
  * @author Stephane Nicoll
  * @since 4.1
  * @see Message
  * @see JmsHeaderMapper
  * @see InvocableHandlerMethod
  */
-public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageListener {
+public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageListener
+		implements BatchMessageListener {
 
 	@Nullable
 	private InvocableHandlerMethod handlerMethod;
 
+	private boolean batchHandlerMethod;
+
 
 	/**
 	 * Set the {@link InvocableHandlerMethod} to use to invoke the method
 	 * processing an incoming {@link jakarta.jms.Message}.
+	 * @throws IllegalStateException if the method declares a
+	 * {@code List<Message<?>>} parameter along with parameters other than
+	 * a {@link Session}, which cannot be resolved for a batch
 	 */
 	public void setHandlerMethod(InvocableHandlerMethod handlerMethod) {
 		this.handlerMethod = handlerMethod;
+		this.batchHandlerMethod = isBatchHandlerMethod(handlerMethod);
+	}
+
+	private static boolean isBatchHandlerMethod(InvocableHandlerMethod handlerMethod) {
+		MethodParameter[] parameters = handlerMethod.getMethodParameters();
+		boolean batch = false;
+		for (MethodParameter parameter : parameters) {
+			if (isMessageList(parameter)) {
+				batch = true;
+			}
+		}
+		if (batch) {
+			for (MethodParameter parameter : parameters) {
+				Assert.state(isMessageList(parameter) || parameter.getParameterType() == Session.class,
+						() -> "Batch listener method '" + handlerMethod.getMethod().toGenericString() +
+								"' may only declare a List<Message<?>> and a Session parameter, but declares " +
+								parameter.getParameterType().getName() + " at index " + parameter.getParameterIndex());
+			}
+		}
+		return batch;
+	}
+
+	private static boolean isMessageList(MethodParameter parameter) {
+		ResolvableType type = ResolvableType.forMethodParameter(parameter);
+		return (List.class == type.resolve() && Message.class == type.getGeneric().resolve());
 	}
 
 	private InvocableHandlerMethod getHandlerMethod() {
@@ -70,11 +117,15 @@ public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageLis
 
 	@Override
 	public void onMessage(jakarta.jms.Message jmsMessage, @Nullable Session session) throws JMSException {
+		if (this.batchHandlerMethod) {
+			processBatch(Collections.singletonList(jmsMessage), session);
+			return;
+		}
 		Message<?> message = toMessagingMessage(jmsMessage);
 		if (logger.isDebugEnabled()) {
 			logger.debug("Processing [" + message + "]");
 		}
-		Object result = invokeHandler(jmsMessage, session, message);
+		Object result = invokeHandler(message, jmsMessage, session);
 		if (result != null) {
 			handleResult(result, jmsMessage, session);
 		}
@@ -83,6 +134,40 @@ public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageLis
 		}
 	}
 
+	@Override
+	public void onMessages(List<jakarta.jms.Message> jmsMessages, Session session) throws JMSException {
+		if (this.batchHandlerMethod) {
+			processBatch(jmsMessages, session);
+		}
+		else {
+			for (jakarta.jms.Message jmsMessage : jmsMessages) {
+				onMessage(jmsMessage, session);
+			}
+		}
+	}
+
+	/**
+	 * Invoke the handler once for the given batch of messages, exposing the
+	 * converted messages as payload. A result is sent as reply to the last
+	 * message of the batch.
+	 */
+	private void processBatch(List<jakarta.jms.Message> jmsMessages, @Nullable Session session) {
+		List<Message<?>> messages = new ArrayList<>(jmsMessages.size());
+		for (jakarta.jms.Message jmsMessage : jmsMessages) {
+			messages.add(toMessagingMessage(jmsMessage));
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Processing batch of " + messages.size() + " messages");
+		}
+		Object result = invokeHandler(MessageBuilder.withPayload(messages).build(), session);
+		if (result != null) {
+			handleResult(result, jmsMessages.get(jmsMessages.size() - 1), session);
+		}
+		else {
+			logger.trace("No result object given - no result to handle");
+		}
+	}
+
 	@Override
 	protected Object preProcessResponse(Object result) {
 		MethodParameter returnType = getHandlerMethod().getReturnType();
@@ -108,10 +193,10 @@ public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageLis
 	 * with a dedicated error message.
 	 */
 	@Nullable
-	private Object invokeHandler(jakarta.jms.Message jmsMessage, @Nullable Session session, Message<?> message) {
+	private Object invokeHandler(Message<?> message, @Nullable Object... providedArgs) {
 		InvocableHandlerMethod handlerMethod = getHandlerMethod();
 		try {
-			return handlerMethod.invoke(message, jmsMessage, session);
+			return handlerMethod.invoke(message, providedArgs);
 		}
 		catch (MessagingException ex) {
 			throw new ListenerExecutionFailedException(
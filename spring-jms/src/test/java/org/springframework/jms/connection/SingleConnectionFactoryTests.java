@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,11 @@ package org.springframework.jms.connection;
 
 import jakarta.jms.Connection;
 import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
 import jakarta.jms.ExceptionListener;
 import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
 import jakarta.jms.QueueConnection;
 import jakarta.jms.QueueConnectionFactory;
 import jakarta.jms.QueueSession;
@@ -32,6 +35,7 @@ import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -453,6 +457,80 @@ public class SingleConnectionFactoryTests {
 		verify(con).close();
 	}
 
+	@Test
+	public void testCachingConnectionFactoryWithCachedProducers() throws JMSException {
+		ConnectionFactory cf = mock(ConnectionFactory.class);
+		Connection con = mock(Connection.class);
+		Session session = mock(Session.class);
+		Queue queue = mock(Queue.class);
+		MessageProducer producer = mock(MessageProducer.class);
+
+		given(cf.createConnection()).willReturn(con);
+		given(con.createSession(false, Session.AUTO_ACKNOWLEDGE)).willReturn(session);
+		given(session.createProducer(queue)).willReturn(producer);
+		given(producer.getDeliveryMode()).willReturn(DeliveryMode.PERSISTENT);
+
+		CachingConnectionFactory scf = new CachingConnectionFactory(cf);
+		Connection con1 = scf.createConnection();
+		Session session1 = con1.createSession(false, Session.AUTO_ACKNOWLEDGE);
+		MessageProducer producer1 = session1.createProducer(queue);
+		producer1.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+		MessageProducer nestedProducer = session1.createProducer(queue);
+		assertThat(nestedProducer).isNotSameAs(producer1);
+		assertThat(nestedProducer.getDeliveryMode()).isEqualTo(DeliveryMode.PERSISTENT);
+		nestedProducer.close();
+		producer1.close();
+		MessageProducer producer2 = session1.createProducer(queue);
+		assertThat(producer2).isNotSameAs(producer1);
+		assertThat(producer2.getDeliveryMode()).isEqualTo(DeliveryMode.PERSISTENT);
+		producer2.close();
+		session1.close();
+		con1.close();
+		scf.destroy();  // should trigger actual close
+
+		verify(session).createProducer(queue);
+		verify(producer).close();
+		verify(session).close();
+		verify(con).close();
+	}
+
+	@Test
+	public void testCachingConnectionFactoryWithCachedProducerClosedTwice() throws JMSException {
+		ConnectionFactory cf = mock(ConnectionFactory.class);
+		Connection con = mock(Connection.class);
+		Session session = mock(Session.class);
+		Queue queue = mock(Queue.class);
+		MessageProducer producer = mock(MessageProducer.class);
+
+		given(cf.createConnection()).willReturn(con);
+		given(con.createSession(false, Session.AUTO_ACKNOWLEDGE)).willReturn(session);
+		given(session.createProducer(queue)).willReturn(producer);
+		given(producer.getDeliveryMode()).willReturn(DeliveryMode.PERSISTENT);
+
+		CachingConnectionFactory scf = new CachingConnectionFactory(cf);
+		Connection con1 = scf.createConnection();
+		Session session1 = con1.createSession(false, Session.AUTO_ACKNOWLEDGE);
+		MessageProducer producer1 = session1.createProducer(queue);
+		producer1.close();
+		MessageProducer producer2 = session1.createProducer(queue);
+		producer2.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+		producer2.setDisableMessageID(true);
+		// Late close of a stale reference must not affect the current holder
+		producer1.close();
+		assertThat(producer2.getDeliveryMode()).isEqualTo(DeliveryMode.NON_PERSISTENT);
+		verify(producer).setDisableMessageID(true);
+		verify(producer, never()).setDisableMessageID(false);
+		producer2.close();
+		producer2.close();
+		verify(producer).setDisableMessageID(false);
+		session1.close();
+		con1.close();
+		scf.destroy();  // should trigger actual close
+
+		verify(session).createProducer(queue);
+		verify(producer).close();
+	}
+
 	@Test
 	public void testCachingConnectionFactoryWithQueueConnectionFactoryAndJms102Usage() throws JMSException {
 		QueueConnectionFactory cf = mock(QueueConnectionFactory.class);
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jms.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.support.converter.SimpleMessageConverter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BatchingMessageSender}.
+ */
+class BatchingMessageSenderTests {
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+
+	private final Connection connection = mock(Connection.class);
+
+	private final Session session = mock(Session.class);
+
+	private final Queue queue = mock(Queue.class);
+
+	private final MessageProducer producer = mock(MessageProducer.class);
+
+	private JmsTemplate jmsTemplate;
+
+
+	@BeforeEach
+	void setup() throws Exception {
+		given(this.connectionFactory.createConnection()).willReturn(this.connection);
+		given(this.connection.createSession(true, Session.AUTO_ACKNOWLEDGE)).willReturn(this.session);
+		given(this.session.getTransacted()).willReturn(true);
+		given(this.session.createProducer(this.queue)).willReturn(this.producer);
+		this.jmsTemplate = new JmsTemplate(this.connectionFactory);
+		this.jmsTemplate.setSessionTransacted(true);
+		this.jmsTemplate.setMessageConverter(new SimpleMessageConverter());
+	}
+
+
+	@Test
+	void sendsQueuedMessagesInOneTransaction() throws Exception {
+		BatchingMessageSender sender = new BatchingMessageSender(this.jmsTemplate, this.tasks::add);
+		TextMessage first = mockTextMessage("first");
+		TextMessage second = mockTextMessage("second");
+		TextMessage third = mockTextMessage("third");
+
+		CompletableFuture<Void> firstFuture = sender.convertAndSend(this.queue, "first");
+		CompletableFuture<Void> secondFuture = sender.convertAndSend(this.queue, "second");
+		CompletableFuture<Void> thirdFuture = sender.convertAndSend(this.queue, "third");
+
+		assertThat(this.tasks).hasSize(1);
+		assertThat(sender.getPendingCount()).isEqualTo(3);
+		assertThat(firstFuture).isNotDone();
+
+		this.tasks.get(0).run();
+
+		verify(this.session).createProducer(this.queue);
+		verify(this.producer).send(first);
+		verify(this.producer).send(second);
+		verify(this.producer).send(third);
+		verify(this.session).commit();
+		verify(this.producer).close();
+		verify(this.session).close();
+		assertThat(firstFuture).isCompleted();
+		assertThat(secondFuture).isCompleted();
+		assertThat(thirdFuture).isCompleted();
+		assertThat(sender.getPendingCount()).isZero();
+	}
+
+	@Test
+	void splitsQueuedMessagesByBatchSize() throws Exception {
+		BatchingMessageSender sender = new BatchingMessageSender(this.jmsTemplate, this.tasks::add);
+		sender.setBatchSize(2);
+		mockTextMessage("first");
+		mockTextMessage("second");
+		mockTextMessage("third");
+
+		sender.convertAndSend(this.queue, "first");
+		sender.convertAndSend(this.queue, "second");
+		CompletableFuture<Void> future = sender.convertAndSend(this.queue, "third");
+		sender.flush();
+
+		verify(this.session, times(2)).commit();
+		assertThat(future).isCompleted();
+		assertThat(sender.getPendingCount()).isZero();
+	}
+
+	@Test
+	void rollsBackBatchOnFailure() throws Exception {
+		BatchingMessageSender sender = new BatchingMessageSender(this.jmsTemplate, this.tasks::add);
+		TextMessage first = mockTextMessage("first");
+		TextMessage second = mockTextMessage("second");
+		willThrow(new JMSException("Not sent")).given(this.producer).send(second);
+
+		CompletableFuture<Void> firstFuture = sender.convertAndSend(this.queue, "first");
+		CompletableFuture<Void> secondFuture = sender.convertAndSend(this.queue, "second");
+		this.tasks.get(0).run();
+
+		verify(this.producer).send(first);
+		verify(this.session).rollback();
+		verify(this.session, never()).commit();
+		verify(this.producer).close();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(firstFuture::get)
+				.withCauseInstanceOf(UncategorizedJmsException.class);
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(secondFuture::get)
+				.withCauseInstanceOf(UncategorizedJmsException.class);
+	}
+
+	@Test
+	void schedulesNewFlushAfterDrain() throws Exception {
+		BatchingMessageSender sender = new BatchingMessageSender(this.jmsTemplate, this.tasks::add);
+		mockTextMessage("first");
+		mockTextMessage("second");
+
+		sender.convertAndSend(this.queue, "first");
+		this.tasks.get(0).run();
+		sender.convertAndSend(this.queue, "second");
+
+		assertThat(this.tasks).hasSize(2);
+	}
+
+	@Test
+	void failsPendingSendsWhenExecutorRejectsFlush() throws Exception {
+		BatchingMessageSender sender = new BatchingMessageSender(this.jmsTemplate, task -> {
+			if (!this.tasks.isEmpty()) {
+				throw new RejectedExecutionException("Shut down");
+			}
+			this.tasks.add(task);
+		});
+		sender.setBatchSize(1);
+		TextMessage first = mockTextMessage("first");
+		mockTextMessage("second");
+
+		CompletableFuture<Void> firstFuture = sender.convertAndSend(this.queue, "first");
+		CompletableFuture<Void> secondFuture = sender.convertAndSend(this.queue, "second");
+		this.tasks.get(0).run();
+
+		verify(this.producer).send(first);
+		verify(this.session).commit();
+		assertThat(firstFuture).isCompleted();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(secondFuture::get)
+				.withCauseInstanceOf(RejectedExecutionException.class);
+		assertThat(sender.getPendingCount()).isZero();
+	}
+
+	@Test
+	void requiresTransactedTemplate() {
+		this.jmsTemplate.setSessionTransacted(false);
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				new BatchingMessageSender(this.jmsTemplate, this.tasks::add));
+	}
+
+	private TextMessage mockTextMessage(String text) throws JMSException {
+		TextMessage message = mock(TextMessage.class);
+		given(this.session.createTextMessage(text)).willReturn(message);
+		return message;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,9 +19,12 @@ package org.springframework.jms.core;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import javax.naming.Context;
 
+import jakarta.jms.CompletionListener;
 import jakarta.jms.Connection;
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.DeliveryMode;
@@ -63,7 +66,10 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
@@ -421,6 +427,57 @@ class JmsTemplateTests {
 		verify(this.connection).close();
 	}
 
+	@Test
+	void testSendAsync() throws Exception {
+		JmsTemplate template = createTemplate();
+		template.setConnectionFactory(this.connectionFactory);
+
+		MessageProducer messageProducer = mock(MessageProducer.class);
+		TextMessage textMessage = mock(TextMessage.class);
+
+		given(this.session.createProducer(this.queue)).willReturn(messageProducer);
+		given(this.session.createTextMessage("just testing")).willReturn(textMessage);
+		willAnswer(invocation -> {
+			invocation.getArgument(1, CompletionListener.class).onCompletion(invocation.getArgument(0));
+			return null;
+		}).given(messageProducer).send(eq(textMessage), any(CompletionListener.class));
+
+		CompletableFuture<Message> future = template.sendAsync(this.queue, session -> session.createTextMessage("just testing"));
+
+		assertThat(future).isCompletedWithValue(textMessage);
+		if (useTransactedTemplate()) {
+			verify(this.session).commit();
+		}
+		verify(messageProducer).close();
+		verify(this.session).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void testSendAsyncWithException() throws Exception {
+		JmsTemplate template = createTemplate();
+		template.setConnectionFactory(this.connectionFactory);
+		template.setMessageConverter(new SimpleMessageConverter());
+
+		MessageProducer messageProducer = mock(MessageProducer.class);
+		TextMessage textMessage = mock(TextMessage.class);
+
+		given(this.session.createProducer(this.queue)).willReturn(messageProducer);
+		given(this.session.createTextMessage("Hello world")).willReturn(textMessage);
+		willAnswer(invocation -> {
+			invocation.getArgument(1, CompletionListener.class).onException(
+					invocation.getArgument(0), new JMSException("Not delivered"));
+			return null;
+		}).given(messageProducer).send(eq(textMessage), any(CompletionListener.class));
+
+		CompletableFuture<Message> future = template.convertAndSendAsync(this.queue, "Hello world");
+
+		assertThat(future).isCompletedExceptionally();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(future::get)
+				.withCauseInstanceOf(UncategorizedJmsException.class);
+		verify(messageProducer).close();
+	}
+
 	@Test
 	void testReceiveDefaultDestination() throws Exception {
 		doTestReceive(true, true, false, false, false, false, JmsTemplate.RECEIVE_TIMEOUT_INDEFINITE_WAIT);
@@ -16,23 +16,37 @@
 
 package org.springframework.jms.listener;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 import jakarta.jms.Connection;
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.Destination;
 import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageListener;
+import jakarta.jms.Session;
 import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import org.springframework.jms.listener.ListenerContainerMetrics.ConsumerMetrics;
 import org.springframework.util.backoff.BackOff;
 import org.springframework.util.backoff.BackOffExecution;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -105,6 +119,136 @@ public class DefaultMessageListenerContainerTests {
 		runnable2.waitForCompletion();
 	}
 
+	@Test
+	public void batchMessageListenerIsInvokedOncePerBatch() throws Exception {
+		Message message1 = mock(Message.class);
+		Message message2 = mock(Message.class);
+		Message message3 = mock(Message.class);
+		Message message4 = mock(Message.class);
+		Session session = mock(Session.class);
+		ConnectionFactory connectionFactory = createClientAcknowledgeConnectionFactory(
+				session, message1, message2, message3, message4);
+
+		List<List<Message>> batches = new ArrayList<>();
+		CountDownLatch latch = new CountDownLatch(2);
+		DefaultMessageListenerContainer container = createContainer(connectionFactory);
+		container.setSessionAcknowledgeMode(Session.CLIENT_ACKNOWLEDGE);
+		container.setBatchSize(3);
+		container.setMessageListener((BatchMessageListener) (messages, listenerSession) -> {
+			batches.add(new ArrayList<>(messages));
+			latch.countDown();
+		});
+		container.afterPropertiesSet();
+		container.start();
+		try {
+			assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+			verify(message4, timeout(2000)).acknowledge();
+		}
+		finally {
+			container.shutdown();
+		}
+
+		assertThat(batches).containsExactly(List.of(message1, message2, message3), List.of(message4));
+		verify(message3).acknowledge();
+		verify(message1, never()).acknowledge();
+		verify(message2, never()).acknowledge();
+	}
+
+	@Test
+	public void batchIsRecoveredAsWholeOnListenerException() throws Exception {
+		Message message1 = mock(Message.class);
+		Message message2 = mock(Message.class);
+		Session session = mock(Session.class);
+		ConnectionFactory connectionFactory = createClientAcknowledgeConnectionFactory(session, message1, message2);
+
+		List<Message> processed = new ArrayList<>();
+		DefaultMessageListenerContainer container = createContainer(connectionFactory);
+		container.setSessionAcknowledgeMode(Session.CLIENT_ACKNOWLEDGE);
+		container.setBatchSize(2);
+		container.setMessageListener((MessageListener) message -> {
+			processed.add(message);
+			if (message == message2) {
+				throw new IllegalStateException("Test exception");
+			}
+		});
+		container.afterPropertiesSet();
+		container.start();
+		try {
+			verify(session, timeout(2000)).recover();
+		}
+		finally {
+			container.shutdown();
+		}
+
+		assertThat(processed).containsExactly(message1, message2);
+		verify(message1, never()).acknowledge();
+		verify(message2, never()).acknowledge();
+	}
+
+	@Test
+	public void invalidBatchSize() {
+		DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+		assertThatIllegalArgumentException().isThrownBy(() -> container.setBatchSize(0));
+		assertThatIllegalArgumentException().isThrownBy(() -> container.setBatchReceiveTimeout(-1));
+	}
+
+	@Test
+	public void consumerMetricsAreRecorded() throws Exception {
+		Message message1 = mock(Message.class);
+		Message message2 = mock(Message.class);
+		Message message3 = mock(Message.class);
+		Session session = mock(Session.class);
+		ConnectionFactory connectionFactory = createClientAcknowledgeConnectionFactory(
+				session, message1, message2, message3);
+
+		DefaultMessageListenerContainer container = createContainer(connectionFactory);
+		container.setSessionAcknowledgeMode(Session.CLIENT_ACKNOWLEDGE);
+		container.setMessageListener((MessageListener) message -> {});
+		container.afterPropertiesSet();
+		container.start();
+		try {
+			awaitCondition(() -> container.getTotalConsumerMetrics().getIdleReceiveCount() > 0);
+			assertThat(container.getConsumerMetrics()).hasSize(1);
+		}
+		finally {
+			container.shutdown();
+		}
+
+		ConsumerMetrics metrics = container.getTotalConsumerMetrics();
+		assertThat(metrics.getReceiveCount()).isEqualTo(3);
+		assertThat(metrics.getMessageCount()).isEqualTo(3);
+		assertThat(metrics.getTotalReceiveTimeNanos()).isGreaterThanOrEqualTo(0);
+		assertThat(metrics.getTotalProcessingTimeNanos()).isGreaterThanOrEqualTo(0);
+		assertThat(metrics.getTotalCommitTimeNanos()).isGreaterThanOrEqualTo(0);
+		verify(message3).acknowledge();
+	}
+
+	@Test
+	public void consumerScalingPolicyAddsAndRetiresConsumers() throws Exception {
+		ConnectionFactory connectionFactory = createClientAcknowledgeConnectionFactory(mock(Session.class));
+		AtomicInteger delta = new AtomicInteger(1);
+
+		DefaultMessageListenerContainer container = createContainer(connectionFactory);
+		container.setSessionAcknowledgeMode(Session.CLIENT_ACKNOWLEDGE);
+		container.setConcurrency("1-3");
+		container.setScalingInterval(1);
+		container.setConsumerScalingPolicy((load, minConsumers, maxConsumers) -> delta.get());
+		container.setMessageListener((MessageListener) message -> {});
+		container.afterPropertiesSet();
+		container.start();
+		try {
+			awaitCondition(() -> container.getScheduledConsumerCount() == 3);
+			delta.set(-2);
+			awaitCondition(() -> container.getScheduledConsumerCount() == 1);
+			delta.set(0);
+			Thread.sleep(50);
+			assertThat(container.getScheduledConsumerCount()).isEqualTo(1);
+		}
+		finally {
+			container.shutdown();
+		}
+	}
+
 
 	private DefaultMessageListenerContainer createRunningContainer() {
 		DefaultMessageListenerContainer container = createContainer(createSuccessfulConnectionFactory());
@@ -170,6 +314,36 @@ public class DefaultMessageListenerContainerTests {
 		}
 	}
 
+	private ConnectionFactory createClientAcknowledgeConnectionFactory(Session session, Message... messages)
+			throws JMSException {
+
+		MessageConsumer consumer = mock(MessageConsumer.class);
+		List<Message> pending = new ArrayList<>(List.of(messages));
+		given(consumer.receive(anyLong())).willAnswer(invocation -> {
+			if (!pending.isEmpty()) {
+				return pending.remove(0);
+			}
+			Thread.sleep(10);
+			return null;
+		});
+		given(consumer.receiveNoWait()).willAnswer(invocation -> (!pending.isEmpty() ? pending.remove(0) : null));
+		given(session.createConsumer(any(), any())).willReturn(consumer);
+		given(session.getAcknowledgeMode()).willReturn(Session.CLIENT_ACKNOWLEDGE);
+		Connection connection = mock(Connection.class);
+		given(connection.createSession(false, Session.CLIENT_ACKNOWLEDGE)).willReturn(session);
+		ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+		given(connectionFactory.createConnection()).willReturn(connection);
+		return connectionFactory;
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 2000;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
 
 	private static class TestRunnable implements Runnable {
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jms.listener;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link UtilizationConsumerScalingPolicy}.
+ */
+class UtilizationConsumerScalingPolicyTests {
+
+	private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+	private final UtilizationConsumerScalingPolicy policy = new UtilizationConsumerScalingPolicy();
+
+
+	@Test
+	void scaleUpInProportionToLoad() {
+		// 4 consumers fully busy -> 4 / 0.75 = 5.33 -> 6 consumers
+		ConsumerLoad load = new ConsumerLoad(4, INTERVAL, 100, 100, 0, 4 * INTERVAL);
+		assertThat(load.getUtilization()).isEqualTo(1.0);
+		assertThat(this.policy.determineConsumerDelta(load, 1, 10)).isEqualTo(2);
+	}
+
+	@Test
+	void scaleUpUpToMaxConsumers() {
+		ConsumerLoad load = new ConsumerLoad(4, INTERVAL, 100, 100, 0, 4 * INTERVAL);
+		assertThat(this.policy.determineConsumerDelta(load, 1, 5)).isEqualTo(1);
+		assertThat(this.policy.determineConsumerDelta(load, 1, 4)).isEqualTo(0);
+	}
+
+	@Test
+	void keepConsumersWithinTolerance() {
+		ConsumerLoad load = new ConsumerLoad(4, INTERVAL, 100, 100, 10, 3 * INTERVAL);
+		assertThat(load.getUtilization()).isEqualTo(0.75);
+		assertThat(this.policy.determineConsumerDelta(load, 1, 10)).isEqualTo(0);
+	}
+
+	@Test
+	void scaleDownOneAtATime() {
+		ConsumerLoad load = new ConsumerLoad(4, INTERVAL, 10, 10, 100, INTERVAL / 10);
+		assertThat(this.policy.determineConsumerDelta(load, 1, 10)).isEqualTo(-1);
+		assertThat(this.policy.determineConsumerDelta(load, 4, 10)).isEqualTo(0);
+	}
+
+	@Test
+	void noScaleDownWithoutIdleReceives() {
+		ConsumerLoad load = new ConsumerLoad(4, INTERVAL, 10, 10, 0, INTERVAL / 10);
+		assertThat(this.policy.determineConsumerDelta(load, 1, 10)).isEqualTo(0);
+	}
+
+	@Test
+	void customTargetUtilization() {
+		this.policy.setTargetUtilization(0.5);
+		ConsumerLoad load = new ConsumerLoad(2, INTERVAL, 100, 100, 0, 2 * INTERVAL * 8 / 10);
+		assertThat(this.policy.determineConsumerDelta(load, 1, 10)).isEqualTo(2);
+	}
+
+	@Test
+	void invalidTargetUtilization() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.policy.setTargetUtilization(0));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.policy.setTargetUtilization(1.5));
+	}
+
+	@Test
+	void consumerLoadRates() {
+		ConsumerLoad load = new ConsumerLoad(2, INTERVAL * 2, 50, 200, 50, INTERVAL);
+		assertThat(load.getMessageRate()).isEqualTo(100.0);
+		assertThat(load.getIdleRatio()).isEqualTo(0.5);
+		assertThat(load.getAverageLatencyNanos()).isEqualTo(INTERVAL / 50);
+		assertThat(load.getUtilization()).isEqualTo(0.25);
+	}
+
+}
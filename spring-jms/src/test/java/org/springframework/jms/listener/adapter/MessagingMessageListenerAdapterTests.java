@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.jms.support.converter.MessageType;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.util.ReflectionUtils;
@@ -48,6 +49,7 @@ import org.springframework.util.ReflectionUtils;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -157,6 +159,68 @@ public class MessagingMessageListenerAdapterTests {
 		assertThat(sample.simples.get(0).getPayload()).isEqualTo("FooBar");
 	}
 
+	@Test
+	public void batchMethodInvokedOncePerBatch() throws JMSException {
+		jakarta.jms.Message jmsMessage1 = mock(jakarta.jms.Message.class);
+		jakarta.jms.Message jmsMessage2 = mock(jakarta.jms.Message.class);
+		MessageConverter messageConverter = mock(MessageConverter.class);
+		given(messageConverter.fromMessage(jmsMessage1)).willReturn("Foo");
+		given(messageConverter.fromMessage(jmsMessage2)).willReturn("Bar");
+		MessagingMessageListenerAdapter listener = getSimpleInstance("batch", List.class);
+		listener.setMessageConverter(messageConverter);
+		listener.onMessages(List.of(jmsMessage1, jmsMessage2), mock(Session.class));
+		assertThat(sample.batches).hasSize(1);
+		assertThat(sample.batches.get(0)).extracting(Message::getPayload).containsExactly("Foo", "Bar");
+	}
+
+	@Test
+	public void batchMethodInvokedWithSingleMessage() throws JMSException {
+		jakarta.jms.Message jmsMessage = mock(jakarta.jms.Message.class);
+		MessageConverter messageConverter = mock(MessageConverter.class);
+		given(messageConverter.fromMessage(jmsMessage)).willReturn("FooBar");
+		MessagingMessageListenerAdapter listener = getSimpleInstance("batch", List.class);
+		listener.setMessageConverter(messageConverter);
+		listener.onMessage(jmsMessage, mock(Session.class));
+		assertThat(sample.batches).hasSize(1);
+		assertThat(sample.batches.get(0)).extracting(Message::getPayload).containsExactly("FooBar");
+	}
+
+	@Test
+	public void batchMethodWithSession() throws JMSException {
+		jakarta.jms.Message jmsMessage = mock(jakarta.jms.Message.class);
+		Session session = mock(Session.class);
+		MessageConverter messageConverter = mock(MessageConverter.class);
+		given(messageConverter.fromMessage(jmsMessage)).willReturn("FooBar");
+		MessagingMessageListenerAdapter listener = getSimpleInstance("batchWithSession", List.class, Session.class);
+		listener.setMessageConverter(messageConverter);
+		listener.onMessages(List.of(jmsMessage), session);
+		assertThat(sample.batches).hasSize(1);
+		assertThat(sample.batches.get(0)).extracting(Message::getPayload).containsExactly("FooBar");
+	}
+
+	@Test
+	public void batchMethodWithUnresolvableArgumentRejected() {
+		assertThatIllegalStateException()
+				.isThrownBy(() -> getSimpleInstance("batchWithJmsMessage", List.class, jakarta.jms.Message.class))
+				.withMessageContaining("may only declare a List<Message<?>> and a Session parameter");
+		assertThatIllegalStateException()
+				.isThrownBy(() -> getSimpleInstance("batchWithHeader", List.class, String.class))
+				.withMessageContaining("java.lang.String at index 1");
+	}
+
+	@Test
+	public void singleMessageMethodInvokedForEachMessageOfBatch() throws JMSException {
+		jakarta.jms.Message jmsMessage1 = mock(jakarta.jms.Message.class);
+		jakarta.jms.Message jmsMessage2 = mock(jakarta.jms.Message.class);
+		MessageConverter messageConverter = mock(MessageConverter.class);
+		given(messageConverter.fromMessage(jmsMessage1)).willReturn("Foo");
+		given(messageConverter.fromMessage(jmsMessage2)).willReturn("Bar");
+		MessagingMessageListenerAdapter listener = getSimpleInstance("simple", Message.class);
+		listener.setMessageConverter(messageConverter);
+		listener.onMessages(List.of(jmsMessage1, jmsMessage2), mock(Session.class));
+		assertThat(sample.simples).extracting(Message::getPayload).containsExactly("Foo", "Bar");
+	}
+
 	@Test
 	public void replyUsesMessageConverterForPayload() throws JMSException {
 		Session session = mock(Session.class);
@@ -376,10 +440,28 @@ public class MessagingMessageListenerAdapterTests {
 
 		public final List<Message<String>> simples = new ArrayList<>();
 
+		public final List<List<Message<String>>> batches = new ArrayList<>();
+
 		public void simple(Message<String> input) {
 			simples.add(input);
 		}
 
+		public void batch(List<Message<String>> input) {
+			batches.add(input);
+		}
+
+		public void batchWithSession(List<Message<String>> input, Session session) {
+			batches.add(input);
+		}
+
+		public void batchWithJmsMessage(List<Message<String>> input, jakarta.jms.Message message) {
+			batches.add(input);
+		}
+
+		public void batchWithHeader(List<Message<String>> input, @Header(JmsHeaders.TYPE) String type) {
+			batches.add(input);
+		}
+
 		public Message<String> echo(Message<String> input) {
 			return MessageBuilder.withPayload(input.getPayload())
 					.setHeader(JmsHeaders.TYPE, "reply")
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.rsocket;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+
+import io.rsocket.core.RSocketServer;
+import io.rsocket.frame.decoder.PayloadDecoder;
+import io.rsocket.transport.local.LocalClientTransport;
+import io.rsocket.transport.local.LocalServerTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import org.springframework.messaging.handler.CompositeMessageCondition;
+import org.springframework.messaging.handler.DestinationPatternsMessageCondition;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.rsocket.annotation.support.RSocketFrameTypeMessageCondition;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Benchmarks for request-response round trips to {@code @MessageMapping}
+ * methods over the in-process local transport, with a route that is either
+ * matched directly, through a pattern, or through a pattern with a distinct
+ * destination for every request, among {@value #TOPIC_COUNT} further patterns.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class RSocketRoutingBenchmark {
+
+	private static final int TOPIC_COUNT = 500;
+
+	private static final int ORDER_COUNT = 100_000;
+
+
+	@State(Scope.Benchmark)
+	public static class ServerState {
+
+		@Param({"exact", "pattern", "parameterized"})
+		public String routeType;
+
+		public RSocketRequester requester;
+
+		public String route;
+
+		private Disposable server;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			RSocketStrategies strategies = RSocketStrategies.create();
+			RSocketMessageHandler handler = new RSocketMessageHandler();
+			handler.setHandlers(Collections.singletonList(new RoutingController()));
+			handler.setRSocketStrategies(strategies);
+			handler.afterPropertiesSet();
+			registerTopics(handler);
+
+			String name = "rsocket-routing-benchmark";
+			this.server = RSocketServer.create(handler.responder())
+					.payloadDecoder(PayloadDecoder.ZERO_COPY)
+					.bind(LocalServerTransport.create(name))
+					.block();
+			this.requester = RSocketRequester.builder()
+					.rsocketStrategies(strategies)
+					.rsocketConnector(connector -> connector.payloadDecoder(PayloadDecoder.ZERO_COPY))
+					.transport(LocalClientTransport.create(name));
+			this.route = ("exact".equals(this.routeType) ? "quotes.latest" : "quotes.NASDAQ.IBM");
+		}
+
+		private static void registerTopics(RSocketMessageHandler handler) {
+			Method method = ReflectionUtils.findMethod(TopicController.class, "topic", String.class);
+			TopicController controller = new TopicController();
+			for (int i = 0; i < TOPIC_COUNT; i++) {
+				String[] patterns = {"topic" + i + ".{id}"};
+				handler.registerHandlerMethod(controller, method, new CompositeMessageCondition(
+						RSocketFrameTypeMessageCondition.EMPTY_CONDITION,
+						new DestinationPatternsMessageCondition(patterns, handler.getRouteMatcher())));
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.requester.rsocketClient().dispose();
+			this.server.dispose();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class RouteState {
+
+		private int counter;
+
+		public String nextRoute(ServerState state) {
+			if ("parameterized".equals(state.routeType)) {
+				this.counter = (this.counter + 1) % ORDER_COUNT;
+				return "orders." + this.counter;
+			}
+			return state.route;
+		}
+	}
+
+	@Benchmark
+	public String requestResponse(ServerState state, RouteState routeState) {
+		return state.requester.route(routeState.nextRoute(state)).data("payload").retrieveMono(String.class).block();
+	}
+
+
+	@Controller
+	static class RoutingController {
+
+		@MessageMapping("quotes.latest")
+		Mono<String> latest(String payload) {
+			return Mono.just(payload);
+		}
+
+		@MessageMapping("quotes.{exchange}.{symbol}")
+		Mono<String> quote(@DestinationVariable String symbol, String payload) {
+			return Mono.just(symbol);
+		}
+
+		@MessageMapping("orders.{id}")
+		Mono<String> order(@DestinationVariable String id) {
+			return Mono.just(id);
+		}
+
+		@MessageMapping("trades.{exchange}.**")
+		Mono<String> trades(@DestinationVariable String exchange) {
+			return Mono.just(exchange);
+		}
+
+		@MessageMapping("accounts.{id}.positions")
+		Mono<String> positions(@DestinationVariable String id) {
+			return Mono.just(id);
+		}
+	}
+
+
+	static class TopicController {
+
+		public Mono<String> topic(@DestinationVariable String id) {
+			return Mono.just(id);
+		}
+	}
+
+}
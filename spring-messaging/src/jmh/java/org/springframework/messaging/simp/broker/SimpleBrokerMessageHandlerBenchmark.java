@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.simp.broker;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Benchmarks for broadcasting messages with {@link SimpleBrokerMessageHandler},
+ * sending from the publishing thread or across broadcast lanes.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SimpleBrokerMessageHandlerBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BrokerState {
+
+		@Param({"100", "10000"})
+		public int sessions;
+
+		@Param({"0", "4"})
+		public int lanes;
+
+		public SimpleBrokerMessageHandler broker;
+
+		public ExecutorService executor;
+
+		public final AtomicLong sent = new AtomicLong();
+
+		public Message<?> message;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			MessageChannel outboundChannel = (message, timeout) -> {
+				this.sent.incrementAndGet();
+				return true;
+			};
+			SubscribableChannel channel = new ExecutorSubscribableChannel();
+			this.broker = new SimpleBrokerMessageHandler(channel, outboundChannel, channel, Collections.emptyList());
+			if (this.lanes > 0) {
+				this.executor = Executors.newFixedThreadPool(this.lanes);
+				this.broker.setBroadcastLaneCount(this.lanes);
+				this.broker.setBroadcastExecutor(this.executor);
+			}
+			this.broker.start();
+
+			for (int i = 0; i < this.sessions; i++) {
+				String sessionId = "session_" + i;
+				SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+				connect.setSessionId(sessionId);
+				this.broker.handleMessage(MessageBuilder.createMessage("", connect.getMessageHeaders()));
+
+				SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+				subscribe.setSessionId(sessionId);
+				subscribe.setSubscriptionId("subscription_" + i);
+				subscribe.setDestination("/topic/prices");
+				this.broker.handleMessage(MessageBuilder.createMessage("", subscribe.getMessageHeaders()));
+			}
+
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+			accessor.setDestination("/topic/prices");
+			this.message = MessageBuilder.createMessage("price", accessor.getMessageHeaders());
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.broker.stop();
+			if (this.executor != null) {
+				this.executor.shutdownNow();
+			}
+		}
+	}
+
+	@Benchmark
+	public long broadcast(BrokerState state) {
+		long expected = state.sent.get() + state.sessions;
+		state.broker.handleMessage(state.message);
+		long sent;
+		while ((sent = state.sent.get()) < expected) {
+			Thread.onSpinWait();
+		}
+		return sent;
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.simp.stomp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+/**
+ * Benchmark for the full STOMP path of a SEND frame: decoding the inbound
+ * frame, broadcasting it with {@link SimpleBrokerMessageHandler}, and
+ * converting each outbound message back into a MESSAGE frame.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class StompBrokerRoundTripBenchmark {
+
+	@State(Scope.Thread)
+	public static class RoundTripState {
+
+		@Param({"1", "100"})
+		public int sessions;
+
+		public final StompDecoder decoder = new StompDecoder();
+
+		public final StompEncoder encoder = new StompEncoder();
+
+		public SimpleBrokerMessageHandler broker;
+
+		public Blackhole blackhole;
+
+		public byte[] frame;
+
+		@Setup(Level.Trial)
+		public void setup(Blackhole blackhole) {
+			this.blackhole = blackhole;
+			MessageChannel outboundChannel = (message, timeout) -> {
+				StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+				if (accessor == null) {
+					accessor = StompHeaderAccessor.wrap(message);
+					accessor.updateStompCommandAsServerMessage();
+				}
+				this.blackhole.consume(this.encoder.encode(accessor.getMessageHeaders(), (byte[]) message.getPayload()));
+				return true;
+			};
+			SubscribableChannel channel = new ExecutorSubscribableChannel();
+			this.broker = new SimpleBrokerMessageHandler(channel, outboundChannel, channel, Collections.emptyList());
+			this.broker.start();
+
+			for (int i = 0; i < this.sessions; i++) {
+				String sessionId = "session_" + i;
+				SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+				connect.setSessionId(sessionId);
+				this.broker.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+				SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+				subscribe.setSessionId(sessionId);
+				subscribe.setSubscriptionId("sub-" + i);
+				subscribe.setDestination("/topic/prices.NASDAQ.IBM");
+				this.broker.handleMessage(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+			}
+
+			String frame = "SEND\n" +
+					"destination:/topic/prices.NASDAQ.IBM\n" +
+					"content-type:application/json\n" +
+					"content-length:15\n" +
+					"\n{\"price\":121.5}\0";
+			this.frame = frame.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.broker.stop();
+		}
+	}
+
+	@Benchmark
+	public void sendToSubscribers(RoundTripState state) {
+		for (Message<byte[]> message : state.decoder.decode(ByteBuffer.wrap(state.frame))) {
+			StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+			accessor.setSessionId("publisher");
+			accessor.setImmutable();
+			state.broker.handleMessage(message);
+		}
+	}
+
+}
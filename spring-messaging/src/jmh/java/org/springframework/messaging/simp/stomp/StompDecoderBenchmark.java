@@ -0,0 +1,89 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.simp.stomp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks for {@link StompDecoder} and {@link BufferingStompDecoder} with
+ * typical MESSAGE frames, either complete or split into chunks.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class StompDecoderBenchmark {
+
+	@State(Scope.Thread)
+	public static class DecoderState {
+
+		@Param({"64", "4096"})
+		public int payloadSize;
+
+		@Param({"true", "false"})
+		public boolean contentLength;
+
+		@Param({"1", "8"})
+		public int chunks;
+
+		public StompDecoder decoder = new StompDecoder();
+
+		public byte[] frame;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			char[] payload = new char[this.payloadSize];
+			Arrays.fill(payload, 'a');
+			String frame = "MESSAGE\n" +
+					"destination:/topic/prices.NASDAQ.IBM\n" +
+					"subscription:sub-0\n" +
+					"message-id:7f3e1b2c-0a5d-4c1e-9d2f-000000000001\n" +
+					"content-type:application/json\n" +
+					(this.contentLength ? "content-length:" + this.payloadSize + "\n" : "") +
+					"\n" + new String(payload) + "\0";
+			this.frame = frame.getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+	@Benchmark
+	public void decode(DecoderState state, Blackhole blackhole) {
+		if (state.chunks == 1) {
+			blackhole.consume(state.decoder.decode(ByteBuffer.wrap(state.frame)));
+			return;
+		}
+		BufferingStompDecoder decoder = new BufferingStompDecoder(state.decoder, state.frame.length);
+		int chunkSize = (state.frame.length + state.chunks - 1) / state.chunks;
+		for (int offset = 0; offset < state.frame.length; offset += chunkSize) {
+			int length = Math.min(chunkSize, state.frame.length - offset);
+			List<Message<byte[]>> messages = decoder.decode(ByteBuffer.wrap(state.frame, offset, length).slice());
+			blackhole.consume(messages);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -330,6 +330,35 @@ public class MessageMappingMessageHandler extends AbstractMethodMessageHandler<C
 				.get(DestinationPatternsMessageCondition.LOOKUP_DESTINATION_HEADER);
 	}
 
+	@Override
+	protected Set<String> getDestinationPrefixes(CompositeMessageCondition mapping) {
+		Set<String> patterns = mapping.getCondition(DestinationPatternsMessageCondition.class).getPatterns();
+		if (patterns.isEmpty()) {
+			return Collections.singleton("");
+		}
+		Set<String> result = new LinkedHashSet<>();
+		for (String pattern : patterns) {
+			result.add(getLiteralPrefix(pattern));
+		}
+		return result;
+	}
+
+	private static String getLiteralPrefix(String pattern) {
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '*' || c == '?' || c == '{' || c == '\\') {
+				// Trim back past the separator: "orders.**" and "/a/{*rest}"
+				// also match the bare destinations "orders" and "/a"
+				int end = i;
+				while (end > 0 && !Character.isLetterOrDigit(pattern.charAt(end - 1))) {
+					end--;
+				}
+				return pattern.substring(0, end);
+			}
+		}
+		return pattern;
+	}
+
 	@Override
 	protected CompositeMessageCondition getMatchingMapping(CompositeMessageCondition mapping, Message<?> message) {
 		return mapping.getMatchingCondition(message);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,7 +22,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -109,6 +111,10 @@ public abstract class AbstractMethodMessageHandler<T>
 
 	private final Map<String, List<T>> destinationLookup = new ConcurrentHashMap<>(48);
 
+	private final Map<String, List<T>> prefixLookup = new ConcurrentHashMap<>(48);
+
+	private volatile int[] prefixLengths = new int[0];
+
 
 	/**
 	 * Configure a predicate for selecting which Spring beans to check for the
@@ -396,6 +402,13 @@ public abstract class AbstractMethodMessageHandler<T>
 			List<T> values = this.destinationLookup.computeIfAbsent(pattern, p -> new CopyOnWriteArrayList<>());
 			values.add(mapping);
 		}
+		for (String prefix : getDestinationPrefixes(mapping)) {
+			String key = prefix.toLowerCase(Locale.ROOT);
+			List<T> values = this.prefixLookup.computeIfAbsent(key, p -> new CopyOnWriteArrayList<>());
+			values.add(mapping);
+		}
+		this.prefixLengths = this.prefixLookup.keySet().stream()
+				.mapToInt(String::length).distinct().sorted().toArray();
 	}
 
 	/**
@@ -472,9 +485,10 @@ public abstract class AbstractMethodMessageHandler<T>
 			addMatchesToCollection(mappingsByUrl, message, matches);
 		}
 		if (matches.isEmpty()) {
-			// No direct hits, go through all mappings
-			Set<T> allMappings = this.handlerMethods.keySet();
-			addMatchesToCollection(allMappings, message, matches);
+			// No direct hits, go through the mappings for the prefixes of the destination
+			Collection<T> candidates = (destination != null ?
+					getPrefixLookupMappings(destination) : this.handlerMethods.keySet());
+			addMatchesToCollection(candidates, message, matches);
 		}
 		if (matches.isEmpty()) {
 			handleNoMatch(destination, message);
@@ -499,6 +513,28 @@ public abstract class AbstractMethodMessageHandler<T>
 		return bestMatch;
 	}
 
+	private Collection<T> getPrefixLookupMappings(RouteMatcher.Route destination) {
+		String value = destination.value().toLowerCase(Locale.ROOT);
+		Collection<T> result = Collections.emptyList();
+		for (int length : this.prefixLengths) {
+			if (length > value.length()) {
+				break;
+			}
+			List<T> mappings = this.prefixLookup.get(value.substring(0, length));
+			if (mappings != null) {
+				if (result.isEmpty()) {
+					result = mappings;
+				}
+				else {
+					// A mapping may be registered under several matching prefixes
+					result = new LinkedHashSet<>(result);
+					result.addAll(mappings);
+				}
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Extract the destination from the given message.
 	 * @see #getDirectLookupMappings(Object)
@@ -527,6 +563,22 @@ public abstract class AbstractMethodMessageHandler<T>
 	@Nullable
 	protected abstract T getMatchingMapping(T mapping, Message<?> message);
 
+	/**
+	 * Return literal prefixes such that any destination matched by the given
+	 * mapping starts with one of them, compared ignoring case. Used to narrow
+	 * down the mappings to check when there is no direct match via
+	 * {@link #getDirectLookupMappings}, so that a message is only matched
+	 * against mappings that share a prefix with its destination.
+	 * <p>By default this method returns a single empty prefix, i.e. the
+	 * mapping is checked with {@link #getMatchingMapping} for every message.
+	 * @param mapping the mapping to get the prefixes for
+	 * @return the prefixes, or a single empty prefix if any destination may match
+	 * @since 6.0
+	 */
+	protected Set<String> getDestinationPrefixes(T mapping) {
+		return Collections.singleton("");
+	}
+
 	/**
 	 * Return a comparator for sorting matching mappings.
 	 * The returned comparator should sort 'better' matches higher.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,7 +22,6 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
 import reactor.core.publisher.Mono;
 
@@ -186,8 +185,13 @@ public class InvocableHandlerMethod extends HandlerMethod {
 				argMonos.add(Mono.error(ex));
 			}
 		}
-		return Mono.zip(argMonos, values ->
-				Stream.of(values).map(value -> value != NO_ARG_VALUE ? value : null).toArray());
+		return Mono.zip(argMonos, values -> {
+			Object[] args = new Object[values.length];
+			for (int i = 0; i < values.length; i++) {
+				args[i] = (values[i] != NO_ARG_VALUE ? values[i] : null);
+			}
+			return args;
+		});
 	}
 
 	private void logArgumentErrorIfNecessary(MethodParameter parameter, Throwable ex) {
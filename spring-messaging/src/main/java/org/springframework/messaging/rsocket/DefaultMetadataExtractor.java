@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -117,8 +117,13 @@ public class DefaultMetadataExtractor implements MetadataExtractor, MetadataExtr
 	public Map<String, Object> extract(Payload payload, MimeType metadataMimeType) {
 		Map<String, Object> result = new HashMap<>();
 		if (metadataMimeType.toString().equals(WellKnownMimeType.MESSAGE_RSOCKET_COMPOSITE_METADATA.toString())) {
+			// Entries are parsed as we iterate...
 			for (CompositeMetadata.Entry entry : new CompositeMetadata(payload.metadata(), false)) {
 				extractEntry(entry.getContent(), entry.getMimeType(), result);
+				if (this.registrations.isEmpty() && result.containsKey(MetadataExtractor.ROUTE_KEY)) {
+					// Only the route is of interest, skip the remaining entries
+					break;
+				}
 			}
 		}
 		else {
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
@@ -54,6 +55,14 @@ import org.springframework.util.StringUtils;
  * in memory and uses a {@link org.springframework.util.PathMatcher PathMatcher}
  * for matching destinations.
  *
+ * <p>As of 6.0, subscriptions are indexed by destination so that resolving a
+ * destination that is not in the cache does not require matching every
+ * subscription: subscriptions to a concrete destination are looked up directly,
+ * and pattern subscriptions are grouped by the literal leading segments of their
+ * pattern, which is the case for the default {@link AntPathMatcher} only.
+ * Other {@code PathMatcher} implementations are matched against all pattern
+ * subscriptions.
+ *
  * <p>As of 4.2, this class supports a {@link #setSelectorHeaderName selector}
  * header on subscription messages with Spring EL expressions evaluated against
  * the headers to filter out messages in addition to destination matching.
@@ -73,7 +82,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			SimpleEvaluationContext.forPropertyAccessors(new SimpMessageHeaderPropertyAccessor()).build();
 
 
-	private PathMatcher pathMatcher = new AntPathMatcher();
+	private final AntPathMatcher defaultPathMatcher = new AntPathMatcher();
+
+	private PathMatcher pathMatcher = this.defaultPathMatcher;
 
 	private int cacheLimit = DEFAULT_CACHE_LIMIT;
 
@@ -84,6 +95,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private final ExpressionParser expressionParser = new SpelExpressionParser();
 
+	private final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
+
 	private final DestinationCache destinationCache = new DestinationCache();
 
 	private final SessionRegistry sessionRegistry = new SessionRegistry();
@@ -94,6 +107,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	 */
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		this.pathMatcher = pathMatcher;
+		this.subscriptionIndex.rebuild();
 	}
 
 	/**
@@ -154,8 +168,10 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		Expression expression = getSelectorExpression(message.getHeaders());
 		Subscription subscription = new Subscription(subscriptionId, destination, isPattern, expression);
 
-		this.sessionRegistry.addSubscription(sessionId, subscription);
-		this.destinationCache.updateAfterNewSubscription(sessionId, subscription);
+		if (this.sessionRegistry.addSubscription(sessionId, subscription)) {
+			this.subscriptionIndex.add(sessionId, subscription);
+			this.destinationCache.updateAfterNewSubscription(sessionId, subscription);
+		}
 	}
 
 	@Nullable
@@ -189,6 +205,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		if (info != null) {
 			Subscription subscription = info.removeSubscription(subscriptionId);
 			if (subscription != null) {
+				this.subscriptionIndex.remove(sessionId, subscription);
 				this.destinationCache.updateAfterRemovedSubscription(sessionId, subscription);
 			}
 		}
@@ -198,6 +215,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	public void unregisterAllSubscriptions(String sessionId) {
 		SessionInfo info = this.sessionRegistry.removeSubscriptions(sessionId);
 		if (info != null) {
+			for (Subscription subscription : info.getSubscriptions()) {
+				this.subscriptionIndex.remove(sessionId, subscription);
+			}
 			this.destinationCache.updateAfterRemovedSession(sessionId, info);
 		}
 	}
@@ -276,16 +296,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 		private LinkedMultiValueMap<String, String> computeMatchingSubscriptions(String destination) {
 			LinkedMultiValueMap<String, String> sessionIdToSubscriptionIds = new LinkedMultiValueMap<>();
-			DefaultSubscriptionRegistry.this.sessionRegistry.forEachSubscription((sessionId, subscription) -> {
-				if (subscription.isPattern()) {
-					if (pathMatcher.match(subscription.getDestination(), destination)) {
-						addMatchedSubscriptionId(sessionIdToSubscriptionIds, sessionId, subscription.getId());
-					}
-				}
-				else if (destination.equals(subscription.getDestination())) {
-					addMatchedSubscriptionId(sessionIdToSubscriptionIds, sessionId, subscription.getId());
-				}
-			});
+			DefaultSubscriptionRegistry.this.subscriptionIndex.forEachMatch(destination, (sessionId, subscription) ->
+					addMatchedSubscriptionId(sessionIdToSubscriptionIds, sessionId, subscription.getId()));
 			return sessionIdToSubscriptionIds;
 		}
 
@@ -378,6 +390,142 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		}
 	}
 
+	/**
+	 * Index of all subscriptions, used to compute the subscriptions matching a
+	 * destination that is not in the {@link DestinationCache}.
+	 */
+	private final class SubscriptionIndex {
+
+		// destination -> subscriptions to exactly that destination
+		private final Map<String, Set<SessionSubscription>> exactSubscriptions = new ConcurrentHashMap<>();
+
+		// literal leading segments of the pattern -> pattern subscriptions
+		private final PatternNode patternSubscriptions = new PatternNode();
+
+		public void add(String sessionId, Subscription subscription) {
+			SessionSubscription entry = new SessionSubscription(sessionId, subscription);
+			if (!subscription.isPattern()) {
+				this.exactSubscriptions.compute(subscription.getDestination(), (destination, entries) -> {
+					entries = (entries != null ? entries : ConcurrentHashMap.newKeySet());
+					entries.add(entry);
+					return entries;
+				});
+				return;
+			}
+			synchronized (this.patternSubscriptions) {
+				PatternNode node = this.patternSubscriptions;
+				for (String segment : getLiteralSegments(subscription.getDestination())) {
+					node = node.children.computeIfAbsent(segment, _segment -> new PatternNode());
+				}
+				node.subscriptions.add(entry);
+			}
+		}
+
+		public void remove(String sessionId, Subscription subscription) {
+			SessionSubscription entry = new SessionSubscription(sessionId, subscription);
+			if (!subscription.isPattern()) {
+				this.exactSubscriptions.computeIfPresent(subscription.getDestination(), (destination, entries) -> {
+					entries.remove(entry);
+					return (entries.isEmpty() ? null : entries);
+				});
+				return;
+			}
+			synchronized (this.patternSubscriptions) {
+				List<String> segments = getLiteralSegments(subscription.getDestination());
+				PatternNode[] path = new PatternNode[segments.size() + 1];
+				path[0] = this.patternSubscriptions;
+				for (int i = 0; i < segments.size(); i++) {
+					path[i + 1] = path[i].children.get(segments.get(i));
+					if (path[i + 1] == null) {
+						return;
+					}
+				}
+				path[segments.size()].subscriptions.remove(entry);
+				// Prune nodes left without subscriptions, from the leaf up
+				for (int i = segments.size(); i > 0 && path[i].isEmpty(); i--) {
+					path[i - 1].children.remove(segments.get(i - 1));
+				}
+			}
+		}
+
+		public void forEachMatch(String destination, BiConsumer<String, Subscription> consumer) {
+			Set<SessionSubscription> entries = this.exactSubscriptions.get(destination);
+			if (entries != null) {
+				for (SessionSubscription entry : entries) {
+					consumer.accept(entry.sessionId(), entry.subscription());
+				}
+			}
+			PatternNode node = this.patternSubscriptions;
+			if (node.isEmpty()) {
+				return;
+			}
+			String[] segments = (pathMatcher == defaultPathMatcher ?
+					StringUtils.tokenizeToStringArray(destination, AntPathMatcher.DEFAULT_PATH_SEPARATOR, false, true) :
+					new String[0]);
+			int index = 0;
+			while (node != null) {
+				for (SessionSubscription entry : node.subscriptions) {
+					Subscription subscription = entry.subscription();
+					if (pathMatcher.match(subscription.getDestination(), destination)) {
+						consumer.accept(entry.sessionId(), subscription);
+					}
+				}
+				node = (index < segments.length ? node.children.get(segments[index++]) : null);
+			}
+		}
+
+		/**
+		 * Return the leading segments of the given pattern up to the first
+		 * segment with a wildcard or a URI variable, which a destination has to
+		 * start with to match the pattern. Only applied with the default
+		 * {@link AntPathMatcher}, since other matchers may use different rules.
+		 */
+		private List<String> getLiteralSegments(String pattern) {
+			if (pathMatcher != defaultPathMatcher) {
+				return Collections.emptyList();
+			}
+			String[] segments = StringUtils.tokenizeToStringArray(
+					pattern, AntPathMatcher.DEFAULT_PATH_SEPARATOR, false, true);
+			List<String> result = new ArrayList<>(segments.length);
+			for (String segment : segments) {
+				if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1) {
+					break;
+				}
+				result.add(segment);
+			}
+			return result;
+		}
+
+		public void rebuild() {
+			this.exactSubscriptions.clear();
+			synchronized (this.patternSubscriptions) {
+				this.patternSubscriptions.children.clear();
+				this.patternSubscriptions.subscriptions.clear();
+			}
+			DefaultSubscriptionRegistry.this.sessionRegistry.forEachSubscription(this::add);
+		}
+	}
+
+	/**
+	 * Node of the pattern subscription index for one literal pattern segment.
+	 */
+	private static final class PatternNode {
+
+		private final Map<String, PatternNode> children = new ConcurrentHashMap<>(4);
+
+		private final Set<SessionSubscription> subscriptions = ConcurrentHashMap.newKeySet(4);
+
+		public boolean isEmpty() {
+			return (this.subscriptions.isEmpty() && this.children.isEmpty());
+		}
+	}
+
+	/**
+	 * A subscription along with the id of the session it belongs to.
+	 */
+	private record SessionSubscription(String sessionId, Subscription subscription) {
+	}
+
 	/**
 	 * Registry for all session and their subscriptions.
 	 */
@@ -395,9 +543,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 				info.getSubscriptions().forEach(subscription -> consumer.accept(sessionId, subscription)));
 		}
 
-		public void addSubscription(String sessionId, Subscription subscription) {
+		public boolean addSubscription(String sessionId, Subscription subscription) {
 			SessionInfo info = this.sessions.computeIfAbsent(sessionId, _sessionId -> new SessionInfo());
-			info.addSubscription(subscription);
+			return info.addSubscription(subscription);
 		}
 
 		@Nullable
@@ -423,8 +571,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return this.subscriptionMap.get(subscriptionId);
 		}
 
-		public void addSubscription(Subscription subscription) {
-			this.subscriptionMap.putIfAbsent(subscription.getId(), subscription);
+		public boolean addSubscription(Subscription subscription) {
+			return (this.subscriptionMap.putIfAbsent(subscription.getId(), subscription) == null);
 		}
 
 		@Nullable
@@ -20,9 +20,18 @@ import java.security.Principal;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -36,6 +45,7 @@ import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.MessageHeaderInitializer;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.PathMatcher;
 
@@ -44,6 +54,15 @@ import org.springframework.util.PathMatcher;
  * {@link SimpMessageType}, keeps track of subscriptions with the help of a
  * {@link SubscriptionRegistry} and sends messages to subscribers.
  *
+ * <p>By default, messages are sent to all matching subscribers from the thread
+ * that processes the published message. As of 6.0, a
+ * {@link #setBroadcastExecutor broadcast executor} can be configured instead,
+ * in which case sessions are partitioned across a number of
+ * {@link #setBroadcastLaneCount lanes} that send to their subscribers in
+ * parallel. Each lane processes one message at a time, so messages for a given
+ * session are passed to the client outbound channel in the order they were
+ * published.
+ *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
  * @since 4.0
@@ -71,6 +90,11 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private MessageHeaderInitializer headerInitializer;
 
+	@Nullable
+	private Executor broadcastExecutor;
+
+	private int broadcastLaneCount = Runtime.getRuntime().availableProcessors();
+
 
 	private SubscriptionRegistry subscriptionRegistry;
 
@@ -79,6 +103,9 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private ScheduledFuture<?> heartbeatFuture;
 
+	@Nullable
+	private volatile BroadcastLane[] broadcastLanes;
+
 
 	/**
 	 * Create a SimpleBrokerMessageHandler instance with the given message channels
@@ -250,6 +277,98 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		return this.headerInitializer;
 	}
 
+	/**
+	 * Configure an {@link Executor} to send messages to subscribers with,
+	 * partitioning sessions across {@link #setBroadcastLaneCount lanes} that
+	 * run in parallel on the given executor, one task per lane at a time.
+	 * <p>By default this is not set, and messages are sent to subscribers from
+	 * the thread that processes the published message.
+	 * @since 6.0
+	 */
+	public void setBroadcastExecutor(@Nullable Executor broadcastExecutor) {
+		this.broadcastExecutor = broadcastExecutor;
+		initBroadcastLanes();
+	}
+
+	/**
+	 * Return the configured broadcast executor.
+	 * @since 6.0
+	 */
+	@Nullable
+	public Executor getBroadcastExecutor() {
+		return this.broadcastExecutor;
+	}
+
+	/**
+	 * Configure the number of lanes to partition sessions across when a
+	 * {@link #setBroadcastExecutor broadcast executor} is set.
+	 * <p>By default this is set to the number of available processors.
+	 * @since 6.0
+	 */
+	public void setBroadcastLaneCount(int broadcastLaneCount) {
+		Assert.isTrue(broadcastLaneCount > 0, "Broadcast lane count must be greater than 0");
+		this.broadcastLaneCount = broadcastLaneCount;
+		initBroadcastLanes();
+	}
+
+	/**
+	 * Return the configured number of broadcast lanes.
+	 * @since 6.0
+	 */
+	public int getBroadcastLaneCount() {
+		return this.broadcastLaneCount;
+	}
+
+	private void initBroadcastLanes() {
+		Executor executor = this.broadcastExecutor;
+		if (executor == null) {
+			this.broadcastLanes = null;
+			return;
+		}
+		BroadcastLane[] lanes = new BroadcastLane[this.broadcastLaneCount];
+		for (int i = 0; i < lanes.length; i++) {
+			lanes[i] = new BroadcastLane(executor);
+		}
+		this.broadcastLanes = lanes;
+	}
+
+	/**
+	 * Return the number of tasks waiting in each of the broadcast lanes, or
+	 * an empty array if no {@link #setBroadcastExecutor broadcast executor}
+	 * is configured.
+	 * @since 6.0
+	 */
+	public int[] getBroadcastLaneQueueSizes() {
+		BroadcastLane[] lanes = this.broadcastLanes;
+		if (lanes == null) {
+			return new int[0];
+		}
+		int[] sizes = new int[lanes.length];
+		for (int i = 0; i < lanes.length; i++) {
+			sizes[i] = lanes[i].getQueueSize();
+		}
+		return sizes;
+	}
+
+	/**
+	 * Return a String describing each of the broadcast lanes, including its
+	 * queue size, the latency between the processing of a published message
+	 * and the completion of the sends for it in the lane, and the number of
+	 * tasks rejected by the broadcast executor.
+	 * @since 6.0
+	 */
+	public String getBroadcastStatsInfo() {
+		BroadcastLane[] lanes = this.broadcastLanes;
+		if (lanes == null) {
+			return "no broadcast lanes";
+		}
+		StringBuilder sb = new StringBuilder().append(lanes.length).append(" lanes");
+		for (int i = 0; i < lanes.length; i++) {
+			sb.append(", lane ").append(i).append(" [").append(lanes[i]).append(']');
+		}
+		return sb.toString();
+	}
+
 
 	@Override
 	public void startInternal() {
@@ -391,33 +510,69 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		if (!subscriptions.isEmpty() && logger.isDebugEnabled()) {
 			logger.debug("Broadcasting to " + subscriptions.size() + " sessions.");
 		}
-		long now = System.currentTimeMillis();
+		BroadcastLane[] lanes = this.broadcastLanes;
+		if (lanes == null) {
+			long now = System.currentTimeMillis();
+			subscriptions.forEach((sessionId, subscriptionIds) ->
+					sendMessageToSession(message, sessionId, subscriptionIds, now));
+			return;
+		}
+		long startTime = System.nanoTime();
+		MultiValueMap<String, String>[] laneSubscriptions = partitionByLane(subscriptions, lanes.length);
+		for (int i = 0; i < lanes.length; i++) {
+			MultiValueMap<String, String> sessionSubscriptions = laneSubscriptions[i];
+			if (sessionSubscriptions != null) {
+				BroadcastLane lane = lanes[i];
+				lane.execute(() -> {
+					long now = System.currentTimeMillis();
+					sessionSubscriptions.forEach((sessionId, subscriptionIds) ->
+							sendMessageToSession(message, sessionId, subscriptionIds, now));
+					lane.recordFanOut(System.nanoTime() - startTime);
+				});
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MultiValueMap<String, String>[] partitionByLane(
+			MultiValueMap<String, String> subscriptions, int laneCount) {
+
+		MultiValueMap<String, String>[] result = new MultiValueMap[laneCount];
 		subscriptions.forEach((sessionId, subscriptionIds) -> {
-			for (String subscriptionId : subscriptionIds) {
-				SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
-				initHeaders(headerAccessor);
-				headerAccessor.setSessionId(sessionId);
-				headerAccessor.setSubscriptionId(subscriptionId);
-				headerAccessor.copyHeadersIfAbsent(message.getHeaders());
-				headerAccessor.setLeaveMutable(true);
-				Object payload = message.getPayload();
-				Message<?> reply = MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
-				SessionInfo info = this.sessions.get(sessionId);
-				if (info != null) {
-					try {
-						info.getClientOutboundChannel().send(reply);
-					}
-					catch (Throwable ex) {
-						if (logger.isErrorEnabled()) {
-							logger.error("Failed to send " + message, ex);
-						}
-					}
-					finally {
-						info.setLastWriteTime(now);
+			int lane = Math.floorMod(sessionId.hashCode(), laneCount);
+			if (result[lane] == null) {
+				result[lane] = new LinkedMultiValueMap<>();
+			}
+			result[lane].put(sessionId, subscriptionIds);
+		});
+		return result;
+	}
+
+	private void sendMessageToSession(Message<?> message, String sessionId, List<String> subscriptionIds, long now) {
+		for (String subscriptionId : subscriptionIds) {
+			SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+			initHeaders(headerAccessor);
+			headerAccessor.setSessionId(sessionId);
+			headerAccessor.setSubscriptionId(subscriptionId);
+			headerAccessor.copyHeadersIfAbsent(message.getHeaders());
+			headerAccessor.setLeaveMutable(true);
+			Object payload = message.getPayload();
+			Message<?> reply = MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
+			SessionInfo info = this.sessions.get(sessionId);
+			if (info != null) {
+				try {
+					info.getClientOutboundChannel().send(reply);
+				}
+				catch (Throwable ex) {
+					if (logger.isErrorEnabled()) {
+						logger.error("Failed to send " + message, ex);
 					}
 				}
+				finally {
+					info.setLastWriteTime(now);
+				}
 			}
-		});
+		}
 	}
 
 	@Override
@@ -505,6 +660,111 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	}
 
 
+	/**
+	 * Serial lane of broadcast tasks for the sessions assigned to it: tasks are
+	 * run on the broadcast executor one at a time, in submission order.
+	 * Also keeps the fan-out latency counters for the lane.
+	 */
+	private final class BroadcastLane implements Runnable {
+
+		private final Executor executor;
+
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger queueSize = new AtomicInteger();
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private final AtomicLong fanOutCount = new AtomicLong();
+
+		private final AtomicLong totalFanOutTime = new AtomicLong();
+
+		private final AtomicLong maxFanOutTime = new AtomicLong();
+
+		private final AtomicLong rejectedCount = new AtomicLong();
+
+		public BroadcastLane(Executor executor) {
+			this.executor = executor;
+		}
+
+		public int getQueueSize() {
+			return this.queueSize.get();
+		}
+
+		public void execute(Runnable task) {
+			this.tasks.add(task);
+			this.queueSize.incrementAndGet();
+			try {
+				trySchedule();
+			}
+			catch (RejectedExecutionException ex) {
+				// Skip this lane for the message, but let the other lanes have it
+				if (this.tasks.remove(task)) {
+					this.queueSize.decrementAndGet();
+					this.rejectedCount.incrementAndGet();
+				}
+				logger.error("Broadcast executor rejected message, skipping its sessions in this lane", ex);
+			}
+		}
+
+		private void trySchedule() {
+			// Take the scheduled flag only if the queue is not empty
+			if (!this.tasks.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+				try {
+					this.executor.execute(this);
+				}
+				catch (Throwable ex) {
+					this.scheduled.set(false);
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				Runnable task;
+				while ((task = this.tasks.poll()) != null) {
+					this.queueSize.decrementAndGet();
+					try {
+						task.run();
+					}
+					catch (Throwable ex) {
+						logger.error("Failed to broadcast message", ex);
+					}
+				}
+			}
+			finally {
+				this.scheduled.set(false);
+				try {
+					trySchedule();
+				}
+				catch (RejectedExecutionException ex) {
+					// Queued tasks are picked up again with the next message for the lane
+					logger.error("Broadcast executor rejected lane with queued messages", ex);
+				}
+			}
+		}
+
+		public void recordFanOut(long nanos) {
+			this.fanOutCount.incrementAndGet();
+			this.totalFanOutTime.addAndGet(nanos);
+			this.maxFanOutTime.accumulateAndGet(nanos, Math::max);
+		}
+
+		@Override
+		public String toString() {
+			long count = this.fanOutCount.get();
+			long average = (count > 0 ? this.totalFanOutTime.get() / count : 0);
+			return ("queue size = " + getQueueSize() +
+					", completed fan-outs = " + count +
+					", average fan-out time = " + TimeUnit.NANOSECONDS.toMicros(average) + " us" +
+					", max fan-out time = " + TimeUnit.NANOSECONDS.toMicros(this.maxFanOutTime.get()) + " us" +
+					", rejected = " + this.rejectedCount.get());
+		}
+	}
+
+
 	private class HeartbeatTask implements Runnable {
 
 		@Override
@@ -163,6 +163,8 @@ public abstract class AbstractMessageBrokerConfiguration implements ApplicationC
 		if (reg.hasInterceptors()) {
 			channel.setInterceptors(reg.getInterceptors());
 		}
+		channel.setSubscriberConcurrency(reg.getSubscriberConcurrency());
+		channel.setSubscriberQueueCapacity(reg.getSubscriberQueueCapacity());
 		return channel;
 	}
 
@@ -201,6 +203,8 @@ public abstract class AbstractMessageBrokerConfiguration implements ApplicationC
 		if (reg.hasInterceptors()) {
 			channel.setInterceptors(reg.getInterceptors());
 		}
+		channel.setSubscriberConcurrency(reg.getSubscriberConcurrency());
+		channel.setSubscriberQueueCapacity(reg.getSubscriberQueueCapacity());
 		return channel;
 	}
 
@@ -241,6 +245,8 @@ public abstract class AbstractMessageBrokerConfiguration implements ApplicationC
 		registration.interceptors(new ImmutableMessageChannelInterceptor());
 		channel.setLogger(SimpLogging.forLog(channel.getLogger()));
 		channel.setInterceptors(registration.getInterceptors());
+		channel.setSubscriberConcurrency(registration.getSubscriberConcurrency());
+		channel.setSubscriberQueueCapacity(registration.getSubscriberQueueCapacity());
 		return channel;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,10 @@ public class ChannelRegistration {
 
 	private final List<ChannelInterceptor> interceptors = new ArrayList<>();
 
+	private int subscriberConcurrency = 0;
+
+	private int subscriberQueueCapacity = Integer.MAX_VALUE;
+
 
 	/**
 	 * Configure the thread pool backing this message channel.
@@ -70,6 +74,31 @@ public class ChannelRegistration {
 	}
 
 
+	/**
+	 * Give each subscriber of this message channel its own lane on the task
+	 * executor, handling up to the given number of messages at a time.
+	 * @param subscriberConcurrency the number of messages each subscriber
+	 * may handle concurrently, or 0 to use a single queue for all subscribers
+	 * @since 6.0
+	 * @see org.springframework.messaging.support.ExecutorSubscribableChannel#setSubscriberConcurrency
+	 */
+	public ChannelRegistration subscriberConcurrency(int subscriberConcurrency) {
+		this.subscriberConcurrency = subscriberConcurrency;
+		return this;
+	}
+
+	/**
+	 * Configure the maximum number of messages to queue for each subscriber
+	 * when a {@link #subscriberConcurrency subscriber concurrency} is set.
+	 * @since 6.0
+	 * @see org.springframework.messaging.support.ExecutorSubscribableChannel#setSubscriberQueueCapacity
+	 */
+	public ChannelRegistration subscriberQueueCapacity(int subscriberQueueCapacity) {
+		this.subscriberQueueCapacity = subscriberQueueCapacity;
+		return this;
+	}
+
+
 	protected boolean hasTaskExecutor() {
 		return (this.registration != null);
 	}
@@ -82,4 +111,12 @@ public class ChannelRegistration {
 		return this.interceptors;
 	}
 
+	protected int getSubscriberConcurrency() {
+		return this.subscriberConcurrency;
+	}
+
+	protected int getSubscriberQueueCapacity() {
+		return this.subscriberQueueCapacity;
+	}
+
 }
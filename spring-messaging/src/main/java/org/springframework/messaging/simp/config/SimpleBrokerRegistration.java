@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.messaging.simp.config;
 
+import java.util.concurrent.Executor;
+
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.SubscribableChannel;
@@ -39,6 +41,12 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 	@Nullable
 	private String selectorHeaderName = "selector";
 
+	@Nullable
+	private Executor broadcastExecutor;
+
+	@Nullable
+	private Integer broadcastLaneCount;
+
 
 	/**
 	 * Create a new {@code SimpleBrokerRegistration}.
@@ -97,6 +105,31 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 		this.selectorHeaderName = selectorHeaderName;
 	}
 
+	/**
+	 * Configure an {@link Executor} to send messages to subscribers with,
+	 * partitioning sessions across lanes that run in parallel.
+	 * <p>By default this is not set, and messages are sent to subscribers from
+	 * the thread that processes the published message.
+	 * @since 6.0
+	 * @see SimpleBrokerMessageHandler#setBroadcastExecutor(Executor)
+	 */
+	public SimpleBrokerRegistration setBroadcastExecutor(Executor broadcastExecutor) {
+		this.broadcastExecutor = broadcastExecutor;
+		return this;
+	}
+
+	/**
+	 * Configure the number of lanes to partition sessions across when a
+	 * {@link #setBroadcastExecutor broadcast executor} is set.
+	 * <p>By default this is set to the number of available processors.
+	 * @since 6.0
+	 * @see SimpleBrokerMessageHandler#setBroadcastLaneCount(int)
+	 */
+	public SimpleBrokerRegistration setBroadcastLaneCount(int broadcastLaneCount) {
+		this.broadcastLaneCount = broadcastLaneCount;
+		return this;
+	}
+
 
 	@Override
 	protected SimpleBrokerMessageHandler getMessageHandler(SubscribableChannel brokerChannel) {
@@ -109,6 +142,10 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 			handler.setHeartbeatValue(this.heartbeat);
 		}
 		handler.setSelectorHeaderName(this.selectorHeaderName);
+		if (this.broadcastLaneCount != null) {
+			handler.setBroadcastLaneCount(this.broadcastLaneCount);
+		}
+		handler.setBroadcastExecutor(this.broadcastExecutor);
 		return handler;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -96,11 +96,15 @@ public class BufferingStompDecoder {
 	 * is "content-length" header, every subsequent call to decode attempts to
 	 * parse again with all available data. Therefore the presence of a "content-length"
 	 * header helps to optimize the decoding of large messages.
+	 * <p>A frame can only be completed by data that contains its terminating
+	 * NULL octet, so as of 6.0 new data without one is buffered without another
+	 * attempt to decode the incomplete frame.
 	 * @param newBuffer a buffer containing new data to decode
 	 * @return decoded messages or an empty list
 	 * @throws StompConversionException raised in case of decoding issues
 	 */
 	public List<Message<byte[]>> decode(ByteBuffer newBuffer) {
+		boolean incompleteFrame = !this.chunks.isEmpty();
 		this.chunks.add(newBuffer);
 		checkBufferLimits();
 
@@ -108,6 +112,9 @@ public class BufferingStompDecoder {
 		if (contentLength != null && getBufferSize() < contentLength) {
 			return Collections.emptyList();
 		}
+		if (incompleteFrame && !containsNullOctet(newBuffer)) {
+			return Collections.emptyList();
+		}
 
 		ByteBuffer bufferToDecode = assembleChunksAndReset();
 		MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
@@ -121,6 +128,15 @@ public class BufferingStompDecoder {
 		return messages;
 	}
 
+	private static boolean containsNullOctet(ByteBuffer buffer) {
+		for (int i = buffer.position(); i < buffer.limit(); i++) {
+			if (buffer.get(i) == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private ByteBuffer assembleChunksAndReset() {
 		ByteBuffer result;
 		if (this.chunks.size() == 1) {
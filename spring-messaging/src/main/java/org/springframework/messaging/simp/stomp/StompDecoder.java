@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 
 package org.springframework.messaging.simp.stomp;
 
-import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -32,7 +31,6 @@ import org.springframework.messaging.support.MessageHeaderInitializer;
 import org.springframework.messaging.support.NativeMessageHeaderAccessor;
 import org.springframework.util.InvalidMimeTypeException;
 import org.springframework.util.MultiValueMap;
-import org.springframework.util.StreamUtils;
 
 /**
  * Decodes one or more STOMP frames contained in a {@link ByteBuffer}.
@@ -43,6 +41,11 @@ import org.springframework.util.StreamUtils;
  * partial content. The caller is then responsible for dealing with that
  * incomplete content by buffering until there is more input available.
  *
+ * <p>Commands, header lines, and payloads are located in the buffer before
+ * being read, so that each is copied exactly once. The names of the commands
+ * and of the headers defined by the STOMP protocol are not copied at all but
+ * resolved to shared {@code String} constants.
+ *
  * @author Andy Wilkinson
  * @author Rossen Stoyanchev
  * @since 4.0
@@ -53,6 +56,38 @@ public class StompDecoder {
 
 	private static final Log logger = SimpLogging.forLogName(StompDecoder.class);
 
+	private static final String[] COMMAND_NAMES;
+
+	private static final byte[][] COMMAND_NAME_BYTES;
+
+	private static final String[] HEADER_NAMES = new String[] {
+			StompHeaderAccessor.STOMP_ID_HEADER, StompHeaderAccessor.STOMP_HOST_HEADER,
+			StompHeaderAccessor.STOMP_ACCEPT_VERSION_HEADER, StompHeaderAccessor.STOMP_MESSAGE_ID_HEADER,
+			StompHeaderAccessor.STOMP_RECEIPT_HEADER, StompHeaderAccessor.STOMP_RECEIPT_ID_HEADER,
+			StompHeaderAccessor.STOMP_SUBSCRIPTION_HEADER, StompHeaderAccessor.STOMP_VERSION_HEADER,
+			StompHeaderAccessor.STOMP_MESSAGE_HEADER, StompHeaderAccessor.STOMP_ACK_HEADER,
+			StompHeaderAccessor.STOMP_NACK_HEADER, StompHeaderAccessor.STOMP_LOGIN_HEADER,
+			StompHeaderAccessor.STOMP_PASSCODE_HEADER, StompHeaderAccessor.STOMP_DESTINATION_HEADER,
+			StompHeaderAccessor.STOMP_CONTENT_TYPE_HEADER, StompHeaderAccessor.STOMP_CONTENT_LENGTH_HEADER,
+			StompHeaderAccessor.STOMP_HEARTBEAT_HEADER, "transaction"};
+
+	private static final byte[][] HEADER_NAME_BYTES;
+
+	static {
+		StompCommand[] commands = StompCommand.values();
+		COMMAND_NAMES = new String[commands.length];
+		COMMAND_NAME_BYTES = new byte[commands.length][];
+		for (int i = 0; i < commands.length; i++) {
+			COMMAND_NAMES[i] = commands[i].name();
+			COMMAND_NAME_BYTES[i] = commands[i].name().getBytes(StandardCharsets.UTF_8);
+		}
+		HEADER_NAME_BYTES = new byte[HEADER_NAMES.length][];
+		for (int i = 0; i < HEADER_NAMES.length; i++) {
+			HEADER_NAME_BYTES[i] = HEADER_NAMES[i].getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+
 	@Nullable
 	private MessageHeaderInitializer headerInitializer;
 
@@ -208,11 +243,11 @@ public class StompDecoder {
 	}
 
 	private String readCommand(ByteBuffer byteBuffer) {
-		ByteArrayOutputStream command = new ByteArrayOutputStream(256);
-		while (byteBuffer.remaining() > 0 && !tryConsumeEndOfLine(byteBuffer)) {
-			command.write(byteBuffer.get());
-		}
-		return StreamUtils.copyToString(command, StandardCharsets.UTF_8);
+		int start = byteBuffer.position();
+		int end = findEndOfLine(byteBuffer);
+		byteBuffer.position(end);
+		tryConsumeEndOfLine(byteBuffer);
+		return readString(byteBuffer, start, end, COMMAND_NAMES, COMMAND_NAME_BYTES);
 	}
 
 	private void readHeaders(ByteBuffer byteBuffer, StompHeaderAccessor headerAccessor, StompCommand command) {
@@ -222,27 +257,26 @@ public class StompDecoder {
 				command != StompCommand.STOMP);
 
 		while (true) {
-			ByteArrayOutputStream headerStream = new ByteArrayOutputStream(256);
-			boolean headerComplete = false;
-			while (byteBuffer.hasRemaining()) {
-				if (tryConsumeEndOfLine(byteBuffer)) {
-					headerComplete = true;
-					break;
-				}
-				headerStream.write(byteBuffer.get());
-			}
-			if (headerStream.size() > 0 && headerComplete) {
-				String header = StreamUtils.copyToString(headerStream, StandardCharsets.UTF_8);
-				int colonIndex = header.indexOf(':');
-				if (colonIndex <= 0) {
+			int start = byteBuffer.position();
+			int end = findEndOfLine(byteBuffer);
+			byteBuffer.position(end);
+			boolean headerComplete = tryConsumeEndOfLine(byteBuffer);
+			if (end > start && headerComplete) {
+				int colonIndex = indexOf(byteBuffer, (byte) ':', start, end);
+				if (colonIndex <= start) {
 					if (byteBuffer.remaining() > 0) {
+						String header = readString(byteBuffer, start, end, null, null);
 						throw new StompConversionException("Illegal header: '" + header +
 								"'. A header must be of the form <name>:[<value>].");
 					}
 				}
 				else {
-					String headerName = shouldUnescape ? unescape(header.substring(0, colonIndex)) : header.substring(0, colonIndex);
-					String headerValue = shouldUnescape ? unescape(header.substring(colonIndex + 1)) : header.substring(colonIndex + 1);
+					String headerName = readString(byteBuffer, start, colonIndex, HEADER_NAMES, HEADER_NAME_BYTES);
+					String headerValue = readString(byteBuffer, colonIndex + 1, end, null, null);
+					if (shouldUnescape) {
+						headerName = unescape(headerName);
+						headerValue = unescape(headerValue);
+					}
 					try {
 						headerAccessor.addNativeHeader(headerName, headerValue);
 					}
@@ -264,6 +298,9 @@ public class StompDecoder {
 	 * <a href="https://stomp.github.io/stomp-specification-1.2.html#Value_Encoding">"Value Encoding"</a>.
 	 */
 	private String unescape(String inString) {
+		if (inString.indexOf('\\') == -1) {
+			return inString;
+		}
 		StringBuilder sb = new StringBuilder(inString.length());
 		int pos = 0;  // position in the old string
 		int index = inString.indexOf('\\');
@@ -325,20 +362,78 @@ public class StompDecoder {
 			}
 		}
 		else {
-			ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
-			while (byteBuffer.remaining() > 0) {
-				byte b = byteBuffer.get();
-				if (b == 0) {
-					return payload.toByteArray();
-				}
-				else {
-					payload.write(b);
-				}
+			int end = indexOf(byteBuffer, (byte) 0, byteBuffer.position(), byteBuffer.limit());
+			if (end != -1) {
+				byte[] payload = new byte[end - byteBuffer.position()];
+				byteBuffer.get(payload);
+				byteBuffer.get();
+				return payload;
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Return the index of the first EOL character at or after the current
+	 * position of the given buffer, or the buffer limit if there is none.
+	 */
+	private static int findEndOfLine(ByteBuffer byteBuffer) {
+		int limit = byteBuffer.limit();
+		for (int i = byteBuffer.position(); i < limit; i++) {
+			byte b = byteBuffer.get(i);
+			if (b == '\n' || b == '\r') {
+				return i;
+			}
+		}
+		return limit;
+	}
+
+	/**
+	 * Return the index of the given byte within the given range of the buffer,
+	 * or -1 if not found.
+	 */
+	private static int indexOf(ByteBuffer byteBuffer, byte value, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (byteBuffer.get(i) == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Read the given range of the buffer as a UTF-8 String, without changing
+	 * the position of the buffer, and returning the matching constant instead
+	 * of a new String if the content is one of the given names.
+	 */
+	private static String readString(ByteBuffer byteBuffer, int start, int end,
+			@Nullable String[] names, @Nullable byte[][] nameBytes) {
+
+		int length = end - start;
+		if (names != null && nameBytes != null) {
+			for (int i = 0; i < nameBytes.length; i++) {
+				if (nameBytes[i].length == length && rangeEquals(byteBuffer, start, nameBytes[i])) {
+					return names[i];
+				}
+			}
+		}
+		if (byteBuffer.hasArray()) {
+			return new String(byteBuffer.array(), byteBuffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+		}
+		byte[] bytes = new byte[length];
+		byteBuffer.get(start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static boolean rangeEquals(ByteBuffer byteBuffer, int start, byte[] bytes) {
+		for (int i = 0; i < bytes.length; i++) {
+			if (byteBuffer.get(start + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Try to read an EOL incrementing the buffer position if successful.
 	 * @return whether an EOL was consumed
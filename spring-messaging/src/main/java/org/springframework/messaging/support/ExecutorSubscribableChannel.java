@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,16 @@
 package org.springframework.messaging.support;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -26,20 +34,43 @@ import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.SubscribableChannel;
+import org.springframework.util.Assert;
 
 /**
  * A {@link SubscribableChannel} that sends messages to each of its subscribers.
  *
+ * <p>By default, each message is passed to the configured {@link Executor} once
+ * per subscriber, so a slow subscriber competes with all others for the same
+ * threads and queue. As of 6.0, a {@link #setSubscriberConcurrency subscriber
+ * concurrency} can be configured instead, in which case every subscriber gets
+ * its own lane with a bounded queue that is drained by up to that many tasks
+ * on the executor at a time. Backlog and latency of each lane are exposed
+ * through {@link #getSubscriberBacklog(MessageHandler)} and
+ * {@link #getSubscriberStatsInfo()}.
+ *
  * @author Phillip Webb
  * @author Rossen Stoyanchev
  * @since 4.0
  */
 public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 
+	private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+	private static final ExecutorChannelInterceptor[] NO_INTERCEPTORS = new ExecutorChannelInterceptor[0];
+
+
 	@Nullable
 	private final Executor executor;
 
-	private final List<ExecutorChannelInterceptor> executorInterceptors = new ArrayList<>(4);
+	private int subscriberConcurrency = 0;
+
+	private int subscriberQueueCapacity = Integer.MAX_VALUE;
+
+	private volatile ExecutorChannelInterceptor[] executorInterceptors = NO_INTERCEPTORS;
+
+	private volatile Subscriber[] subscribers = NO_SUBSCRIBERS;
+
+	private final Object subscriberMonitor = new Object();
 
 
 	/**
@@ -66,44 +97,208 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 		return this.executor;
 	}
 
+	/**
+	 * Configure the maximum number of messages that are handled concurrently
+	 * by each subscriber. When set, every subscriber gets its own lane that
+	 * queues messages for it and drains them on the {@link #getExecutor()
+	 * executor}, so that a slow subscriber does not hold up others. A value
+	 * of 1 also guarantees that each subscriber handles messages in the order
+	 * they were sent.
+	 * <p>By default this is set to 0, in which case every message is passed to
+	 * the executor once per subscriber. This setting has no effect if the
+	 * channel has no executor.
+	 * @since 6.0
+	 */
+	public void setSubscriberConcurrency(int subscriberConcurrency) {
+		Assert.isTrue(subscriberConcurrency >= 0, "Subscriber concurrency must not be negative");
+		this.subscriberConcurrency = subscriberConcurrency;
+		updateSubscribers();
+	}
+
+	/**
+	 * Return the configured subscriber concurrency.
+	 * @since 6.0
+	 */
+	public int getSubscriberConcurrency() {
+		return this.subscriberConcurrency;
+	}
+
+	/**
+	 * Configure the maximum number of messages that may be queued for each
+	 * subscriber when a {@link #setSubscriberConcurrency subscriber concurrency}
+	 * is set. Once a subscriber's queue is full, further messages are not
+	 * queued for it, and {@link #send} returns {@code false}.
+	 * <p>By default this is unbounded.
+	 * @since 6.0
+	 */
+	public void setSubscriberQueueCapacity(int subscriberQueueCapacity) {
+		Assert.isTrue(subscriberQueueCapacity > 0, "Subscriber queue capacity must be greater than 0");
+		this.subscriberQueueCapacity = subscriberQueueCapacity;
+		updateSubscribers();
+	}
+
+	/**
+	 * Return the configured subscriber queue capacity.
+	 * @since 6.0
+	 */
+	public int getSubscriberQueueCapacity() {
+		return this.subscriberQueueCapacity;
+	}
+
 	@Override
 	public void setInterceptors(List<ChannelInterceptor> interceptors) {
 		super.setInterceptors(interceptors);
-		this.executorInterceptors.clear();
-		interceptors.forEach(this::updateExecutorInterceptorsFor);
+		updateExecutorInterceptors();
 	}
 
 	@Override
 	public void addInterceptor(ChannelInterceptor interceptor) {
 		super.addInterceptor(interceptor);
-		updateExecutorInterceptorsFor(interceptor);
+		updateExecutorInterceptors();
 	}
 
 	@Override
 	public void addInterceptor(int index, ChannelInterceptor interceptor) {
 		super.addInterceptor(index, interceptor);
-		updateExecutorInterceptorsFor(interceptor);
+		updateExecutorInterceptors();
+	}
+
+	@Override
+	public boolean removeInterceptor(ChannelInterceptor interceptor) {
+		boolean result = super.removeInterceptor(interceptor);
+		updateExecutorInterceptors();
+		return result;
 	}
 
-	private void updateExecutorInterceptorsFor(ChannelInterceptor interceptor) {
-		if (interceptor instanceof ExecutorChannelInterceptor) {
-			this.executorInterceptors.add((ExecutorChannelInterceptor) interceptor);
+	@Override
+	public ChannelInterceptor removeInterceptor(int index) {
+		ChannelInterceptor result = super.removeInterceptor(index);
+		updateExecutorInterceptors();
+		return result;
+	}
+
+	private void updateExecutorInterceptors() {
+		List<ExecutorChannelInterceptor> result = new ArrayList<>(4);
+		for (ChannelInterceptor interceptor : getInterceptors()) {
+			if (interceptor instanceof ExecutorChannelInterceptor executorInterceptor) {
+				result.add(executorInterceptor);
+			}
 		}
+		this.executorInterceptors = result.toArray(NO_INTERCEPTORS);
+	}
+
+	@Override
+	public boolean subscribe(MessageHandler handler) {
+		synchronized (this.subscriberMonitor) {
+			boolean result = super.subscribe(handler);
+			if (result) {
+				updateSubscribers();
+			}
+			return result;
+		}
+	}
+
+	@Override
+	public boolean unsubscribe(MessageHandler handler) {
+		synchronized (this.subscriberMonitor) {
+			boolean result = super.unsubscribe(handler);
+			if (result) {
+				updateSubscribers();
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Rebuild the snapshot of subscribers used for sending, keeping the
+	 * lanes of existing subscribers and discarding those of removed ones.
+	 */
+	private void updateSubscribers() {
+		synchronized (this.subscriberMonitor) {
+			Executor executor = this.executor;
+			boolean useLanes = (executor != null && this.subscriberConcurrency > 0);
+			Map<MessageHandler, SubscriberLane> lanes = new HashMap<>();
+			for (Subscriber subscriber : this.subscribers) {
+				if (subscriber.lane() != null) {
+					lanes.put(subscriber.handler(), subscriber.lane());
+				}
+			}
+			List<Subscriber> result = new ArrayList<>();
+			for (MessageHandler handler : getSubscribers()) {
+				SubscriberLane lane = null;
+				if (useLanes) {
+					lane = lanes.get(handler);
+					if (lane == null) {
+						lane = new SubscriberLane(executor);
+					}
+					lane.configure(this.subscriberConcurrency, this.subscriberQueueCapacity);
+				}
+				result.add(new Subscriber(handler, lane));
+				lanes.remove(handler);
+			}
+			this.subscribers = result.toArray(NO_SUBSCRIBERS);
+			for (SubscriberLane lane : lanes.values()) {
+				lane.discard();
+			}
+		}
+	}
+
+	/**
+	 * Return the number of messages queued for the given subscriber, or 0 if
+	 * it is not subscribed or no {@link #setSubscriberConcurrency subscriber
+	 * concurrency} is set.
+	 * @since 6.0
+	 */
+	public int getSubscriberBacklog(MessageHandler handler) {
+		for (Subscriber subscriber : this.subscribers) {
+			if (subscriber.handler() == handler && subscriber.lane() != null) {
+				return subscriber.lane().getBacklog();
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Return a String describing the lane of each subscriber, including the
+	 * number of queued and handled messages, and the average and maximum time
+	 * messages waited in the queue and took to handle.
+	 * @since 6.0
+	 */
+	public String getSubscriberStatsInfo() {
+		StringBuilder sb = new StringBuilder();
+		for (Subscriber subscriber : this.subscribers) {
+			if (subscriber.lane() != null) {
+				sb.append(sb.length() > 0 ? ", " : "");
+				sb.append(subscriber.handler()).append('[').append(subscriber.lane()).append(']');
+			}
+		}
+		return (sb.length() > 0 ? sb.toString() : "no subscriber lanes");
 	}
 
 
 	@Override
 	public boolean sendInternal(Message<?> message, long timeout) {
-		for (MessageHandler handler : getSubscribers()) {
-			SendTask sendTask = new SendTask(message, handler);
-			if (this.executor == null) {
+		ExecutorChannelInterceptor[] interceptors = this.executorInterceptors;
+		boolean result = true;
+		for (Subscriber subscriber : this.subscribers) {
+			SendTask sendTask = new SendTask(message, subscriber.handler(), interceptors);
+			SubscriberLane lane = subscriber.lane();
+			if (lane != null) {
+				if (!lane.offer(sendTask)) {
+					if (logger.isDebugEnabled()) {
+						logger.debug(getBeanName() + " did not queue message for " + subscriber.handler());
+					}
+					result = false;
+				}
+			}
+			else if (this.executor == null) {
 				sendTask.run();
 			}
 			else {
 				this.executor.execute(sendTask);
 			}
 		}
-		return true;
+		return result;
 	}
 
 
@@ -116,11 +311,16 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 
 		private final MessageHandler messageHandler;
 
+		private final ExecutorChannelInterceptor[] interceptors;
+
 		private int interceptorIndex = -1;
 
-		public SendTask(Message<?> message, MessageHandler messageHandler) {
+		private long queuedTime;
+
+		public SendTask(Message<?> message, MessageHandler messageHandler, ExecutorChannelInterceptor[] interceptors) {
 			this.inputMessage = message;
 			this.messageHandler = messageHandler;
+			this.interceptors = interceptors;
 		}
 
 		@Override
@@ -163,7 +363,7 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 		@Nullable
 		private Message<?> applyBeforeHandle(Message<?> message) {
 			Message<?> messageToUse = message;
-			for (ExecutorChannelInterceptor interceptor : executorInterceptors) {
+			for (ExecutorChannelInterceptor interceptor : this.interceptors) {
 				messageToUse = interceptor.beforeHandle(messageToUse, ExecutorSubscribableChannel.this, this.messageHandler);
 				if (messageToUse == null) {
 					String name = interceptor.getClass().getSimpleName();
@@ -180,7 +380,7 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 
 		private void triggerAfterMessageHandled(Message<?> message, @Nullable Exception ex) {
 			for (int i = this.interceptorIndex; i >= 0; i--) {
-				ExecutorChannelInterceptor interceptor = executorInterceptors.get(i);
+				ExecutorChannelInterceptor interceptor = this.interceptors[i];
 				try {
 					interceptor.afterMessageHandled(message, ExecutorSubscribableChannel.this, this.messageHandler, ex);
 				}
@@ -191,4 +391,167 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 		}
 	}
 
+
+	/**
+	 * A subscribed handler along with its lane, if any.
+	 */
+	private record Subscriber(MessageHandler handler, @Nullable SubscriberLane lane) {
+	}
+
+
+	/**
+	 * Bounded queue of send tasks for one subscriber, drained by up to
+	 * "concurrency" tasks on the executor at a time.
+	 */
+	private class SubscriberLane implements Runnable {
+
+		private final Executor executor;
+
+		private final Queue<SendTask> tasks = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger backlog = new AtomicInteger();
+
+		private final AtomicInteger activeCount = new AtomicInteger();
+
+		private final AtomicLong handledCount = new AtomicLong();
+
+		private final AtomicLong rejectedCount = new AtomicLong();
+
+		private final AtomicLong totalWaitTime = new AtomicLong();
+
+		private final AtomicLong maxWaitTime = new AtomicLong();
+
+		private final AtomicLong totalHandleTime = new AtomicLong();
+
+		private final AtomicLong maxHandleTime = new AtomicLong();
+
+		private volatile int concurrency;
+
+		private volatile int capacity;
+
+		private volatile boolean discarded;
+
+		public SubscriberLane(Executor executor) {
+			this.executor = executor;
+		}
+
+		public void configure(int concurrency, int capacity) {
+			this.concurrency = concurrency;
+			this.capacity = capacity;
+		}
+
+		public int getBacklog() {
+			return this.backlog.get();
+		}
+
+		/**
+		 * Queue the given task, unless the lane is at capacity or the executor
+		 * rejects the task that would drain it.
+		 * @return {@code false} if the task was not queued for either reason
+		 */
+		public boolean offer(SendTask task) {
+			if (this.discarded) {
+				// Handler unsubscribed in the meantime
+				return true;
+			}
+			if (this.backlog.incrementAndGet() > this.capacity) {
+				this.backlog.decrementAndGet();
+				this.rejectedCount.incrementAndGet();
+				return false;
+			}
+			task.queuedTime = System.nanoTime();
+			this.tasks.add(task);
+			try {
+				trySchedule();
+			}
+			catch (RejectedExecutionException ex) {
+				if (this.tasks.remove(task)) {
+					this.backlog.decrementAndGet();
+					this.rejectedCount.incrementAndGet();
+					logger.error("Executor rejected message for " + task.getMessageHandler(), ex);
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Drop the queued tasks and stop draining, once the handler of this
+		 * lane has been unsubscribed.
+		 */
+		public void discard() {
+			this.discarded = true;
+			while (this.tasks.poll() != null) {
+				this.backlog.decrementAndGet();
+			}
+		}
+
+		private void trySchedule() {
+			int active;
+			while (!this.tasks.isEmpty() && (active = this.activeCount.get()) < this.concurrency) {
+				if (this.activeCount.compareAndSet(active, active + 1)) {
+					try {
+						this.executor.execute(this);
+					}
+					catch (Throwable ex) {
+						this.activeCount.decrementAndGet();
+						throw ex;
+					}
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				SendTask task;
+				while (!this.discarded && (task = this.tasks.poll()) != null) {
+					this.backlog.decrementAndGet();
+					long startTime = System.nanoTime();
+					recordTime(this.totalWaitTime, this.maxWaitTime, startTime - task.queuedTime);
+					try {
+						task.run();
+					}
+					catch (Throwable ex) {
+						logger.error("Failed to handle message in " + task.getMessageHandler(), ex);
+					}
+					finally {
+						this.handledCount.incrementAndGet();
+						recordTime(this.totalHandleTime, this.maxHandleTime, System.nanoTime() - startTime);
+					}
+				}
+			}
+			finally {
+				this.activeCount.decrementAndGet();
+				try {
+					trySchedule();
+				}
+				catch (RejectedExecutionException ex) {
+					// Queued tasks are picked up again with the next message for the lane
+					logger.error("Executor rejected lane with queued messages", ex);
+				}
+			}
+		}
+
+		private void recordTime(AtomicLong total, AtomicLong max, long nanos) {
+			total.addAndGet(nanos);
+			max.accumulateAndGet(nanos, Math::max);
+		}
+
+		@Override
+		public String toString() {
+			long handled = this.handledCount.get();
+			return "queued=" + this.backlog.get() + ", active=" + this.activeCount.get() +
+					", handled=" + handled + ", rejected=" + this.rejectedCount.get() +
+					", avgWait=" + averageMillis(this.totalWaitTime, handled) +
+					" ms, maxWait=" + TimeUnit.NANOSECONDS.toMillis(this.maxWaitTime.get()) +
+					" ms, avgHandle=" + averageMillis(this.totalHandleTime, handled) +
+					" ms, maxHandle=" + TimeUnit.NANOSECONDS.toMillis(this.maxHandleTime.get()) + " ms";
+		}
+
+		private long averageMillis(AtomicLong total, long count) {
+			return (count > 0 ? TimeUnit.NANOSECONDS.toMillis(total.get() / count) : 0);
+		}
+	}
+
 }
@@ -23,6 +23,7 @@ import java.util.Map;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
@@ -49,6 +50,14 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	public static final String NATIVE_HEADERS = "nativeHeaders";
 
 
+	/**
+	 * Native headers of another, immutable message that are shared with this
+	 * accessor until the first modification, or {@code null} if none.
+	 */
+	@Nullable
+	private Map<String, List<String>> sharedNativeHeaders;
+
+
 	/**
 	 * Protected constructor to create a new instance.
 	 */
@@ -75,9 +84,15 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 			@SuppressWarnings("unchecked")
 			Map<String, List<String>> map = (Map<String, List<String>>) getHeader(NATIVE_HEADERS);
 			if (map != null) {
-				// setHeader checks for equality but we need copy of native headers
-				setHeader(NATIVE_HEADERS, null);
-				setHeader(NATIVE_HEADERS, new LinkedMultiValueMap<>(map));
+				if (map == getShareableNativeHeaders(message.getHeaders())) {
+					// Immutable native headers: copy on first modification only
+					this.sharedNativeHeaders = map;
+				}
+				else {
+					// setHeader checks for equality but we need copy of native headers
+					setHeader(NATIVE_HEADERS, null);
+					setHeader(NATIVE_HEADERS, new LinkedMultiValueMap<>(map));
+				}
 			}
 		}
 	}
@@ -92,6 +107,25 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		return (Map<String, List<String>>) getHeader(NATIVE_HEADERS);
 	}
 
+	/**
+	 * Return the native headers sub-map for modification, copying native
+	 * headers shared with another message first if necessary.
+	 */
+	@Nullable
+	private Map<String, List<String>> getMutableNativeHeaders() {
+		Map<String, List<String>> map = getNativeHeaders();
+		if (map != null && map == this.sharedNativeHeaders) {
+			LinkedMultiValueMap<String, String> copy = new LinkedMultiValueMap<>(map.size() + 1);
+			map.forEach((name, values) -> copy.put(name, new ArrayList<>(values)));
+			// setHeader checks for equality but we need copy of native headers
+			setHeader(NATIVE_HEADERS, null);
+			setHeader(NATIVE_HEADERS, copy);
+			this.sharedNativeHeaders = null;
+			return copy;
+		}
+		return map;
+	}
+
 	/**
 	 * Return a copy of the native headers sub-map, or an empty map.
 	 */
@@ -104,7 +138,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	public void setImmutable() {
 		if (isMutable()) {
 			Map<String, List<String>> map = getNativeHeaders();
-			if (map != null) {
+			if (map != null && map != this.sharedNativeHeaders) {
 				// setHeader checks for equality but we need immutable wrapper
 				setHeader(NATIVE_HEADERS, null);
 				setHeader(NATIVE_HEADERS, Collections.unmodifiableMap(map));
@@ -122,7 +156,13 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		@SuppressWarnings("unchecked")
 		Map<String, List<String>> map = (Map<String, List<String>>) headersToCopy.get(NATIVE_HEADERS);
 		if (map != null && map != getNativeHeaders()) {
-			map.forEach(this::setNativeHeaderValues);
+			if (getNativeHeaders() == null && map == getShareableNativeHeaders(headersToCopy)) {
+				setHeader(NATIVE_HEADERS, map);
+				this.sharedNativeHeaders = map;
+			}
+			else {
+				map.forEach(this::setNativeHeaderValues);
+			}
 		}
 
 		// setHeader checks for equality, native headers should be equal by now
@@ -138,7 +178,13 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		@SuppressWarnings("unchecked")
 		Map<String, List<String>> map = (Map<String, List<String>>) headersToCopy.get(NATIVE_HEADERS);
 		if (map != null && getNativeHeaders() == null) {
-			map.forEach(this::setNativeHeaderValues);
+			if (map == getShareableNativeHeaders(headersToCopy)) {
+				setHeader(NATIVE_HEADERS, map);
+				this.sharedNativeHeaders = map;
+			}
+			else {
+				map.forEach(this::setNativeHeaderValues);
+			}
 		}
 
 		super.copyHeadersIfAbsent(headersToCopy);
@@ -192,7 +238,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		if (value == null) {
 			if (map != null && map.get(name) != null) {
 				setModified(true);
-				map.remove(name);
+				getMutableNativeHeaders().remove(name);
 			}
 			return;
 		}
@@ -202,9 +248,9 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		}
 		List<String> values = new ArrayList<>(1);
 		values.add(value);
-		if (!ObjectUtils.nullSafeEquals(values, getHeader(name))) {
+		if (!ObjectUtils.nullSafeEquals(values, map.get(name))) {
 			setModified(true);
-			map.put(name, values);
+			getMutableNativeHeaders().put(name, values);
 		}
 	}
 
@@ -218,7 +264,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		if (values == null) {
 			if (map != null && map.get(name) != null) {
 				setModified(true);
-				map.remove(name);
+				getMutableNativeHeaders().remove(name);
 			}
 			return;
 		}
@@ -226,9 +272,9 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 			map = new LinkedMultiValueMap<>(3);
 			setHeader(NATIVE_HEADERS, map);
 		}
-		if (!ObjectUtils.nullSafeEquals(values, getHeader(name))) {
+		if (!ObjectUtils.nullSafeEquals(values, map.get(name))) {
 			setModified(true);
-			map.put(name, new ArrayList<>(values));
+			getMutableNativeHeaders().put(name, new ArrayList<>(values));
 		}
 	}
 
@@ -244,7 +290,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		if (value == null) {
 			return;
 		}
-		Map<String, List<String>> nativeHeaders = getNativeHeaders();
+		Map<String, List<String>> nativeHeaders = getMutableNativeHeaders();
 		if (nativeHeaders == null) {
 			nativeHeaders = new LinkedMultiValueMap<>(3);
 			setHeader(NATIVE_HEADERS, nativeHeaders);
@@ -276,13 +322,32 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	public List<String> removeNativeHeader(String headerName) {
 		Assert.state(isMutable(), "Already immutable");
 		Map<String, List<String>> nativeHeaders = getNativeHeaders();
-		if (CollectionUtils.isEmpty(nativeHeaders)) {
+		if (CollectionUtils.isEmpty(nativeHeaders) || !nativeHeaders.containsKey(headerName)) {
 			return null;
 		}
-		return nativeHeaders.remove(headerName);
+		return getMutableNativeHeaders().remove(headerName);
 	}
 
 
+	/**
+	 * Return the native headers in the given headers if they can be shared
+	 * rather than copied, i.e. if they belong to immutable message headers
+	 * or are themselves shared with another message.
+	 */
+	@Nullable
+	private static Map<String, List<String>> getShareableNativeHeaders(Map<String, ?> headers) {
+		if (headers instanceof MessageHeaders messageHeaders) {
+			NativeMessageHeaderAccessor accessor = getAccessor(messageHeaders, NativeMessageHeaderAccessor.class);
+			if (accessor != null) {
+				Map<String, List<String>> map = accessor.getNativeHeaders();
+				if (map != null && (!accessor.isMutable() || map == accessor.sharedNativeHeaders)) {
+					return map;
+				}
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Return the first value for the specified native header,
 	 * or {@code null} if none.
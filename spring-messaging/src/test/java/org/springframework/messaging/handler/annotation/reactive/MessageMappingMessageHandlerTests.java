@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.messaging.handler.annotation.reactive;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
@@ -37,6 +38,7 @@ import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.DestinationPatternsMessageCondition;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -48,7 +50,11 @@ import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.RouteMatcher;
 import org.springframework.util.SimpleRouteMatcher;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PathPatternRouteMatcher;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -98,6 +104,53 @@ public class MessageMappingMessageHandlerTests {
 		verifyOutputContent(Collections.singletonList("test::abcdef::response"));
 	}
 
+	@Test
+	public void handleWithDestinationVariableAfterLateRegistration() {
+		MessageMappingMessageHandler messsageHandler = initMesssageHandler();
+		messsageHandler.handleMessage(message("late.test", "abcdef")).block(Duration.ofSeconds(5));
+
+		Method method = ReflectionUtils.findMethod(LateController.class, "handle", String.class, String.class);
+		messsageHandler.registerHandlerMethod(new LateController(), method,
+				messsageHandler.getMappingForMethod(method, LateController.class));
+
+		messsageHandler.handleMessage(message("late.test", "abcdef")).block(Duration.ofSeconds(5));
+		verifyOutputContent(Collections.singletonList("late::test::abcdef"));
+	}
+
+	@Test
+	public void handleWithPatternsUnderSeveralPrefixes() {
+		MessageMappingMessageHandler messsageHandler = initMesssageHandler();
+		Method method = ReflectionUtils.findMethod(LateController.class, "handleAny", String.class);
+		messsageHandler.registerHandlerMethod(new LateController(), method,
+				messsageHandler.getMappingForMethod(method, LateController.class));
+
+		messsageHandler.handleMessage(message("any.test", "abcdef")).block(Duration.ofSeconds(5));
+		verifyOutputContent(Collections.singletonList("any::abcdef"));
+	}
+
+	@Test
+	public void handleBareDestinationWithAntPathMatcher() {
+		handleBareDestination(new SimpleRouteMatcher(new AntPathMatcher(".")), "handleOrders", "orders");
+		handleBareDestination(new SimpleRouteMatcher(new AntPathMatcher()), "handleSlashWildcard", "/a");
+	}
+
+	@Test
+	public void handleBareDestinationWithPathPatternRouteMatcher() {
+		handleBareDestination(new PathPatternRouteMatcher(), "handleOrders", "orders");
+		handleBareDestination(new PathPatternRouteMatcher(new PathPatternParser()), "handleSlashWildcard", "/a");
+		handleBareDestination(new PathPatternRouteMatcher(new PathPatternParser()), "handleCaptureTheRest", "/b");
+	}
+
+	private void handleBareDestination(RouteMatcher routeMatcher, String methodName, String destination) {
+		MessageMappingMessageHandler messsageHandler = initMesssageHandler(routeMatcher);
+		Method method = ReflectionUtils.findMethod(WildcardController.class, methodName, String.class);
+		messsageHandler.registerHandlerMethod(new WildcardController(), method,
+				messsageHandler.getMappingForMethod(method, WildcardController.class));
+
+		messsageHandler.handleMessage(message(routeMatcher, destination, "abcdef")).block(Duration.ofSeconds(5));
+		verifyOutputContent(Collections.singletonList(methodName + "::abcdef"));
+	}
+
 	@Test
 	public void handleException() {
 		MessageMappingMessageHandler messsageHandler = initMesssageHandler();
@@ -126,6 +179,10 @@ public class MessageMappingMessageHandlerTests {
 
 
 	private MessageMappingMessageHandler initMesssageHandler() {
+		return initMesssageHandler(null);
+	}
+
+	private MessageMappingMessageHandler initMesssageHandler(@Nullable RouteMatcher routeMatcher) {
 
 		List<Decoder<?>> decoders = Collections.singletonList(StringDecoder.allMimeTypes());
 		List<Encoder<?>> encoders = Collections.singletonList(CharSequenceEncoder.allMimeTypes());
@@ -145,17 +202,22 @@ public class MessageMappingMessageHandlerTests {
 		messageHandler.setApplicationContext(context);
 		messageHandler.setEmbeddedValueResolver(new EmbeddedValueResolver(context.getBeanFactory()));
 		messageHandler.setDecoders(decoders);
+		messageHandler.setRouteMatcher(routeMatcher);
 		messageHandler.afterPropertiesSet();
 
 		return messageHandler;
 	}
 
 	private Message<?> message(String destination, String... content) {
+		return message(new SimpleRouteMatcher(new AntPathMatcher()), destination, content);
+	}
+
+	private Message<?> message(RouteMatcher routeMatcher, String destination, String... content) {
 		Flux<DataBuffer> payload = Flux.fromIterable(Arrays.asList(content)).map(this::toDataBuffer);
 		MessageHeaderAccessor headers = new MessageHeaderAccessor();
 		headers.setLeaveMutable(true);
 		headers.setHeader(DestinationPatternsMessageCondition.LOOKUP_DESTINATION_HEADER,
-				new SimpleRouteMatcher(new AntPathMatcher()).parseRoute(destination));
+				routeMatcher.parseRoute(destination));
 		return MessageBuilder.createMessage(payload, headers.getMessageHeaders());
 	}
 
@@ -214,4 +276,39 @@ public class MessageMappingMessageHandlerTests {
 		}
 	}
 
+
+	@Controller
+	static class LateController {
+
+		@MessageMapping("late.{variable}")
+		String handle(@DestinationVariable String variable, String payload) {
+			return "late::" + variable + "::" + payload;
+		}
+
+		@MessageMapping({"any*", "any.{variable}"})
+		String handleAny(String payload) {
+			return "any::" + payload;
+		}
+	}
+
+
+	@Controller
+	static class WildcardController {
+
+		@MessageMapping("orders.**")
+		String handleOrders(String payload) {
+			return "handleOrders::" + payload;
+		}
+
+		@MessageMapping("/a/**")
+		String handleSlashWildcard(String payload) {
+			return "handleSlashWildcard::" + payload;
+		}
+
+		@MessageMapping("/b/{*rest}")
+		String handleCaptureTheRest(String payload) {
+			return "handleCaptureTheRest::" + payload;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -93,6 +93,22 @@ public class DefaultMetadataExtractorTests {
 		assertThat(result).hasSize(1).containsEntry(ROUTE_KEY, "toA");
 	}
 
+	@Test
+	public void compositeMetadataWithDefaultSettingsStopsAfterRoute() {
+		MetadataEncoder metadataEncoder = new MetadataEncoder(COMPOSITE_METADATA, this.strategies)
+				.route("toA")
+				.metadata("text data", TEXT_PLAIN);
+
+		DataBuffer metadata = metadataEncoder.encode().block();
+		// Malformed trailing entry, which is never parsed
+		metadata.write((byte) 1);
+		Payload payload = createPayload(metadata);
+		Map<String, Object> result = this.extractor.extract(payload, COMPOSITE_METADATA);
+		payload.release();
+
+		assertThat(result).hasSize(1).containsEntry(ROUTE_KEY, "toA");
+	}
+
 	@Test
 	public void compositeMetadataWithMimeTypeRegistrations() {
 		this.extractor.metadataToExtract(TEXT_PLAIN, String.class, "text-entry");
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -271,6 +272,54 @@ public class DefaultSubscriptionRegistryTests {
 		assertThat(actual.size()).as("Expected no elements " + actual).isEqualTo(0);
 	}
 
+	@Test
+	public void registerSubscriptionsWithNestedDestinationPatterns() {
+		String sessId = "sess01";
+		this.registry.setCacheLimit(0);
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs01", "/topic/**"));
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs02", "/topic/stock/**"));
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs03", "/topic/stock/*/IBM"));
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs04", "/topic/news/*"));
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs05", "/**/IBM"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic/stock/NYSE/IBM"));
+		assertThat(actual.get(sessId)).containsExactlyInAnyOrder("subs01", "subs02", "subs03", "subs05");
+
+		actual = this.registry.findSubscriptions(createMessage("/topic/stock"));
+		assertThat(actual.get(sessId)).containsExactlyInAnyOrder("subs01", "subs02");
+
+		actual = this.registry.findSubscriptions(createMessage("/queue/IBM"));
+		assertThat(actual.get(sessId)).containsExactly("subs05");
+
+		this.registry.unregisterSubscription(unsubscribeMessage(sessId, "subs03"));
+		this.registry.unregisterSubscription(unsubscribeMessage(sessId, "subs02"));
+
+		actual = this.registry.findSubscriptions(createMessage("/topic/stock/NYSE/IBM"));
+		assertThat(actual.get(sessId)).containsExactlyInAnyOrder("subs01", "subs05");
+
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs03", "/topic/stock/*/IBM"));
+
+		actual = this.registry.findSubscriptions(createMessage("/topic/stock/NYSE/IBM"));
+		assertThat(actual.get(sessId)).containsExactlyInAnyOrder("subs01", "subs03", "subs05");
+	}
+
+	@Test
+	public void registerSubscriptionsWithCustomPathMatcher() {
+		String sessId = "sess01";
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs01", "topic.stock.*"));
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs02", "topic.stock.IBM"));
+		this.registry.setPathMatcher(new AntPathMatcher("."));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("topic.stock.IBM"));
+		assertThat(actual.get(sessId)).containsExactlyInAnyOrder("subs01", "subs02");
+
+		this.registry.registerSubscription(subscribeMessage(sessId, "subs03", "topic.*.IBM"));
+		this.registry.unregisterSubscription(unsubscribeMessage(sessId, "subs01"));
+
+		actual = this.registry.findSubscriptions(createMessage("topic.stock.IBM"));
+		assertThat(actual.get(sessId)).containsExactlyInAnyOrder("subs02", "subs03");
+	}
+
 	@Test
 	public void registerSubscriptionWithSelector() {
 		String sessionId = "sess01";
@@ -18,9 +18,13 @@ package org.springframework.messaging.simp.broker;
 
 import java.security.Principal;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +51,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -151,6 +156,89 @@ public class SimpleBrokerMessageHandlerTests {
 		assertThat(messageCaptured(sess2, "sub3", "/bar")).isTrue();
 	}
 
+	@Test
+	public void subscribePublishWithBroadcastExecutor() {
+		List<Runnable> tasks = new ArrayList<>();
+		this.messageHandler.setBroadcastExecutor(tasks::add);
+		this.messageHandler.setBroadcastLaneCount(2);
+
+		startSession("sess1");
+		startSession("sess2");
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess2", "sub1", "/foo"));
+
+		this.messageHandler.handleMessage(createMessage("/foo", "message1"));
+		this.messageHandler.handleMessage(createMessage("/foo", "message2"));
+
+		verify(this.clientOutChannel, never()).send(any());
+		assertThat(tasks).isNotEmpty();
+		assertThat(this.messageHandler.getBroadcastLaneQueueSizes()).hasSize(2);
+		assertThat(Arrays.stream(this.messageHandler.getBroadcastLaneQueueSizes()).sum()).isGreaterThan(0);
+
+		tasks.forEach(Runnable::run);
+
+		verify(this.clientOutChannel, times(4)).send(this.messageCaptor.capture());
+		assertThat(messageCaptured("sess1", "sub1", "/foo")).isTrue();
+		assertThat(messageCaptured("sess2", "sub1", "/foo")).isTrue();
+		assertThat(this.messageHandler.getBroadcastLaneQueueSizes()).containsExactly(0, 0);
+		assertThat(this.messageHandler.getBroadcastStatsInfo())
+				.contains("lane 0 [queue size = 0, completed fan-outs = 2")
+				.contains("lane 1 [queue size = 0, completed fan-outs = 2");
+
+		for (String sessionId : List.of("sess1", "sess2")) {
+			List<String> payloads = this.messageCaptor.getAllValues().stream()
+					.filter(message -> SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE)
+					.filter(message -> sessionId.equals(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())))
+					.map(message -> (String) message.getPayload())
+					.toList();
+			assertThat(payloads).containsExactly("message1", "message2");
+		}
+	}
+
+	@Test
+	public void subscribePublishWithBroadcastExecutorRejectingLane() {
+		List<Runnable> tasks = new ArrayList<>();
+		AtomicBoolean reject = new AtomicBoolean(true);
+		this.messageHandler.setBroadcastExecutor(task -> {
+			if (reject.getAndSet(false)) {
+				throw new RejectedExecutionException("rejected");
+			}
+			tasks.add(task);
+		});
+		this.messageHandler.setBroadcastLaneCount(2);
+
+		// "sess2" is in lane 0, "sess1" in lane 1
+		startSession("sess1");
+		startSession("sess2");
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess2", "sub1", "/foo"));
+
+		this.messageHandler.handleMessage(createMessage("/foo", "message1"));
+
+		assertThat(tasks).hasSize(1);
+		assertThat(this.messageHandler.getBroadcastLaneQueueSizes()).containsExactly(0, 1);
+		assertThat(this.messageHandler.getBroadcastStatsInfo()).contains("rejected = 1");
+
+		tasks.forEach(Runnable::run);
+		tasks.clear();
+		this.messageHandler.handleMessage(createMessage("/foo", "message2"));
+		tasks.forEach(Runnable::run);
+
+		verify(this.clientOutChannel, times(3)).send(this.messageCaptor.capture());
+		assertThat(this.messageHandler.getBroadcastLaneQueueSizes()).containsExactly(0, 0);
+		for (String sessionId : List.of("sess1", "sess2")) {
+			List<String> payloads = this.messageCaptor.getAllValues().stream()
+					.filter(message -> SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE)
+					.filter(message -> sessionId.equals(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())))
+					.map(message -> (String) message.getPayload())
+					.toList();
+			assertThat(payloads).containsExactly(
+					sessionId.equals("sess1") ? new String[] {"message1", "message2"} : new String[] {"message2"});
+		}
+	}
+
 	@Test
 	public void connect() {
 		String id = "sess1";
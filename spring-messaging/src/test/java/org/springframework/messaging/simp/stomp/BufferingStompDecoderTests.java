@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -140,6 +140,22 @@ public class BufferingStompDecoderTests {
 		assertThat(stompDecoder.getExpectedContentLength()).isNull();
 	}
 
+	@Test
+	public void oneMessageInManyChunks() throws InterruptedException {
+		BufferingStompDecoder stompDecoder = new BufferingStompDecoder(STOMP_DECODER, 128);
+		String[] chunks = new String[] {"SEND\na:al", "pha\n\nPay", "load1a", "-Payload1b", "\0"};
+		for (int i = 0; i < chunks.length - 1; i++) {
+			assertThat(stompDecoder.decode(toByteBuffer(chunks[i]))).isEmpty();
+		}
+		assertThat(stompDecoder.getBufferSize()).isEqualTo(33);
+
+		List<Message<byte[]>> messages = stompDecoder.decode(toByteBuffer(chunks[chunks.length - 1]));
+
+		assertThat(messages.size()).isEqualTo(1);
+		assertThat(new String(messages.get(0).getPayload())).isEqualTo("Payload1a-Payload1b");
+		assertThat(stompDecoder.getBufferSize()).isEqualTo(0);
+	}
+
 	@Test
 	public void oneFullAndOneSplitWithContentLengthExceedingBufferSize() throws InterruptedException {
 		BufferingStompDecoder stompDecoder = new BufferingStompDecoder(STOMP_DECODER, 128);
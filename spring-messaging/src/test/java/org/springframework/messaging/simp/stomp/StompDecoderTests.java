@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -90,6 +90,40 @@ public class StompDecoderTests {
 		assertThat(bodyText).isEqualTo("The body of the message");
 	}
 
+	@Test
+	public void decodeFrameFromDirectBuffer() {
+		byte[] bytes = "SEND\ndestination:test\n\nThe body of the message\0".getBytes();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+		Message<byte[]> frame = decode(buffer);
+		StompHeaderAccessor headers = StompHeaderAccessor.wrap(frame);
+
+		assertThat(headers.getCommand()).isEqualTo(StompCommand.SEND);
+		assertThat(headers.getDestination()).isEqualTo("test");
+		assertThat(new String(frame.getPayload())).isEqualTo("The body of the message");
+	}
+
+	@Test
+	public void decodeFrameFromBufferWithArrayOffset() {
+		byte[] bytes = "xxSEND\ndestination:test\n\nThe body of the message\0".getBytes();
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2).slice();
+		Message<byte[]> frame = decode(buffer);
+		StompHeaderAccessor headers = StompHeaderAccessor.wrap(frame);
+
+		assertThat(headers.getCommand()).isEqualTo(StompCommand.SEND);
+		assertThat(headers.getDestination()).isEqualTo("test");
+		assertThat(new String(frame.getPayload())).isEqualTo("The body of the message");
+	}
+
+	@Test
+	public void decodeFrameSharesKnownHeaderNames() {
+		Message<byte[]> frame = decode("SEND\ndestination:test\ncustom:value\n\n\0");
+		StompHeaderAccessor headers = StompHeaderAccessor.wrap(frame);
+
+		assertThat(headers.toNativeHeaderMap().keySet())
+				.anySatisfy(name -> assertThat(name).isSameAs(StompHeaderAccessor.STOMP_DESTINATION_HEADER))
+				.contains("custom");
+	}
+
 	@Test
 	public void decodeFrameWithContentLength() {
 		Message<byte[]> message = decode("SEND\ncontent-length:23\n\nThe body of the message\0");
@@ -16,12 +16,17 @@
 
 package org.springframework.messaging.support;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -34,6 +39,7 @@ import org.springframework.messaging.MessageHandler;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -182,6 +188,124 @@ public class ExecutorSubscribableChannelTests {
 		assertThat(interceptor.wasAfterHandledInvoked()).isTrue();
 	}
 
+	@Test
+	public void removeInterceptor() {
+		BeforeHandleInterceptor interceptor = new BeforeHandleInterceptor();
+		this.channel.addInterceptor(interceptor);
+		this.channel.removeInterceptor(interceptor);
+		this.channel.subscribe(this.handler);
+		this.channel.send(this.message);
+		verify(this.handler).handleMessage(this.message);
+		assertThat(interceptor.getCounter().get()).isEqualTo(0);
+	}
+
+	@Test
+	public void sendWithSubscriberLanes() {
+		List<Runnable> tasks = new ArrayList<>();
+		ExecutorSubscribableChannel testChannel = new ExecutorSubscribableChannel(tasks::add);
+		testChannel.setSubscriberConcurrency(1);
+		BeforeHandleInterceptor interceptor = new BeforeHandleInterceptor();
+		testChannel.addInterceptor(interceptor);
+		MessageHandler secondHandler = mock(MessageHandler.class);
+		testChannel.subscribe(this.handler);
+		testChannel.subscribe(secondHandler);
+
+		Message<Object> secondMessage = MessageBuilder.withPayload(this.payload).build();
+		assertThat(testChannel.send(this.message)).isTrue();
+		assertThat(testChannel.send(secondMessage)).isTrue();
+
+		assertThat(tasks).hasSize(2);
+		assertThat(testChannel.getSubscriberBacklog(this.handler)).isEqualTo(2);
+		assertThat(testChannel.getSubscriberBacklog(secondHandler)).isEqualTo(2);
+
+		tasks.get(0).run();
+		InOrder inOrder = inOrder(this.handler);
+		inOrder.verify(this.handler).handleMessage(this.message);
+		inOrder.verify(this.handler).handleMessage(secondMessage);
+		verifyNoInteractions(secondHandler);
+		assertThat(testChannel.getSubscriberBacklog(this.handler)).isEqualTo(0);
+		assertThat(testChannel.getSubscriberBacklog(secondHandler)).isEqualTo(2);
+		assertThat(interceptor.getCounter().get()).isEqualTo(2);
+		assertThat(testChannel.getSubscriberStatsInfo()).contains("handled=2");
+
+		tasks.get(1).run();
+		verify(secondHandler).handleMessage(this.message);
+		verify(secondHandler).handleMessage(secondMessage);
+		assertThat(tasks).hasSize(2);
+	}
+
+	@Test
+	public void sendWithFullSubscriberQueue() {
+		List<Runnable> tasks = new ArrayList<>();
+		ExecutorSubscribableChannel testChannel = new ExecutorSubscribableChannel(tasks::add);
+		testChannel.setSubscriberConcurrency(1);
+		testChannel.setSubscriberQueueCapacity(1);
+		testChannel.subscribe(this.handler);
+
+		assertThat(testChannel.send(this.message)).isTrue();
+		assertThat(testChannel.send(this.message)).isFalse();
+		assertThat(testChannel.getSubscriberBacklog(this.handler)).isEqualTo(1);
+		assertThat(testChannel.getSubscriberStatsInfo()).contains("rejected=1");
+
+		tasks.get(0).run();
+		verify(this.handler, times(1)).handleMessage(this.message);
+		assertThat(testChannel.send(this.message)).isTrue();
+	}
+
+	@Test
+	public void sendWithSubscriberLaneRejectedByExecutor() {
+		List<Runnable> tasks = new ArrayList<>();
+		AtomicBoolean reject = new AtomicBoolean(true);
+		ExecutorSubscribableChannel testChannel = new ExecutorSubscribableChannel(task -> {
+			if (reject.getAndSet(false)) {
+				throw new RejectedExecutionException("rejected");
+			}
+			tasks.add(task);
+		});
+		testChannel.setSubscriberConcurrency(1);
+		MessageHandler secondHandler = mock(MessageHandler.class);
+		testChannel.subscribe(this.handler);
+		testChannel.subscribe(secondHandler);
+
+		assertThat(testChannel.send(this.message)).isFalse();
+		assertThat(testChannel.getSubscriberBacklog(this.handler)).isEqualTo(0);
+		assertThat(testChannel.getSubscriberBacklog(secondHandler)).isEqualTo(1);
+		assertThat(testChannel.getSubscriberStatsInfo()).contains("rejected=1");
+
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+		verify(secondHandler).handleMessage(this.message);
+		verifyNoInteractions(this.handler);
+
+		assertThat(testChannel.send(this.message)).isTrue();
+		assertThat(tasks).hasSize(3);
+	}
+
+	@Test
+	public void unsubscribeDiscardsSubscriberLane() {
+		List<Runnable> tasks = new ArrayList<>();
+		ExecutorSubscribableChannel testChannel = new ExecutorSubscribableChannel(tasks::add);
+		testChannel.setSubscriberConcurrency(1);
+		testChannel.subscribe(this.handler);
+
+		assertThat(testChannel.send(this.message)).isTrue();
+		assertThat(testChannel.send(this.message)).isTrue();
+		testChannel.unsubscribe(this.handler);
+
+		tasks.forEach(Runnable::run);
+		verifyNoInteractions(this.handler);
+		assertThat(testChannel.getSubscriberStatsInfo()).isEqualTo("no subscriber lanes");
+	}
+
+	@Test
+	public void subscriberLanesRequireExecutor() {
+		this.channel.setSubscriberConcurrency(1);
+		this.channel.subscribe(this.handler);
+		this.channel.send(this.message);
+		verify(this.handler).handleMessage(this.message);
+		assertThat(this.channel.getSubscriberStatsInfo()).isEqualTo("no subscriber lanes");
+	}
+
 
 	private abstract static class AbstractTestInterceptor implements ChannelInterceptor, ExecutorChannelInterceptor {
 
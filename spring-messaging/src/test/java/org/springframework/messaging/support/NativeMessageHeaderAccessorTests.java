@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -258,6 +258,44 @@ public class NativeMessageHeaderAccessorTests {
 		assertThat(((NativeMessageHeaderAccessor) accessor).getNativeHeader("foo")).containsExactly("bar", "baz");
 	}
 
+	@Test
+	void createFromImmutableMessageSharesNativeHeadersUntilModified() {
+		NativeMessageHeaderAccessor sourceAccessor = new NativeMessageHeaderAccessor();
+		sourceAccessor.addNativeHeader("foo", "bar");
+		Message<String> source = MessageBuilder.createMessage("payload", sourceAccessor.getMessageHeaders());
+		Object sourceNativeHeaders = source.getHeaders().get(NativeMessageHeaderAccessor.NATIVE_HEADERS);
+
+		NativeMessageHeaderAccessor accessor = new NativeMessageHeaderAccessor(source);
+		accessor.setNativeHeader("foo", "bar");
+		assertThat(accessor.getHeader(NativeMessageHeaderAccessor.NATIVE_HEADERS)).isSameAs(sourceNativeHeaders);
+
+		accessor.addNativeHeader("foo", "baz");
+		assertThat(accessor.getHeader(NativeMessageHeaderAccessor.NATIVE_HEADERS)).isNotSameAs(sourceNativeHeaders);
+		assertThat(accessor.getNativeHeader("foo")).containsExactly("bar", "baz");
+		assertThat(sourceAccessor.getNativeHeader("foo")).containsExactly("bar");
+	}
+
+	@Test
+	void copyIfAbsentFromImmutableSharesNativeHeadersUntilModified() {
+		NativeMessageHeaderAccessor sourceAccessor = new NativeMessageHeaderAccessor();
+		sourceAccessor.addNativeHeader("foo", "bar");
+		Message<String> source = MessageBuilder.createMessage("payload", sourceAccessor.getMessageHeaders());
+		Object sourceNativeHeaders = source.getHeaders().get(NativeMessageHeaderAccessor.NATIVE_HEADERS);
+
+		NativeMessageHeaderAccessor targetAccessor = new NativeMessageHeaderAccessor();
+		targetAccessor.copyHeadersIfAbsent(source.getHeaders());
+		targetAccessor.setLeaveMutable(true);
+		Message<?> target = MessageBuilder.createMessage(source.getPayload(), targetAccessor.getMessageHeaders());
+		assertThat(target.getHeaders().get(NativeMessageHeaderAccessor.NATIVE_HEADERS)).isSameAs(sourceNativeHeaders);
+
+		NativeMessageHeaderAccessor accessor = new NativeMessageHeaderAccessor(target);
+		assertThat(accessor.getHeader(NativeMessageHeaderAccessor.NATIVE_HEADERS)).isSameAs(sourceNativeHeaders);
+		assertThat(accessor.removeNativeHeader("foo")).containsExactly("bar");
+		assertThat(accessor.getNativeHeader("foo")).isNull();
+		assertThat(targetAccessor.getNativeHeader("foo")).containsExactly("bar");
+		assertThat(sourceAccessor.getNativeHeader("foo")).containsExactly("bar");
+	}
+
 	@Test // gh-26155
 	void copySelf() {
 		NativeMessageHeaderAccessor accessor = new NativeMessageHeaderAccessor();
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.r2dbc.connection;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Benchmarks for reactive transactions through a {@link TransactionalOperator}
+ * and {@link R2dbcTransactionManager} against an in-memory H2 database,
+ * executing a number of statements per transaction.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ReactiveTransactionBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class TransactionState {
+
+		@Param({"1", "10", "100"})
+		public int statements;
+
+		public ConnectionFactory connectionFactory;
+
+		public DatabaseClient databaseClient;
+
+		public TransactionalOperator operator;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.connectionFactory = H2ConnectionFactory.inMemory("reactive-transaction-benchmark");
+			this.databaseClient = DatabaseClient.create(this.connectionFactory);
+			this.databaseClient.sql("CREATE TABLE IF NOT EXISTS counter (id INT PRIMARY KEY, hits INT)")
+					.then().block();
+			this.databaseClient.sql("MERGE INTO counter (id, hits) VALUES (1, 0)").then().block();
+			this.operator = TransactionalOperator.create(new R2dbcTransactionManager(this.connectionFactory));
+		}
+	}
+
+	@Benchmark
+	public Long updates(TransactionState state) {
+		DatabaseClient client = state.databaseClient;
+		return Flux.range(0, state.statements)
+				.concatMap(i -> client.sql("UPDATE counter SET hits = hits + 1 WHERE id = 1").fetch().rowsUpdated())
+				.count()
+				.as(state.operator::transactional)
+				.block();
+	}
+
+	@Benchmark
+	public Long connectionLookups(TransactionState state) {
+		ConnectionFactory connectionFactory = state.connectionFactory;
+		return Flux.range(0, state.statements)
+				.concatMap(i -> ConnectionFactoryUtils.getConnection(connectionFactory))
+				.count()
+				.as(state.operator::transactional)
+				.block();
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.r2dbc.core;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link BiFunction Mapping function} implementation that converts a row into
+ * a new instance of the specified mapped target class, typically a Java record
+ * or a Kotlin data class, through its single resolvable constructor.
+ *
+ * <p>Constructor parameters are matched to columns by name, ignoring case and
+ * underscores: e.g. a parameter "firstName" matches a column "FIRST_NAME".
+ * Column values are retrieved by index with the parameter type as requested
+ * type, leaving any conversion to the driver, and passed to the constructor
+ * directly &mdash; without the intermediate column {@code Map} that
+ * {@link ColumnMapRowMapper} builds for each row. The column indexes are
+ * resolved once per result column layout.
+ *
+ * @since 6.0
+ * @param <T> the result type
+ * @see DatabaseClient.GenericExecuteSpec#mapTo(Class)
+ */
+public class DataClassRowMapper<T> implements BiFunction<Row, RowMetadata, T> {
+
+	private final Constructor<T> mappedConstructor;
+
+	private final String[] parameterNames;
+
+	private final Class<?>[] parameterTypes;
+
+	@Nullable
+	private volatile ColumnIndexes columnIndexes;
+
+
+	/**
+	 * Create a new {@code DataClassRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 */
+	public DataClassRowMapper(Class<T> mappedClass) {
+		Assert.notNull(mappedClass, "Mapped class must not be null");
+		this.mappedConstructor = BeanUtils.getResolvableConstructor(mappedClass);
+		this.parameterNames = BeanUtils.getParameterNames(this.mappedConstructor);
+		Class<?>[] parameterTypes = this.mappedConstructor.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			parameterTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(parameterTypes[i]);
+		}
+		this.parameterTypes = parameterTypes;
+	}
+
+
+	/**
+	 * Return the class that each row is mapped to.
+	 */
+	public final Class<T> getMappedClass() {
+		return this.mappedConstructor.getDeclaringClass();
+	}
+
+	@Override
+	public T apply(Row row, RowMetadata rowMetadata) {
+		int[] indexes = getColumnIndexes(rowMetadata);
+		Object[] args = new Object[indexes.length];
+		for (int i = 0; i < indexes.length; i++) {
+			args[i] = row.get(indexes[i], this.parameterTypes[i]);
+		}
+		return BeanUtils.instantiateClass(this.mappedConstructor, args);
+	}
+
+	private int[] getColumnIndexes(RowMetadata rowMetadata) {
+		ColumnIndexes columnIndexes = this.columnIndexes;
+		if (columnIndexes == null || !columnIndexes.matches(rowMetadata)) {
+			columnIndexes = resolveColumnIndexes(rowMetadata);
+			this.columnIndexes = columnIndexes;
+		}
+		return columnIndexes.indexes;
+	}
+
+	private ColumnIndexes resolveColumnIndexes(RowMetadata rowMetadata) {
+		List<? extends ColumnMetadata> columns = rowMetadata.getColumnMetadatas();
+		String[] columnNames = new String[columns.size()];
+		for (int i = 0; i < columnNames.length; i++) {
+			columnNames[i] = columns.get(i).getName();
+		}
+		int[] indexes = new int[this.parameterNames.length];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = findColumn(columnNames, this.parameterNames[i]);
+		}
+		return new ColumnIndexes(rowMetadata, columnNames, indexes);
+	}
+
+	private int findColumn(String[] columnNames, String parameterName) {
+		String name = normalizeName(parameterName);
+		for (int i = 0; i < columnNames.length; i++) {
+			if (normalizeName(columnNames[i]).equals(name)) {
+				return i;
+			}
+		}
+		throw new InvalidDataAccessApiUsageException("No column found for constructor parameter '" +
+				parameterName + "' of " + getMappedClass().getName());
+	}
+
+	private static String normalizeName(String name) {
+		return name.replace("_", "").toLowerCase(Locale.ROOT);
+	}
+
+
+	/**
+	 * Column indexes resolved for a given result column layout.
+	 */
+	private static class ColumnIndexes {
+
+		private final RowMetadata rowMetadata;
+
+		private final String[] columnNames;
+
+		final int[] indexes;
+
+		ColumnIndexes(RowMetadata rowMetadata, String[] columnNames, int[] indexes) {
+			this.rowMetadata = rowMetadata;
+			this.columnNames = columnNames;
+			this.indexes = indexes;
+		}
+
+		boolean matches(RowMetadata rowMetadata) {
+			if (this.rowMetadata == rowMetadata) {
+				return true;
+			}
+			List<? extends ColumnMetadata> columns = rowMetadata.getColumnMetadatas();
+			if (this.columnNames.length != columns.size()) {
+				return false;
+			}
+			for (int i = 0; i < this.columnNames.length; i++) {
+				if (!this.columnNames[i].equals(columns.get(i).getName())) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
@@ -93,6 +93,27 @@ public interface DatabaseClient extends ConnectionAccessor {
 	 */
 	GenericExecuteSpec sql(Supplier<String> sqlSupplier);
 
+	/**
+	 * Run the given {@code sql} statement once for each parameter set emitted by
+	 * the given {@link Publisher}. Parameter sets are collected into chunks of up
+	 * to {@code batchSize} elements, each of which is bound to a single
+	 * {@link Statement} through {@link Statement#add()} and executed at once.
+	 * <p>Each parameter set maps parameter names to values, with
+	 * {@link io.r2dbc.spi.Parameter} values allowing for typed {@code null} values.
+	 * Named parameters are expanded as for {@link #sql(String)} when
+	 * {@link NamedParameterExpander} is enabled; consecutive parameter sets
+	 * expanding to different SQL, e.g. for collection values of different size,
+	 * are executed through separate statements.
+	 * @param sql the SQL statement
+	 * @param parameterSets the parameter sets to run the statement for
+	 * @param batchSize the maximum number of parameter sets per statement
+	 * @return a {@link Flux} emitting the number of updated rows for each
+	 * {@link Result}, typically one per parameter set
+	 * @since 6.0
+	 * @see Statement#add()
+	 */
+	Flux<Long> batchUpdate(String sql, Publisher<? extends Map<String, ?>> parameterSets, int batchSize);
+
 
 	// Static factory methods
 
@@ -234,6 +255,17 @@ public interface DatabaseClient extends ConnectionAccessor {
 		 */
 		<R> RowsFetchSpec<R> map(BiFunction<Row, RowMetadata, R> mappingFunction);
 
+		/**
+		 * Configure a result mapping to instances of the given class, typically
+		 * a Java record or a Kotlin data class, and enter the execution stage.
+		 * @param mappedClass the class to map each row to through its constructor
+		 * @param <R> the result type
+		 * @return a {@link FetchSpec} for configuration what to fetch
+		 * @since 6.0
+		 * @see DataClassRowMapper
+		 */
+		<R> RowsFetchSpec<R> mapTo(Class<R> mappedClass);
+
 		/**
 		 * Perform the SQL call and apply {@link BiFunction function} to the {@link  Result}.
 		 * @param mappingFunction a function that maps from {@link Result} into a result publisher
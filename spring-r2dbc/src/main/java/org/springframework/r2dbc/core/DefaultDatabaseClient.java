@@ -20,12 +20,14 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -55,6 +57,7 @@ import org.springframework.r2dbc.core.binding.BindMarkersFactory;
 import org.springframework.r2dbc.core.binding.BindTarget;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.StringUtils;
 
 /**
@@ -78,6 +81,8 @@ class DefaultDatabaseClient implements DatabaseClient {
 	@Nullable
 	private final NamedParameterExpander namedParameterExpander;
 
+	private final Map<Class<?>, DataClassRowMapper<?>> dataClassRowMappers = new ConcurrentReferenceHashMap<>();
+
 
 	DefaultDatabaseClient(BindMarkersFactory bindMarkersFactory, ConnectionFactory connectionFactory,
 			ExecuteFunction executeFunction, boolean namedParameters) {
@@ -106,6 +111,93 @@ class DefaultDatabaseClient implements DatabaseClient {
 		return new DefaultGenericExecuteSpec(sqlSupplier);
 	}
 
+	@Override
+	public Flux<Long> batchUpdate(String sql, Publisher<? extends Map<String, ?>> parameterSets, int batchSize) {
+		Assert.hasText(sql, "SQL must not be null or empty");
+		Assert.notNull(parameterSets, "Parameter sets must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero");
+
+		return inConnectionMany(new ConnectionFunction<>(sql, connection -> Flux.from(parameterSets)
+				.map(parameters -> prepareBatchEntry(sql, parameters))
+				.buffer(batchSize)
+				.concatMap(entries -> executeBatch(connection, entries))));
+	}
+
+	/**
+	 * Expand the given SQL for a single parameter set of a batch.
+	 */
+	@SuppressWarnings("deprecation")
+	private BatchEntry prepareBatchEntry(String sql, Map<String, ?> parameters) {
+		Map<String, Parameter> byName = CollectionUtils.newLinkedHashMap(parameters.size());
+		parameters.forEach((name, value) -> {
+			Assert.notNull(value, () -> String.format(
+					"Value for parameter %s must not be null. Use a typed io.r2dbc.spi.Parameter instead.", name));
+			if (value instanceof Parameter p) {
+				byName.put(name, p);
+			}
+			else if (value instanceof org.springframework.r2dbc.core.Parameter p) {
+				byName.put(name, p.hasValue() ? Parameters.in(p.getValue()) : Parameters.in(p.getType()));
+			}
+			else {
+				byName.put(name, Parameters.in(value));
+			}
+		});
+
+		NamedParameterExpander expander = this.namedParameterExpander;
+		if (expander == null) {
+			return new BatchEntry(sql, target -> byName.forEach(target::bind));
+		}
+		for (String parameterName : expander.getParameterNames(sql)) {
+			if (!byName.containsKey(parameterName)) {
+				throw new InvalidDataAccessApiUsageException(
+						String.format("No parameter specified for [%s] in query [%s]", parameterName, sql));
+			}
+		}
+		PreparedOperation<String> operation =
+				expander.expand(sql, this.bindMarkersFactory, new MapBindParameterSource(byName));
+		return new BatchEntry(operation.toQuery(), operation::bindTo);
+	}
+
+	/**
+	 * Execute the given batch entries, using a single {@link Statement} for each
+	 * run of consecutive entries with the same expanded SQL.
+	 */
+	private Flux<Long> executeBatch(Connection connection, List<BatchEntry> entries) {
+		return Flux.defer(() -> {
+			List<Flux<Long>> executions = new ArrayList<>(1);
+			Statement statement = null;
+			String statementSql = null;
+			for (BatchEntry entry : entries) {
+				if (statement == null || !entry.sql().equals(statementSql)) {
+					if (statement != null) {
+						executions.add(executeStatement(statement, statementSql));
+					}
+					if (logger.isDebugEnabled()) {
+						logger.debug("Executing SQL batch statement [" + entry.sql() + "]");
+					}
+					statement = connection.createStatement(entry.sql());
+					statementSql = entry.sql();
+				}
+				else {
+					statement.add();
+				}
+				entry.binder().accept(new StatementWrapper(statement));
+			}
+			if (statement != null) {
+				executions.add(executeStatement(statement, statementSql));
+			}
+			return Flux.concat(executions);
+		});
+	}
+
+	private Flux<Long> executeStatement(Statement statement, String sql) {
+		return Flux.from(this.executeFunction.execute(statement))
+				.concatMap(Result::getRowsUpdated)
+				.cast(Number.class)
+				.map(Number::longValue)
+				.checkpoint("SQL \"" + sql + "\" [DatabaseClient]");
+	}
+
 	@Override
 	public <T> Mono<T> inConnection(Function<Connection, Mono<T>> action) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
@@ -330,6 +422,15 @@ class DefaultDatabaseClient implements DatabaseClient {
 			return execute(this.sqlSupplier, result -> result.map(mappingFunction));
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public <R> FetchSpec<R> mapTo(Class<R> mappedClass) {
+			Assert.notNull(mappedClass, "Mapped class must not be null");
+			DataClassRowMapper<R> rowMapper = (DataClassRowMapper<R>) DefaultDatabaseClient.this.dataClassRowMappers
+					.computeIfAbsent(mappedClass, DataClassRowMapper::new);
+			return execute(this.sqlSupplier, result -> result.map(rowMapper));
+		}
+
 		@Override
 		public <R> Flux<R> flatMap(Function<Result, Publisher<R>> mappingFunction) {
 			Assert.notNull(mappingFunction, "Mapping function must not be null");
@@ -551,6 +652,14 @@ class DefaultDatabaseClient implements DatabaseClient {
 	}
 
 
+	/**
+	 * A single parameter set of a batch, expanded into the SQL to execute
+	 * and a function that binds its values.
+	 */
+	private record BatchEntry(String sql, Consumer<BindTarget> binder) {
+	}
+
+
 	static class StatementWrapper implements BindTarget {
 
 		final Statement statement;
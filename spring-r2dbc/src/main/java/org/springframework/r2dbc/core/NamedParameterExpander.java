@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.r2dbc.core;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.r2dbc.core.binding.BindMarkersFactory;
@@ -49,6 +50,11 @@ class NamedParameterExpander {
 	private final ConcurrentLruCache<String, ParsedSql> parsedSqlCache =
 			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, NamedParameterUtils::parseSqlStatement);
 
+	/** Cache of SQL expanded for scalar parameter values, per BindMarkersFactory. */
+	private final ConcurrentLruCache<ExpansionKey, NamedParameterUtils.ExpandedQuery> expandedSqlCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, key -> NamedParameterUtils.expand(
+					getParsedSql(key.sql()), key.bindMarkersFactory(), new MapBindParameterSource()));
+
 
 	/**
 	 * Obtain a parsed representation of the given SQL statement.
@@ -84,7 +90,20 @@ class NamedParameterExpander {
 			String sql, BindMarkersFactory bindMarkersFactory, BindParameterSource paramSource) {
 
 		ParsedSql parsedSql = getParsedSql(sql);
-		return NamedParameterUtils.substituteNamedParameters(parsedSql, bindMarkersFactory, paramSource);
+		if (hasCollectionValue(parsedSql, paramSource)) {
+			// Number of placeholders depends on the given values
+			return NamedParameterUtils.substituteNamedParameters(parsedSql, bindMarkersFactory, paramSource);
+		}
+		return this.expandedSqlCache.get(new ExpansionKey(sql, bindMarkersFactory)).withParameterSource(paramSource);
+	}
+
+	private static boolean hasCollectionValue(ParsedSql parsedSql, BindParameterSource paramSource) {
+		for (String paramName : parsedSql.getParameterNames()) {
+			if (paramSource.hasValue(paramName) && paramSource.getValue(paramName).getValue() instanceof Collection) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -96,4 +115,11 @@ class NamedParameterExpander {
 		return getParsedSql(sql).getParameterNames();
 	}
 
+
+	/**
+	 * Cache key for expanded SQL.
+	 */
+	private record ExpansionKey(String sql, BindMarkersFactory bindMarkersFactory) {
+	}
+
 }
@@ -276,6 +276,19 @@ abstract class NamedParameterUtils {
 	public static PreparedOperation<String> substituteNamedParameters(ParsedSql parsedSql,
 			BindMarkersFactory bindMarkersFactory, BindParameterSource paramSource) {
 
+		return expand(parsedSql, bindMarkersFactory, paramSource);
+	}
+
+	/**
+	 * Variant of {@link #substituteNamedParameters(ParsedSql, BindMarkersFactory, BindParameterSource)}
+	 * that exposes the {@link ExpandedQuery}, allowing a query expanded for scalar
+	 * parameter values to be reused {@link ExpandedQuery#withParameterSource for
+	 * further parameter sets}.
+	 * @since 6.0
+	 */
+	static ExpandedQuery expand(ParsedSql parsedSql,
+			BindMarkersFactory bindMarkersFactory, BindParameterSource paramSource) {
+
 		NamedParameters markerHolder = new NamedParameters(bindMarkersFactory);
 		String originalSql = parsedSql.getOriginalSql();
 		List<String> paramNames = parsedSql.getParameterNames();
@@ -495,7 +508,7 @@ abstract class NamedParameterUtils {
 	 * Expanded query that allows binding of parameters using parameter names that were
 	 * used to expand the query. Binding unrolls {@link Collection}s and nested arrays.
 	 */
-	private static class ExpandedQuery implements PreparedOperation<String> {
+	static class ExpandedQuery implements PreparedOperation<String> {
 
 		private final String expandedSql;
 
@@ -509,6 +522,15 @@ abstract class NamedParameterUtils {
 			this.parameterSource = parameterSource;
 		}
 
+		/**
+		 * Return a query with the same expanded SQL and bind markers, binding
+		 * the values of the given parameter source. Only valid if this query was
+		 * expanded without collection values, and the given source contains none.
+		 */
+		ExpandedQuery withParameterSource(BindParameterSource parameterSource) {
+			return new ExpandedQuery(this.expandedSql, this.parameters, parameterSource);
+		}
+
 		@SuppressWarnings("unchecked")
 		public void bind(BindTarget target, String identifier, Parameter parameter) {
 			List<BindMarker> bindMarkers = getBindMarkers(identifier);
@@ -563,6 +585,9 @@ abstract class NamedParameterUtils {
 			if (parameters == null) {
 				return null;
 			}
+			if (parameters.size() == 1) {
+				return parameters.get(0).placeholders;
+			}
 			List<BindMarker> markers = new ArrayList<>();
 			for (NamedParameters.NamedParameter parameter : parameters) {
 				markers.addAll(parameter.placeholders);
@@ -16,7 +16,10 @@
 
 package org.springframework.r2dbc.core;
 
+import java.util.Map;
+
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Parameters;
 import io.r2dbc.spi.Result;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -149,4 +152,43 @@ public abstract class AbstractDatabaseClientIntegrationTests {
 				.verifyComplete();
 	}
 
+	@Test
+	public void executeBatchUpdate() {
+		DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+
+		Flux<Map<String, Object>> parameterSets = Flux.range(1, 5).map(id -> Map.of(
+				"id", id, "name", "SET-" + id, "manual", (id % 2 == 0 ? id : Parameters.in(Integer.class))));
+
+		databaseClient.batchUpdate("INSERT INTO legoset (id, name, manual) VALUES(:id, :name, :manual)",
+						parameterSets, 2)
+				.as(StepVerifier::create)
+				.expectNext(1L, 1L, 1L, 1L, 1L)
+				.verifyComplete();
+
+		databaseClient.sql("SELECT COUNT(*) FROM legoset WHERE manual IS NULL")
+				.map(row -> row.get(0, Long.class))
+				.first()
+				.as(StepVerifier::create)
+				.expectNext(3L)
+				.verifyComplete();
+	}
+
+	@Test
+	public void mapToRecord() {
+		DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+
+		executeInsert();
+
+		databaseClient.sql("SELECT id, name, manual FROM legoset")
+				.mapTo(LegoSet.class)
+				.first()
+				.as(StepVerifier::create)
+				.expectNext(new LegoSet(42055, "SCHAUFELRADBAGGER", null))
+				.verifyComplete();
+	}
+
+
+	record LegoSet(int id, String name, Integer manual) {
+	}
+
 }
@@ -17,6 +17,7 @@
 package org.springframework.r2dbc.core;
 
 import java.util.Arrays;
+import java.util.Map;
 
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
@@ -385,6 +386,30 @@ class DefaultDatabaseClientUnitTests {
 		inOrder.verifyNoMoreInteractions();
 	}
 
+	@Test
+	void shouldExecuteBatchUpdateInChunks() {
+		Result result = mock(Result.class);
+		doReturn(Mono.just(1L)).when(result).getRowsUpdated();
+		Statement statement = mockStatementFor("INSERT INTO person VALUES($1)", result);
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		databaseClient.batchUpdate("INSERT INTO person VALUES(:name)",
+				Flux.just(Map.of("name", "Walter"), Map.of("name", "Jesse"), Map.of("name", "Skyler")), 2)
+				.as(StepVerifier::create)
+				.expectNext(1L, 1L)
+				.verifyComplete();
+
+		InOrder inOrder = inOrder(statement);
+		inOrder.verify(statement).bind(0, Parameters.in("Walter"));
+		inOrder.verify(statement).add();
+		inOrder.verify(statement).bind(0, Parameters.in("Jesse"));
+		inOrder.verify(statement).execute();
+		inOrder.verify(statement).bind(0, Parameters.in("Skyler"));
+		inOrder.verify(statement).execute();
+		inOrder.verifyNoMoreInteractions();
+		verify(connection, times(2)).createStatement("INSERT INTO person VALUES($1)");
+	}
+
 
 	private Statement mockStatement() {
 		return mockStatementFor(null, null);
@@ -287,6 +287,32 @@ public class NamedParameterUtilsUnitTests {
 		assertThat(parsed.getParameterNames()).containsExactly("id", "id");
 	}
 
+	@Test
+	public void expanderReusesExpansionForScalarValues() {
+		NamedParameterExpander expander = new NamedParameterExpander();
+		String sql = "SELECT * FROM person where name = :name or id IN (:ids)";
+
+		BindTarget first = mock(BindTarget.class);
+		PreparedOperation<String> operation = expander.expand(sql, BIND_MARKERS,
+				new MapBindParameterSource().addValue("name", "Walter").addValue("ids", 1));
+		assertThat(operation.toQuery()).isEqualTo("SELECT * FROM person where name = $1 or id IN ($2)");
+		operation.bindTo(first);
+		verify(first).bind(0, Parameters.in("Walter"));
+		verify(first).bind(1, Parameters.in(1));
+
+		BindTarget second = mock(BindTarget.class);
+		operation = expander.expand(sql, BIND_MARKERS,
+				new MapBindParameterSource().addValue("name", "Jesse").addValue("ids", 2));
+		assertThat(operation.toQuery()).isEqualTo("SELECT * FROM person where name = $1 or id IN ($2)");
+		operation.bindTo(second);
+		verify(second).bind(0, Parameters.in("Jesse"));
+		verify(second).bind(1, Parameters.in(2));
+
+		operation = expander.expand(sql, BIND_MARKERS,
+				new MapBindParameterSource().addValue("name", "Walter").addValue("ids", Arrays.asList(1, 2)));
+		assertThat(operation.toQuery()).isEqualTo("SELECT * FROM person where name = $1 or id IN ($2, $3)");
+	}
+
 	@Test
 	public void multipleEqualParameterReferencesBindsValueOnce() {
 		String sql = "SELECT * FROM person where name = :id or lastname = :id";
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.interceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Benchmarks for nested {@code @Transactional} calls through a
+ * {@link TransactionInterceptor}, where the outermost call begins a
+ * transaction and the nested calls join it.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class TransactionInterceptorBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class ServiceState {
+
+		@Param({"1", "4", "16"})
+		public int depth;
+
+		public NestedService service;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			TransactionInterceptor interceptor = new TransactionInterceptor(
+					new InMemoryTransactionManager(), new AnnotationTransactionAttributeSource());
+			DefaultNestedService target = new DefaultNestedService();
+			ProxyFactory proxyFactory = new ProxyFactory(target);
+			proxyFactory.addInterface(NestedService.class);
+			proxyFactory.addAdvice(interceptor);
+			this.service = (NestedService) proxyFactory.getProxy();
+			target.self = this.service;
+		}
+	}
+
+	@Benchmark
+	public int nestedCalls(ServiceState state) {
+		return state.service.call(state.depth);
+	}
+
+
+	public interface NestedService {
+
+		int call(int depth);
+	}
+
+
+	public static class DefaultNestedService implements NestedService {
+
+		NestedService self;
+
+		@Override
+		@Transactional
+		public int call(int depth) {
+			return (depth <= 1 ? 1 : this.self.call(depth - 1) + 1);
+		}
+	}
+
+
+	/**
+	 * Transaction manager without any resource, binding a marker to the thread
+	 * for the duration of a transaction.
+	 */
+	@SuppressWarnings("serial")
+	private static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+		private final Object resourceKey = new Object();
+
+		@Override
+		protected Object doGetTransaction() {
+			return (TransactionSynchronizationManager.hasResource(this.resourceKey) ? this.resourceKey : new Object());
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) {
+			return (transaction == this.resourceKey);
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			TransactionSynchronizationManager.bindResource(this.resourceKey, transaction);
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doCleanupAfterCompletion(Object transaction) {
+			TransactionSynchronizationManager.unbindResource(this.resourceKey);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.core.CoroutinesUtils;
 import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ReactiveAdapter;
@@ -185,6 +186,9 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	private final ConcurrentMap<Method, ReactiveTransactionSupport> transactionSupportCache =
 			new ConcurrentReferenceHashMap<>(1024);
 
+	private final ConcurrentMap<MethodClassKey, TransactionPlan> transactionPlanCache =
+			new ConcurrentReferenceHashMap<>(1024);
+
 
 	protected TransactionAspectSupport() {
 		if (reactiveStreamsPresent) {
@@ -375,7 +379,8 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 
 		PlatformTransactionManager ptm = asPlatformTransactionManager(tm);
-		final String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		final TransactionPlan plan = getTransactionPlan(method, targetClass, txAttr);
+		final String joinpointIdentification = plan.joinpointIdentification;
 
 		if (txAttr == null || !(ptm instanceof CallbackPreferringPlatformTransactionManager)) {
 			// Standard transaction demarcation with getTransaction and commit/rollback calls.
@@ -531,6 +536,49 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 	}
 
+	/**
+	 * Return the {@link TransactionPlan} for the given method and target class,
+	 * reusing the one from a previous invocation with the same (typically cached)
+	 * attribute instance.
+	 */
+	private TransactionPlan getTransactionPlan(Method method, @Nullable Class<?> targetClass,
+			@Nullable TransactionAttribute txAttr) {
+
+		MethodClassKey cacheKey = new MethodClassKey(method, targetClass);
+		TransactionPlan plan = this.transactionPlanCache.get(cacheKey);
+		if (plan != null && plan.sourceAttribute == txAttr) {
+			return plan;
+		}
+		String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		TransactionPlan newPlan = new TransactionPlan(txAttr,
+				applyTransactionName(txAttr, joinpointIdentification), joinpointIdentification);
+		if (plan == null) {
+			// Keep the first plan only: with an attribute source that returns a new
+			// attribute instance per call, the plan is computed per invocation, as before.
+			this.transactionPlanCache.putIfAbsent(cacheKey, newPlan);
+		}
+		return newPlan;
+	}
+
+	/**
+	 * Apply the method identification as transaction name, unless a name is specified.
+	 */
+	@Nullable
+	@SuppressWarnings("serial")
+	private static TransactionAttribute applyTransactionName(
+			@Nullable TransactionAttribute txAttr, final String joinpointIdentification) {
+
+		if (txAttr != null && txAttr.getName() == null) {
+			return new DelegatingTransactionAttribute(txAttr) {
+				@Override
+				public String getName() {
+					return joinpointIdentification;
+				}
+			};
+		}
+		return txAttr;
+	}
+
 	private String methodIdentification(Method method, @Nullable Class<?> targetClass,
 			@Nullable TransactionAttribute txAttr) {
 
@@ -575,19 +623,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 * tell if there was a transaction created.
 	 * @see #getTransactionAttributeSource()
 	 */
-	@SuppressWarnings("serial")
 	protected TransactionInfo createTransactionIfNecessary(@Nullable PlatformTransactionManager tm,
 			@Nullable TransactionAttribute txAttr, final String joinpointIdentification) {
 
 		// If no name specified, apply method identification as transaction name.
-		if (txAttr != null && txAttr.getName() == null) {
-			txAttr = new DelegatingTransactionAttribute(txAttr) {
-				@Override
-				public String getName() {
-					return joinpointIdentification;
-				}
-			};
-		}
+		txAttr = applyTransactionName(txAttr, joinpointIdentification);
 
 		TransactionStatus status = null;
 		if (txAttr != null) {
@@ -795,6 +835,31 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	}
 
 
+	/**
+	 * The transaction attribute and joinpoint identification for a method and
+	 * target class, with the identification applied as transaction name,
+	 * computed on first invocation.
+	 */
+	private static final class TransactionPlan {
+
+		@Nullable
+		private final TransactionAttribute sourceAttribute;
+
+		@Nullable
+		private final TransactionAttribute namedAttribute;
+
+		private final String joinpointIdentification;
+
+		TransactionPlan(@Nullable TransactionAttribute sourceAttribute,
+				@Nullable TransactionAttribute namedAttribute, String joinpointIdentification) {
+
+			this.sourceAttribute = sourceAttribute;
+			this.namedAttribute = namedAttribute;
+			this.joinpointIdentification = joinpointIdentification;
+		}
+	}
+
+
 	/**
 	 * Simple callback interface for proceeding with the target invocation.
 	 * Concrete interceptors/aspects adapt this to their invocation mechanism.
@@ -901,14 +966,16 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		public Object invokeWithinTransaction(Method method, @Nullable Class<?> targetClass,
 				InvocationCallback invocation, @Nullable TransactionAttribute txAttr, ReactiveTransactionManager rtm) {
 
-			String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+			TransactionPlan plan = getTransactionPlan(method, targetClass, txAttr);
+			String joinpointIdentification = plan.joinpointIdentification;
+			TransactionAttribute namedAttr = plan.namedAttribute;
 
 			// For Mono and suspending functions not returning kotlinx.coroutines.flow.Flow
 			if (Mono.class.isAssignableFrom(method.getReturnType()) || (KotlinDetector.isSuspendingFunction(method) &&
 					!COROUTINES_FLOW_CLASS_NAME.equals(new MethodParameter(method, -1).getParameterType().getName()))) {
 
-				return TransactionContextManager.currentContext().flatMap(context ->
-						createTransactionIfNecessary(rtm, txAttr, joinpointIdentification).flatMap(it -> {
+				return Mono.defer(() ->
+						createTransactionIfNecessary(rtm, namedAttr, joinpointIdentification).flatMap(it -> {
 							try {
 								// Need re-wrapping until we get hold of the exception through usingWhen.
 								return Mono.<Object, ReactiveTransactionInfo>usingWhen(
@@ -936,8 +1003,8 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 			}
 
 			// Any other reactive type, typically a Flux
-			return this.adapter.fromPublisher(TransactionContextManager.currentContext().flatMapMany(context ->
-					createTransactionIfNecessary(rtm, txAttr, joinpointIdentification).flatMapMany(it -> {
+			return this.adapter.fromPublisher(Flux.defer(() ->
+					createTransactionIfNecessary(rtm, namedAttr, joinpointIdentification).flatMapMany(it -> {
 						try {
 							// Need re-wrapping until we get hold of the exception through usingWhen.
 							return Flux
@@ -965,21 +1032,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 					.contextWrite(TransactionContextManager.getOrCreateContextHolder()));
 		}
 
-		@SuppressWarnings("serial")
 		private Mono<ReactiveTransactionInfo> createTransactionIfNecessary(ReactiveTransactionManager tm,
 				@Nullable TransactionAttribute txAttr, final String joinpointIdentification) {
 
 			// If no name specified, apply method identification as transaction name.
-			if (txAttr != null && txAttr.getName() == null) {
-				txAttr = new DelegatingTransactionAttribute(txAttr) {
-					@Override
-					public String getName() {
-						return joinpointIdentification;
-					}
-				};
-			}
-
-			final TransactionAttribute attrToUse = txAttr;
+			final TransactionAttribute attrToUse = applyTransactionName(txAttr, joinpointIdentification);
 			Mono<ReactiveTransaction> tx = (attrToUse != null ? tm.getReactiveTransaction(attrToUse) : Mono.empty());
 			return tx.map(it -> prepareTransactionInfo(tm, attrToUse, joinpointIdentification, it)).switchIfEmpty(
 					Mono.defer(() -> Mono.just(prepareTransactionInfo(tm, attrToUse, joinpointIdentification, null))));
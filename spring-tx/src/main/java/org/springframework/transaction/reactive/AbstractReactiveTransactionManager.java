@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -128,27 +128,25 @@ public abstract class AbstractReactiveTransactionManager implements ReactiveTran
 					def.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW ||
 					def.getPropagationBehavior() == TransactionDefinition.PROPAGATION_NESTED) {
 
-				return TransactionContextManager.currentContext()
-						.map(TransactionSynchronizationManager::new)
-						.flatMap(nestedSynchronizationManager ->
-								suspend(nestedSynchronizationManager, null)
-								.map(Optional::of)
-								.defaultIfEmpty(Optional.empty())
-								.flatMap(suspendedResources -> {
+				// Same subscriber context as above: no need for another context lookup.
+				return suspend(synchronizationManager, null)
+						.map(Optional::of)
+						.defaultIfEmpty(Optional.empty())
+						.flatMap(suspendedResources -> {
 							if (debugEnabled) {
 								logger.debug("Creating new transaction with name [" + def.getName() + "]: " + def);
 							}
 							return Mono.defer(() -> {
 								GenericReactiveTransaction status = newReactiveTransaction(
-										nestedSynchronizationManager, def, transaction, true,
+										synchronizationManager, def, transaction, true,
 										debugEnabled, suspendedResources.orElse(null));
-								return doBegin(nestedSynchronizationManager, transaction, def)
-										.doOnSuccess(ignore -> prepareSynchronization(nestedSynchronizationManager, status, def))
+								return doBegin(synchronizationManager, transaction, def)
+										.doOnSuccess(ignore -> prepareSynchronization(synchronizationManager, status, def))
 										.thenReturn(status);
 							}).onErrorResume(ErrorPredicates.RUNTIME_OR_ERROR,
-									ex -> resume(nestedSynchronizationManager, null, suspendedResources.orElse(null))
+									ex -> resume(synchronizationManager, null, suspendedResources.orElse(null))
 									.then(Mono.error(ex)));
-						}));
+						});
 			}
 			else {
 				// Create "empty" transaction: no actual transaction, but potentially synchronization.
@@ -242,9 +240,11 @@ public abstract class AbstractReactiveTransactionManager implements ReactiveTran
 			TransactionSynchronizationManager synchronizationManager, TransactionDefinition definition,
 			@Nullable Object transaction, boolean newTransaction, boolean debug, @Nullable Object suspendedResources) {
 
-		return new GenericReactiveTransaction(transaction, newTransaction,
+		GenericReactiveTransaction status = new GenericReactiveTransaction(transaction, newTransaction,
 				!synchronizationManager.isSynchronizationActive(),
 				definition.isReadOnly(), debug, suspendedResources);
+		status.setSynchronizationManager(synchronizationManager);
+		return status;
 	}
 
 	/**
@@ -409,16 +409,31 @@ public abstract class AbstractReactiveTransactionManager implements ReactiveTran
 					"Transaction is already completed - do not call commit or rollback more than once per transaction"));
 		}
 
-		return TransactionSynchronizationManager.forCurrentTransaction().flatMap(synchronizationManager -> {
-			GenericReactiveTransaction reactiveTx = (GenericReactiveTransaction) transaction;
-			if (reactiveTx.isRollbackOnly()) {
-				if (reactiveTx.isDebug()) {
-					logger.debug("Transactional code has requested rollback");
-				}
-				return processRollback(synchronizationManager, reactiveTx);
+		GenericReactiveTransaction reactiveTx = (GenericReactiveTransaction) transaction;
+		TransactionSynchronizationManager synchronizationManager = reactiveTx.getSynchronizationManager();
+		if (synchronizationManager != null) {
+			return Mono.defer(() -> processCommitOrRollback(synchronizationManager, reactiveTx));
+		}
+		return TransactionSynchronizationManager.forCurrentTransaction().flatMap(currentSynchronizationManager ->
+				processCommitOrRollback(currentSynchronizationManager, reactiveTx));
+	}
+
+	/**
+	 * Process a commit, or a rollback if the transaction has been marked as rollback-only.
+	 * @param synchronizationManager the synchronization manager bound to the current transaction
+	 * @param status object representing the transaction
+	 * @throws TransactionException in case of commit or rollback failure
+	 */
+	private Mono<Void> processCommitOrRollback(TransactionSynchronizationManager synchronizationManager,
+			GenericReactiveTransaction status) throws TransactionException {
+
+		if (status.isRollbackOnly()) {
+			if (status.isDebug()) {
+				logger.debug("Transactional code has requested rollback");
 			}
-			return processCommit(synchronizationManager, reactiveTx);
-		});
+			return processRollback(synchronizationManager, status);
+		}
+		return processCommit(synchronizationManager, status);
 	}
 
 	/**
@@ -492,10 +507,13 @@ public abstract class AbstractReactiveTransactionManager implements ReactiveTran
 			return Mono.error(new IllegalTransactionStateException(
 					"Transaction is already completed - do not call commit or rollback more than once per transaction"));
 		}
-		return TransactionSynchronizationManager.forCurrentTransaction().flatMap(synchronizationManager -> {
-			GenericReactiveTransaction reactiveTx = (GenericReactiveTransaction) transaction;
-			return processRollback(synchronizationManager, reactiveTx);
-		});
+		GenericReactiveTransaction reactiveTx = (GenericReactiveTransaction) transaction;
+		TransactionSynchronizationManager synchronizationManager = reactiveTx.getSynchronizationManager();
+		if (synchronizationManager != null) {
+			return Mono.defer(() -> processRollback(synchronizationManager, reactiveTx));
+		}
+		return TransactionSynchronizationManager.forCurrentTransaction().flatMap(currentSynchronizationManager ->
+				processRollback(currentSynchronizationManager, reactiveTx));
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,6 +58,9 @@ public class GenericReactiveTransaction implements ReactiveTransaction {
 
 	private boolean completed = false;
 
+	@Nullable
+	private TransactionSynchronizationManager synchronizationManager;
+
 
 	/**
 	 * Create a new {@code DefaultReactiveTransactionStatus} instance.
@@ -141,6 +144,25 @@ public class GenericReactiveTransaction implements ReactiveTransaction {
 		return this.suspendedResources;
 	}
 
+	/**
+	 * Associate the synchronization manager that this transaction was started
+	 * with, allowing for completion without another subscriber context lookup.
+	 * @since 6.0
+	 */
+	void setSynchronizationManager(TransactionSynchronizationManager synchronizationManager) {
+		this.synchronizationManager = synchronizationManager;
+	}
+
+	/**
+	 * Return the synchronization manager that this transaction was started with,
+	 * if known.
+	 * @since 6.0
+	 */
+	@Nullable
+	TransactionSynchronizationManager getSynchronizationManager() {
+		return this.synchronizationManager;
+	}
+
 	@Override
 	public void setRollbackOnly() {
 		this.rollbackOnly = true;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -51,6 +51,9 @@ public class TransactionContext {
 
 	private volatile boolean actualTransactionActive;
 
+	@Nullable
+	private TransactionSynchronizationManager synchronizationManager;
+
 
 	TransactionContext() {
 		this(null);
@@ -113,6 +116,21 @@ public class TransactionContext {
 		return this.actualTransactionActive;
 	}
 
+	/**
+	 * Return the {@link TransactionSynchronizationManager} for this context,
+	 * creating it on first access.
+	 * @since 6.0
+	 */
+	TransactionSynchronizationManager getSynchronizationManager() {
+		TransactionSynchronizationManager synchronizationManager = this.synchronizationManager;
+		if (synchronizationManager == null) {
+			// Stateless beyond this context: a racy double creation is harmless.
+			synchronizationManager = new TransactionSynchronizationManager(this);
+			this.synchronizationManager = synchronizationManager;
+		}
+		return synchronizationManager;
+	}
+
 
 	public void clear() {
 		this.synchronizations = null;
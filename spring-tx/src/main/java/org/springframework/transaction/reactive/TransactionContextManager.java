@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,7 +22,9 @@ import java.util.function.Function;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.context.Context;
+import reactor.util.context.ContextView;
 
+import org.springframework.lang.Nullable;
 import org.springframework.transaction.NoTransactionException;
 
 /**
@@ -51,19 +53,39 @@ public abstract class TransactionContextManager {
 	 */
 	public static Mono<TransactionContext> currentContext() throws NoTransactionException {
 		return Mono.deferContextual(ctx -> {
-			if (ctx.hasKey(TransactionContext.class)) {
-				return Mono.just(ctx.get(TransactionContext.class));
-			}
-			if (ctx.hasKey(TransactionContextHolder.class)) {
-				TransactionContextHolder holder = ctx.get(TransactionContextHolder.class);
-				if (holder.hasContext()) {
-					return Mono.just(holder.currentContext());
-				}
-			}
-			return Mono.error(new NoTransactionInContextException());
+			TransactionContext context = findContext(ctx);
+			return (context != null ? Mono.just(context) : Mono.error(new NoTransactionInContextException()));
 		});
 	}
 
+	/**
+	 * Obtain the {@link TransactionSynchronizationManager} for the current
+	 * {@link TransactionContext}, reusing the instance cached in the context
+	 * rather than creating a new one on every lookup.
+	 * @since 6.0
+	 * @see #currentContext()
+	 */
+	static Mono<TransactionSynchronizationManager> currentSynchronizationManager() {
+		return Mono.deferContextual(ctx -> {
+			TransactionContext context = findContext(ctx);
+			return (context != null ? Mono.just(context.getSynchronizationManager()) :
+					Mono.error(new NoTransactionInContextException()));
+		});
+	}
+
+	@Nullable
+	private static TransactionContext findContext(ContextView ctx) {
+		TransactionContext context = ctx.getOrDefault(TransactionContext.class, null);
+		if (context != null) {
+			return context;
+		}
+		TransactionContextHolder holder = ctx.getOrDefault(TransactionContextHolder.class, null);
+		if (holder != null && holder.hasContext()) {
+			return holder.currentContext();
+		}
+		return null;
+	}
+
 	/**
 	 * Create a {@link TransactionContext} and register it in the subscriber {@link Context}.
 	 * @return functional context registration.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -85,7 +85,7 @@ public class TransactionSynchronizationManager {
 	 * for example, because the method was invoked outside a managed transaction
 	 */
 	public static Mono<TransactionSynchronizationManager> forCurrentTransaction() {
-		return TransactionContextManager.currentContext().map(TransactionSynchronizationManager::new);
+		return TransactionContextManager.currentSynchronizationManager();
 	}
 
 	/**
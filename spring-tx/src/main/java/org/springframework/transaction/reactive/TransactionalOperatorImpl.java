@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -72,7 +72,7 @@ final class TransactionalOperatorImpl implements TransactionalOperator {
 
 	@Override
 	public <T> Mono<T> transactional(Mono<T> mono) {
-		return TransactionContextManager.currentContext().flatMap(context -> {
+		return Mono.defer(() -> {
 			Mono<ReactiveTransaction> status = this.transactionManager.getReactiveTransaction(this.transactionDefinition);
 			// This is an around advice: Invoke the next interceptor in the chain.
 			// This will normally result in a target object being invoked.
@@ -88,7 +88,7 @@ final class TransactionalOperatorImpl implements TransactionalOperator {
 
 	@Override
 	public <T> Flux<T> execute(TransactionCallback<T> action) throws TransactionException {
-		return TransactionContextManager.currentContext().flatMapMany(context -> {
+		return Flux.defer(() -> {
 			Mono<ReactiveTransaction> status = this.transactionManager.getReactiveTransaction(this.transactionDefinition);
 			// This is an around advice: Invoke the next interceptor in the chain.
 			// This will normally result in a target object being invoked.
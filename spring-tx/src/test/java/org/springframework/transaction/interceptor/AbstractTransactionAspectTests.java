@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import org.springframework.beans.testfixture.beans.ITestBean;
 import org.springframework.beans.testfixture.beans.TestBean;
@@ -37,6 +38,7 @@ import org.springframework.transaction.interceptor.TransactionAspectSupport.Tran
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
@@ -118,6 +120,37 @@ public abstract class AbstractTransactionAspectTests {
 		verify(ptm).commit(status);
 	}
 
+	/**
+	 * Check that the method identification is applied as transaction name
+	 * on every invocation, not just the first one.
+	 */
+	@Test
+	public void transactionNameShouldBeAppliedOnRepeatedInvocations() throws Exception {
+		TransactionAttribute txatt = new DefaultTransactionAttribute();
+
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, txatt);
+
+		TransactionStatus status = mock(TransactionStatus.class);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		given(ptm.getTransaction(any())).willReturn(status);
+
+		TestBean tb = new TestBean();
+		ITestBean itb = (ITestBean) advised(tb, ptm, tas);
+
+		itb.getName();
+		itb.getName();
+		checkTransactionStatus(false);
+
+		ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+		verify(ptm, times(2)).getTransaction(definitions.capture());
+		assertThat(definitions.getAllValues()).allSatisfy(definition -> {
+			assertThat(definition.getName()).endsWith(".getName");
+			assertThat(definition.getPropagationBehavior()).isEqualTo(txatt.getPropagationBehavior());
+		});
+		verify(ptm, times(2)).commit(status);
+	}
+
 	/**
 	 * Check that a transaction is created and committed using
 	 * CallbackPreferringPlatformTransactionManager.
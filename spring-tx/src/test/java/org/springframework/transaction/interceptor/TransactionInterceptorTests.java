@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,13 +17,19 @@
 package org.springframework.transaction.interceptor;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.testfixture.beans.DerivedTestBean;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.testfixture.io.SerializationTestUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -34,6 +40,7 @@ import org.springframework.transaction.TransactionStatus;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -261,6 +268,62 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 		verify(beanFactory, times(1)).getBean(TransactionManager.class);
 	}
 
+	@Test
+	public void transactionNamePerTargetClass() {
+		TransactionAttribute txatt = new DefaultTransactionAttribute();
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, txatt);
+
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		given(ptm.getTransaction(any())).willReturn(mock(TransactionStatus.class));
+
+		TransactionInterceptor ti = new TransactionInterceptor((TransactionManager) ptm, tas);
+		ProxyFactory pf1 = new ProxyFactory(new TestBean());
+		pf1.addAdvice(ti);
+		ProxyFactory pf2 = new ProxyFactory(new DerivedTestBean());
+		pf2.addAdvice(ti);
+
+		((ITestBean) pf1.getProxy()).getName();
+		((ITestBean) pf2.getProxy()).getName();
+		((ITestBean) pf1.getProxy()).getName();
+
+		ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+		verify(ptm, times(3)).getTransaction(definitions.capture());
+		assertThat(definitions.getAllValues()).extracting(TransactionDefinition::getName).containsExactly(
+				TestBean.class.getName() + ".getName",
+				DerivedTestBean.class.getName() + ".getName",
+				TestBean.class.getName() + ".getName");
+	}
+
+	@Test
+	public void createTransactionIfNecessaryWithSourceAttribute() {
+		TransactionAttribute txatt = new DefaultTransactionAttribute();
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, txatt);
+
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		given(ptm.getTransaction(any())).willReturn(mock(TransactionStatus.class));
+
+		List<TransactionAttribute> attributes = new ArrayList<>();
+		TransactionInterceptor ti = new TransactionInterceptor((TransactionManager) ptm, tas) {
+			@Override
+			protected TransactionInfo createTransactionIfNecessary(@Nullable PlatformTransactionManager tm,
+					@Nullable TransactionAttribute txAttr, String joinpointIdentification) {
+
+				attributes.add(txAttr);
+				return super.createTransactionIfNecessary(tm, txAttr, joinpointIdentification);
+			}
+		};
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+
+		itb.getName();
+		itb.getName();
+
+		assertThat(attributes).hasSize(2).allSatisfy(attribute -> assertThat(attribute).isSameAs(txatt));
+	}
+
 
 	private TransactionInterceptor createTransactionInterceptor(BeanFactory beanFactory,
 			String transactionManagerName, PlatformTransactionManager transactionManager) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -203,6 +203,30 @@ public class ReactiveTransactionSupportTests {
 		assertHasCleanedUp(tm);
 	}
 
+	@Test
+	public void synchronizationManagerIsReusedWithinTransactionContext() {
+		Mono.zip(TransactionSynchronizationManager.forCurrentTransaction(),
+						TransactionSynchronizationManager.forCurrentTransaction())
+				.contextWrite(TransactionContextManager.createTransactionContext())
+				.as(StepVerifier::create)
+				.consumeNextWith(actual -> assertThat(actual.getT1()).isSameAs(actual.getT2()))
+				.verifyComplete();
+	}
+
+	@Test
+	public void commitUsesSynchronizationManagerOfTransaction() {
+		ReactiveTestTransactionManager tm = new ReactiveTestTransactionManager(false, true);
+		ReactiveTransaction status = tm.getReactiveTransaction(new DefaultTransactionDefinition())
+				.contextWrite(TransactionContextManager.createTransactionContext()).block();
+
+		tm.commit(status).as(StepVerifier::create).verifyComplete();
+
+		assertHasBegan(tm);
+		assertHasCommitted(tm);
+		assertHasNoRollback(tm);
+		assertHasCleanedUp(tm);
+	}
+
 	private void assertHasBegan(ReactiveTestTransactionManager actual) {
 		assertThat(actual.begin).as("Expected <ReactiveTransactionManager.begin()> but was <begin()> was not invoked").isTrue();
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,19 +16,24 @@
 
 package org.springframework.web.filter;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.ServletRequest;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
@@ -46,6 +51,12 @@ import org.springframework.web.util.WebUtils;
  * (e.g. a {@link org.springframework.web.servlet.View}) is still rendered.
  * As such, this filter only saves bandwidth, not server performance.
  *
+ * <p>The response content is buffered in order to compute the ETag before
+ * the response is committed. For applications that also produce large
+ * responses, a {@link #setContentCacheLimit content cache limit} can be set
+ * so that responses growing beyond it are streamed to the client as they
+ * are written, without an ETag, rather than being held in memory.
+ *
  * @author Arjen Poutsma
  * @author Rossen Stoyanchev
  * @author Brian Clozel
@@ -61,6 +72,8 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 	private boolean writeWeakETag = false;
 
+	private int contentCacheLimit = -1;
+
 
 	/**
 	 * Set whether the ETag value written to the response should be weak, as per RFC 7232.
@@ -81,6 +94,27 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		return this.writeWeakETag;
 	}
 
+	/**
+	 * Set the maximum number of bytes of response content to buffer for
+	 * the purpose of generating an ETag. Once a response exceeds this limit,
+	 * the content buffered so far is written out and the remaining content
+	 * is passed through to the underlying response, without an ETag.
+	 * <p>By default this is set to -1, in which case the entire response
+	 * content is buffered regardless of its size.
+	 * @since 6.0
+	 */
+	public void setContentCacheLimit(int contentCacheLimit) {
+		this.contentCacheLimit = contentCacheLimit;
+	}
+
+	/**
+	 * Return the configured content cache limit, or -1 if none.
+	 * @since 6.0
+	 */
+	public int getContentCacheLimit() {
+		return this.contentCacheLimit;
+	}
+
 
 	/**
 	 * The default value is {@code false} so that the filter may delay the generation
@@ -97,7 +131,7 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 		HttpServletResponse responseToUse = response;
 		if (!isAsyncDispatch(request) && !(response instanceof ConditionalContentCachingResponseWrapper)) {
-			responseToUse = new ConditionalContentCachingResponseWrapper(response, request);
+			responseToUse = new ConditionalContentCachingResponseWrapper(response, request, this.contentCacheLimit);
 		}
 
 		filterChain.doFilter(request, responseToUse);
@@ -113,6 +147,12 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		Assert.notNull(wrapper, "ContentCachingResponseWrapper not found");
 		HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
 
+		if (wrapper.isContentLimitExceeded()) {
+			// Content has been streamed: nothing left to compare
+			wrapper.copyBodyToResponse();
+			return;
+		}
+
 		if (isEligibleForEtag(request, wrapper, wrapper.getStatus(), wrapper.getContentInputStream())) {
 			String eTag = wrapper.getHeader(HttpHeaders.ETAG);
 			if (!StringUtils.hasText(eTag)) {
@@ -198,32 +238,208 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 	/**
 	 * Returns the raw OutputStream, instead of the one that does caching,
-	 * if {@link #isContentCachingDisabled}.
+	 * if {@link #isContentCachingDisabled}, and switches to the raw
+	 * OutputStream once the content cache limit, if any, is exceeded.
 	 */
 	private static class ConditionalContentCachingResponseWrapper extends ContentCachingResponseWrapper {
 
 		private final HttpServletRequest request;
 
-		ConditionalContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request) {
+		private final int contentCacheLimit;
+
+		private boolean contentLimitExceeded;
+
+		@Nullable
+		private ServletOutputStream limitedOutputStream;
+
+		@Nullable
+		private PrintWriter limitedWriter;
+
+		ConditionalContentCachingResponseWrapper(
+				HttpServletResponse response, HttpServletRequest request, int contentCacheLimit) {
+
 			super(response);
 			this.request = request;
+			this.contentCacheLimit = contentCacheLimit;
 		}
 
 		@Override
 		public ServletOutputStream getOutputStream() throws IOException {
-			return (isContentCachingDisabled(this.request) || hasETag() ?
-					getResponse().getOutputStream() : super.getOutputStream());
+			if (isContentCachingDisabled(this.request) || hasETag()) {
+				return getResponse().getOutputStream();
+			}
+			if (this.contentCacheLimit < 0) {
+				return super.getOutputStream();
+			}
+			if (this.limitedOutputStream == null) {
+				this.limitedOutputStream = new LimitedContentCachingOutputStream(super.getOutputStream());
+			}
+			return this.limitedOutputStream;
 		}
 
 		@Override
 		public PrintWriter getWriter() throws IOException {
-			return (isContentCachingDisabled(this.request) || hasETag()?
-					getResponse().getWriter() : super.getWriter());
+			if (isContentCachingDisabled(this.request) || hasETag()) {
+				return getResponse().getWriter();
+			}
+			if (this.contentCacheLimit < 0) {
+				return super.getWriter();
+			}
+			if (this.limitedWriter == null) {
+				String characterEncoding = getCharacterEncoding();
+				this.limitedWriter = new FlushingPrintWriter(getOutputStream(),
+						(characterEncoding != null ? characterEncoding : WebUtils.DEFAULT_CHARACTER_ENCODING));
+			}
+			return this.limitedWriter;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (this.contentLimitExceeded) {
+				getResponse().flushBuffer();
+			}
+		}
+
+		@Override
+		protected void resizeContentBuffer(int capacity) {
+			if (this.contentCacheLimit < 0) {
+				super.resizeContentBuffer(capacity);
+			}
+			else if (!this.contentLimitExceeded) {
+				// Never allocate more than the limit for a declared length or buffer size
+				super.resizeContentBuffer(Math.min(capacity, this.contentCacheLimit));
+			}
+		}
+
+		boolean isContentLimitExceeded() {
+			return this.contentLimitExceeded;
 		}
 
 		private boolean hasETag() {
 			return StringUtils.hasText(getHeader(HttpHeaders.ETAG));
 		}
+
+		private void checkContentLimit(int length) throws IOException {
+			if (!this.contentLimitExceeded && getContentSize() + length > this.contentCacheLimit) {
+				this.contentLimitExceeded = true;
+				copyBodyToResponse(false);
+			}
+		}
+
+
+		private class LimitedContentCachingOutputStream extends ServletOutputStream {
+
+			private final ServletOutputStream cachingStream;
+
+			LimitedContentCachingOutputStream(ServletOutputStream cachingStream) {
+				this.cachingStream = cachingStream;
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				checkContentLimit(1);
+				getTargetStream().write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				checkContentLimit(len);
+				getTargetStream().write(b, off, len);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				if (contentLimitExceeded) {
+					getResponse().getOutputStream().flush();
+				}
+			}
+
+			@Override
+			public boolean isReady() {
+				return this.cachingStream.isReady();
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				this.cachingStream.setWriteListener(writeListener);
+			}
+
+			private ServletOutputStream getTargetStream() throws IOException {
+				return (contentLimitExceeded ? getResponse().getOutputStream() : this.cachingStream);
+			}
+		}
+	}
+
+
+	/**
+	 * PrintWriter that pushes the encoded characters of each write through to
+	 * the underlying stream, so that the content cache limit is checked as
+	 * content is written. Only an explicit {@link #flush()} flushes the stream.
+	 */
+	private static class FlushingPrintWriter extends PrintWriter {
+
+		private final OutputStream targetStream;
+
+		FlushingPrintWriter(OutputStream targetStream, String characterEncoding) throws IOException {
+			super(new OutputStreamWriter(new NonFlushingOutputStream(targetStream), characterEncoding));
+			this.targetStream = targetStream;
+		}
+
+		@Override
+		public void write(char[] buf, int off, int len) {
+			super.write(buf, off, len);
+			super.flush();
+		}
+
+		@Override
+		public void write(String s, int off, int len) {
+			super.write(s, off, len);
+			super.flush();
+		}
+
+		@Override
+		public void write(int c) {
+			super.write(c);
+			super.flush();
+		}
+
+		@Override
+		public void println() {
+			super.println();
+			super.flush();
+		}
+
+		@Override
+		public void flush() {
+			super.flush();
+			try {
+				this.targetStream.flush();
+			}
+			catch (IOException ex) {
+				setError();
+			}
+		}
+	}
+
+
+	/**
+	 * OutputStream that passes writes through but ignores {@code flush()},
+	 * as issued by the encoder after each write of a {@link FlushingPrintWriter}.
+	 */
+	private static class NonFlushingOutputStream extends FilterOutputStream {
+
+		NonFlushingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+		}
+
+		@Override
+		public void flush() {
+		}
 	}
 
 }
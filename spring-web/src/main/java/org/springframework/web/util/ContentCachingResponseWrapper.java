@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -121,9 +121,7 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 	@Override
 	public void setContentLength(int len) {
-		if (len > this.content.size()) {
-			this.content.resize(len);
-		}
+		resizeContentBuffer(len);
 		this.contentLength = len;
 	}
 
@@ -134,16 +132,26 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 					Integer.MAX_VALUE + "): " + len);
 		}
 		int lenInt = (int) len;
-		if (lenInt > this.content.size()) {
-			this.content.resize(lenInt);
-		}
+		resizeContentBuffer(lenInt);
 		this.contentLength = lenInt;
 	}
 
 	@Override
 	public void setBufferSize(int size) {
-		if (size > this.content.size()) {
-			this.content.resize(size);
+		resizeContentBuffer(size);
+	}
+
+	/**
+	 * Resize the buffer for the cached content to the given capacity, as
+	 * indicated by the content length or buffer size of the response.
+	 * <p>Subclasses that limit the amount of cached content may override
+	 * this to cap the capacity accordingly.
+	 * @param capacity the capacity to allocate for the cached content
+	 * @since 6.0
+	 */
+	protected void resizeContentBuffer(int capacity) {
+		if (capacity > this.content.size()) {
+			this.content.resize(capacity);
 		}
 	}
 
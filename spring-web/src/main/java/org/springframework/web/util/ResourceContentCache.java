@@ -0,0 +1,261 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cache for the in-memory content of resolved resources, bounded by the total
+ * number of cached bytes. When adding a resource exceeds the limit, the least
+ * recently used resources are evicted until the content fits again.
+ *
+ * <p>Entries are keyed by request path plus the supported content codings
+ * accepted by the client, see {@link #getKey(String, String)}. Lookups do not
+ * lock; additions and evictions are serialized.
+ *
+ * <p>This is the shared support behind the {@code ContentCachingResourceResolver}
+ * variants of Spring MVC and Spring WebFlux.
+ *
+ * @since 6.0
+ * @param <R> the type of cached resource
+ */
+public class ResourceContentCache<R extends Resource> {
+
+	/**
+	 * The default maximum size in bytes for a single cached resource.
+	 */
+	public static final int DEFAULT_MAX_RESOURCE_SIZE = 64 * 1024;
+
+
+	private final Map<String, CacheEntry<R>> entries = new ConcurrentHashMap<>(64);
+
+	private final AtomicLong contentSize = new AtomicLong();
+
+	private final Object updateMonitor = new Object();
+
+	private final long sizeLimit;
+
+	private volatile int maxResourceSize = DEFAULT_MAX_RESOURCE_SIZE;
+
+	private volatile List<String> contentCodings = Collections.emptyList();
+
+
+	/**
+	 * Create a new cache with the given limit on the total size of cached content.
+	 * @param sizeLimit the maximum total number of bytes to keep in memory
+	 */
+	public ResourceContentCache(long sizeLimit) {
+		Assert.isTrue(sizeLimit > 0, "'sizeLimit' must be positive");
+		this.sizeLimit = sizeLimit;
+	}
+
+
+	/**
+	 * Return the configured limit on the total size of cached content.
+	 */
+	public long getSizeLimit() {
+		return this.sizeLimit;
+	}
+
+	/**
+	 * Return the total number of bytes currently held in memory.
+	 */
+	public long getContentSize() {
+		return this.contentSize.get();
+	}
+
+	/**
+	 * Set the maximum size in bytes of a single cached resource.
+	 * <p>By default this is set to {@link #DEFAULT_MAX_RESOURCE_SIZE}.
+	 */
+	public void setMaxResourceSize(int maxResourceSize) {
+		Assert.isTrue(maxResourceSize > 0, "'maxResourceSize' must be positive");
+		this.maxResourceSize = maxResourceSize;
+	}
+
+	/**
+	 * Return the configured maximum size of a single cached resource.
+	 */
+	public int getMaxResourceSize() {
+		return this.maxResourceSize;
+	}
+
+	/**
+	 * Configure the content codings from the {@literal "Accept-Encoding"}
+	 * header for which to cache separate resource variations.
+	 * <p>By default no codings are configured.
+	 */
+	public void setContentCodings(List<String> codings) {
+		Assert.notEmpty(codings, "At least one content coding expected");
+		this.contentCodings = List.copyOf(codings);
+	}
+
+	/**
+	 * Return a read-only list with the configured content codings.
+	 */
+	public List<String> getContentCodings() {
+		return this.contentCodings;
+	}
+
+	/**
+	 * Compute the cache key for the given request path and
+	 * {@literal "Accept-Encoding"} header value.
+	 * @param requestPath the path of the requested resource
+	 * @param acceptEncoding the "Accept-Encoding" header, if any
+	 */
+	public String getKey(String requestPath, @Nullable String acceptEncoding) {
+		if (StringUtils.hasText(acceptEncoding)) {
+			String codingKey = Arrays.stream(StringUtils.tokenizeToStringArray(acceptEncoding, ","))
+					.map(token -> {
+						int index = token.indexOf(';');
+						return (index >= 0 ? token.substring(0, index) : token).trim().toLowerCase();
+					})
+					.filter(this.contentCodings::contains)
+					.sorted()
+					.collect(Collectors.joining(","));
+			if (StringUtils.hasText(codingKey)) {
+				return requestPath + "+encoding=" + codingKey;
+			}
+		}
+		return requestPath;
+	}
+
+	/**
+	 * Whether content of the given length may be cached, i.e. whether it is
+	 * within both the maximum resource size and the total size limit.
+	 */
+	public boolean isCacheable(long contentLength) {
+		return (contentLength >= 0 && contentLength <= this.maxResourceSize && contentLength <= this.sizeLimit);
+	}
+
+	/**
+	 * Return the resource cached under the given key, if any, marking it
+	 * as recently used.
+	 */
+	@Nullable
+	public R get(String key) {
+		CacheEntry<R> entry = this.entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		entry.lastAccess = System.nanoTime();
+		return entry.resource;
+	}
+
+	/**
+	 * Add the given resource under the given key, evicting the least recently
+	 * used resources as necessary to stay within the size limit.
+	 * @param key the cache key
+	 * @param resource the resource holding the content in memory
+	 * @param contentLength the length of the resource content
+	 * @return the resource now cached under the key: either the given one,
+	 * one added concurrently for the same key, or the given one as-is if
+	 * its content is not {@link #isCacheable cacheable}
+	 */
+	public R put(String key, R resource, long contentLength) {
+		if (!isCacheable(contentLength)) {
+			return resource;
+		}
+		synchronized (this.updateMonitor) {
+			CacheEntry<R> existing = this.entries.get(key);
+			if (existing != null) {
+				existing.lastAccess = System.nanoTime();
+				return existing.resource;
+			}
+			this.entries.put(key, new CacheEntry<>(resource, contentLength));
+			if (this.contentSize.addAndGet(contentLength) > this.sizeLimit) {
+				evictLeastRecentlyUsed(key);
+			}
+		}
+		return resource;
+	}
+
+	/**
+	 * Remove the resource cached under the given key, if any.
+	 */
+	public void remove(String key) {
+		synchronized (this.updateMonitor) {
+			CacheEntry<R> entry = this.entries.remove(key);
+			if (entry != null) {
+				this.contentSize.addAndGet(-entry.contentLength);
+			}
+		}
+	}
+
+	/**
+	 * Remove all cached resources.
+	 */
+	public void clear() {
+		synchronized (this.updateMonitor) {
+			this.entries.clear();
+			this.contentSize.set(0);
+		}
+	}
+
+	private void evictLeastRecentlyUsed(String keyToRetain) {
+		// Snapshot access times first, since they keep changing while sorting
+		List<EvictionCandidate> candidates = new ArrayList<>(this.entries.size());
+		this.entries.forEach((key, entry) -> {
+			if (!key.equals(keyToRetain)) {
+				candidates.add(new EvictionCandidate(key, entry.lastAccess));
+			}
+		});
+		candidates.sort(Comparator.comparingLong(EvictionCandidate::lastAccess));
+		for (EvictionCandidate candidate : candidates) {
+			if (this.contentSize.get() <= this.sizeLimit) {
+				break;
+			}
+			CacheEntry<R> entry = this.entries.remove(candidate.key());
+			if (entry != null) {
+				this.contentSize.addAndGet(-entry.contentLength);
+			}
+		}
+	}
+
+
+	private static final class CacheEntry<R> {
+
+		final R resource;
+
+		final long contentLength;
+
+		volatile long lastAccess = System.nanoTime();
+
+		CacheEntry(R resource, long contentLength) {
+			this.resource = resource;
+			this.contentLength = contentLength;
+		}
+	}
+
+
+	private record EvictionCandidate(String key, long lastAccess) {
+	}
+
+}
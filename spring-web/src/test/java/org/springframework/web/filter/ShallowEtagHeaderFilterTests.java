@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,20 @@
 
 package org.springframework.web.filter;
 
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StreamUtils;
+import org.springframework.web.testfixture.servlet.DelegatingServletOutputStream;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
 
@@ -266,4 +272,126 @@ public class ShallowEtagHeaderFilterTests {
 		assertThat(response.getContentAsByteArray()).as("Invalid content").isEqualTo(responseBody);
 	}
 
+	@Test
+	public void filterWithinContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(1024);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		final byte[] responseBody = "Hello World".getBytes(StandardCharsets.UTF_8);
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			FileCopyUtils.copy(responseBody, filterResponse.getOutputStream());
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Invalid ETag").isEqualTo("\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		assertThat(response.getContentLength()).as("Invalid Content-Length header").isEqualTo(responseBody.length);
+		assertThat(response.getContentAsByteArray()).as("Invalid content").isEqualTo(responseBody);
+	}
+
+	@Test
+	public void filterExceedingContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(8);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			filterResponse.getOutputStream().write("Hello".getBytes(StandardCharsets.UTF_8));
+			assertThat(response.getContentAsByteArray()).isEmpty();
+			filterResponse.getOutputStream().write(" World".getBytes(StandardCharsets.UTF_8));
+			assertThat(response.getContentAsString()).isEqualTo("Hello World");
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Unexpected ETag").isNull();
+		assertThat(response.getContentAsString()).as("Invalid content").isEqualTo("Hello World");
+	}
+
+	@Test
+	public void filterWithDeclaredContentLengthAboveContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(8);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			// Must not pre-allocate a buffer of that size
+			filterResponse.setBufferSize(Integer.MAX_VALUE);
+			filterResponse.setContentLength(Integer.MAX_VALUE);
+			filterResponse.getOutputStream().write("Hello".getBytes(StandardCharsets.UTF_8));
+			filterResponse.getOutputStream().write(" World".getBytes(StandardCharsets.UTF_8));
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Unexpected ETag").isNull();
+		assertThat(response.getContentAsString()).as("Invalid content").isEqualTo("Hello World");
+	}
+
+	@Test
+	public void filterWriterExceedingContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(8);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			filterResponse.setCharacterEncoding("UTF-8");
+			filterResponse.getWriter().write("Hello");
+			filterResponse.getWriter().write(" World");
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Unexpected ETag").isNull();
+		assertThat(response.getContentAsString()).as("Invalid content").isEqualTo("Hello World");
+	}
+
+	@Test
+	public void filterWriterFlushesOnlyOnExplicitFlushAfterContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(8);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicInteger flushCount = new AtomicInteger();
+		HttpServletResponse countingResponse = new HttpServletResponseWrapper(response) {
+			@Override
+			public ServletOutputStream getOutputStream() throws IOException {
+				ServletOutputStream delegate = super.getOutputStream();
+				return new DelegatingServletOutputStream(delegate) {
+					@Override
+					public void flush() throws IOException {
+						flushCount.incrementAndGet();
+						super.flush();
+					}
+				};
+			}
+		};
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			filterResponse.setCharacterEncoding("UTF-8");
+			PrintWriter writer = filterResponse.getWriter();
+			for (int i = 0; i < 100; i++) {
+				writer.println("Hello World");
+				writer.print('!');
+			}
+			assertThat(flushCount.get()).isEqualTo(0);
+			assertThat(response.getContentAsString()).endsWith("Hello World" + System.lineSeparator() + "!");
+			writer.flush();
+			assertThat(flushCount.get()).isEqualTo(1);
+			filterResponse.flushBuffer();
+		};
+		filter.doFilter(request, countingResponse, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Unexpected ETag").isNull();
+		assertThat(response.getContentAsString()).as("Invalid content")
+				.isEqualTo(("Hello World" + System.lineSeparator() + "!").repeat(100));
+	}
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ResourceContentCache}.
+ */
+class ResourceContentCacheTests {
+
+	private final ResourceContentCache<ByteArrayResource> cache = new ResourceContentCache<>(10);
+
+
+	@Test
+	void putAndGet() {
+		ByteArrayResource resource = resource(4);
+		assertThat(this.cache.put("a", resource, 4)).isSameAs(resource);
+		assertThat(this.cache.put("a", resource(4), 4)).isSameAs(resource);
+		assertThat(this.cache.get("a")).isSameAs(resource);
+		assertThat(this.cache.get("b")).isNull();
+		assertThat(this.cache.getContentSize()).isEqualTo(4);
+	}
+
+	@Test
+	void evictLeastRecentlyUsed() throws InterruptedException {
+		this.cache.put("a", resource(4), 4);
+		Thread.sleep(1);
+		this.cache.put("b", resource(4), 4);
+		Thread.sleep(1);
+		this.cache.get("a");
+		Thread.sleep(1);
+
+		this.cache.put("c", resource(4), 4);
+
+		assertThat(this.cache.get("a")).isNotNull();
+		assertThat(this.cache.get("b")).isNull();
+		assertThat(this.cache.get("c")).isNotNull();
+		assertThat(this.cache.getContentSize()).isEqualTo(8);
+	}
+
+	@Test
+	void keepEvictingUntilContentFits() {
+		this.cache.put("a", resource(3), 3);
+		this.cache.put("b", resource(3), 3);
+		this.cache.put("c", resource(3), 3);
+
+		this.cache.put("d", resource(9), 9);
+
+		assertThat(this.cache.get("d")).isNotNull();
+		assertThat(this.cache.getContentSize()).isEqualTo(9);
+	}
+
+	@Test
+	void skipResourceAboveLimits() {
+		this.cache.setMaxResourceSize(5);
+		ByteArrayResource resource = resource(6);
+		assertThat(this.cache.put("a", resource, 6)).isSameAs(resource);
+		assertThat(this.cache.get("a")).isNull();
+		assertThat(this.cache.isCacheable(5)).isTrue();
+		assertThat(this.cache.isCacheable(6)).isFalse();
+
+		this.cache.setMaxResourceSize(20);
+		assertThat(this.cache.isCacheable(11)).isFalse();
+	}
+
+	@Test
+	void removeAndClear() {
+		this.cache.put("a", resource(4), 4);
+		this.cache.put("b", resource(4), 4);
+		this.cache.remove("a");
+		assertThat(this.cache.getContentSize()).isEqualTo(4);
+		this.cache.clear();
+		assertThat(this.cache.get("b")).isNull();
+		assertThat(this.cache.getContentSize()).isEqualTo(0);
+	}
+
+	@Test
+	void getKeyWithContentCodings() {
+		this.cache.setContentCodings(List.of("br", "gzip"));
+		assertThat(this.cache.getKey("foo.js", null)).isEqualTo("foo.js");
+		assertThat(this.cache.getKey("foo.js", "deflate")).isEqualTo("foo.js");
+		assertThat(this.cache.getKey("foo.js", "gzip;q=0.8, br, deflate")).isEqualTo("foo.js+encoding=br,gzip");
+	}
+
+
+	private static ByteArrayResource resource(int length) {
+		return new ByteArrayResource(new byte[length]);
+	}
+
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.resource;
+
+import java.io.IOException;
+import java.util.List;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.ResourceContentCache;
+
+/**
+ * A {@link ResourceResolver} that keeps the content of small resources in
+ * memory once resolved, so that frequently requested static files can be
+ * served without going back to the underlying storage.
+ *
+ * <p>Resources are cached per request path and supported
+ * {@literal "Accept-Encoding"} codings, which means that pre-encoded variants
+ * found by an {@link EncodedResourceResolver} further down the chain are
+ * cached as separate entries, along with their response headers.
+ *
+ * <p>The total amount of cached content is bounded by the limit passed to the
+ * constructor, evicting the least recently used resources when it is reached,
+ * and only resources no larger than the
+ * {@link #setMaxResourceSize maximum resource size} are held in memory.
+ * Other resources are passed through as resolved by the chain.
+ *
+ * <p>This resolver is typically configured first in the chain, in front of a
+ * {@link CachingResourceResolver} if any.
+ *
+ * @since 6.0
+ * @see CachingResourceResolver
+ * @see ResourceContentCache
+ */
+public class ContentCachingResourceResolver extends AbstractResourceResolver {
+
+	/**
+	 * The default maximum size in bytes for a single cached resource.
+	 */
+	public static final int DEFAULT_MAX_RESOURCE_SIZE = ResourceContentCache.DEFAULT_MAX_RESOURCE_SIZE;
+
+
+	private final ResourceContentCache<CachedResource> cache;
+
+	private boolean checkModified = false;
+
+
+	/**
+	 * Create a new resolver with the given limit on the total size of cached content.
+	 * The least recently used resources are evicted when the limit is reached.
+	 * @param cacheSizeLimit the maximum total number of bytes to keep in memory
+	 */
+	public ContentCachingResourceResolver(long cacheSizeLimit) {
+		this.cache = new ResourceContentCache<>(cacheSizeLimit);
+		this.cache.setContentCodings(EncodedResourceResolver.DEFAULT_CODINGS);
+	}
+
+
+	/**
+	 * Return the configured limit on the total size of cached content.
+	 */
+	public long getCacheSizeLimit() {
+		return this.cache.getSizeLimit();
+	}
+
+	/**
+	 * Return the total number of bytes currently held in memory.
+	 */
+	public long getCachedContentSize() {
+		return this.cache.getContentSize();
+	}
+
+	/**
+	 * Set the maximum size in bytes of a resource to be cached in memory.
+	 * Larger resources are passed through as resolved by the chain.
+	 * <p>By default this is set to {@link #DEFAULT_MAX_RESOURCE_SIZE}.
+	 */
+	public void setMaxResourceSize(int maxResourceSize) {
+		this.cache.setMaxResourceSize(maxResourceSize);
+	}
+
+	/**
+	 * Return the configured maximum size of a single cached resource.
+	 */
+	public int getMaxResourceSize() {
+		return this.cache.getMaxResourceSize();
+	}
+
+	/**
+	 * Whether to check the last-modified timestamp of the original resource
+	 * each time a cached resource is served, discarding and reloading the
+	 * cached content when the original has changed.
+	 * <p>This is mainly useful during development. By default this is set
+	 * to {@code false}.
+	 */
+	public void setCheckModified(boolean checkModified) {
+		this.checkModified = checkModified;
+	}
+
+	/**
+	 * Return whether cached resources are checked for modification.
+	 */
+	public boolean isCheckModified() {
+		return this.checkModified;
+	}
+
+	/**
+	 * Configure the supported content codings from the
+	 * {@literal "Accept-Encoding"} header for which to cache resource variations.
+	 * <p>By default this property is set to {@literal ["br", "gzip"]} based on
+	 * the value of {@link EncodedResourceResolver#DEFAULT_CODINGS}.
+	 * @param codings one or more supported content codings
+	 * @see CachingResourceResolver#setContentCodings(List)
+	 */
+	public void setContentCodings(List<String> codings) {
+		this.cache.setContentCodings(codings);
+	}
+
+	/**
+	 * Return a read-only list with the supported content codings.
+	 */
+	public List<String> getContentCodings() {
+		return this.cache.getContentCodings();
+	}
+
+	/**
+	 * Discard all cached content.
+	 */
+	public void clearCache() {
+		this.cache.clear();
+	}
+
+
+	@Override
+	protected Mono<Resource> resolveResourceInternal(@Nullable ServerWebExchange exchange,
+			String requestPath, List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		String key = computeKey(exchange, requestPath);
+		CachedResource cachedResource = this.cache.get(key);
+		if (cachedResource != null) {
+			if (!this.checkModified || !cachedResource.isModified()) {
+				String logPrefix = exchange != null ? exchange.getLogPrefix() : "";
+				logger.trace(logPrefix + "Resource content served from memory");
+				return Mono.just(cachedResource);
+			}
+			this.cache.remove(key);
+		}
+
+		return chain.resolveResource(exchange, requestPath, locations)
+				.flatMap(resource -> loadContent(resource)
+						.map(newResource -> (Resource) this.cache.put(key, newResource, newResource.contentLength()))
+						.defaultIfEmpty(resource));
+	}
+
+	protected String computeKey(@Nullable ServerWebExchange exchange, String requestPath) {
+		String acceptEncoding = (exchange != null ?
+				exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING) : null);
+		return this.cache.getKey(requestPath, acceptEncoding);
+	}
+
+	/**
+	 * Read the content of the given resource into memory, if it is within
+	 * the size limits of the cache.
+	 */
+	private Mono<CachedResource> loadContent(Resource resource) {
+		long length;
+		try {
+			length = resource.contentLength();
+			if (!resource.isReadable() || !this.cache.isCacheable(length)) {
+				return Mono.empty();
+			}
+		}
+		catch (IOException ex) {
+			return Mono.empty();
+		}
+		return DataBufferUtils.join(DataBufferUtils.read(
+						resource, DefaultDataBufferFactory.sharedInstance, StreamUtils.BUFFER_SIZE))
+				.<CachedResource>handle((buffer, sink) -> {
+					byte[] content = new byte[buffer.readableByteCount()];
+					buffer.read(content);
+					DataBufferUtils.release(buffer);
+					// If changed while reading: serve the original and try again next time
+					if (content.length == length) {
+						sink.next(new CachedResource(resource, content));
+					}
+				})
+				.onErrorResume(ex -> {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Failed to cache content of " + resource + ": " + ex.getMessage());
+					}
+					return Mono.empty();
+				});
+	}
+
+	@Override
+	protected Mono<String> resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+
+	/**
+	 * In-memory copy of a resolved resource that preserves the filename,
+	 * last-modified timestamp, and response headers of the original.
+	 */
+	private static final class CachedResource extends TransformedResource implements HttpResource {
+
+		private final Resource original;
+
+		CachedResource(Resource original, byte[] content) {
+			super(original, content);
+			this.original = original;
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.original.createRelative(relativePath);
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			return (this.original instanceof HttpResource httpResource ?
+					httpResource.getResponseHeaders() : new HttpHeaders());
+		}
+
+		boolean isModified() {
+			try {
+				return (this.original.lastModified() != lastModified());
+			}
+			catch (IOException ex) {
+				return true;
+			}
+		}
+
+		@Override
+		public String getDescription() {
+			return "in-memory copy of " + this.original.getDescription();
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,13 +17,19 @@
 package org.springframework.web.servlet.mvc.method.annotation;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 import java.util.function.Consumer;
 
 import org.springframework.http.MediaType;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -57,6 +63,13 @@ import org.springframework.util.ObjectUtils;
  * emitter.complete();
  * </pre>
  *
+ * <p>For high fan-out scenarios, an emitter can be switched to a
+ * {@link #enableBatching batched mode}, in which objects passed to
+ * {@link #trySend(Object)} are queued without blocking and written together,
+ * with a single flush, once a time window elapses or a number of objects
+ * are pending. The queue is bounded according to an {@link OverflowPolicy},
+ * and its depth is exposed through {@link #getQueueDepth()} and related methods.
+ *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
  * @since 4.2
@@ -73,7 +86,7 @@ public class ResponseBodyEmitter {
 	private final Set<DataWithMediaType> earlySendAttempts = new LinkedHashSet<>(8);
 
 	/** Store successful completion before the handler is initialized. */
-	private boolean complete;
+	private volatile boolean complete;
 
 	/** Store an error before the handler is initialized. */
 	@Nullable
@@ -95,6 +108,29 @@ public class ResponseBodyEmitter {
 
 	private final DefaultCallback completionCallback = new DefaultCallback();
 
+	/** Objects (or SSE events) queued through trySend in batched mode. */
+	private final Deque<Set<DataWithMediaType>> queue = new ArrayDeque<>();
+
+	@Nullable
+	private volatile TaskScheduler batchScheduler;
+
+	private Duration batchWindow = Duration.ZERO;
+
+	private int maxBatchSize = 1;
+
+	private int queueCapacity = 1024;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+	@Nullable
+	private ScheduledFuture<?> windowFlush;
+
+	private boolean immediateFlushScheduled;
+
+	private int maxQueueDepth;
+
+	private long droppedCount;
+
 
 	/**
 	 * Create a new ResponseBodyEmitter instance.
@@ -123,6 +159,86 @@ public class ResponseBodyEmitter {
 		return this.timeout;
 	}
 
+	/**
+	 * Switch this emitter to batched mode, in which objects passed to
+	 * {@link #trySend(Object)} are queued and written together with a single
+	 * flush, either once the given time window has elapsed since the first
+	 * queued object, or as soon as {@code maxBatchSize} objects are queued.
+	 * @param scheduler the scheduler to perform the writes with
+	 * @param window the time window within which to coalesce objects
+	 * @param maxBatchSize the maximum number of objects per write
+	 * @since 6.0
+	 * @see #setQueueCapacity
+	 * @see #setOverflowPolicy
+	 */
+	public void enableBatching(TaskScheduler scheduler, Duration window, int maxBatchSize) {
+		Assert.notNull(scheduler, "TaskScheduler must not be null");
+		Assert.isTrue(!window.isNegative(), "Batch window must not be negative");
+		Assert.isTrue(maxBatchSize > 0, "Max batch size must be greater than 0");
+		synchronized (this.queue) {
+			this.batchWindow = window;
+			this.maxBatchSize = maxBatchSize;
+			this.batchScheduler = scheduler;
+		}
+	}
+
+	/**
+	 * Set the number of objects that may be queued in batched mode before the
+	 * {@link #setOverflowPolicy overflow policy} applies.
+	 * <p>By default this is set to 1024.
+	 * @since 6.0
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "Queue capacity must be greater than 0");
+		synchronized (this.queue) {
+			this.queueCapacity = queueCapacity;
+		}
+	}
+
+	/**
+	 * Set the policy to apply when {@link #trySend(Object)} is called with
+	 * the queue at full capacity.
+	 * <p>By default this is set to {@link OverflowPolicy#DROP}.
+	 * @since 6.0
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+		synchronized (this.queue) {
+			this.overflowPolicy = overflowPolicy;
+		}
+	}
+
+	/**
+	 * Return the number of objects currently queued in batched mode.
+	 * @since 6.0
+	 */
+	public int getQueueDepth() {
+		synchronized (this.queue) {
+			return this.queue.size();
+		}
+	}
+
+	/**
+	 * Return the highest number of objects queued at once in batched mode.
+	 * @since 6.0
+	 */
+	public int getMaxQueueDepth() {
+		synchronized (this.queue) {
+			return this.maxQueueDepth;
+		}
+	}
+
+	/**
+	 * Return the number of objects dropped by the {@link #setOverflowPolicy
+	 * overflow policy} in batched mode.
+	 * @since 6.0
+	 */
+	public long getDroppedCount() {
+		synchronized (this.queue) {
+			return this.droppedCount;
+		}
+	}
+
 
 	synchronized void initialize(Handler handler) throws IOException {
 		this.handler = handler;
@@ -196,9 +312,168 @@ public class ResponseBodyEmitter {
 		Assert.state(!this.complete,
 				"ResponseBodyEmitter has already completed" +
 						(this.failure != null ? " with error: " + this.failure : ""));
+		// Keep the order with objects queued in batched mode
+		sendQueued();
 		sendInternal(object, mediaType);
 	}
 
+	/**
+	 * Write a set of data and MediaType pairs in a batch.
+	 * <p>Compared to {@link #send(Object, MediaType)}, this batches the write
+	 * operations and flushes to the underlying response only once, which is
+	 * considerably cheaper when several objects are ready to be sent at once.
+	 * @param items the object and media type pairs to write
+	 * @throws IOException raised when an I/O error occurs
+	 * @throws java.lang.IllegalStateException wraps any other errors
+	 * @since 6.0
+	 */
+	public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+		Assert.state(!this.complete,
+				"ResponseBodyEmitter has already completed" +
+						(this.failure != null ? " with error: " + this.failure : ""));
+		sendQueued();
+		sendInternal(items);
+	}
+
+	/**
+	 * Queue the given object to be written in batched mode, without blocking.
+	 * <p>The object is written along with other queued objects once the
+	 * batch window elapses or the maximum batch size is reached. Should the
+	 * write fail, the emitter is completed with the error, unless it was an
+	 * I/O error, in which case the Servlet container notifies the application.
+	 * @param object the object to write
+	 * @return {@code true} if the object was queued, or {@code false} if it
+	 * was dropped by the {@link #setOverflowPolicy overflow policy}
+	 * @throws java.lang.IllegalStateException if batched mode is not enabled,
+	 * or if the emitter has already completed
+	 * @since 6.0
+	 * @see #enableBatching
+	 */
+	public boolean trySend(Object object) {
+		return trySend(object, null);
+	}
+
+	/**
+	 * Overloaded variant of {@link #trySend(Object)} that also accepts a
+	 * MediaType hint for how to serialize the given Object.
+	 * @param object the object to write
+	 * @param mediaType a MediaType hint for selecting an HttpMessageConverter
+	 * @return {@code true} if the object was queued, or {@code false} if it
+	 * was dropped by the {@link #setOverflowPolicy overflow policy}
+	 * @since 6.0
+	 */
+	public boolean trySend(Object object, @Nullable MediaType mediaType) {
+		return trySend(Set.of(new DataWithMediaType(object, mediaType)));
+	}
+
+	/**
+	 * Queue a set of data and MediaType pairs, to be written as one unit in
+	 * batched mode, without blocking.
+	 * @param items the object and media type pairs to write
+	 * @return {@code true} if the items were queued, or {@code false} if they
+	 * were dropped by the {@link #setOverflowPolicy overflow policy}
+	 * @since 6.0
+	 * @see #trySend(Object)
+	 */
+	public boolean trySend(Set<DataWithMediaType> items) {
+		TaskScheduler scheduler = this.batchScheduler;
+		Assert.state(scheduler != null, "Batched mode not enabled on ResponseBodyEmitter");
+		Assert.state(!this.complete,
+				"ResponseBodyEmitter has already completed" +
+						(this.failure != null ? " with error: " + this.failure : ""));
+		synchronized (this.queue) {
+			if (this.queue.size() >= this.queueCapacity) {
+				switch (this.overflowPolicy) {
+					case DROP -> {
+						this.droppedCount++;
+						return false;
+					}
+					case LATEST -> {
+						this.queue.poll();
+						this.droppedCount++;
+					}
+					case BUFFER -> {
+						// Keep queueing beyond capacity
+					}
+				}
+			}
+			this.queue.add(items);
+			this.maxQueueDepth = Math.max(this.maxQueueDepth, this.queue.size());
+			scheduleFlush(scheduler);
+		}
+		return true;
+	}
+
+	private void scheduleFlush(TaskScheduler scheduler) {
+		if (this.queue.size() >= this.maxBatchSize || this.batchWindow.isZero()) {
+			if (!this.immediateFlushScheduled) {
+				scheduler.schedule(this::flushQueue, Instant.now());
+				this.immediateFlushScheduled = true;
+			}
+		}
+		else if (this.windowFlush == null) {
+			this.windowFlush = scheduler.schedule(this::flushQueue, Instant.now().plus(this.batchWindow));
+		}
+	}
+
+	private synchronized void flushQueue() {
+		if (this.complete || this.sendFailed) {
+			discardQueued();
+			return;
+		}
+		try {
+			sendQueued();
+		}
+		catch (IOException ex) {
+			// The Servlet container will notify us via AsyncListener#onError
+			discardQueued();
+		}
+		catch (Throwable ex) {
+			discardQueued();
+			if (this.handler != null) {
+				// No application thread to report this to: complete right away
+				this.handler.completeWithError(ex);
+			}
+		}
+	}
+
+	/**
+	 * Write all objects queued in batched mode, in batches of at most the
+	 * maximum batch size. Must be called while holding the emitter's monitor.
+	 */
+	private void sendQueued() throws IOException {
+		if (this.batchScheduler == null) {
+			return;
+		}
+		while (true) {
+			Set<DataWithMediaType> batch = new LinkedHashSet<>();
+			synchronized (this.queue) {
+				this.immediateFlushScheduled = false;
+				if (this.windowFlush != null) {
+					this.windowFlush.cancel(false);
+					this.windowFlush = null;
+				}
+				for (int i = 0; i < this.maxBatchSize && !this.queue.isEmpty(); i++) {
+					batch.addAll(this.queue.poll());
+				}
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			sendInternal(batch);
+		}
+	}
+
+	private void discardQueued() {
+		synchronized (this.queue) {
+			this.queue.clear();
+			if (this.windowFlush != null) {
+				this.windowFlush.cancel(false);
+				this.windowFlush = null;
+			}
+		}
+	}
+
 	private void sendInternal(Object object, @Nullable MediaType mediaType) throws IOException {
 		if (this.handler != null) {
 			try {
@@ -218,6 +493,28 @@ public class ResponseBodyEmitter {
 		}
 	}
 
+	private void sendInternal(Set<DataWithMediaType> items) throws IOException {
+		if (items.isEmpty()) {
+			return;
+		}
+		if (this.handler != null) {
+			try {
+				this.handler.send(items);
+			}
+			catch (IOException ex) {
+				this.sendFailed = true;
+				throw ex;
+			}
+			catch (Throwable ex) {
+				this.sendFailed = true;
+				throw new IllegalStateException("Failed to send " + items, ex);
+			}
+		}
+		else {
+			this.earlySendAttempts.addAll(items);
+		}
+	}
+
 	/**
 	 * Complete request processing by performing a dispatch into the servlet
 	 * container, where Spring MVC is invoked once more, and completes the
@@ -231,6 +528,14 @@ public class ResponseBodyEmitter {
 		if (this.sendFailed) {
 			return;
 		}
+		try {
+			sendQueued();
+		}
+		catch (IOException ex) {
+			// The Servlet container will notify us via AsyncListener#onError
+			discardQueued();
+			return;
+		}
 		this.complete = true;
 		if (this.handler != null) {
 			this.handler.complete();
@@ -253,6 +558,7 @@ public class ResponseBodyEmitter {
 		if (this.sendFailed) {
 			return;
 		}
+		discardQueued();
 		this.complete = true;
 		this.failure = ex;
 		if (this.handler != null) {
@@ -305,6 +611,8 @@ public class ResponseBodyEmitter {
 
 		void send(Object data, @Nullable MediaType mediaType) throws IOException;
 
+		void send(Set<DataWithMediaType> items) throws IOException;
+
 		void complete();
 
 		void completeWithError(Throwable failure);
@@ -317,6 +625,32 @@ public class ResponseBodyEmitter {
 	}
 
 
+	/**
+	 * Policy to apply when an object is passed to {@link #trySend(Object)}
+	 * in batched mode while the queue is at full capacity.
+	 * @since 6.0
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Drop the new object, with {@code trySend} returning {@code false}.
+		 */
+		DROP,
+
+		/**
+		 * Drop the oldest queued object in favor of the new one, so that the
+		 * latest objects are written.
+		 */
+		LATEST,
+
+		/**
+		 * Queue the new object beyond the capacity, leaving it to the application
+		 * to monitor the {@link ResponseBodyEmitter#getQueueDepth() queue depth}.
+		 */
+		BUFFER
+	}
+
+
 	/**
 	 * A simple holder of data to be written along with a MediaType hint for
 	 * selecting a message converter to write with.
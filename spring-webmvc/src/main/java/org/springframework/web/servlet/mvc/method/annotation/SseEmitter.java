@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -123,12 +123,38 @@ public class SseEmitter extends ResponseBodyEmitter {
 	public void send(SseEventBuilder builder) throws IOException {
 		Set<DataWithMediaType> dataToSend = builder.build();
 		synchronized (this) {
-			for (DataWithMediaType entry : dataToSend) {
-				super.send(entry.getData(), entry.getMediaType());
-			}
+			super.send(dataToSend);
 		}
 	}
 
+	/**
+	 * Queue the object formatted as a single SSE "data" line in batched mode.
+	 * It's equivalent to {@code trySend(event().data(myObject, mediaType))}.
+	 * @param object the object to write
+	 * @param mediaType a MediaType hint for selecting an HttpMessageConverter
+	 * @return {@code true} if the event was queued, or {@code false} if it
+	 * was dropped by the overflow policy
+	 * @since 6.0
+	 * @see ResponseBodyEmitter#trySend(Object)
+	 */
+	@Override
+	public boolean trySend(Object object, @Nullable MediaType mediaType) {
+		return trySend(event().data(object, mediaType));
+	}
+
+	/**
+	 * Queue an SSE event prepared with the given builder in batched mode,
+	 * without blocking. Queued events are written together with a single flush.
+	 * @param builder a builder for an SSE formatted event
+	 * @return {@code true} if the event was queued, or {@code false} if it
+	 * was dropped by the overflow policy
+	 * @since 6.0
+	 * @see ResponseBodyEmitter#enableBatching
+	 */
+	public boolean trySend(SseEventBuilder builder) {
+		return trySend(builder.build());
+	}
+
 	@Override
 	public String toString() {
 		return "SseEmitter@" + ObjectUtils.getIdentityHexString(this);
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.ResourceContentCache;
+
+/**
+ * A {@link ResourceResolver} that keeps the content of small resources in
+ * memory once resolved, so that frequently requested static files can be
+ * served without going back to the underlying storage.
+ *
+ * <p>Resources are cached per request path and supported
+ * {@literal "Accept-Encoding"} codings, which means that pre-encoded variants
+ * found by an {@link EncodedResourceResolver} further down the chain are
+ * cached as separate entries, along with their response headers.
+ *
+ * <p>The total amount of cached content is bounded by the limit passed to the
+ * constructor, evicting the least recently used resources when it is reached,
+ * and only resources no larger than the
+ * {@link #setMaxResourceSize maximum resource size} are held in memory.
+ * Other resources are passed through as resolved by the chain.
+ *
+ * <p>This resolver is typically configured first in the chain, in front of a
+ * {@link CachingResourceResolver} if any.
+ *
+ * @since 6.0
+ * @see CachingResourceResolver
+ * @see ResourceContentCache
+ */
+public class ContentCachingResourceResolver extends AbstractResourceResolver {
+
+	/**
+	 * The default maximum size in bytes for a single cached resource.
+	 */
+	public static final int DEFAULT_MAX_RESOURCE_SIZE = ResourceContentCache.DEFAULT_MAX_RESOURCE_SIZE;
+
+
+	private final ResourceContentCache<CachedResource> cache;
+
+	private boolean checkModified = false;
+
+
+	/**
+	 * Create a new resolver with the given limit on the total size of cached content.
+	 * The least recently used resources are evicted when the limit is reached.
+	 * @param cacheSizeLimit the maximum total number of bytes to keep in memory
+	 */
+	public ContentCachingResourceResolver(long cacheSizeLimit) {
+		this.cache = new ResourceContentCache<>(cacheSizeLimit);
+		this.cache.setContentCodings(EncodedResourceResolver.DEFAULT_CODINGS);
+	}
+
+
+	/**
+	 * Return the configured limit on the total size of cached content.
+	 */
+	public long getCacheSizeLimit() {
+		return this.cache.getSizeLimit();
+	}
+
+	/**
+	 * Return the total number of bytes currently held in memory.
+	 */
+	public long getCachedContentSize() {
+		return this.cache.getContentSize();
+	}
+
+	/**
+	 * Set the maximum size in bytes of a resource to be cached in memory.
+	 * Larger resources are passed through as resolved by the chain.
+	 * <p>By default this is set to {@link #DEFAULT_MAX_RESOURCE_SIZE}.
+	 */
+	public void setMaxResourceSize(int maxResourceSize) {
+		this.cache.setMaxResourceSize(maxResourceSize);
+	}
+
+	/**
+	 * Return the configured maximum size of a single cached resource.
+	 */
+	public int getMaxResourceSize() {
+		return this.cache.getMaxResourceSize();
+	}
+
+	/**
+	 * Whether to check the last-modified timestamp of the original resource
+	 * each time a cached resource is served, discarding and reloading the
+	 * cached content when the original has changed.
+	 * <p>This is mainly useful during development. By default this is set
+	 * to {@code false}.
+	 */
+	public void setCheckModified(boolean checkModified) {
+		this.checkModified = checkModified;
+	}
+
+	/**
+	 * Return whether cached resources are checked for modification.
+	 */
+	public boolean isCheckModified() {
+		return this.checkModified;
+	}
+
+	/**
+	 * Configure the supported content codings from the
+	 * {@literal "Accept-Encoding"} header for which to cache resource variations.
+	 * <p>By default this property is set to {@literal ["br", "gzip"]} based on
+	 * the value of {@link EncodedResourceResolver#DEFAULT_CODINGS}.
+	 * @param codings one or more supported content codings
+	 * @see CachingResourceResolver#setContentCodings(List)
+	 */
+	public void setContentCodings(List<String> codings) {
+		this.cache.setContentCodings(codings);
+	}
+
+	/**
+	 * Return a read-only list with the supported content codings.
+	 */
+	public List<String> getContentCodings() {
+		return this.cache.getContentCodings();
+	}
+
+	/**
+	 * Discard all cached content.
+	 */
+	public void clearCache() {
+		this.cache.clear();
+	}
+
+
+	@Override
+	protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		String key = computeKey(request, requestPath);
+		CachedResource cachedResource = this.cache.get(key);
+		if (cachedResource != null) {
+			if (!this.checkModified || !cachedResource.isModified()) {
+				if (logger.isTraceEnabled()) {
+					logger.trace("Resource content served from memory");
+				}
+				return cachedResource;
+			}
+			this.cache.remove(key);
+		}
+
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource == null) {
+			return null;
+		}
+		CachedResource newResource = loadContent(resource);
+		return (newResource != null ? this.cache.put(key, newResource, newResource.contentLength()) : resource);
+	}
+
+	protected String computeKey(@Nullable HttpServletRequest request, String requestPath) {
+		String acceptEncoding = (request != null ? request.getHeader(HttpHeaders.ACCEPT_ENCODING) : null);
+		return this.cache.getKey(requestPath, acceptEncoding);
+	}
+
+	/**
+	 * Read the content of the given resource into memory, if it is within
+	 * the size limits of the cache.
+	 */
+	@Nullable
+	private CachedResource loadContent(Resource resource) {
+		try {
+			long length = resource.contentLength();
+			if (!resource.isReadable() || !this.cache.isCacheable(length)) {
+				return null;
+			}
+			byte[] content;
+			try (InputStream inputStream = resource.getInputStream()) {
+				content = StreamUtils.copyToByteArray(inputStream);
+			}
+			if (content.length != length) {
+				// Changed while reading: serve the original and try again next time
+				return null;
+			}
+			return new CachedResource(resource, content);
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to cache content of " + resource + ": " + ex.getMessage());
+			}
+			return null;
+		}
+	}
+
+	@Override
+	protected String resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+
+	/**
+	 * In-memory copy of a resolved resource that preserves the filename,
+	 * last-modified timestamp, and response headers of the original.
+	 */
+	private static final class CachedResource extends TransformedResource implements HttpResource {
+
+		private final Resource original;
+
+		CachedResource(Resource original, byte[] content) {
+			super(original, content);
+			this.original = original;
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.original.createRelative(relativePath);
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			return (this.original instanceof HttpResource httpResource ?
+					httpResource.getResponseHeaders() : new HttpHeaders());
+		}
+
+		boolean isModified() {
+			try {
+				return (this.original.lastModified() != lastModified());
+			}
+			catch (IOException ex) {
+				return true;
+			}
+		}
+
+		@Override
+		public String getDescription() {
+			return "in-memory copy of " + this.original.getDescription();
+		}
+	}
+
+}
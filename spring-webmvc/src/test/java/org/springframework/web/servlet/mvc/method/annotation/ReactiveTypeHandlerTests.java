@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -365,6 +365,11 @@ public class ReactiveTypeHandlerTests {
 			this.values.add(data);
 		}
 
+		@Override
+		public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+			items.forEach(item -> this.values.add(item.getData()));
+		}
+
 		@Override
 		public void complete() {
 		}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,12 @@
 package org.springframework.web.servlet.mvc.method.annotation;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,13 +31,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIOException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -65,6 +75,25 @@ public class ResponseBodyEmitterTests {
 		verifyNoMoreInteractions(this.handler);
 	}
 
+	@Test
+	public void sendSetAfterHandlerInitialized() throws Exception {
+		this.emitter.initialize(this.handler);
+		verify(this.handler).onTimeout(any());
+		verify(this.handler).onError(any());
+		verify(this.handler).onCompletion(any());
+		verifyNoMoreInteractions(this.handler);
+
+		Set<ResponseBodyEmitter.DataWithMediaType> items = new LinkedHashSet<>();
+		items.add(new ResponseBodyEmitter.DataWithMediaType("foo", MediaType.TEXT_PLAIN));
+		items.add(new ResponseBodyEmitter.DataWithMediaType("bar", MediaType.TEXT_PLAIN));
+		this.emitter.send(items);
+		this.emitter.complete();
+
+		verify(this.handler).send(items);
+		verify(this.handler).complete();
+		verifyNoMoreInteractions(this.handler);
+	}
+
 	@Test
 	public void sendDuplicateBeforeHandlerInitialized() throws Exception {
 		this.emitter.send("foo", MediaType.TEXT_PLAIN);
@@ -215,4 +244,130 @@ public class ResponseBodyEmitterTests {
 		verify(runnable).run();
 	}
 
+	@Test
+	public void trySendWithinBatchWindow() throws Exception {
+		TaskScheduler scheduler = mockTaskScheduler();
+		this.emitter.initialize(this.handler);
+		this.emitter.enableBatching(scheduler, Duration.ofMillis(100), 10);
+
+		assertThat(this.emitter.trySend("foo")).isTrue();
+		assertThat(this.emitter.trySend("bar")).isTrue();
+		assertThat(this.emitter.getQueueDepth()).isEqualTo(2);
+		verify(this.handler, never()).send(any(Set.class));
+
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(flush.capture(), any(Instant.class));
+		flush.getValue().run();
+
+		assertThat(sentData()).containsExactly(List.of("foo", "bar"));
+		assertThat(this.emitter.getQueueDepth()).isEqualTo(0);
+		assertThat(this.emitter.getMaxQueueDepth()).isEqualTo(2);
+	}
+
+	@Test
+	public void trySendUpToMaxBatchSize() throws Exception {
+		TaskScheduler scheduler = mockTaskScheduler();
+		this.emitter.initialize(this.handler);
+		this.emitter.enableBatching(scheduler, Duration.ofMinutes(1), 2);
+
+		this.emitter.trySend("foo");
+		this.emitter.trySend("bar");
+
+		// Window flush for the first, immediate flush once max batch size reached
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler, times(2)).schedule(flush.capture(), any(Instant.class));
+		flush.getAllValues().get(1).run();
+		flush.getAllValues().get(0).run();
+
+		assertThat(sentData()).containsExactly(List.of("foo", "bar"));
+	}
+
+	@Test
+	public void trySendWithDropOverflowPolicy() throws Exception {
+		this.emitter.initialize(this.handler);
+		this.emitter.enableBatching(mockTaskScheduler(), Duration.ofMinutes(1), 10);
+		this.emitter.setQueueCapacity(2);
+
+		assertThat(this.emitter.trySend("foo")).isTrue();
+		assertThat(this.emitter.trySend("bar")).isTrue();
+		assertThat(this.emitter.trySend("baz")).isFalse();
+		assertThat(this.emitter.getQueueDepth()).isEqualTo(2);
+		assertThat(this.emitter.getDroppedCount()).isEqualTo(1);
+
+		this.emitter.complete();
+		assertThat(sentData()).containsExactly(List.of("foo", "bar"));
+		verify(this.handler).complete();
+	}
+
+	@Test
+	public void trySendWithLatestOverflowPolicy() throws Exception {
+		this.emitter.initialize(this.handler);
+		this.emitter.enableBatching(mockTaskScheduler(), Duration.ofMinutes(1), 10);
+		this.emitter.setQueueCapacity(2);
+		this.emitter.setOverflowPolicy(ResponseBodyEmitter.OverflowPolicy.LATEST);
+
+		assertThat(this.emitter.trySend("foo")).isTrue();
+		assertThat(this.emitter.trySend("bar")).isTrue();
+		assertThat(this.emitter.trySend("baz")).isTrue();
+		assertThat(this.emitter.getDroppedCount()).isEqualTo(1);
+
+		this.emitter.send("qux");
+		assertThat(sentData()).containsExactly(List.of("bar", "baz"));
+		verify(this.handler).send("qux", null);
+	}
+
+	@Test
+	public void trySendWithBufferOverflowPolicy() throws Exception {
+		this.emitter.initialize(this.handler);
+		this.emitter.enableBatching(mockTaskScheduler(), Duration.ofMinutes(1), 10);
+		this.emitter.setQueueCapacity(2);
+		this.emitter.setOverflowPolicy(ResponseBodyEmitter.OverflowPolicy.BUFFER);
+
+		assertThat(this.emitter.trySend("foo")).isTrue();
+		assertThat(this.emitter.trySend("bar")).isTrue();
+		assertThat(this.emitter.trySend("baz")).isTrue();
+		assertThat(this.emitter.getQueueDepth()).isEqualTo(3);
+		assertThat(this.emitter.getDroppedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void trySendWithoutBatching() {
+		assertThatIllegalStateException().isThrownBy(() -> this.emitter.trySend("foo"));
+	}
+
+	@Test
+	public void trySendWithError() throws Exception {
+		TaskScheduler scheduler = mockTaskScheduler();
+		this.emitter.initialize(this.handler);
+		this.emitter.enableBatching(scheduler, Duration.ofMillis(100), 10);
+		IllegalStateException failure = new IllegalStateException();
+		willThrow(failure).given(this.handler).send(any(Set.class));
+
+		this.emitter.trySend("foo");
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(flush.capture(), any(Instant.class));
+		flush.getValue().run();
+
+		verify(this.handler).completeWithError(any(IllegalStateException.class));
+		assertThat(this.emitter.getQueueDepth()).isEqualTo(0);
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private TaskScheduler mockTaskScheduler() {
+		TaskScheduler scheduler = mock(TaskScheduler.class);
+		ScheduledFuture<Object> future = mock(ScheduledFuture.class);
+		given(scheduler.schedule(any(Runnable.class), any(Instant.class))).willAnswer(invocation -> future);
+		return scheduler;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<Object>> sentData() throws IOException {
+		ArgumentCaptor<Set<ResponseBodyEmitter.DataWithMediaType>> captor = ArgumentCaptor.forClass(Set.class);
+		verify(this.handler, atLeastOnce()).send(captor.capture());
+		return captor.getAllValues().stream()
+				.map(items -> items.stream().map(ResponseBodyEmitter.DataWithMediaType::getData).toList())
+				.toList();
+	}
+
 }
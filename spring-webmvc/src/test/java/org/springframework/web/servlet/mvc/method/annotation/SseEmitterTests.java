@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,16 +18,20 @@ package org.springframework.web.servlet.mvc.method.annotation;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.springframework.web.servlet.mvc.method.annotation.SseEmitter.event;
 
 
@@ -117,6 +121,30 @@ public class SseEmitterTests {
 		this.handler.assertObject(4, "\nevent:test\nretry:5000\nid:1\n\n", TEXT_PLAIN_UTF8);
 	}
 
+	@Test
+	public void sendEventAsSingleBatch() throws Exception {
+		this.emitter.send(event().name("test").data("foo").data("bar"));
+		this.emitter.send(event().data("baz"));
+		this.handler.assertSentObjectCount(8);
+		this.handler.assertBatchCount(2);
+	}
+
+	@Test
+	public void trySendEventsInSingleBatch() throws Exception {
+		this.emitter.enableBatching(mock(TaskScheduler.class), Duration.ofMinutes(1), 10);
+		this.emitter.trySend(event().name("test").data("foo"));
+		this.emitter.trySend("bar");
+		this.handler.assertSentObjectCount(0);
+
+		this.emitter.complete();
+		this.handler.assertSentObjectCount(6);
+		this.handler.assertBatchCount(1);
+		this.handler.assertObject(0, "event:test\ndata:", TEXT_PLAIN_UTF8);
+		this.handler.assertObject(1, "foo");
+		this.handler.assertObject(3, "data:", TEXT_PLAIN_UTF8);
+		this.handler.assertObject(4, "bar");
+	}
+
 
 	private static class TestHandler implements ResponseBodyEmitter.Handler {
 
@@ -124,11 +152,17 @@ public class SseEmitterTests {
 
 		private List<MediaType> mediaTypes = new ArrayList<>();
 
+		private int batchCount;
+
 
 		public void assertSentObjectCount(int size) {
 			assertThat(this.objects.size()).isEqualTo(size);
 		}
 
+		public void assertBatchCount(int count) {
+			assertThat(this.batchCount).isEqualTo(count);
+		}
+
 		public void assertObject(int index, Object object) {
 			assertObject(index, object, null);
 		}
@@ -145,6 +179,14 @@ public class SseEmitterTests {
 			this.mediaTypes.add(mediaType);
 		}
 
+		@Override
+		public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+			for (ResponseBodyEmitter.DataWithMediaType item : items) {
+				send(item.getData(), item.getMediaType());
+			}
+			this.batchCount++;
+		}
+
 		@Override
 		public void complete() {
 		}
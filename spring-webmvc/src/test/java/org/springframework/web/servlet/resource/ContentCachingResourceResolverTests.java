@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.resource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.GzipSupport.GzippedFiles;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ContentCachingResourceResolver}.
+ */
+@ExtendWith(GzipSupport.class)
+public class ContentCachingResourceResolverTests {
+
+	private ContentCachingResourceResolver resolver;
+
+	private ResourceResolverChain chain;
+
+	private List<Resource> locations;
+
+
+	@BeforeEach
+	public void setup() {
+		this.resolver = new ContentCachingResourceResolver(1024 * 1024);
+
+		List<ResourceResolver> resolvers = new ArrayList<>();
+		resolvers.add(this.resolver);
+		resolvers.add(new EncodedResourceResolver());
+		resolvers.add(new PathResourceResolver());
+		this.chain = new DefaultResourceResolverChain(resolvers);
+
+		this.locations = new ArrayList<>();
+		this.locations.add(new ClassPathResource("test/", getClass()));
+	}
+
+
+	@Test
+	public void resolveResourceFromMemory() throws IOException {
+		Resource original = new ClassPathResource("test/bar.css", getClass());
+		Resource actual = this.chain.resolveResource(null, "bar.css", this.locations);
+
+		assertThat(actual).isNotNull();
+		assertThat(actual.getFilename()).isEqualTo("bar.css");
+		assertThat(actual.lastModified()).isEqualTo(original.lastModified());
+		assertThat(actual.contentLength()).isEqualTo(original.contentLength());
+		assertThat(StreamUtils.copyToByteArray(actual.getInputStream()))
+				.isEqualTo(StreamUtils.copyToByteArray(original.getInputStream()));
+		assertThat(this.resolver.getCachedContentSize()).isEqualTo(original.contentLength());
+
+		assertThat(this.chain.resolveResource(null, "bar.css", this.locations)).isSameAs(actual);
+	}
+
+	@Test
+	public void resolveResourceNoMatch() {
+		assertThat(this.chain.resolveResource(null, "invalid.css", this.locations)).isNull();
+		assertThat(this.resolver.getCachedContentSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void resolveResourceAboveMaxResourceSize() {
+		this.resolver.setMaxResourceSize(1);
+		Resource expected = new ClassPathResource("test/bar.css", getClass());
+		Resource actual = this.chain.resolveResource(null, "bar.css", this.locations);
+
+		assertThat(actual).isEqualTo(expected);
+		assertThat(this.resolver.getCachedContentSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void evictLeastRecentlyUsedResourceAboveCacheSizeLimit() throws IOException {
+		Resource bar = new ClassPathResource("test/bar.css", getClass());
+		Resource foo = new ClassPathResource("test/foo.css", getClass());
+		this.resolver = new ContentCachingResourceResolver(bar.contentLength() + foo.contentLength());
+		this.chain = new DefaultResourceResolverChain(List.of(this.resolver, new PathResourceResolver()));
+
+		Resource first = this.chain.resolveResource(null, "bar.css", this.locations);
+		Resource second = this.chain.resolveResource(null, "foo.css", this.locations);
+		assertThat(this.chain.resolveResource(null, "bar.css", this.locations)).isSameAs(first);
+		assertThat(this.resolver.getCachedContentSize()).isEqualTo(bar.contentLength() + foo.contentLength());
+
+		// foo.css is least recently used now
+		Resource third = this.chain.resolveResource(null, "foo.txt", this.locations);
+		assertThat(third).isInstanceOf(HttpResource.class);
+		assertThat(this.chain.resolveResource(null, "bar.css", this.locations)).isSameAs(first);
+		assertThat(this.chain.resolveResource(null, "foo.css", this.locations)).isNotSameAs(second);
+		assertThat(this.resolver.getCachedContentSize()).isLessThanOrEqualTo(this.resolver.getCacheSizeLimit());
+
+		this.resolver.clearCache();
+		assertThat(this.resolver.getCachedContentSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void resolveEncodedResourceFromMemory(GzippedFiles gzippedFiles) {
+		String file = "js/foo.js";
+		gzippedFiles.create(file);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", file);
+		request.addHeader("Accept-Encoding", "gzip");
+		Resource gzipped = this.chain.resolveResource(request, file, this.locations);
+		Resource plain = this.chain.resolveResource(null, file, this.locations);
+
+		assertThat(gzipped).isInstanceOf(HttpResource.class);
+		assertThat(((HttpResource) gzipped).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+				.isEqualTo("gzip");
+		assertThat(((HttpResource) plain).getResponseHeaders().containsKey(HttpHeaders.CONTENT_ENCODING))
+				.isFalse();
+		assertThat(this.chain.resolveResource(request, file, this.locations)).isSameAs(gzipped);
+	}
+
+}
@@ -17,9 +17,13 @@
 package org.springframework.web.socket.handler;
 
 import java.io.IOException;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -28,7 +32,9 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.lang.Nullable;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
@@ -41,6 +47,11 @@ import org.springframework.web.socket.WebSocketSession;
  * At that time, the specified buffer-size limit and send-time limit will be checked
  * and the session will be closed if the limits are exceeded.
  *
+ * <p>As of 6.0, buffered text and binary messages can optionally be
+ * {@link #setCoalesceMessages coalesced} into a single message when the
+ * buffer is flushed, reducing the number of WebSocket frames to write for
+ * sub-protocols that delimit messages themselves, such as STOMP.
+ *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
  * @since 4.0.3
@@ -59,11 +70,23 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 	@Nullable
 	private Consumer<WebSocketMessage<?>> preSendCallback;
 
+	private boolean coalesceMessages;
+
 
-	private final Queue<WebSocketMessage<?>> buffer = new LinkedBlockingQueue<>();
+	private final Deque<WebSocketMessage<?>> buffer = new ConcurrentLinkedDeque<>();
 
 	private final AtomicInteger bufferSize = new AtomicInteger();
 
+	private final AtomicInteger bufferedMessageCount = new AtomicInteger();
+
+	private final AtomicLong droppedMessageCount = new AtomicLong();
+
+	private final AtomicLong sendCount = new AtomicLong();
+
+	private final AtomicLong totalSendTime = new AtomicLong();
+
+	private final AtomicLong maxSendTime = new AtomicLong();
+
 	private volatile long sendStartTime;
 
 	private volatile boolean limitExceeded;
@@ -127,6 +150,50 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 		return this.bufferSize.get();
 	}
 
+	/**
+	 * Return the current number of buffered messages.
+	 * @since 6.0
+	 */
+	public int getBufferedMessageCount() {
+		return this.bufferedMessageCount.get();
+	}
+
+	/**
+	 * Return the number of messages dropped so far due to the
+	 * {@link OverflowStrategy overflow strategy}.
+	 * @since 6.0
+	 */
+	public long getDroppedMessageCount() {
+		return this.droppedMessageCount.get();
+	}
+
+	/**
+	 * Return the number of sends to the underlying session so far. With
+	 * {@link #setCoalesceMessages coalescing}, a single send may include
+	 * several messages.
+	 * @since 6.0
+	 */
+	public long getSendCount() {
+		return this.sendCount.get();
+	}
+
+	/**
+	 * Return the average time (milliseconds) of sends to the underlying session.
+	 * @since 6.0
+	 */
+	public long getAverageSendTime() {
+		long count = this.sendCount.get();
+		return (count > 0 ? this.totalSendTime.get() / count : 0);
+	}
+
+	/**
+	 * Return the longest time (milliseconds) of a send to the underlying session.
+	 * @since 6.0
+	 */
+	public long getMaxSendTime() {
+		return this.maxSendTime.get();
+	}
+
 	/**
 	 * Return the time (milliseconds) since the current send started,
 	 * or 0 if no send is currently in progress.
@@ -145,6 +212,27 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 		this.preSendCallback = callback;
 	}
 
+	/**
+	 * Whether to combine consecutive buffered text messages, and consecutive
+	 * buffered binary messages, into a single message when flushing the buffer,
+	 * up to the {@link #getBufferSizeLimit() buffer-size limit}.
+	 * <p>This is only safe for sub-protocols where a WebSocket message may
+	 * contain several sub-protocol messages, such as STOMP.
+	 * <p>By default this is set to {@code false}.
+	 * @since 6.0
+	 */
+	public void setCoalesceMessages(boolean coalesceMessages) {
+		this.coalesceMessages = coalesceMessages;
+	}
+
+	/**
+	 * Return whether buffered messages are coalesced when flushing the buffer.
+	 * @since 6.0
+	 */
+	public boolean isCoalesceMessages() {
+		return this.coalesceMessages;
+	}
+
 
 	@Override
 	public void sendMessage(WebSocketMessage<?> message) throws IOException {
@@ -152,8 +240,15 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 			return;
 		}
 
+		if (!reserveBufferSpace(message.getPayloadLength())) {
+			this.droppedMessageCount.incrementAndGet();
+			if (logger.isDebugEnabled()) {
+				logger.debug("Dropped message, buffer size: " + getBufferSize());
+			}
+			return;
+		}
 		this.buffer.add(message);
-		this.bufferSize.addAndGet(message.getPayloadLength());
+		this.bufferedMessageCount.incrementAndGet();
 
 		if (this.preSendCallback != null) {
 			this.preSendCallback.accept(message);
@@ -177,18 +272,46 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 		return (this.limitExceeded || this.closeInProgress);
 	}
 
+	/**
+	 * Account for a message of the given length about to be buffered. With
+	 * {@link OverflowStrategy#DROP_NEWEST}, the check against the buffer-size
+	 * limit and the reservation are performed atomically, so that concurrent
+	 * senders cannot push the buffer over the limit.
+	 * @return {@code true} if the message may be buffered, {@code false}
+	 * if it is to be dropped
+	 */
+	private boolean reserveBufferSpace(int length) {
+		if (this.overflowStrategy != OverflowStrategy.DROP_NEWEST) {
+			this.bufferSize.addAndGet(length);
+			return true;
+		}
+		while (true) {
+			int size = this.bufferSize.get();
+			if (size > 0 && size + length > getBufferSizeLimit()) {
+				return false;
+			}
+			if (this.bufferSize.compareAndSet(size, size + length)) {
+				return true;
+			}
+		}
+	}
+
 	private boolean tryFlushMessageBuffer() throws IOException {
 		if (this.flushLock.tryLock()) {
 			try {
-				while (true) {
-					WebSocketMessage<?> message = this.buffer.poll();
-					if (message == null || shouldNotSend()) {
+				while (!shouldNotSend()) {
+					WebSocketMessage<?> message = pollMessage();
+					if (message == null) {
 						break;
 					}
-					this.bufferSize.addAndGet(-message.getPayloadLength());
-					this.sendStartTime = System.currentTimeMillis();
+					if (this.coalesceMessages && isCoalescable(message)) {
+						message = pollCoalescable(message);
+					}
+					long startTime = System.currentTimeMillis();
+					this.sendStartTime = startTime;
 					getDelegate().sendMessage(message);
 					this.sendStartTime = 0;
+					recordSendTime(System.currentTimeMillis() - startTime);
 				}
 			}
 			finally {
@@ -200,6 +323,73 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 		return false;
 	}
 
+	@Nullable
+	private WebSocketMessage<?> pollMessage() {
+		WebSocketMessage<?> message = this.buffer.poll();
+		if (message != null) {
+			this.bufferSize.addAndGet(-message.getPayloadLength());
+			this.bufferedMessageCount.decrementAndGet();
+		}
+		return message;
+	}
+
+	/**
+	 * Poll the buffered messages that can be combined with the given one, and
+	 * return the combined message, or the given message if there are none.
+	 * A buffered message that cannot be combined stays at the head of the buffer.
+	 */
+	private WebSocketMessage<?> pollCoalescable(WebSocketMessage<?> message) {
+		List<WebSocketMessage<?>> messages = null;
+		int length = message.getPayloadLength();
+		WebSocketMessage<?> next;
+		while ((next = this.buffer.peek()) != null && next.getClass() == message.getClass() &&
+				isCoalescable(next) && length + next.getPayloadLength() <= getBufferSizeLimit()) {
+			WebSocketMessage<?> polled = pollMessage();
+			if (polled != next) {
+				// Head dropped concurrently by the overflow strategy: put back what we got instead
+				if (polled != null) {
+					this.buffer.addFirst(polled);
+					this.bufferSize.addAndGet(polled.getPayloadLength());
+					this.bufferedMessageCount.incrementAndGet();
+				}
+				continue;
+			}
+			if (messages == null) {
+				messages = new ArrayList<>();
+				messages.add(message);
+			}
+			messages.add(next);
+			length += next.getPayloadLength();
+		}
+		return (messages != null ? coalesce(messages, length) : message);
+	}
+
+	private static boolean isCoalescable(WebSocketMessage<?> message) {
+		return ((message instanceof TextMessage || message instanceof BinaryMessage) && message.isLast());
+	}
+
+	private static WebSocketMessage<?> coalesce(List<WebSocketMessage<?>> messages, int length) {
+		if (messages.get(0) instanceof TextMessage) {
+			StringBuilder payload = new StringBuilder(length);
+			for (WebSocketMessage<?> message : messages) {
+				payload.append(((TextMessage) message).getPayload());
+			}
+			return new TextMessage(payload);
+		}
+		ByteBuffer payload = ByteBuffer.allocate(length);
+		for (WebSocketMessage<?> message : messages) {
+			payload.put(((BinaryMessage) message).getPayload().duplicate());
+		}
+		payload.flip();
+		return new BinaryMessage(payload);
+	}
+
+	private void recordSendTime(long sendTime) {
+		this.sendCount.incrementAndGet();
+		this.totalSendTime.addAndGet(sendTime);
+		this.maxSendTime.accumulateAndGet(sendTime, Math::max);
+	}
+
 	private void checkSessionLimits() {
 		if (!shouldNotSend() && this.closeLock.tryLock()) {
 			try {
@@ -218,17 +408,20 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 						case DROP -> {
 							int i = 0;
 							while (getBufferSize() > getBufferSizeLimit()) {
-								WebSocketMessage<?> message = this.buffer.poll();
+								WebSocketMessage<?> message = pollMessage();
 								if (message == null) {
 									break;
 								}
-								this.bufferSize.addAndGet(-message.getPayloadLength());
 								i++;
 							}
+							this.droppedMessageCount.addAndGet(i);
 							if (logger.isDebugEnabled()) {
 								logger.debug("Dropped " + i + " messages, buffer size: " + getBufferSize());
 							}
 						}
+						case DROP_NEWEST -> {
+							// Messages over the limit are not added to the buffer in the first place
+						}
 						default ->
 							// Should never happen..
 							throw new IllegalStateException("Unexpected OverflowStrategy: " + this.overflowStrategy);
@@ -297,7 +490,14 @@ public class ConcurrentWebSocketSessionDecorator extends WebSocketSessionDecorat
 		/**
 		 * Drop the oldest messages from the buffer.
 		 */
-		DROP
+		DROP,
+
+		/**
+		 * Drop new messages that would make the buffer exceed the limit,
+		 * keeping the messages already in the buffer.
+		 * @since 6.0
+		 */
+		DROP_NEWEST
 	}
 
 }
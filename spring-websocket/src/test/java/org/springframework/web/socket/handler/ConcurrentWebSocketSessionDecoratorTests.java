@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,14 +17,22 @@
 package org.springframework.web.socket.handler;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
 
@@ -152,6 +160,84 @@ public class ConcurrentWebSocketSessionDecoratorTests {
 		assertThat(session.isOpen()).isTrue();
 	}
 
+	@Test
+	public void overflowStrategyDropNewest() throws IOException, InterruptedException {
+
+		BlockingWebSocketSession session = new BlockingWebSocketSession();
+		session.setId("123");
+		session.setOpen(true);
+
+		ConcurrentWebSocketSessionDecorator decorator =
+				new ConcurrentWebSocketSessionDecorator(session, 10*1000, 1024, OverflowStrategy.DROP_NEWEST);
+
+		sendBlockingMessage(decorator);
+
+		String msg = String.format("%1023s", "a");
+
+		for (int i = 0; i < 5; i++) {
+			TextMessage message = new TextMessage(msg);
+			decorator.sendMessage(message);
+		}
+
+		assertThat(decorator.getBufferSize()).isEqualTo(1023);
+		assertThat(decorator.getBufferedMessageCount()).isEqualTo(1);
+		assertThat(decorator.getDroppedMessageCount()).isEqualTo(4);
+		assertThat(session.isOpen()).isTrue();
+	}
+
+	@Test
+	public void coalesceMessages() throws Exception {
+
+		CountDownLatch sendLatch = new CountDownLatch(1);
+		CountDownLatch releaseLatch = new CountDownLatch(1);
+		TestWebSocketSession session = new TestWebSocketSession() {
+			@Override
+			public void sendMessage(WebSocketMessage<?> message) throws IOException {
+				super.sendMessage(message);
+				if (getSentMessages().size() == 1) {
+					sendLatch.countDown();
+					try {
+						releaseLatch.await(5, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		};
+		session.setOpen(true);
+
+		ConcurrentWebSocketSessionDecorator decorator =
+				new ConcurrentWebSocketSessionDecorator(session, 10 * 1000, 1024);
+		decorator.setCoalesceMessages(true);
+
+		Future<?> future = Executors.newSingleThreadExecutor().submit(() -> {
+			decorator.sendMessage(new TextMessage("slow message"));
+			return null;
+		});
+		assertThat(sendLatch.await(5, TimeUnit.SECONDS)).isTrue();
+
+		decorator.sendMessage(new TextMessage("a"));
+		decorator.sendMessage(new TextMessage("b"));
+		decorator.sendMessage(new BinaryMessage(new byte[] {1, 2}));
+		decorator.sendMessage(new BinaryMessage(new byte[] {3}));
+		decorator.sendMessage(new TextMessage("c"));
+
+		assertThat(decorator.getBufferedMessageCount()).isEqualTo(5);
+		assertThat(decorator.getBufferSize()).isEqualTo(6);
+
+		releaseLatch.countDown();
+		future.get(5, TimeUnit.SECONDS);
+
+		assertThat(session.getSentMessages()).hasSize(4);
+		assertThat(session.getSentMessages().get(1).getPayload()).isEqualTo("ab");
+		assertThat(session.getSentMessages().get(2).getPayload()).isEqualTo(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+		assertThat(session.getSentMessages().get(3).getPayload()).isEqualTo("c");
+		assertThat(decorator.getSendCount()).isEqualTo(4);
+		assertThat(decorator.getBufferedMessageCount()).isEqualTo(0);
+		assertThat(decorator.getBufferSize()).isEqualTo(0);
+	}
+
 	@Test
 	public void closeStatusNormal() throws Exception {
 
@@ -202,6 +288,128 @@ public class ConcurrentWebSocketSessionDecoratorTests {
 				.isEqualTo(CloseStatus.SESSION_NOT_RELIABLE);
 	}
 
+	@Test
+	public void overflowStrategyDropNewestWithConcurrentSenders() throws Exception {
+
+		BlockingWebSocketSession session = new BlockingWebSocketSession();
+		session.setId("123");
+		session.setOpen(true);
+
+		ConcurrentWebSocketSessionDecorator decorator =
+				new ConcurrentWebSocketSessionDecorator(session, 10 * 1000, 1024, OverflowStrategy.DROP_NEWEST);
+
+		sendBlockingMessage(decorator);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			futures.add(executor.submit(() -> {
+				for (int j = 0; j < 100; j++) {
+					decorator.sendMessage(new TextMessage(String.format("%100s", "a")));
+				}
+				return null;
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		assertThat(decorator.getBufferSize()).isLessThanOrEqualTo(1024);
+		assertThat(decorator.getBufferSize()).isEqualTo(decorator.getBufferedMessageCount() * 100);
+		assertThat(decorator.getBufferedMessageCount() + decorator.getDroppedMessageCount()).isEqualTo(800);
+	}
+
+	@Test
+	public void coalesceMessagesKeepsNextMessageWhenSendFails() throws Exception {
+
+		CountDownLatch sendLatch = new CountDownLatch(1);
+		CountDownLatch releaseLatch = new CountDownLatch(1);
+		TestWebSocketSession session = new TestWebSocketSession() {
+			@Override
+			public void sendMessage(WebSocketMessage<?> message) throws IOException {
+				if (!getSentMessages().isEmpty()) {
+					throw new IOException("Send failed");
+				}
+				super.sendMessage(message);
+				awaitRelease(sendLatch, releaseLatch);
+			}
+		};
+		session.setOpen(true);
+
+		ConcurrentWebSocketSessionDecorator decorator =
+				new ConcurrentWebSocketSessionDecorator(session, 10 * 1000, 1024);
+		decorator.setCoalesceMessages(true);
+
+		Future<?> future = sendSlowMessage(decorator, sendLatch);
+
+		decorator.sendMessage(new TextMessage("a"));
+		decorator.sendMessage(new TextMessage("b"));
+		decorator.sendMessage(new BinaryMessage(new byte[] {1}));
+
+		releaseLatch.countDown();
+		assertThatExceptionOfType(ExecutionException.class)
+				.isThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+				.withCauseInstanceOf(IOException.class);
+
+		// "ab" failed, the binary message looked at for coalescing is still buffered
+		assertThat(decorator.getBufferedMessageCount()).isEqualTo(1);
+		assertThat(decorator.getBufferSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void coalesceMessagesKeepsBufferWhenClosing() throws Exception {
+
+		CountDownLatch sendLatch = new CountDownLatch(1);
+		CountDownLatch releaseLatch = new CountDownLatch(1);
+		TestWebSocketSession session = new TestWebSocketSession() {
+			@Override
+			public void sendMessage(WebSocketMessage<?> message) throws IOException {
+				super.sendMessage(message);
+				awaitRelease(sendLatch, releaseLatch);
+			}
+		};
+		session.setOpen(true);
+
+		ConcurrentWebSocketSessionDecorator decorator =
+				new ConcurrentWebSocketSessionDecorator(session, 10 * 1000, 1024);
+		decorator.setCoalesceMessages(true);
+
+		Future<?> future = sendSlowMessage(decorator, sendLatch);
+
+		decorator.sendMessage(new TextMessage("a"));
+		decorator.sendMessage(new BinaryMessage(new byte[] {1}));
+		decorator.close(CloseStatus.GOING_AWAY);
+
+		releaseLatch.countDown();
+		future.get(5, TimeUnit.SECONDS);
+
+		assertThat(session.getSentMessages()).hasSize(1);
+		assertThat(decorator.getBufferedMessageCount()).isEqualTo(2);
+		assertThat(decorator.getBufferSize()).isEqualTo(2);
+	}
+
+	private Future<?> sendSlowMessage(ConcurrentWebSocketSessionDecorator decorator, CountDownLatch sendLatch)
+			throws InterruptedException {
+
+		Future<?> future = Executors.newSingleThreadExecutor().submit(() -> {
+			decorator.sendMessage(new TextMessage("slow message"));
+			return null;
+		});
+		assertThat(sendLatch.await(5, TimeUnit.SECONDS)).isTrue();
+		return future;
+	}
+
+	private static void awaitRelease(CountDownLatch sendLatch, CountDownLatch releaseLatch) {
+		sendLatch.countDown();
+		try {
+			releaseLatch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	private void sendBlockingMessage(ConcurrentWebSocketSessionDecorator session) throws InterruptedException {
 		CountDownLatch latch = ((BlockingWebSocketSession) session.getDelegate()).initSendLatch();
 		Executors.newSingleThreadExecutor().submit(() -> {